@@ -19,6 +19,7 @@ package com.sun.faces.application;
 import static com.sun.faces.RIConstants.FACES_CONFIG_VERSION;
 import static com.sun.faces.RIConstants.FACES_PREFIX;
 import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.AutomaticExtensionlessMapping;
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableViewResourceIndex;
 import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.FaceletsSkipComments;
 import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.FaceletsDecorators;
 import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.FaceletsDefaultRefreshPeriod;
@@ -49,9 +50,11 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Logger;
 
 import com.sun.faces.RIConstants;
@@ -61,6 +64,8 @@ import com.sun.faces.application.resource.ResourceCache;
 import com.sun.faces.application.resource.ResourceManager;
 import com.sun.faces.component.search.SearchExpressionHandlerImpl;
 import com.sun.faces.config.ConfigManager;
+import com.sun.faces.config.StartupTimeline;
+import com.sun.faces.config.StartupTimeline.Span;
 import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.el.DemuxCompositeELResolver;
 import com.sun.faces.facelets.compiler.Compiler;
@@ -83,6 +88,8 @@ import com.sun.faces.util.FacesLogger;
 import jakarta.el.CompositeELResolver;
 import jakarta.el.ELResolver;
 import jakarta.el.ExpressionFactory;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.faces.FacesException;
 import jakarta.faces.FactoryFinder;
 import jakarta.faces.application.Application;
@@ -170,6 +177,8 @@ public class ApplicationAssociate {
 
     private final Map<String, String> definingDocumentIdsToTruncatedJarUrls;
 
+    private final ConcurrentMap<BeanManager, ConcurrentMap<Object, Optional<Bean<?>>>> cdiBeanCache = new ConcurrentHashMap<>();
+
     private final long timeOfInstantiation;
 
     private Map<String, List<String>> resourceLibraryContracts;
@@ -282,7 +291,9 @@ public class ApplicationAssociate {
 
         @Override
         public void processEvent(SystemEvent event) {
-            initializeFacelets();
+            try (Span span = StartupTimeline.startSpan("initialize Facelets")) {
+                initializeFacelets();
+            }
 
             if (flowHandler == null) {
                 FlowHandlerFactory flowHandlerFactory = (FlowHandlerFactory) FactoryFinder.getFactory(FLOW_HANDLER_FACTORY);
@@ -295,7 +306,7 @@ public class ApplicationAssociate {
 
             FacesContext context = FacesContext.getCurrentInstance();
 
-            try {
+            try (Span span = StartupTimeline.startSpan("load flows")) {
                 new JavaFlowLoaderHelper().loadFlows(context, flowHandler);
             } catch (IOException ex) {
                 LOGGER.log(SEVERE, null, ex);
@@ -362,6 +373,13 @@ public class ApplicationAssociate {
         return resourceCache;
     }
 
+    /**
+     * @return the CDI beans resolved by {@link com.sun.faces.cdi.CdiUtils} for this application, per bean manager
+     */
+    public ConcurrentMap<BeanManager, ConcurrentMap<Object, Optional<Bean<?>>>> getCdiBeanCache() {
+        return cdiBeanCache;
+    }
+
     public AnnotationManager getAnnotationManager() {
         return annotationManager;
     }
@@ -635,14 +653,16 @@ public class ApplicationAssociate {
 
         long period = parseLong(refreshPeriod);
 
-        // resource resolver
-        DefaultResourceResolver resolver = new DefaultResourceResolver(applicationImpl.getResourceHandler());
+        // resource resolver, views can only be indexed when they are never refreshed
+        boolean indexed = period < 0 && webConfig.isOptionEnabled(EnableViewResourceIndex);
+        DefaultResourceResolver resolver = new DefaultResourceResolver(applicationImpl.getResourceHandler(), indexed);
 
         FaceletCacheFactory cacheFactory = (FaceletCacheFactory) FactoryFinder.getFactory(FACELET_CACHE_FACTORY);
         FaceletCache<?> cache = cacheFactory.getFaceletCache();
 
         DefaultFaceletFactory toReturn = new DefaultFaceletFactory();
         toReturn.init(context, compiler, resolver, period, cache);
+        resolver.buildIndex(context);
 
         return toReturn;
     }
@@ -126,6 +126,14 @@ public class ResourceImpl extends Resource implements Externalizable {
         this.maxAge = maxAge;
     }
 
+    /**
+     * @return <code>false</code> if the location of this resource depends on the state of the current request, for
+     * example a view provided by a flow packaged in a jar, in which case the resolved URL must not be cached
+     */
+    public boolean isCacheable() {
+        return resourceInfo != null && !resourceInfo.isDoNotCache();
+    }
+
     @Override
     public boolean equals(Object o) {
 
@@ -27,6 +27,8 @@ import java.util.logging.Logger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
+import com.sun.faces.config.StartupTimeline;
+import com.sun.faces.config.StartupTimeline.Span;
 import com.sun.faces.util.FacesLogger;
 
 import jakarta.faces.context.ExternalContext;
@@ -45,29 +47,32 @@ class ZipDirectoryEntryScanner {
         resourceLibraries = new ConcurrentHashMap<>();
         ZipEntry ze = null;
         String entryName = null;
-        if (webInfLibJars != null) {
-            for (String cur : webInfLibJars) {
-                try (ZipInputStream zis = new ZipInputStream(extContext.getResourceAsStream(cur))) {
-                    while (null != (ze = zis.getNextEntry())) {
-                        entryName = ze.getName();
-                        if (entryName.startsWith(PREFIX) && PREFIX_LENGTH < entryName.length()) {
-                            entryName = entryName.substring(PREFIX_LENGTH + 1);
-                            if (!entryName.endsWith("/")) {
-                                // Assume this code is only reached if the zip entry
-                                // is NOT a 'directory' entry.
-                                int i = entryName.lastIndexOf("/");
-                                if (-1 != i) {
-                                    entryName = entryName.substring(0, i);
-                                    if (!resourceLibraries.containsKey(entryName)) {
-                                        resourceLibraries.put(entryName, Boolean.TRUE);
+        // Only recorded when resources are first resolved during startup
+        try (Span span = StartupTimeline.startSpan("scan resource libraries")) {
+            if (webInfLibJars != null) {
+                for (String cur : webInfLibJars) {
+                    try (ZipInputStream zis = new ZipInputStream(extContext.getResourceAsStream(cur))) {
+                        while (null != (ze = zis.getNextEntry())) {
+                            entryName = ze.getName();
+                            if (entryName.startsWith(PREFIX) && PREFIX_LENGTH < entryName.length()) {
+                                entryName = entryName.substring(PREFIX_LENGTH + 1);
+                                if (!entryName.endsWith("/")) {
+                                    // Assume this code is only reached if the zip entry
+                                    // is NOT a 'directory' entry.
+                                    int i = entryName.lastIndexOf("/");
+                                    if (-1 != i) {
+                                        entryName = entryName.substring(0, i);
+                                        if (!resourceLibraries.containsKey(entryName)) {
+                                            resourceLibraries.put(entryName, Boolean.TRUE);
+                                        }
                                     }
                                 }
                             }
                         }
-                    }
-                } catch (IOException ioe) {
-                    if (LOGGER.isLoggable(SEVERE)) {
-                        LOGGER.log(SEVERE, "Unable to inspect resource library " + cur, ioe);
+                    } catch (IOException ioe) {
+                        if (LOGGER.isLoggable(SEVERE)) {
+                            LOGGER.log(SEVERE, "Unable to inspect resource library " + cur, ioe);
+                        }
                     }
                 }
             }
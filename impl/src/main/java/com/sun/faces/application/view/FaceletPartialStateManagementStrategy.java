@@ -37,6 +37,7 @@ import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.sun.faces.component.ClientIdIndex;
 import com.sun.faces.context.StateContext;
 import com.sun.faces.renderkit.RenderKitUtils;
 import com.sun.faces.util.ComponentStruct;
@@ -105,6 +106,14 @@ public class FaceletPartialStateManagementStrategy extends StateManagementStrate
             LOGGER.log(FINEST, "FaceletPartialStateManagementStrategy.locateComponentByClientId", clientId);
         }
 
+        // Components outside of iteration are known by the index, only walk the tree if it doesn't know this one
+        UIComponent indexed = ClientIdIndex.getIndex(context, context.getViewRoot()).findComponent(context, clientId);
+        for (UIComponent ancestor = indexed; ancestor != null; ancestor = ancestor.getParent()) {
+            if (ancestor == subTree) {
+                return indexed;
+            }
+        }
+
         final List<UIComponent> found = new ArrayList<>();
         UIComponent result = null;
 
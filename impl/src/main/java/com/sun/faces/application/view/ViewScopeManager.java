@@ -21,7 +21,6 @@ import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.Numb
 import static java.util.logging.Level.FINEST;
 import static java.util.logging.Level.WARNING;
 
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.UUID;
@@ -29,7 +28,7 @@ import java.util.logging.Logger;
 
 import com.sun.faces.application.ApplicationAssociate;
 import com.sun.faces.config.WebConfiguration;
-import com.sun.faces.util.LRUMap;
+import com.sun.faces.util.ConcurrentLRUMap;
 
 import jakarta.faces.application.FacesMessage;
 import jakarta.faces.application.ProjectStage;
@@ -288,33 +287,23 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
                 }
 
                 if (sessionMap.get(ACTIVE_VIEW_MAPS) == null) {
-                    sessionMap.put(ACTIVE_VIEW_MAPS, Collections.synchronizedMap(new LRUMap<String, Object>(size)));
+                    sessionMap.put(ACTIVE_VIEW_MAPS, new ConcurrentLRUMap<String, Object>(size, new EldestViewMapListener()));
                 }
 
                 @SuppressWarnings("unchecked")
                 Map<String, Object> viewMaps = (Map<String, Object>) sessionMap.get(ACTIVE_VIEW_MAPS);
-                synchronized (viewMaps) {
-                    String viewMapId = UUID.randomUUID().toString();
-                    while (viewMaps.containsKey(viewMapId)) {
-                        viewMapId = UUID.randomUUID().toString();
-                    }
-
-                    if (viewMaps.size() == size) {
-                        String eldestViewMapId = viewMaps.keySet().iterator().next();
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> eldestViewMap = (Map<String, Object>) viewMaps.remove(eldestViewMapId);
-                        removeEldestViewMap(facesContext, eldestViewMapId, eldestViewMap);
-                    }
+                String viewMapId = UUID.randomUUID().toString();
+                while (viewMaps.putIfAbsent(viewMapId, viewMap) != null) {
+                    viewMapId = UUID.randomUUID().toString();
+                }
 
-                    viewMaps.put(viewMapId, viewMap);
-                    viewRoot.getTransientStateHelper().putTransient(VIEW_MAP_ID, viewMapId);
-                    viewRoot.getTransientStateHelper().putTransient(VIEW_MAP, viewMap);
-                    if (distributable) {
-                        // If we are distributable, this will result in a dirtying of the
-                        // session data, forcing replication. If we are not distributable,
-                        // this is a no-op.
-                        sessionMap.put(ACTIVE_VIEW_MAPS, viewMaps);
-                    }
+                viewRoot.getTransientStateHelper().putTransient(VIEW_MAP_ID, viewMapId);
+                viewRoot.getTransientStateHelper().putTransient(VIEW_MAP, viewMap);
+                if (distributable) {
+                    // If we are distributable, this will result in a dirtying of the
+                    // session data, forcing replication. If we are not distributable,
+                    // this is a no-op.
+                    sessionMap.put(ACTIVE_VIEW_MAPS, viewMaps);
                 }
 
                 if (contextManager != null) {
@@ -407,4 +396,23 @@ public class ViewScopeManager implements HttpSessionListener, ViewMapListener {
 
         destroyBeans(facesContext, eldestViewMap);
     }
+
+    /**
+     * Destroys the view map evicted from the active view maps because the maximum number of active view maps was
+     * reached. It is a serializable static listener, rather than a reference to this manager, because the active
+     * view maps are stored in the session.
+     */
+    private static final class EldestViewMapListener implements ConcurrentLRUMap.EvictionListener<String, Object> {
+
+        private static final long serialVersionUID = -2315893578232961215L;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onEviction(String viewMapId, Object viewMap) {
+            FacesContext facesContext = FacesContext.getCurrentInstance();
+            if (facesContext != null) {
+                getInstance(facesContext).removeEldestViewMap(facesContext, viewMapId, (Map<String, Object>) viewMap);
+            }
+        }
+    }
 }
@@ -25,6 +25,8 @@ import java.util.Map;
 
 import com.sun.faces.RIConstants;
 import com.sun.faces.io.FastStringWriter;
+import com.sun.faces.lifecycle.profiler.LifecycleProfiler;
+import com.sun.faces.lifecycle.profiler.Measurement;
 import com.sun.faces.util.Util;
 
 import jakarta.faces.application.StateManager;
@@ -185,7 +187,13 @@ final class WriteBehindStateWriter extends Writer {
         // multiple forms.
         StateManager stateManager = Util.getStateManager(context);
         ResponseWriter origWriter = context.getResponseWriter();
+        LifecycleProfiler profiler = LifecycleProfiler.getInstance(context);
+        long start = profiler != null ? System.nanoTime() : 0;
+        long stateNanos = 0;
         StringBuilder stateBuilder = getState(stateManager, origWriter);
+        if (profiler != null) {
+            stateNanos = System.nanoTime() - start;
+        }
         StringBuilder builder = fWriter.getBuffer();
 
         // Begin writing...
@@ -230,7 +238,11 @@ final class WriteBehindStateWriter extends Writer {
                         pos += len + STATE_MARKER_LEN;
                         tildeIdx = getNextDelimiterIndex(builder, pos);
 
+                        long stateStart = profiler != null ? System.nanoTime() : 0;
                         stateBuilder = getState(stateManager, origWriter);
+                        if (profiler != null) {
+                            stateNanos += System.nanoTime() - stateStart;
+                        }
                         stateLen = stateBuilder.length();
                     } else {
                         pos = tildeIdx;
@@ -259,6 +271,11 @@ final class WriteBehindStateWriter extends Writer {
         // response so that all subsequent writes will make it to the
         // browser.
         out = orig;
+
+        if (profiler != null) {
+            profiler.record(context, Measurement.SAVE_STATE, stateNanos);
+            profiler.record(context, Measurement.FLUSH, System.nanoTime() - start - stateNanos);
+        }
     }
 
     /**
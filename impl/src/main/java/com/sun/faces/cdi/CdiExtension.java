@@ -32,6 +32,8 @@ import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.sun.faces.config.StartupTimeline;
+import com.sun.faces.config.StartupTimeline.Span;
 import com.sun.faces.push.WebsocketChannelManager;
 import com.sun.faces.push.WebsocketSessionManager;
 import com.sun.faces.push.WebsocketUserManager;
@@ -105,7 +107,10 @@ public class CdiExtension implements Extension {
      * @param beanManager the bean manager.
      */
     public void beforeBeanDiscovery(@Observes BeforeBeanDiscovery beforeBeanDiscovery, BeanManager beanManager) {
-        addAnnotatedTypes(beforeBeanDiscovery, beanManager, MOJARRA_MANAGED_BEANS);
+        // The CDI container usually boots before the ServletContext listeners run, so this begins the startup timeline
+        try (Span span = StartupTimeline.begin().getRoot().startChild("CDI BeforeBeanDiscovery")) {
+            addAnnotatedTypes(beforeBeanDiscovery, beanManager, MOJARRA_MANAGED_BEANS);
+        }
     }
 
     /**
@@ -175,6 +180,12 @@ public class CdiExtension implements Extension {
      * @param beanManager the bean manager.
      */
     public void afterBeanDiscovery(@Observes AfterBeanDiscovery afterBeanDiscovery, BeanManager beanManager) {
+        try (Span span = StartupTimeline.startSpan("CDI AfterBeanDiscovery")) {
+            addProducers(afterBeanDiscovery, beanManager);
+        }
+    }
+
+    private void addProducers(AfterBeanDiscovery afterBeanDiscovery, BeanManager beanManager) {
 
         // Ideally below should only happen if Jakarta Faces is considered active,
         // but this is not detectable as ServletContext is not necessarily available at this moment.
@@ -218,6 +229,12 @@ public class CdiExtension implements Extension {
      * @param beanManager the current bean manager
      */
     public void afterDeploymentValidation(@Observes AfterDeploymentValidation event, BeanManager beanManager) {
+        try (Span span = StartupTimeline.startSpan("CDI AfterDeploymentValidation")) {
+            sortDataModelClasses();
+        }
+    }
+
+    private void sortDataModelClasses() {
 
         // Sort the classes wrapped by a DataModel that we collected in processBean() such that
         // for any 2 classes X and Y from this collection, if an object of X is an instanceof an object of Y,
@@ -25,13 +25,17 @@ import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.sun.faces.application.ApplicationAssociate;
+import com.sun.faces.util.ELAwareBeanManagerWrapper;
 import com.sun.faces.util.FacesLogger;
 import com.sun.faces.util.Util;
 
@@ -238,18 +242,53 @@ public final class CdiUtils {
 
         Object beanReference = null;
 
+        Bean<?> bean = resolveBean(beanManager, type, beanName, qualifiers);
+        if (bean != null) {
+            beanReference = beanManager.getReference(bean, type, beanManager.createCreationalContext(bean));
+        }
+
+        return beanReference;
+    }
+
+    /**
+     * Resolves the bean through the cache of the current application, see
+     * {@link ApplicationAssociate#getCdiBeanCache()}. The set of beans does not change once the application is
+     * deployed, so only the contextual reference has to be obtained on each call. Misses are cached as well, since most
+     * converter lookups try several qualifiers before finding a match, or don't find one at all.
+     */
+    private static Bean<?> resolveBean(BeanManager beanManager, Type type, String beanName, Annotation... qualifiers) {
+        ApplicationAssociate associate = ApplicationAssociate.getCurrentInstance();
+        if (associate == null) {
+            // E.g. while the CDI container boots, before the application is configured
+            return doResolveBean(beanManager, type, beanName, qualifiers);
+        }
+
+        // Util.getCdiBeanManager() wraps the same bean manager anew on each call
+        BeanManager cacheKey = beanManager instanceof ELAwareBeanManagerWrapper wrapper ? wrapper.getWrapped() : beanManager;
+        ConcurrentMap<Object, Optional<Bean<?>>> beans = associate.getCdiBeanCache().get(cacheKey);
+        if (beans == null) {
+            beans = associate.getCdiBeanCache().computeIfAbsent(cacheKey, k -> new ConcurrentHashMap<>());
+        }
+
+        BeanKey key = new BeanKey(type, beanName, qualifiers);
+        Optional<Bean<?>> bean = beans.get(key);
+        if (bean == null) {
+            bean = Optional.ofNullable(doResolveBean(beanManager, type, beanName, qualifiers));
+            beans.putIfAbsent(key, bean);
+        }
+
+        return bean.orElse(null);
+    }
+
+    private static Bean<?> doResolveBean(BeanManager beanManager, Type type, String beanName, Annotation... qualifiers) {
         Set<Bean<? extends Object>> beans = beanManager.getBeans(type, qualifiers);
         if (beanName != null) {
             beans = beans.stream()
                 .filter(bean -> beanName.equals(getBeanName(bean)))
                 .collect(toSet());
         }
-        Bean<?> bean = beanManager.resolve(beans);
-        if (bean != null) {
-            beanReference = beanManager.getReference(bean, type, beanManager.createCreationalContext(bean));
-        }
 
-        return beanReference;
+        return beanManager.resolve(beans);
     }
 
     private static String getBeanName(Bean<?> bean) {
@@ -275,7 +314,7 @@ public final class CdiUtils {
     public static <T> T getBeanInstance(Class<T> type, boolean create) {
         BeanManager beanManager = Util.getCdiBeanManager(FacesContext.getCurrentInstance());
         @SuppressWarnings("unchecked")
-        Bean<T> bean = (Bean<T>) beanManager.resolve(beanManager.getBeans(type));
+        Bean<T> bean = (Bean<T>) resolveBean(beanManager, type, null);
 
         if (bean != null) {
             Context context = beanManager.getContext(bean.getScope());
@@ -418,4 +457,41 @@ public final class CdiUtils {
         }
     }
 
+    /**
+     * The key of a resolved bean: the required type, the optional bean name and the required qualifiers.
+     */
+    private static final class BeanKey {
+
+        private final Type type;
+        private final String beanName;
+        private final List<Annotation> qualifiers;
+        private final int hashCode;
+
+        BeanKey(Type type, String beanName, Annotation... qualifiers) {
+            this.type = type;
+            this.beanName = beanName;
+            this.qualifiers = List.of(qualifiers);
+            this.hashCode = Objects.hash(type, beanName, this.qualifiers);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+
+            if (!(object instanceof BeanKey)) {
+                return false;
+            }
+
+            BeanKey other = (BeanKey) object;
+            return type.equals(other.type) && Objects.equals(beanName, other.beanName) && qualifiers.equals(other.qualifiers);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
 }
@@ -18,25 +18,23 @@
 package com.sun.faces.cdi.clientwindow;
 
 import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableDistributable;
-import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.NumberOfClientWindows;
+import static com.sun.faces.util.Util.getCdiBeanManager;
 import static java.util.logging.Level.FINEST;
 
-import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.lifecycle.ClientWindowRegistry;
+import com.sun.faces.lifecycle.ClientWindowState;
 import com.sun.faces.util.FacesLogger;
-import com.sun.faces.util.LRUMap;
 
 import jakarta.enterprise.context.spi.Contextual;
 import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.enterprise.inject.spi.PassivationCapable;
-import jakarta.faces.context.ExternalContext;
 import jakarta.faces.context.FacesContext;
-import jakarta.servlet.http.HttpSession;
 import jakarta.servlet.http.HttpSessionEvent;
 
 /**
@@ -128,58 +126,23 @@ public class ClientWindowScopeContextManager {
      * @param create flag to indicate if we are creating the context map.
      * @return the context map.
      */
-    @SuppressWarnings("unchecked")
     private Map<String, ClientWindowScopeContextObject> getContextMap(FacesContext facesContext, boolean create) {
-        Map<String, ClientWindowScopeContextObject> result = null;
-
-        ExternalContext externalContext = facesContext.getExternalContext();
-        if (externalContext != null) {
-            Map<String, Object> sessionMap = externalContext.getSessionMap();
-            Object session = externalContext.getSession(create);
-
-            if (session != null) {
-                Map<Object, Map<String, ClientWindowScopeContextObject>> clientWindowScopeContexts = (Map<Object, Map<String, ClientWindowScopeContextObject>>)
-                    sessionMap.get(CLIENT_WINDOW_CONTEXTS);
-                String clientWindowId = getCurrentClientWindowId(facesContext);
-
-                if (clientWindowScopeContexts == null && create) {
-                    Integer numberOfClientWindows = null;
-
-                    try {
-                        numberOfClientWindows = Integer.parseInt(WebConfiguration.getInstance(externalContext).getOptionValue(NumberOfClientWindows));
-                    } catch (NumberFormatException nfe) {
-                        if (LOGGER.isLoggable(Level.WARNING)) {
-                            LOGGER.log(Level.WARNING, "Unable to set number of client windows.  Defaulting to {0}", NumberOfClientWindows.getDefaultValue());
-                        }
-                    }
-
-                    if (numberOfClientWindows == null) {
-                        numberOfClientWindows = Integer.valueOf(NumberOfClientWindows.getDefaultValue());
-                    }
-
-                    synchronized (session) {
-                        sessionMap.put(CLIENT_WINDOW_CONTEXTS, Collections.synchronizedMap(new LRUMap<String, Object>(numberOfClientWindows)));
-                    }
-                }
+        ClientWindowState window = ClientWindowRegistry.getWindow(facesContext, getCurrentClientWindowId(facesContext), create);
 
-                if (clientWindowScopeContexts != null && clientWindowId != null && create) {
-                    synchronized (clientWindowScopeContexts) {
-                        if (!clientWindowScopeContexts.containsKey(clientWindowId)) {
-                            clientWindowScopeContexts.put(clientWindowId,
-                                    new ConcurrentHashMap<String, ClientWindowScopeContextObject>());
-                            if (distributable) {
-                                // If we are distributable, this will result in a dirtying of the
-                                // session data, forcing replication. If we are not distributable,
-                                // this is a no-op.
-                                sessionMap.put(CLIENT_WINDOW_CONTEXTS, clientWindowScopeContexts);
-                            }
-                        }
-                    }
-                }
+        if (window == null) {
+            return null;
+        }
 
-                if (clientWindowScopeContexts != null && clientWindowId != null) {
-                    result = clientWindowScopeContexts.get(clientWindowId);
-                }
+        Map<String, ClientWindowScopeContextObject> result = window.getAttribute(CLIENT_WINDOW_CONTEXTS);
+
+        if (result == null && create) {
+            result = window.computeAttributeIfAbsent(CLIENT_WINDOW_CONTEXTS, key -> new ConcurrentHashMap<String, ClientWindowScopeContextObject>());
+
+            if (distributable) {
+                // If we are distributable, this will result in a dirtying of the
+                // session data, forcing replication. If we are not distributable,
+                // this is a no-op.
+                ClientWindowRegistry.getInstance(facesContext, false).update(facesContext.getExternalContext());
             }
         }
 
@@ -191,20 +154,43 @@ public class ClientWindowScopeContextManager {
      *
      * @param httpSessionEvent the HTTP session event.
      */
-    @SuppressWarnings("unchecked")
     public void sessionDestroyed(HttpSessionEvent httpSessionEvent) {
         if (LOGGER.isLoggable(FINEST)) {
             LOGGER.log(FINEST, "Cleaning up session for CDI @ClientWindowScoped beans");
         }
 
-        HttpSession session = httpSessionEvent.getSession();
+        ClientWindowRegistry registry = ClientWindowRegistry.getInstance(httpSessionEvent.getSession());
+        if (registry != null) {
+            for (ClientWindowState window : registry.getWindows()) {
+                clientWindowDestroyed(window);
+            }
+        }
+    }
 
-        Map<Object, Map<String, ClientWindowScopeContextObject>> clientWindowScopeContexts = (Map<Object, Map<String, ClientWindowScopeContextObject>>)
-                session.getAttribute(CLIENT_WINDOW_CONTEXTS);
-        if (clientWindowScopeContexts != null) {
-            clientWindowScopeContexts.clear();
-            session.removeAttribute(CLIENT_WINDOW_CONTEXTS);
+    /**
+     * Called when a client window is destroyed, either with its session or because its session no longer retains it.
+     * The @ClientWindowScoped beans of the window are destroyed, which invokes their @PreDestroy methods.
+     *
+     * @param window the state of the client window.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void clientWindowDestroyed(ClientWindowState window) {
+        Map<String, ClientWindowScopeContextObject> contextMap = window.removeAttribute(CLIENT_WINDOW_CONTEXTS);
+        if (contextMap == null || contextMap.isEmpty()) {
+            return;
         }
+
+        BeanManager beanManager = getCdiBeanManager(FacesContext.getCurrentInstance());
+        if (beanManager != null) {
+            for (ClientWindowScopeContextObject contextObject : contextMap.values()) {
+                Contextual contextual = beanManager.getPassivationCapableBean(contextObject.getPassivationCapableId());
+                if (contextual != null) {
+                    contextual.destroy(contextObject.getContextualInstance(), beanManager.createCreationalContext(contextual));
+                }
+            }
+        }
+
+        contextMap.clear();
     }
 
     protected String getCurrentClientWindowId(FacesContext facesContext)
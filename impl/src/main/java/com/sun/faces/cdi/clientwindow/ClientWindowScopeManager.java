@@ -20,6 +20,8 @@ import static java.util.logging.Level.FINEST;
 
 import java.util.logging.Logger;
 
+import com.sun.faces.lifecycle.ClientWindowState;
+
 import jakarta.faces.context.FacesContext;
 import jakarta.servlet.http.HttpSessionEvent;
 import jakarta.servlet.http.HttpSessionListener;
@@ -94,4 +96,17 @@ public class ClientWindowScopeManager implements HttpSessionListener {
             contextManager.sessionDestroyed(httpSessionEvent);
         }
     }
+
+    /**
+     * Destroy the associated data of a client window which is no longer retained by its session.
+     *
+     * @param window the state of the client window.
+     */
+    public void clientWindowDestroyed(ClientWindowState window) {
+        LOGGER.log(FINEST, "Cleaning up client window {0} for @ClientWindowScoped beans", window.getId());
+
+        if (contextManager != null) {
+            contextManager.clientWindowDestroyed(window);
+        }
+    }
 }
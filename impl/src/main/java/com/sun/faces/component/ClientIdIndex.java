@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.component;
+
+import static jakarta.faces.component.visit.VisitHint.SKIP_ITERATION;
+import static jakarta.faces.component.visit.VisitResult.ACCEPT;
+import static jakarta.faces.component.visit.VisitResult.REJECT;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.sun.faces.facelets.component.UIRepeat;
+
+import jakarta.faces.component.ContextCallback;
+import jakarta.faces.component.NamingContainer;
+import jakarta.faces.component.TransientStateHelper;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIData;
+import jakarta.faces.component.UINamingContainer;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.component.search.UntargetableComponent;
+import jakarta.faces.component.visit.VisitContext;
+import jakarta.faces.component.visit.VisitHint;
+import jakarta.faces.context.FacesContext;
+
+/**
+ * <p>
+ * <code>ClientIdIndex</code> maps the client ids of the components in a view to the components, so that locating a
+ * component by client id does not take a walk over the whole tree.
+ * </p>
+ *
+ * <p>
+ * The index is kept in the transient state of the {@link UIViewRoot}, built with a single visit of the tree, skipping
+ * iteration, when it is first used, and kept current by {@link com.sun.faces.context.StateContext} as components are
+ * added to and removed from the view. Since client ids may still change without notice, for example when the id of a
+ * naming container is changed, each hit is verified against the tree, and a miss simply means the caller has to fall
+ * back to walking the tree.
+ * </p>
+ *
+ * <p>
+ * Components inside iteration components are indexed by their client id outside of iteration. The client id of such
+ * a component in a particular row is resolved through the nearest indexed naming container it starts with, which then
+ * takes care of positioning itself on the row.
+ * </p>
+ *
+ * <p>
+ * The index only locates components. Callbacks are still invoked through the outermost naming container above the
+ * located component, so that the iteration and composite components on the way set up their rows and EL context as
+ * they do when invoked from the view root.
+ * </p>
+ */
+public final class ClientIdIndex {
+
+    private static final String INDEX_KEY = ClientIdIndex.class.getName();
+
+    private static final Set<VisitHint> SKIP_ITERATION_HINT = EnumSet.of(SKIP_ITERATION);
+
+    private final UIViewRoot root;
+
+    private final Map<String, UIComponent> components = new HashMap<>();
+
+    private boolean built;
+
+    // ------------------------------------------------------------ Constructors
+
+    private ClientIdIndex(UIViewRoot root) {
+        this.root = root;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param context the <code>FacesContext</code> for the current request
+     * @param root the view root
+     * @return the <code>ClientIdIndex</code> of the given view
+     */
+    public static ClientIdIndex getIndex(FacesContext context, UIViewRoot root) {
+        TransientStateHelper helper = root.getTransientStateHelper();
+        ClientIdIndex index = (ClientIdIndex) helper.getTransient(INDEX_KEY);
+        if (index == null) {
+            index = new ClientIdIndex(root);
+            helper.putTransient(INDEX_KEY, index);
+        }
+
+        return index;
+    }
+
+    /**
+     * Record a component that has been added to the current view.
+     *
+     * @param context the <code>FacesContext</code> for the current request
+     * @param component the added component
+     */
+    public static void componentAdded(FacesContext context, UIComponent component) {
+        ClientIdIndex index = getBuiltIndex(context);
+        if (index != null && !(component instanceof UntargetableComponent)) {
+            index.components.put(component.getClientId(context), component);
+        }
+    }
+
+    /**
+     * Forget a component that is about to be removed from the current view.
+     *
+     * @param context the <code>FacesContext</code> for the current request
+     * @param component the removed component
+     */
+    public static void componentRemoved(FacesContext context, UIComponent component) {
+        ClientIdIndex index = getBuiltIndex(context);
+        if (index != null && !(component instanceof UntargetableComponent)) {
+            index.components.remove(component.getClientId(context), component);
+        }
+    }
+
+    /**
+     * @param context the <code>FacesContext</code> for the current request
+     * @param clientId the client id to look for
+     * @return the component of the view with the given client id, or <code>null</code> if the index does not know it
+     */
+    public UIComponent findComponent(FacesContext context, String clientId) {
+        if (!built) {
+            built = true;
+            addTree(context);
+        }
+
+        UIComponent component = components.get(clientId);
+        if (component != null && !isCurrent(context, component, clientId)) {
+            components.remove(clientId);
+            component = null;
+        }
+
+        return component;
+    }
+
+    /**
+     * Does what {@link UIViewRoot#invokeOnComponent(FacesContext, String, ContextCallback)} does, starting from the
+     * outermost naming container above the component with the given client id or, for components in an iteration
+     * component, above the nearest naming container the client id starts with, instead of from the view root.
+     *
+     * @param context the <code>FacesContext</code> for the current request
+     * @param clientId the client id of the target component
+     * @param callback the callback to invoke on the target component
+     * @return <code>true</code> if the callback was invoked
+     */
+    public boolean invokeOnComponent(FacesContext context, String clientId, ContextCallback callback) {
+        UIComponent component = findComponent(context, clientId);
+
+        if (component == null) {
+            char separatorChar = UINamingContainer.getSeparatorChar(context);
+            for (int i = clientId.lastIndexOf(separatorChar); component == null && i > 0; i = clientId.lastIndexOf(separatorChar, i - 1)) {
+                UIComponent candidate = findComponent(context, clientId.substring(0, i));
+                if (candidate instanceof NamingContainer) {
+                    component = candidate;
+                }
+            }
+        }
+
+        if (component != null) {
+            UIComponent namingContainer = getOutermostNamingContainer(component);
+            if (namingContainer != null && namingContainer.invokeOnComponent(context, clientId, callback)) {
+                return true;
+            }
+        }
+
+        return root.invokeOnComponent(context, clientId, callback);
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static ClientIdIndex getBuiltIndex(FacesContext context) {
+        UIViewRoot root = context.getViewRoot();
+        if (root == null) {
+            return null;
+        }
+
+        ClientIdIndex index = (ClientIdIndex) root.getTransientStateHelper().getTransient(INDEX_KEY);
+        return index != null && index.built ? index : null;
+    }
+
+    private void addTree(FacesContext context) {
+        root.visitTree(VisitContext.createVisitContext(context, null, SKIP_ITERATION_HINT), (visitContext, component) -> {
+            String clientId = component.getClientId(context);
+            if (isOnRow(context, component, clientId)) {
+                // Skipping iteration does not reset the current row, so leave the rows to the lookups from the view root
+                return REJECT;
+            }
+
+            if (!(component instanceof UntargetableComponent)) {
+                components.putIfAbsent(clientId, component);
+            }
+            return ACCEPT;
+        });
+    }
+
+    private static boolean isOnRow(FacesContext context, UIComponent component, String clientId) {
+        // The client id of an iteration component which is positioned on a row ends with the row index instead of its id
+        String id = component.getId();
+        return (component instanceof UIData || component instanceof UIRepeat)
+                && !clientId.equals(id) && !clientId.endsWith(UINamingContainer.getSeparatorChar(context) + id);
+    }
+
+    private UIComponent getOutermostNamingContainer(UIComponent component) {
+        UIComponent namingContainer = null;
+        for (UIComponent ancestor = component; ancestor != null && ancestor != root; ancestor = ancestor.getParent()) {
+            if (ancestor instanceof NamingContainer) {
+                namingContainer = ancestor;
+            }
+        }
+
+        return namingContainer;
+    }
+
+    private boolean isCurrent(FacesContext context, UIComponent component, String clientId) {
+        UIComponent ancestor = component;
+        while (ancestor.getParent() != null) {
+            ancestor = ancestor.getParent();
+        }
+
+        return ancestor == root && clientId.equals(component.getClientId(context));
+    }
+
+}
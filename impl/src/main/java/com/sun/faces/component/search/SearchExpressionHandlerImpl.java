@@ -20,6 +20,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import com.sun.faces.component.ClientIdIndex;
+
 import jakarta.faces.FacesException;
 import jakarta.faces.component.ContextCallback;
 import jakarta.faces.component.UIComponent;
@@ -300,7 +302,7 @@ public class SearchExpressionHandlerImpl extends SearchExpressionHandler {
                     expression = expression.substring(1);
                 }
 
-                facesContext.getViewRoot().invokeOnComponent(facesContext, expression, callback);
+                ClientIdIndex.getIndex(facesContext, facesContext.getViewRoot()).invokeOnComponent(facesContext, expression, callback);
             }
         }
     }
@@ -16,11 +16,13 @@
 package com.sun.faces.config;
 
 import static com.sun.faces.RIConstants.FACES_PREFIX;
+import static com.sun.faces.config.StartupTimeline.startSpan;
 import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableThreading;
 import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.ValidateFacesConfigFiles;
 import static com.sun.faces.config.manager.Documents.getProgrammaticDocuments;
 import static com.sun.faces.config.manager.Documents.getXMLDocuments;
 import static com.sun.faces.config.manager.Documents.mergeDocuments;
+import static com.sun.faces.config.manager.Documents.parseXMLDocuments;
 import static com.sun.faces.config.manager.Documents.sortDocuments;
 import static com.sun.faces.spi.ConfigurationResourceProviderFactory.createProviders;
 import static com.sun.faces.spi.ConfigurationResourceProviderFactory.ProviderType.FaceletConfig;
@@ -36,6 +38,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -47,12 +50,16 @@ import java.util.logging.Logger;
 import javax.naming.InitialContext;
 import javax.naming.NamingException;
 
+import com.sun.faces.config.StartupTimeline.Span;
 import com.sun.faces.config.configpopulator.MojarraRuntimePopulator;
 import com.sun.faces.config.configprovider.MetaInfFaceletTaglibraryConfigProvider;
 import com.sun.faces.config.configprovider.MetaInfFacesConfigResourceProvider;
 import com.sun.faces.config.configprovider.WebAppFlowConfigResourceProvider;
 import com.sun.faces.config.configprovider.WebFaceletTaglibResourceProvider;
 import com.sun.faces.config.configprovider.WebFacesConfigResourceProvider;
+import com.sun.faces.config.manager.ConfigProcessorScheduler;
+import com.sun.faces.config.manager.ConfigProcessorScheduler.Timing;
+import com.sun.faces.config.manager.ConfigSnapshot;
 import com.sun.faces.config.manager.DbfFactory;
 import com.sun.faces.config.manager.FacesConfigInfo;
 import com.sun.faces.config.manager.documents.DocumentInfo;
@@ -102,6 +109,8 @@ public class ConfigManager {
 
     private static final Logger LOGGER = FacesLogger.CONFIG.getLogger();
 
+    private static final Logger TIMING_LOGGER = FacesLogger.TIMING.getLogger();
+
     /**
      * The initialization time FacesContext scoped key under which the InjectionProvider is stored.
      */
@@ -145,6 +154,13 @@ public class ConfigManager {
                 new FacesFlowDefinitionConfigProcessor(),
                 new ResourceLibraryContractsConfigProcessor());
 
+    /**
+     * <p>
+     * Runs the {@link #configProcessors} in the order of their dependencies, concurrently when threading is enabled.
+     * </p>
+     */
+    private final ConfigProcessorScheduler configProcessorScheduler = new ConfigProcessorScheduler(configProcessors);
+
     /**
      * <p>
      * A List of resource providers that search for faces-config documents. By default, this contains a provider for the
@@ -234,19 +250,42 @@ public class ConfigManager {
                     executor = createExecutorService();
                 }
 
+                // A snapshot of a previous boot, if packaged with the application, saves discovering the documents again
+                ConfigSnapshot snapshot = ConfigSnapshot.load(servletContext);
+
                 // Obtain and merge the XML and Programmatic documents
-                DocumentInfo[] facesDocuments = mergeDocuments(getXMLDocuments(servletContext, getFacesConfigResourceProviders(), executor, validating),
-                        getProgrammaticDocuments(getConfigPopulators()));
+                DocumentInfo[] xmlDocuments;
+                try (Span span = startSpan("load faces-config documents")) {
+                    xmlDocuments = snapshot != null ? parseXMLDocuments(servletContext, snapshot.getFacesConfigURIs(), executor, validating)
+                            : getXMLDocuments(servletContext, getFacesConfigResourceProviders(), executor, validating);
+                }
+                DocumentInfo[] mergedDocuments;
+                try (Span span = startSpan("populate programmatic documents")) {
+                    mergedDocuments = mergeDocuments(xmlDocuments, getProgrammaticDocuments(getConfigPopulators()));
+                }
 
-                FacesConfigInfo lastFacesConfigInfo = new FacesConfigInfo(facesDocuments[facesDocuments.length - 1]);
+                FacesConfigInfo lastFacesConfigInfo = new FacesConfigInfo(mergedDocuments[mergedDocuments.length - 1]);
 
-                facesDocuments = sortDocuments(facesDocuments, lastFacesConfigInfo);
+                DocumentInfo[] facesDocuments;
+                try (Span span = startSpan("sort faces-config documents")) {
+                    facesDocuments = snapshot != null ? snapshot.sortDocuments(mergedDocuments) : null;
+                    if (facesDocuments == null) {
+                        facesDocuments = sortDocuments(mergedDocuments.clone(), lastFacesConfigInfo);
+                    }
+                }
 
                 InjectionProvider containerConnector = InjectionProviderFactory.createInstance(facesContext.getExternalContext());
                 facesContext.getAttributes().put(INJECTION_PROVIDER_KEY, containerConnector);
 
                 if (!lastFacesConfigInfo.isWebInfFacesConfig() || !lastFacesConfigInfo.isMetadataComplete()) {
-                    findAnnotations(facesDocuments, containerConnector, servletContext, facesContext, executor);
+                    Map<Class<? extends Annotation>, Set<Class<?>>> annotatedClasses = snapshot != null
+                            ? snapshot.getAnnotatedClasses(Thread.currentThread().getContextClassLoader())
+                            : null;
+                    if (annotatedClasses != null) {
+                        pushTaskToContext(servletContext, CompletableFuture.completedFuture(annotatedClasses));
+                    } else {
+                        findAnnotations(facesDocuments, containerConnector, servletContext, facesContext, executor);
+                    }
                 }
 
                 // See if the app is running in a HA enabled env
@@ -258,57 +297,67 @@ public class ConfigManager {
                 // This invokes a chain or processors where each processor grabs its own elements of interest
                 // from each document.
 
-                DocumentInfo[] facesDocuments2 = facesDocuments;
-                configProcessors.subList(0, 3).stream().forEach(e -> {
-                    try {
-                        e.process(servletContext, facesContext, facesDocuments2);
-                    } catch (Exception e2) {
-                        // TODO Auto-generated catch block
-                        e2.printStackTrace();
-                    }
-                });
-
+                DocumentInfo[] sortedDocuments = facesDocuments;
                 long parentThreadId = Thread.currentThread().getId();
                 ClassLoader parentContextClassLoader = Thread.currentThread().getContextClassLoader();
+                Verifier parentVerifier = Verifier.getCurrentInstance();
 
                 ThreadContext threadContext = getThreadContext(containerConnector);
                 Object parentWebContext = threadContext != null ? threadContext.getParentWebContext() : null;
 
-                configProcessors.subList(3, configProcessors.size()).stream().forEach(e -> {
+                List<Timing> timings;
+                try (Span processingSpan = startSpan("process faces-config documents")) {
+                    timings = configProcessorScheduler.run(executor, processor -> {
 
-                    long currentThreadId = Thread.currentThread().getId();
-
-                    InitFacesContext initFacesContext = null;
-                    if (currentThreadId != parentThreadId) {
-                        Thread.currentThread().setContextClassLoader(parentContextClassLoader);
-                        initFacesContext = InitFacesContext.getInstance(servletContext);
-                        if (parentWebContext != null) {
-                            threadContext.propagateWebContextToChild(parentWebContext);
-                        }
+                        long currentThreadId = Thread.currentThread().getId();
 
-                    } else {
-                        initFacesContext = facesContext;
-                    }
-
-                    try {
-                        e.process(servletContext, initFacesContext, facesDocuments2);
-                    } catch (Exception e1) {
-                        // TODO Auto-generated catch block
-                        e1.printStackTrace();
-                    } finally {
+                        InitFacesContext initFacesContext = null;
                         if (currentThreadId != parentThreadId) {
-                            Thread.currentThread().setContextClassLoader(null);
-                            initFacesContext.releaseCurrentInstance();
+                            Thread.currentThread().setContextClassLoader(parentContextClassLoader);
+                            Verifier.setCurrentInstance(parentVerifier);
+                            initFacesContext = InitFacesContext.getInstance(servletContext);
                             if (parentWebContext != null) {
-                                threadContext.clearChildContext();
+                                threadContext.propagateWebContextToChild(parentWebContext);
                             }
+
+                        } else {
+                            initFacesContext = facesContext;
                         }
 
-                    }
-                });
+                        try (Span span = processingSpan.startChild(processor.getClass().getSimpleName())) {
+                            processor.process(servletContext, initFacesContext, sortedDocuments);
+                        } finally {
+                            if (currentThreadId != parentThreadId) {
+                                Thread.currentThread().setContextClassLoader(null);
+                                Verifier.setCurrentInstance(null);
+                                initFacesContext.releaseCurrentInstance();
+                                if (parentWebContext != null) {
+                                    threadContext.clearChildContext();
+                                }
+                            }
+
+                        }
+                    });
+                }
+
+                if (TIMING_LOGGER.isLoggable(FINE)) {
+                    TIMING_LOGGER.fine(ConfigProcessorScheduler.getReport(timings));
+                }
+
+                DocumentInfo[] faceletDocuments;
+                try (Span span = startSpan("load facelet-taglib documents")) {
+                    faceletDocuments = snapshot != null ? parseXMLDocuments(servletContext, snapshot.getFaceletConfigURIs(), executor, validating)
+                            : getXMLDocuments(servletContext, getFaceletConfigResourceProviders(), executor, validating);
+                }
+                try (Span span = startSpan("process facelet-taglib documents")) {
+                    faceletTaglibConfigProcessor.process(servletContext, facesContext, faceletDocuments);
+                }
 
-                faceletTaglibConfigProcessor.process(servletContext, facesContext,
-                    getXMLDocuments(servletContext, getFaceletConfigResourceProviders(), executor, validating));
+                if (snapshot == null) {
+                    try (Span span = startSpan("write configuration snapshot")) {
+                        ConfigSnapshot.write(servletContext, xmlDocuments, mergedDocuments, facesDocuments, faceletDocuments, getAnnotatedClasses(facesContext));
+                    }
+                }
 
             } catch (Exception e) {
                 // Clear out any configured factories
@@ -351,7 +400,7 @@ public class ConfigManager {
         Future<Map<Class<? extends Annotation>, Set<Class<?>>>> annotationScan;
 
         if (executor != null) {
-            annotationScan = executor.submit(new FindAnnotatedConfigClasses(servletContext, context, taskMetadata));
+            annotationScan = executor.submit(new FindAnnotatedConfigClasses(servletContext, context, taskMetadata, executor));
         } else {
             annotationScan = new FutureTask<>(new FindAnnotatedConfigClasses(servletContext, context, taskMetadata));
             ((FutureTask<Map<Class<? extends Annotation>, Set<Class<?>>>>) annotationScan).run();
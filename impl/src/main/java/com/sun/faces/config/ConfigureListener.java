@@ -61,12 +61,13 @@ import org.xml.sax.helpers.DefaultHandler;
 
 import com.sun.faces.application.ApplicationAssociate;
 import com.sun.faces.application.WebappLifecycleListener;
+import com.sun.faces.cdi.CdiUtils;
 import com.sun.faces.el.ELContextImpl;
 import com.sun.faces.push.WebsocketEndpoint;
+import com.sun.faces.push.WebsocketSessionManager;
 import com.sun.faces.util.FacesLogger;
 import com.sun.faces.util.MojarraThreadFactory;
 import com.sun.faces.util.ReflectionUtils;
-import com.sun.faces.util.Timer;
 import com.sun.faces.util.Util;
 
 import jakarta.el.ELManager;
@@ -104,11 +105,6 @@ public class ConfigureListener implements ServletRequestListener, HttpSessionLis
     public void contextInitialized(ServletContextEvent servletContextEvent) {
         ServletContext servletContext = servletContextEvent.getServletContext();
 
-        Timer timer = Timer.getInstance();
-        if (timer != null) {
-            timer.startTiming();
-        }
-
         ConfigManager configManager = ConfigManager.getInstance(servletContext);
         if (configManager == null) {
             configManager = ConfigManager.createInstance(servletContext);
@@ -118,6 +114,9 @@ public class ConfigureListener implements ServletRequestListener, HttpSessionLis
             return;
         }
 
+        // Joins the timeline begun by the CDI extension, if any
+        StartupTimeline timeline = StartupTimeline.begin();
+
         InitFacesContext initFacesContext = new InitFacesContext(servletContext);
         Util.getCdiBeanManager(initFacesContext); // #5232 Fail fast when CDI is really not available.
 
@@ -140,6 +139,7 @@ public class ConfigureListener implements ServletRequestListener, HttpSessionLis
                     configManager.destroy(servletContext, initFacesContext);
                     ConfigManager.removeInstance(servletContext);
                     initFacesContext.release();
+                    timeline.cancel();
 
                     return;
                 }
@@ -223,10 +223,13 @@ public class ConfigureListener implements ServletRequestListener, HttpSessionLis
                 }
 
                 serverContainer.addEndpoint(ServerEndpointConfig.Builder.create(WebsocketEndpoint.class, URI_TEMPLATE).build());
+                CdiUtils.getBeanReference(initFacesContext, WebsocketSessionManager.class).initialize(initFacesContext);
             }
 
             webConfig.doPostBringupActions();
-            configManager.publishPostConfigEvent();
+            try (StartupTimeline.Span span = StartupTimeline.startSpan("publish PostConstructApplicationEvent")) {
+                configManager.publishPostConfigEvent();
+            }
 
         } catch (Throwable t) {
             LOGGER.log(SEVERE, "Critical error during deployment: ", t);
@@ -240,10 +243,7 @@ public class ConfigureListener implements ServletRequestListener, HttpSessionLis
 
             LOGGER.log(FINE, "faces.config.listener.version.complete");
 
-            if (timer != null) {
-                timer.stopTiming();
-                timer.logResult("Initialization of context " + servletContext.getContextPath());
-            }
+            timeline.end(servletContext);
 
             if (caughtThrowable != null) {
                 throw new RuntimeException(caughtThrowable);
@@ -319,6 +319,7 @@ public class ConfigureListener implements ServletRequestListener, HttpSessionLis
             }
 
             FactoryFinder.releaseFactories();
+            StartupTimeline.destroy(context);
             ReflectionUtils.clearCache(Thread.currentThread().getContextClassLoader());
             WebConfiguration.clear(context);
             if (initContext != null) {
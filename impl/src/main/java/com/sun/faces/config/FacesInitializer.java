@@ -133,6 +133,12 @@ public class FacesInitializer implements ServletContainerInitializer {
             if (servletContext.getAttribute(ANNOTATED_CLASSES) != null) {
                 servletContext.removeAttribute(ANNOTATED_CLASSES);
             }
+
+            // Nor will the ConfigureListener end the startup timeline the CDI extension may have begun
+            StartupTimeline timeline = StartupTimeline.getCurrentInstance();
+            if (timeline != null) {
+                timeline.cancel();
+            }
         }
     }
 
@@ -0,0 +1,458 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.config;
+
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableStartupTimeline;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.StartupTimelineOutput;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.sun.faces.util.FacesLogger;
+import com.sun.faces.util.Json;
+
+import jakarta.servlet.ServletContext;
+
+/**
+ * <p>
+ * Records the boot of an application as a hierarchical timeline of {@link Span}s: the discovery, parsing and
+ * validation of the configuration documents, the annotation scan, each
+ * {@link com.sun.faces.config.processor.ConfigProcessor}, the work done by the CDI extension, the Facelets
+ * initialization and so on. Each span records the thread which executed it.
+ * </p>
+ *
+ * <p>
+ * A timeline is bound to the context class loader of the application from {@link #begin()} until
+ * {@link #end(ServletContext)}, because the CDI extension is notified before the {@link ServletContext} is available.
+ * Spans are started with {@link #startSpan(String)}, which nests them in the span which is open on the current thread.
+ * Work handed over to other threads captures {@link #currentSpan()} and starts its spans with
+ * {@link Span#startChild(String)}. When no timeline is being recorded, for example when the instrumented code runs after
+ * startup, these methods return a span which records nothing.
+ * </p>
+ *
+ * <p>
+ * Once ended, the timeline is logged at <code>FINE</code> level by the <code>jakarta.enterprise.resource.webcontainer.faces.timing</code>
+ * logger, written as JSON to the file configured with <code>com.sun.faces.startupTimelineOutput</code>, and, if
+ * <code>com.sun.faces.enableStartupTimeline</code> is set, made available through JMX as
+ * <code>com.sun.faces:type=StartupTimeline,name=&lt;context path&gt;</code>.
+ * </p>
+ */
+public final class StartupTimeline implements StartupTimelineMBean {
+
+    private static final Logger LOGGER = FacesLogger.TIMING.getLogger();
+
+    private static final String TIMELINE_KEY = StartupTimeline.class.getName();
+
+    private static final Map<ClassLoader, StartupTimeline> ACTIVE_TIMELINES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final ThreadLocal<Span> CURRENT_SPAN = new ThreadLocal<>();
+
+    private final long startTime = System.currentTimeMillis();
+    private final Queue<Span> spans = new ConcurrentLinkedQueue<>();
+    private final Span root;
+    private volatile String contextPath = "";
+    private ObjectName objectName;
+
+    // ------------------------------------------------------------ Constructors
+
+    StartupTimeline() {
+        root = new Span(this, "startup", null);
+        spans.add(root);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @return the timeline being recorded for the current context class loader, which is created if needed
+     */
+    public static StartupTimeline begin() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        synchronized (ACTIVE_TIMELINES) {
+            return ACTIVE_TIMELINES.computeIfAbsent(loader, k -> new StartupTimeline());
+        }
+    }
+
+    /**
+     * @return the timeline being recorded for the current context class loader, or <code>null</code>
+     */
+    public static StartupTimeline getCurrentInstance() {
+        return ACTIVE_TIMELINES.get(Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * @param servletContext the <code>ServletContext</code> of the application
+     * @return the ended timeline of the application, or <code>null</code> if none has been recorded
+     */
+    public static StartupTimeline getInstance(ServletContext servletContext) {
+        return (StartupTimeline) servletContext.getAttribute(TIMELINE_KEY);
+    }
+
+    /**
+     * @return the span open on the current thread, the root span of the timeline of the current context class loader,
+     * or a span which records nothing
+     */
+    public static Span currentSpan() {
+        Span current = CURRENT_SPAN.get();
+        if (current != null) {
+            return current;
+        }
+
+        StartupTimeline timeline = getCurrentInstance();
+        return timeline != null ? timeline.root : Span.NONE;
+    }
+
+    /**
+     * Start a span nested in {@link #currentSpan()}. It has to be closed by the thread which started it, preferably
+     * with a <code>try</code>-with-resources statement.
+     *
+     * @param name the name of the span
+     * @return the started span
+     */
+    public static Span startSpan(String name) {
+        return currentSpan().startChild(name);
+    }
+
+    /**
+     * End the timeline and publish it, see the class documentation.
+     *
+     * @param servletContext the <code>ServletContext</code> of the application
+     */
+    public void end(ServletContext servletContext) {
+        root.close();
+        unbind();
+
+        contextPath = servletContext.getContextPath();
+        servletContext.setAttribute(TIMELINE_KEY, this);
+
+        if (LOGGER.isLoggable(FINE)) {
+            LOGGER.fine(getReport());
+        }
+
+        WebConfiguration webConfig = WebConfiguration.getInstance(servletContext);
+        String output = webConfig.getOptionValue(StartupTimelineOutput);
+        if (output != null && !output.isEmpty()) {
+            write(Paths.get(output));
+        }
+
+        if (webConfig.isOptionEnabled(EnableStartupTimeline)) {
+            registerMBean();
+        }
+    }
+
+    /**
+     * Stop recording without publishing anything, for example because the application does not use Faces.
+     */
+    public void cancel() {
+        root.close();
+        unbind();
+    }
+
+    /**
+     * Unregister the timeline of the given application from JMX.
+     *
+     * @param servletContext the <code>ServletContext</code> of the application
+     */
+    public static void destroy(ServletContext servletContext) {
+        StartupTimeline timeline = getInstance(servletContext);
+        if (timeline != null) {
+            servletContext.removeAttribute(TIMELINE_KEY);
+            timeline.unregisterMBean();
+        }
+    }
+
+    /**
+     * @return the root span, which covers the whole boot
+     */
+    public Span getRoot() {
+        return root;
+    }
+
+    /**
+     * @return all spans in the order in which they have been started
+     */
+    public List<Span> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    // ------------------------------------------------ Methods from StartupTimelineMBean
+
+    @Override
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    @Override
+    public long getStartTime() {
+        return startTime;
+    }
+
+    @Override
+    public double getDurationMillis() {
+        return root.getDurationMillis();
+    }
+
+    @Override
+    public double getDurationMillis(String spanName) {
+        for (Span span : spans) {
+            if (span.name.equals(spanName)) {
+                return span.getDurationMillis();
+            }
+        }
+
+        return 0;
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder report = new StringBuilder(" [TIMING] - Startup of context ").append(contextPath.isEmpty() ? "/" : contextPath);
+        appendReport(report, root, getChildren(), 0);
+        return report.toString();
+    }
+
+    @Override
+    public String toJson() {
+        return Json.encode(toMap());
+    }
+
+    /**
+     * @return the timeline as the nested maps and lists which {@link #toJson()} encodes
+     */
+    Map<String, Object> toMap() {
+        Map<String, Object> timeline = new LinkedHashMap<>();
+        timeline.put("contextPath", contextPath);
+        timeline.put("startTime", startTime);
+        timeline.put("durationMillis", round(root.getDurationMillis()));
+        timeline.put("root", toMap(root, getChildren()));
+        return timeline;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void unbind() {
+        synchronized (ACTIVE_TIMELINES) {
+            ACTIVE_TIMELINES.values().remove(this);
+        }
+    }
+
+    private Map<Span, List<Span>> getChildren() {
+        Map<Span, List<Span>> children = new IdentityHashMap<>();
+        for (Span span : spans) {
+            if (span.parent != null) {
+                children.computeIfAbsent(span.parent, k -> new ArrayList<>()).add(span);
+            }
+        }
+
+        return children;
+    }
+
+    private static void appendReport(StringBuilder report, Span span, Map<Span, List<Span>> children, int depth) {
+        report.append('\n');
+        for (int i = 0; i < depth; i++) {
+            report.append("  ");
+        }
+        report.append('[').append(format(span.getDurationMillis())).append("ms] ").append(span.name).append(" (").append(span.threadName).append(')');
+
+        for (Span child : children.getOrDefault(span, Collections.emptyList())) {
+            appendReport(report, child, children, depth + 1);
+        }
+    }
+
+    private static Map<String, Object> toMap(Span span, Map<Span, List<Span>> children) {
+        List<Map<String, Object>> spanChildren = new ArrayList<>();
+        for (Span child : children.getOrDefault(span, Collections.emptyList())) {
+            spanChildren.add(toMap(child, children));
+        }
+
+        Map<String, Object> node = new LinkedHashMap<>();
+        node.put("name", span.name);
+        node.put("thread", span.threadName);
+        node.put("startMillis", round(span.getStartMillis()));
+        node.put("durationMillis", round(span.getDurationMillis()));
+        node.put("children", spanChildren);
+        return node;
+    }
+
+    private static BigDecimal round(double millis) {
+        return BigDecimal.valueOf(millis).setScale(3, RoundingMode.HALF_UP);
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.ROOT, "%.3f", millis);
+    }
+
+    private void write(Path path) {
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.write(path, toJson().getBytes(UTF_8));
+        } catch (IOException | RuntimeException | NoClassDefFoundError e) {
+            // Also when no JSON-P implementation is available, which is optional for Faces.
+            LOGGER.log(WARNING, "Unable to write the startup timeline to " + path, e);
+        }
+    }
+
+    private void registerMBean() {
+        try {
+            ObjectName name = new ObjectName("com.sun.faces:type=StartupTimeline,name=" + ObjectName.quote(contextPath.isEmpty() ? "/" : contextPath));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = name;
+        } catch (JMException | SecurityException e) {
+            LOGGER.log(WARNING, "Unable to register the startup timeline with JMX", e);
+        }
+    }
+
+    private void unregisterMBean() {
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (JMException | SecurityException e) {
+                LOGGER.log(FINE, "Unable to unregister " + objectName, e);
+            }
+            objectName = null;
+        }
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    /**
+     * A timed step of the boot. Spans are started by {@link StartupTimeline#startSpan(String)} or
+     * {@link #startChild(String)} and stopped by {@link #close()}.
+     */
+    public static final class Span implements AutoCloseable {
+
+        /**
+         * The span returned when no timeline is being recorded.
+         */
+        static final Span NONE = new Span(null, "", null);
+
+        private final StartupTimeline timeline;
+        private final String name;
+        private final Span parent;
+        private final String threadName;
+        private final long startNanos;
+        private volatile long endNanos;
+        private Span previous;
+
+        Span(StartupTimeline timeline, String name, Span parent) {
+            this.timeline = timeline;
+            this.name = name;
+            this.parent = parent;
+            threadName = Thread.currentThread().getName();
+            startNanos = System.nanoTime();
+        }
+
+        /**
+         * Start a span nested in this one on the current thread, which may differ from the thread of this span.
+         *
+         * @param name the name of the span
+         * @return the started span
+         */
+        public Span startChild(String name) {
+            if (timeline == null) {
+                return NONE;
+            }
+
+            Span child = new Span(timeline, name, this);
+            child.previous = CURRENT_SPAN.get();
+            CURRENT_SPAN.set(child);
+            timeline.spans.add(child);
+            return child;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the enclosing span, or <code>null</code> for the root span
+         */
+        public Span getParent() {
+            return parent;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+
+        /**
+         * @return the start of this span relative to the start of the timeline
+         */
+        public double getStartMillis() {
+            return timeline != null ? (startNanos - timeline.root.startNanos) / 1_000_000.0 : 0;
+        }
+
+        /**
+         * @return the duration of this span, or the time elapsed so far if it has not been closed yet
+         */
+        public double getDurationMillis() {
+            long end = endNanos;
+            return ((end != 0 ? end : System.nanoTime()) - startNanos) / 1_000_000.0;
+        }
+
+        /**
+         * Stop this span. Closing a span more than once has no effect.
+         */
+        @Override
+        public void close() {
+            if (timeline == null || endNanos != 0) {
+                return;
+            }
+
+            endNanos = System.nanoTime();
+            if (CURRENT_SPAN.get() == this) {
+                if (previous != null) {
+                    CURRENT_SPAN.set(previous);
+                } else {
+                    CURRENT_SPAN.remove();
+                }
+            }
+            previous = null;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+
+    }
+
+}
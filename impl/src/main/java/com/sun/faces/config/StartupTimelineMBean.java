@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.config;
+
+/**
+ * JMX management interface of the {@link StartupTimeline}. Spans are referenced by their name.
+ */
+public interface StartupTimelineMBean {
+
+    String getContextPath();
+
+    /**
+     * @return the time at which recording started, in milliseconds since the epoch
+     */
+    long getStartTime();
+
+    double getDurationMillis();
+
+    /**
+     * @param spanName the name of a span
+     * @return the duration of the first span with the given name, or <code>0</code> if there is none
+     */
+    double getDurationMillis(String spanName);
+
+    /**
+     * @return the timeline as indented text
+     */
+    String getReport();
+
+    /**
+     * @return the timeline as a JSON document, whose <code>data</code> property holds the timeline, see
+     * {@link com.sun.faces.util.Json#encode(Object, com.sun.faces.util.Json.Option...)}
+     */
+    String toJson();
+
+}
@@ -19,6 +19,7 @@ package com.sun.faces.config;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import com.sun.faces.RIConstants;
@@ -44,7 +45,8 @@ public class Verifier {
     }
 
     /**
-     * Container for any messages that may be queued.
+     * Container for any messages that may be queued, by the configuration processors running in parallel when
+     * <code>com.sun.faces.enableThreading</code> is enabled.
      */
     private final List<String> messages;
 
@@ -54,7 +56,7 @@ public class Verifier {
      * Construct a new <code>Verifier</code> instance.
      */
     Verifier() {
-        messages = new ArrayList<>(4);
+        messages = Collections.synchronizedList(new ArrayList<>(4));
     }
 
     // ------------------------------------------------- Public Methods
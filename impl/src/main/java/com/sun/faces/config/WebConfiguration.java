@@ -778,6 +778,22 @@ public class WebConfiguration {
         ValidateEmptyFields(UIInput.VALIDATE_EMPTY_FIELDS_PARAM_NAME, "auto"),
         FullStateSavingViewIds(StateManager.FULL_STATE_SAVING_VIEW_IDS_PARAM_NAME, ""),
         AnnotationScanPackages("com.sun.faces.annotationScanPackages", ""),
+        LifecycleProfilerReporter("com.sun.faces.lifecycleProfilerReporter", ""),
+        LifecycleProfilerReportInterval("com.sun.faces.lifecycleProfilerReportInterval", "0"), // in seconds
+        LifecycleProfilerMaxViews("com.sun.faces.lifecycleProfilerMaxViews", "100"),
+        WebsocketDeliveryThreads("com.sun.faces.websocketDeliveryThreads", "0"), // 0 means virtual threads when available
+        WebsocketOutboundQueueSize("com.sun.faces.websocketOutboundQueueSize", "128"),
+        WebsocketSendTimeout("com.sun.faces.websocketSendTimeout", "10000"), // in milliseconds
+        WebsocketConflationWindow("com.sun.faces.websocketConflationWindow", "0"), // in milliseconds, 0 disables conflation
+        WebsocketConflatedChannels("com.sun.faces.websocketConflatedChannels", ""),
+        WebsocketConflationKey("com.sun.faces.websocketConflationKey", ""),
+        PushBrokerClass("com.sun.faces.pushBroker", ""),
+        PushBrokerAddress("com.sun.faces.pushBrokerAddress", "localhost:7847"),
+        PushBrokerSecret("com.sun.faces.pushBrokerSecret", ""),
+        ConfigSnapshotPath("com.sun.faces.configSnapshot", "/WEB-INF/mojarra-config.snapshot"),
+        ConfigSnapshotOutput("com.sun.faces.configSnapshotOutput", ""),
+        AnnotationScanIndex("com.sun.faces.annotationScanIndex", ""), // empty means the servlet temporary directory
+        StartupTimelineOutput("com.sun.faces.startupTimelineOutput", ""),
         FaceletsProcessingFileExtensionProcessAs("", ""),
         ClientWindowMode(ClientWindow.CLIENT_WINDOW_MODE_PARAM_NAME, "none"),
         WebAppResourcesDirectory(ResourceHandler.WEBAPP_RESOURCES_DIRECTORY_PARAM_NAME, "/resources"),
@@ -886,6 +902,12 @@ public class WebConfiguration {
         EnableWebsocketEndpoint(PushContext.ENABLE_WEBSOCKET_ENDPOINT_PARAM_NAME, false),
         DisallowDoctypeDecl("com.sun.faces.disallowDoctypeDecl", false),
         UseFaceletsID("com.sun.faces.useFaceletsID",false),
+        EnableViewResourceIndex("com.sun.faces.enableViewResourceIndex", true),
+        EnableLifecycleProfiler("com.sun.faces.enableLifecycleProfiler", false),
+        EnableClassFileAnnotationScanning("com.sun.faces.enableClassFileAnnotationScanning", false),
+        LazyConfigRegistration("com.sun.faces.lazyConfigRegistration", false),
+        EnableStartupTimeline("com.sun.faces.enableStartupTimeline", false),
+        EnableELRootResolutionCache("com.sun.faces.enableELRootResolutionCache", false),
         ;
 
         private final BooleanWebContextInitParameter alternate;
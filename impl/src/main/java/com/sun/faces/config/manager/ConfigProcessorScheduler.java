@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.config.manager;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.logging.Level.SEVERE;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Logger;
+
+import com.sun.faces.config.processor.ConfigProcessor;
+import com.sun.faces.util.FacesLogger;
+
+/**
+ * <p>
+ * Runs a list of {@link ConfigProcessor}s in the order given by their {@link ConfigProcessor#getDependencies()
+ * dependencies}. The list order has to be a valid sequential order, dependencies outside of the list are considered
+ * satisfied.
+ * </p>
+ *
+ * <p>
+ * When only one processor is ready and none is running, as is the case for the chain of factory, lifecycle and
+ * application processors, it runs on the calling thread. When several processors are ready, the calling thread runs
+ * the first one and the others are handed to the executor, if any.
+ * </p>
+ */
+public final class ConfigProcessorScheduler {
+
+    private static final Logger LOGGER = FacesLogger.CONFIG.getLogger();
+
+    /**
+     * Runs a processor, typically after having set up the thread for it.
+     */
+    @FunctionalInterface
+    public interface ProcessorInvoker {
+
+        void invoke(ConfigProcessor processor) throws Exception;
+
+    }
+
+    private final List<ConfigProcessor> processors;
+    private final List<List<Integer>> dependencies;
+    private final List<List<Integer>> dependents;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param processors the processors, in a valid sequential order
+     * @throws IllegalArgumentException if a processor depends on a processor following it in the list
+     */
+    public ConfigProcessorScheduler(List<ConfigProcessor> processors) {
+        this.processors = processors;
+
+        Map<Class<?>, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < processors.size(); i++) {
+            indexes.put(processors.get(i).getClass(), i);
+        }
+
+        dependencies = new ArrayList<>(processors.size());
+        dependents = new ArrayList<>(processors.size());
+        for (int i = 0; i < processors.size(); i++) {
+            dependencies.add(new ArrayList<>());
+            dependents.add(new ArrayList<>());
+        }
+
+        for (int i = 0; i < processors.size(); i++) {
+            for (Class<? extends ConfigProcessor> dependency : processors.get(i).getDependencies()) {
+                Integer index = indexes.get(dependency);
+                if (index == null) {
+                    continue;
+                }
+                if (index >= i) {
+                    throw new IllegalArgumentException(processors.get(i).getClass().getName() + " depends on " + dependency.getName() + " which follows it");
+                }
+                dependencies.get(i).add(index);
+                dependents.get(index).add(i);
+            }
+        }
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * <p>
+     * Runs all processors. An exception thrown by a processor is logged and does not prevent the processors depending on
+     * it from running, like in the original sequential chain.
+     * </p>
+     *
+     * @param executor the executor running the processors that are ready at the same time, or <code>null</code> to run
+     * all processors on the calling thread
+     * @param invoker runs a processor
+     * @return the timings of the processors, in the order they completed
+     * @throws InterruptedException if the calling thread is interrupted while waiting for a processor
+     */
+    public List<Timing> run(ExecutorService executor, ProcessorInvoker invoker) throws InterruptedException {
+        int count = processors.size();
+        int[] pendingDependencies = new int[count];
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int i = 0; i < count; i++) {
+            pendingDependencies[i] = dependencies.get(i).size();
+            if (pendingDependencies[i] == 0) {
+                ready.add(i);
+            }
+        }
+
+        Timing[] timings = new Timing[count];
+        List<Timing> completed = new ArrayList<>(count);
+        BlockingQueue<Integer> completions = new LinkedBlockingQueue<>();
+        long origin = System.nanoTime();
+        int running = 0;
+
+        while (completed.size() < count) {
+            if (!ready.isEmpty()) {
+                int first = ready.poll();
+
+                if (executor != null) {
+                    while (!ready.isEmpty()) {
+                        int index = ready.poll();
+                        try {
+                            executor.execute(() -> {
+                                timings[index] = invoke(index, invoker, origin);
+                                completions.add(index);
+                            });
+                            running++;
+                        } catch (RejectedExecutionException e) {
+                            ready.addFirst(index);
+                            break;
+                        }
+                    }
+                }
+
+                timings[first] = invoke(first, invoker, origin);
+                complete(first, timings, completed, pendingDependencies, ready);
+            } else if (running > 0) {
+                int index = completions.take();
+                running--;
+                complete(index, timings, completed, pendingDependencies, ready);
+            } else {
+                throw new IllegalStateException("No configuration processor is ready to run");
+            }
+
+            // Collect what completed meanwhile, so that newly ready processors are considered together
+            for (Integer index = completions.poll(); index != null; index = completions.poll()) {
+                running--;
+                complete(index, timings, completed, pendingDependencies, ready);
+            }
+        }
+
+        for (Timing timing : completed) {
+            if (timing.error != null) {
+                throw timing.error;
+            }
+        }
+
+        markCriticalPath(timings);
+
+        return completed;
+    }
+
+    /**
+     * @param timings the timings returned by {@link #run(ExecutorService, ProcessorInvoker)}
+     * @return a human readable report of the timings, processors on the critical path being marked with a
+     * <code>*</code>
+     */
+    public static String getReport(List<Timing> timings) {
+        StringBuilder report = new StringBuilder("Configuration processors (* marks the critical path):");
+        for (Timing timing : timings) {
+            report.append("\n  ")
+                  .append(timing.isCriticalPath() ? "* " : "  ")
+                  .append(timing.getProcessorName())
+                  .append(" started at ").append(timing.getStartMillis()).append("ms")
+                  .append(", took ").append(timing.getDurationMillis()).append("ms")
+                  .append(" on ").append(timing.getThreadName());
+        }
+
+        return report.toString();
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private Timing invoke(int index, ProcessorInvoker invoker, long origin) {
+        ConfigProcessor processor = processors.get(index);
+        long start = System.nanoTime();
+        Error error = null;
+
+        try {
+            invoker.invoke(processor);
+        } catch (Exception e) {
+            LOGGER.log(SEVERE, "Configuration processor " + processor.getClass().getName() + " failed", e);
+        } catch (Error e) {
+            error = e;
+        }
+
+        long end = System.nanoTime();
+        return new Timing(processor.getClass().getSimpleName(), start - origin, end - start, Thread.currentThread().getName(), error);
+    }
+
+    private void complete(int index, Timing[] timings, List<Timing> completed, int[] pendingDependencies, Deque<Integer> ready) {
+        completed.add(timings[index]);
+        for (int dependent : dependents.get(index)) {
+            if (--pendingDependencies[dependent] == 0) {
+                ready.add(dependent);
+            }
+        }
+    }
+
+    /**
+     * Walks back from the processor completing last, through the dependency completing last at each step.
+     */
+    private void markCriticalPath(Timing[] timings) {
+        int current = -1;
+        for (int i = 0; i < timings.length; i++) {
+            if (current == -1 || timings[i].getEnd() > timings[current].getEnd()) {
+                current = i;
+            }
+        }
+
+        while (current != -1) {
+            timings[current].criticalPath = true;
+            int next = -1;
+            for (int dependency : dependencies.get(current)) {
+                if (next == -1 || timings[dependency].getEnd() > timings[next].getEnd()) {
+                    next = dependency;
+                }
+            }
+            current = next;
+        }
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    /**
+     * The timing of one processor, relative to the start of {@link ConfigProcessorScheduler#run(ExecutorService, ProcessorInvoker)}.
+     */
+    public static final class Timing {
+
+        private final String processorName;
+        private final long start;
+        private final long duration;
+        private final String threadName;
+        private final Error error;
+        private boolean criticalPath;
+
+        Timing(String processorName, long start, long duration, String threadName, Error error) {
+            this.processorName = processorName;
+            this.start = start;
+            this.duration = duration;
+            this.threadName = threadName;
+            this.error = error;
+        }
+
+        public String getProcessorName() {
+            return processorName;
+        }
+
+        public long getStartMillis() {
+            return NANOSECONDS.toMillis(start);
+        }
+
+        public long getDurationMillis() {
+            return NANOSECONDS.toMillis(duration);
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+
+        public boolean isCriticalPath() {
+            return criticalPath;
+        }
+
+        long getEnd() {
+            return start + duration;
+        }
+
+    }
+
+}
@@ -0,0 +1,546 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.config.manager;
+
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.ConfigSnapshotOutput;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.ConfigSnapshotPath;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.INFO;
+import static java.util.logging.Level.WARNING;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.ZipFile;
+
+import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.config.manager.documents.DocumentInfo;
+import com.sun.faces.util.FacesLogger;
+import com.sun.faces.util.Util;
+
+import jakarta.servlet.ServletContext;
+
+/**
+ * <p>
+ * A snapshot of the outcome of the configuration discovery performed by the {@link com.sun.faces.config.ConfigManager}:
+ * the faces-config and facelet taglib documents found by the configuration resource providers, the order in which the
+ * faces-config documents are processed, and the classes found by the annotation scan.
+ * </p>
+ *
+ * <p>
+ * A web application archive does not change once it has been built, so this work gives the same result on every boot.
+ * When the <code>com.sun.faces.configSnapshotOutput</code> context parameter names a file, the snapshot is written to it
+ * once the application has been configured, typically by a boot of the application during the build. Packaging that
+ * file at <code>/WEB-INF/mojarra-config.snapshot</code> (see <code>com.sun.faces.configSnapshot</code>) lets the
+ * following boots skip the classpath scans and the ordering of the documents.
+ * </p>
+ *
+ * <p>
+ * The snapshot is only used while it matches the application: the format version, the implementation version, the
+ * context init parameters, the contents of the libraries in <code>/WEB-INF/lib</code>, the classes and resources in
+ * <code>/WEB-INF/classes</code> and the XML files elsewhere in <code>/WEB-INF</code> are fingerprinted, and every
+ * document is checked against its recorded CRC-32. On any mismatch the snapshot is ignored and the configuration is
+ * discovered as usual.
+ * </p>
+ */
+public final class ConfigSnapshot {
+
+    private static final Logger LOGGER = FacesLogger.CONFIG.getLogger();
+
+    private static final int MAGIC = 0x4D4A4353; // MJCS
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String JAR_LOCATION = "jar:";
+    private static final String WEB_LOCATION = "web:";
+    private static final String URL_LOCATION = "url:";
+    private static final String JAR_SEPARATOR = "!/";
+    private static final String SNAPSHOT_PARAMETER_PREFIX = "com.sun.faces.configSnapshot";
+    private static final String WEB_INF = "/WEB-INF/";
+    private static final String WEB_INF_LIB = "/WEB-INF/lib/";
+    private static final String WEB_INF_CLASSES = "/WEB-INF/classes/";
+
+    private final List<URI> facesConfigURIs;
+    private final int mergedLength;
+    private final int[] sortedPositions;
+    private final List<URI> faceletConfigURIs;
+    private final Map<String, Set<String>> annotatedClassNames;
+
+    // ------------------------------------------------------------ Constructors
+
+    private ConfigSnapshot(List<URI> facesConfigURIs, int mergedLength, int[] sortedPositions, List<URI> faceletConfigURIs,
+            Map<String, Set<String>> annotatedClassNames) {
+        this.facesConfigURIs = facesConfigURIs;
+        this.mergedLength = mergedLength;
+        this.sortedPositions = sortedPositions;
+        this.faceletConfigURIs = faceletConfigURIs;
+        this.annotatedClassNames = annotatedClassNames;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param servletContext the <code>ServletContext</code> of the application being configured
+     * @return the snapshot packaged with the application, or <code>null</code> if there is none or if it does not match
+     * the application anymore
+     */
+    public static ConfigSnapshot load(ServletContext servletContext) {
+        String path = WebConfiguration.getInstance(servletContext).getOptionValue(ConfigSnapshotPath);
+        if (Util.isEmpty(path)) {
+            return null;
+        }
+
+        try (InputStream stream = servletContext.getResourceAsStream(path)) {
+            if (stream == null) {
+                return null;
+            }
+
+            ConfigSnapshot snapshot = read(servletContext, new DataInputStream(new BufferedInputStream(stream)));
+            if (snapshot == null) {
+                if (LOGGER.isLoggable(INFO)) {
+                    LOGGER.log(INFO, "Configuration snapshot {0} does not match the application, ignoring it", path);
+                }
+            } else if (LOGGER.isLoggable(FINE)) {
+                LOGGER.log(FINE, "Using configuration snapshot {0}", path);
+            }
+
+            return snapshot;
+        } catch (IOException | RuntimeException e) {
+            if (LOGGER.isLoggable(WARNING)) {
+                LOGGER.log(WARNING, "Unable to read configuration snapshot " + path + ", ignoring it", e);
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * Writes a snapshot of the given configuration to the file named by the <code>com.sun.faces.configSnapshotOutput</code>
+     * context parameter, if any.
+     *
+     * @param servletContext the <code>ServletContext</code> of the application being configured
+     * @param facesConfigDocuments the faces-config documents as found by the configuration resource providers
+     * @param mergedDocuments the faces-config documents merged with the programmatic documents
+     * @param sortedDocuments the merged documents, in processing order
+     * @param faceletConfigDocuments the facelet taglib documents as found by the configuration resource providers
+     * @param annotatedClasses the result of the annotation scan
+     */
+    public static void write(ServletContext servletContext, DocumentInfo[] facesConfigDocuments, DocumentInfo[] mergedDocuments, DocumentInfo[] sortedDocuments,
+            DocumentInfo[] faceletConfigDocuments, Map<Class<? extends Annotation>, Set<Class<?>>> annotatedClasses) {
+        WebConfiguration webConfig = WebConfiguration.getInstance(servletContext);
+        if (!webConfig.isSet(ConfigSnapshotOutput)) {
+            return;
+        }
+
+        Path output = Paths.get(webConfig.getOptionValue(ConfigSnapshotOutput)).toAbsolutePath();
+
+        try {
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(fingerprint(servletContext));
+
+                writeDocuments(servletContext, out, facesConfigDocuments);
+
+                Map<DocumentInfo, Integer> positions = new IdentityHashMap<>();
+                for (int i = 0; i < mergedDocuments.length; i++) {
+                    positions.put(mergedDocuments[i], i);
+                }
+                out.writeInt(mergedDocuments.length);
+                out.writeInt(sortedDocuments.length);
+                for (DocumentInfo document : sortedDocuments) {
+                    out.writeInt(document != null ? positions.getOrDefault(document, -1) : -1);
+                }
+
+                writeDocuments(servletContext, out, faceletConfigDocuments);
+
+                Map<String, Set<String>> classNames = new TreeMap<>();
+                if (annotatedClasses != null) {
+                    annotatedClasses.forEach((annotation, classes) -> {
+                        Set<String> names = classNames.computeIfAbsent(annotation.getName(), k -> new TreeSet<>());
+                        classes.forEach(clazz -> names.add(clazz.getName()));
+                    });
+                }
+                out.writeInt(classNames.size());
+                for (Map.Entry<String, Set<String>> entry : classNames.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().size());
+                    for (String className : entry.getValue()) {
+                        out.writeUTF(className);
+                    }
+                }
+            }
+
+            if (LOGGER.isLoggable(INFO)) {
+                LOGGER.log(INFO, "Configuration snapshot written to {0}", output);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (LOGGER.isLoggable(WARNING)) {
+                LOGGER.log(WARNING, "Unable to write configuration snapshot " + output, e);
+            }
+        }
+    }
+
+    /**
+     * @return the faces-config documents to parse, in the order in which the configuration resource providers found them
+     */
+    public List<URI> getFacesConfigURIs() {
+        return facesConfigURIs;
+    }
+
+    /**
+     * @return the facelet taglib documents to parse
+     */
+    public List<URI> getFaceletConfigURIs() {
+        return faceletConfigURIs;
+    }
+
+    /**
+     * @param mergedDocuments the faces-config documents merged with the programmatic documents
+     * @return the documents in processing order, or <code>null</code> if the recorded order does not apply to the given
+     * documents
+     */
+    public DocumentInfo[] sortDocuments(DocumentInfo[] mergedDocuments) {
+        if (mergedDocuments.length != mergedLength) {
+            return null;
+        }
+
+        DocumentInfo[] sorted = new DocumentInfo[sortedPositions.length];
+        for (int i = 0; i < sorted.length; i++) {
+            int position = sortedPositions[i];
+            if (position >= mergedDocuments.length) {
+                return null;
+            }
+
+            sorted[i] = position < 0 ? null : mergedDocuments[position];
+        }
+
+        return sorted;
+    }
+
+    /**
+     * @param classLoader the class loader of the application
+     * @return the result of the annotation scan, or <code>null</code> if one of the recorded classes cannot be loaded
+     */
+    public Map<Class<? extends Annotation>, Set<Class<?>>> getAnnotatedClasses(ClassLoader classLoader) {
+        Map<Class<? extends Annotation>, Set<Class<?>>> annotatedClasses = new HashMap<>();
+
+        try {
+            for (Map.Entry<String, Set<String>> entry : annotatedClassNames.entrySet()) {
+                Class<? extends Annotation> annotation = Class.forName(entry.getKey(), false, classLoader).asSubclass(Annotation.class);
+                Set<Class<?>> classes = annotatedClasses.computeIfAbsent(annotation, k -> new HashSet<>());
+                for (String className : entry.getValue()) {
+                    classes.add(Class.forName(className, false, classLoader));
+                }
+            }
+        } catch (ClassNotFoundException | LinkageError | ClassCastException e) {
+            if (LOGGER.isLoggable(FINE)) {
+                LOGGER.log(FINE, "Configuration snapshot refers to a class which cannot be loaded, scanning annotations instead", e);
+            }
+
+            return null;
+        }
+
+        return annotatedClasses;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static ConfigSnapshot read(ServletContext servletContext, DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || in.readLong() != fingerprint(servletContext)) {
+            return null;
+        }
+
+        Map<String, List<URL>> resources = new HashMap<>();
+
+        List<URI> facesConfigURIs = readDocuments(servletContext, in, resources);
+        if (facesConfigURIs == null) {
+            return null;
+        }
+
+        int mergedLength = in.readInt();
+        int[] sortedPositions = new int[in.readInt()];
+        for (int i = 0; i < sortedPositions.length; i++) {
+            sortedPositions[i] = in.readInt();
+        }
+
+        List<URI> faceletConfigURIs = readDocuments(servletContext, in, resources);
+        if (faceletConfigURIs == null) {
+            return null;
+        }
+
+        Map<String, Set<String>> annotatedClassNames = new HashMap<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            String annotation = in.readUTF();
+            Set<String> classNames = new HashSet<>();
+            for (int j = in.readInt(); j > 0; j--) {
+                classNames.add(in.readUTF());
+            }
+            annotatedClassNames.put(annotation, classNames);
+        }
+
+        return new ConfigSnapshot(facesConfigURIs, mergedLength, sortedPositions, faceletConfigURIs, annotatedClassNames);
+    }
+
+    private static void writeDocuments(ServletContext servletContext, DataOutputStream out, DocumentInfo[] documents) throws IOException {
+        out.writeInt(documents.length);
+        for (DocumentInfo document : documents) {
+            URI uri = document.getSourceURI();
+            out.writeUTF(toLocation(servletContext, uri));
+            out.writeLong(checksum(uri));
+        }
+    }
+
+    /**
+     * @return the resolved documents, or <code>null</code> if one of them cannot be found anymore or has changed
+     */
+    private static List<URI> readDocuments(ServletContext servletContext, DataInputStream in, Map<String, List<URL>> resources) throws IOException {
+        int size = in.readInt();
+        List<URI> uris = new ArrayList<>(size);
+        boolean matches = true;
+
+        for (int i = 0; i < size; i++) {
+            String location = in.readUTF();
+            long checksum = in.readLong();
+
+            if (matches) {
+                URI uri = fromLocation(servletContext, location, resources);
+                if (uri == null || checksum(uri) != checksum) {
+                    if (LOGGER.isLoggable(FINE)) {
+                        LOGGER.log(FINE, "Configuration document {0} is missing or has changed", location);
+                    }
+                    matches = false;
+                } else {
+                    uris.add(uri);
+                }
+            }
+        }
+
+        return matches ? Collections.unmodifiableList(uris) : null;
+    }
+
+    /**
+     * The URIs of the documents depend on where the application is deployed, so they are recorded relative to the web
+     * application or to the library containing them.
+     */
+    static String toLocation(ServletContext servletContext, URI uri) throws IOException {
+        String uriString = uri.toString();
+
+        if (uriString.startsWith(JAR_LOCATION)) {
+            int separator = uriString.indexOf(JAR_SEPARATOR);
+            if (separator > 0) {
+                String archive = uriString.substring(JAR_LOCATION.length(), separator);
+                return JAR_LOCATION + archive.substring(archive.lastIndexOf('/') + 1) + uriString.substring(separator);
+            }
+        }
+
+        URL root = servletContext.getResource("/");
+        if (root != null) {
+            String rootString = root.toString();
+            if (!rootString.endsWith("/")) {
+                rootString += "/";
+            }
+
+            if (uriString.startsWith(rootString)) {
+                return WEB_LOCATION + "/" + uriString.substring(rootString.length());
+            }
+        }
+
+        return URL_LOCATION + uriString;
+    }
+
+    static URI fromLocation(ServletContext servletContext, String location, Map<String, List<URL>> resources) throws IOException {
+        try {
+            if (location.startsWith(JAR_LOCATION)) {
+                int separator = location.indexOf(JAR_SEPARATOR);
+                String archive = "/" + location.substring(JAR_LOCATION.length(), separator) + JAR_SEPARATOR;
+                String entry = location.substring(separator + JAR_SEPARATOR.length());
+
+                List<URL> candidates = resources.get(entry);
+                if (candidates == null) {
+                    candidates = Collections.list(Util.getCurrentLoader(ConfigSnapshot.class).getResources(entry));
+                    resources.put(entry, candidates);
+                }
+
+                for (URL candidate : candidates) {
+                    if (candidate.toString().contains(archive)) {
+                        return candidate.toURI();
+                    }
+                }
+
+                return null;
+            }
+
+            if (location.startsWith(WEB_LOCATION)) {
+                URL url = servletContext.getResource(location.substring(WEB_LOCATION.length()));
+                return url != null ? url.toURI() : null;
+            }
+
+            if (location.startsWith(URL_LOCATION)) {
+                return new URI(location.substring(URL_LOCATION.length()));
+            }
+
+            return null;
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    private static long checksum(URI uri) throws IOException {
+        URLConnection connection = uri.toURL().openConnection();
+        connection.setUseCaches(false);
+
+        CRC32 crc = new CRC32();
+        try (InputStream stream = new CheckedInputStream(connection.getInputStream(), crc)) {
+            byte[] buffer = new byte[8192];
+            while (stream.read(buffer) != -1) {
+                // Only the checksum is of interest
+            }
+        } catch (IOException e) {
+            return -1;
+        }
+
+        return crc.getValue();
+    }
+
+    /**
+     * @return a checksum of what determines the outcome of the configuration discovery, apart from the recorded documents
+     * themselves: the implementation version, the context init parameters, the contents of the libraries, the classes and
+     * resources in <code>/WEB-INF/classes</code>, and the other XML files in <code>/WEB-INF</code>, which may be faces-config
+     * or facelet taglib documents which were not there when the snapshot was written
+     */
+    private static long fingerprint(ServletContext servletContext) {
+        CRC32 crc = new CRC32();
+        update(crc, String.valueOf(ConfigSnapshot.class.getPackage().getImplementationVersion()));
+
+        for (String name : new TreeSet<>(Collections.list(servletContext.getInitParameterNames()))) {
+            if (!name.startsWith(SNAPSHOT_PARAMETER_PREFIX)) {
+                update(crc, name);
+                update(crc, servletContext.getInitParameter(name));
+            }
+        }
+
+        for (String library : listResources(servletContext, WEB_INF_LIB)) {
+            update(crc, library);
+            updateLibrary(crc, servletContext, library);
+        }
+
+        for (String resource : listResources(servletContext, WEB_INF_CLASSES)) {
+            update(crc, resource);
+            updateResource(crc, servletContext, resource);
+        }
+
+        for (String resource : listResources(servletContext, WEB_INF)) {
+            if (!resource.startsWith(WEB_INF_LIB) && !resource.startsWith(WEB_INF_CLASSES) && resource.endsWith(".xml")) {
+                update(crc, resource);
+            }
+        }
+
+        return crc.getValue();
+    }
+
+    /**
+     * @return the paths of the files in the given web application directory and its subdirectories, sorted
+     */
+    private static Set<String> listResources(ServletContext servletContext, String directory) {
+        Set<String> resources = new TreeSet<>();
+        Set<String> paths = servletContext.getResourcePaths(directory);
+
+        if (paths != null) {
+            for (String path : paths) {
+                if (path.endsWith("/")) {
+                    resources.addAll(listResources(servletContext, path));
+                } else {
+                    resources.add(path);
+                }
+            }
+        }
+
+        return resources;
+    }
+
+    /**
+     * The checksums of the entries of an exploded library are read from its central directory, which is cheap, else the
+     * library itself is checksummed. Modification times are not used, as they depend on how the application was unpacked.
+     */
+    private static void updateLibrary(CRC32 crc, ServletContext servletContext, String library) {
+        String realPath = servletContext.getRealPath(library);
+
+        if (realPath != null) {
+            try (ZipFile zip = new ZipFile(realPath)) {
+                zip.stream().forEach(entry -> update(crc, entry.getName() + ":" + entry.getCrc() + ":" + entry.getSize()));
+                return;
+            } catch (IOException e) {
+                if (LOGGER.isLoggable(FINE)) {
+                    LOGGER.log(FINE, "Unable to read the central directory of " + library + ", checksumming it instead", e);
+                }
+            }
+        }
+
+        updateResource(crc, servletContext, library);
+    }
+
+    private static void updateResource(CRC32 crc, ServletContext servletContext, String resource) {
+        long checksum = -1;
+
+        try {
+            URL url = servletContext.getResource(resource);
+            if (url != null) {
+                checksum = checksum(url.toURI());
+            }
+        } catch (IOException | URISyntaxException e) {
+            // Fingerprinted as missing
+        }
+
+        update(crc, String.valueOf(checksum));
+    }
+
+    private static void update(CRC32 crc, String value) {
+        crc.update(value.getBytes(StandardCharsets.UTF_8));
+        crc.update(0);
+    }
+
+}
@@ -95,14 +95,7 @@ public class Documents {
             try {
                 for (URI uri : uriTask.get()) {
                     if (processedUris.add(uri)) {
-                        FutureTask<DocumentInfo> docTask = new FutureTask<>(new ParseConfigResourceToDOMTask(servletContext, validating, uri));
-                        docTasks.add(docTask);
-                        
-                        if (executor != null) {
-                            executor.execute(docTask);
-                        } else {
-                            docTask.run();
-                        }
+                        docTasks.add(parseXMLDocument(servletContext, uri, executor, validating));
                     }
                 }
             } catch (InterruptedException ignored) {
@@ -111,19 +104,33 @@ public class Documents {
             }
         }
 
-        // Collect the results of the documents we parsed above
+        return getDocumentInfos(docTasks);
+    }
 
-        List<DocumentInfo> docs = new ArrayList<>(docTasks.size());
-        for (FutureTask<DocumentInfo> docTask : docTasks) {
+    /**
+     * <p>
+     * Obtains an array of <code>Document</code>s to be processed from configuration resources which have already been
+     * discovered, for example by a {@link ConfigSnapshot}.
+     * </p>
+     *
+     * @param servletContext the <code>ServletContext</code> for the application to be processed
+     * @param uris the URIs of the documents to parse, in the order in which they have to be returned
+     * @param executor the <code>ExecutorService</code> used to dispatch parse request to
+     * @param validating flag indicating whether or not the documents should be validated
+     * @return an array of <code>DocumentInfo</code>s
+     */
+    public static DocumentInfo[] parseXMLDocuments(ServletContext servletContext, Collection<URI> uris, ExecutorService executor, boolean validating) {
+        List<FutureTask<DocumentInfo>> docTasks = new ArrayList<>(uris.size());
+
+        for (URI uri : uris) {
             try {
-                docs.add(docTask.get());
-            } catch (ExecutionException e) {
+                docTasks.add(parseXMLDocument(servletContext, uri, executor, validating));
+            } catch (Exception e) {
                 throw new ConfigurationException(e);
-            } catch (InterruptedException ignored) {
             }
         }
 
-        return docs.toArray(new DocumentInfo[docs.size()]);
+        return getDocumentInfos(docTasks);
     }
 
     public static List<DocumentInfo> getProgrammaticDocuments(List<ApplicationConfigurationPopulator> configPopulators) throws ParserConfigurationException {
@@ -231,6 +238,35 @@ public class Documents {
         return facesDocuments;
     }
 
+    private static FutureTask<DocumentInfo> parseXMLDocument(ServletContext servletContext, URI uri, ExecutorService executor, boolean validating) throws Exception {
+        FutureTask<DocumentInfo> docTask = new FutureTask<>(new ParseConfigResourceToDOMTask(servletContext, validating, uri));
+
+        if (executor != null) {
+            executor.execute(docTask);
+        } else {
+            docTask.run();
+        }
+
+        return docTask;
+    }
+
+    private static DocumentInfo[] getDocumentInfos(List<FutureTask<DocumentInfo>> docTasks) {
+
+        // Collect the results of the documents we parsed above
+
+        List<DocumentInfo> docs = new ArrayList<>(docTasks.size());
+        for (FutureTask<DocumentInfo> docTask : docTasks) {
+            try {
+                docs.add(docTask.get());
+            } catch (ExecutionException e) {
+                throw new ConfigurationException(e);
+            } catch (InterruptedException ignored) {
+            }
+        }
+
+        return docs.toArray(new DocumentInfo[docs.size()]);
+    }
+
     private static DOMImplementation createDOMImplementation() throws ParserConfigurationException {
         DocumentBuilderFactory documentBuilderFactory = createLocalDocumentBuilderFactory();
         documentBuilderFactory.setNamespaceAware(true);
@@ -17,16 +17,18 @@
 package com.sun.faces.config.manager.documents;
 
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
@@ -38,7 +40,6 @@ import org.w3c.dom.NodeList;
 
 import com.sun.faces.config.ConfigurationException;
 import com.sun.faces.util.FacesLogger;
-import com.sun.faces.util.Timer;
 
 /**
  * This class is used by the config system to order <code>faces-config</code> documents found on the classpath or
@@ -51,17 +52,6 @@ public class DocumentOrderingWrapper {
      */
     private static final Logger LOGGER = FacesLogger.CONFIG.getLogger();
 
-    /**
-     * {@link Comparator} implementation to aid in sorting <code>faces-config</code> documents.
-     */
-    private static final Comparator<DocumentOrderingWrapper> COMPARATOR = new DocumentOrderingComparator();
-
-    /**
-     * This is the limit on the number of attempts made to sort the documents. Any attempt to exceed this limit will result
-     * in an Exception being thrown.
-     */
-    private static final int MAX_SORT_PASSED = 1000;
-
     /**
      * Constant for the <code>ordering</code> element.
      */
@@ -92,16 +82,6 @@ public class DocumentOrderingWrapper {
      */
     private static final String OTHERS_KEY = DocumentOrderingWrapper.class.getName() + ".OTHERS_KEY";
 
-    /**
-     * Return code indicating that element <code>n</code> is to be swapped with <code>n + 1</code>
-     */
-    private static final int SWAP = -1;
-
-    /**
-     * Return code indicating that no swap needs to occur for the elements being compared.
-     */
-    private static final int DO_NOT_SWAP = 0;
-
     /**
      * The wrapped Document.
      */
@@ -272,250 +252,234 @@ public class DocumentOrderingWrapper {
     /**
      * Sort the provided array of <code>Document</code>s per the requirements of the 2.0 specification. Note, that this
      * method only provides partial ordering and not absolute ordering.
+     *
+     * <p>
+     * The documents are the nodes of a graph whose edges are the named before and after constraints, which is sorted
+     * with Kahn's algorithm. Documents before others come first, then the documents not ordered relative to others, then
+     * the documents after others. Documents ordered before a document that is before others are before others too, and
+     * likewise for after. Within those constraints, documents keep the relative order the former sort started from: the
+     * named or ordered documents first, those with the most ordering constraints first, then the anonymous documents
+     * without ordering, each in discovery order.
+     * </p>
+     *
      * @param documents the documents to sort
+     * @throws ConfigurationException if the ordering constraints are circular
      */
     public static void sort(DocumentOrderingWrapper[] documents) {
 
-        Timer t = Timer.getInstance();
-        if (t != null) {
-            t.startTiming();
-        }
-        try {
-            enhanceOrderingData(documents);
-        } catch (CircularDependencyException re) {
-            String msg = "Circular dependencies detected!\nDocument Info\n==================\n";
-            for (DocumentOrderingWrapper w : documents) {
-                msg += "  " + w.toString() + '\n';
-            }
-            throw new ConfigurationException(msg);
-        }
+        int length = documents.length;
 
-        // Sort the documents such that specified ordering will be considered.
-        //
-        // It turns out that some of the specified ordering, if it was not discovered by the sort routine
-        // until later in its processing, was not being considered correctly in the ordering algorithm.
-        //
-        // This preSort method puts all of the documents with specified ordering as early on in the
-        // list of documents as possible for Mojarra to consider it quickly, and be
-        // able to use its ordering algorithm to the best of its ability.
-        preSort(documents);
-
-        // original inner sort algorithm
-        int numberOfPasses = innerSort(documents);
-
-        // final sort
-        for (int i = 0; i < documents.length; i++) {
-            LinkedList<String> ids = getIds(documents);
-            if (done(documents, ids)) {
-                break;
+        Map<String, List<Integer>> indexesById = new HashMap<>();
+        for (int i = 0; i < length; i++) {
+            String id = documents[i].id;
+            if (id != null && !id.isEmpty()) {
+                indexesById.computeIfAbsent(id, k -> new ArrayList<>(1)).add(i);
             }
         }
 
-        if (t != null) {
-            t.stopTiming();
-            t.logResult("\"faces-config\" document sorting complete in " + numberOfPasses + '.');
+        // successors[i] holds the documents that have to come after document i
+        List<Set<Integer>> successors = new ArrayList<>(length);
+        List<Set<Integer>> predecessors = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            successors.add(new LinkedHashSet<>());
+            predecessors.add(new LinkedHashSet<>());
         }
 
-    }
+        for (int i = 0; i < length; i++) {
+            for (String id : documents[i].beforeIds) {
+                for (int other : indexesById.getOrDefault(id, Collections.emptyList())) {
+                    successors.get(i).add(other);
+                    predecessors.get(other).add(i);
+                }
+            }
+            for (String id : documents[i].afterIds) {
+                for (int other : indexesById.getOrDefault(id, Collections.emptyList())) {
+                    successors.get(other).add(i);
+                    predecessors.get(i).add(other);
+                }
+            }
+        }
 
-    // Check to see if the sort is complete, and if not, finish it, if possible.
-    public static boolean done(DocumentOrderingWrapper[] documents, LinkedList<String> ids) {
+        int[] groups = getGroups(documents, successors, predecessors);
+        int[] ranks = getRanks(documents);
 
-        for (int i = 0; i < documents.length; i++) {
-            int ii = 0;
-            for (String documentId : ids) {
-                if (documents[i].getDocumentId().equals(documentId)) {
-                    break;
-                }
-                if (documents[i].isBefore(documentId)) {
-                    if (LOGGER.isLoggable(Level.FINE)) {
-                        LOGGER.log(Level.FINE, "done: " + documentId + " should be after " + documents[i].getDocumentId() + " given that it should be before: "
-                                + Arrays.asList(documents[i].getBeforeIds()));
-                    }
+        int[] inDegrees = new int[length];
+        PriorityQueue<Integer> ready = new PriorityQueue<>(Math.max(1, length),
+                Comparator.<Integer>comparingInt(i -> groups[i]).thenComparingInt(i -> ranks[i]));
+        for (int i = 0; i < length; i++) {
+            inDegrees[i] = predecessors.get(i).size();
+            if (inDegrees[i] == 0) {
+                ready.add(i);
+            }
+        }
 
-                    // we have a document that is out of order, and his index is ii, he belongs at index i, and all the documents in between
-                    // need to be shifted left.
-                    DocumentOrderingWrapper temp = null;
-                    for (int j = 0; j < documents.length; j++) {
-                        // This is one that is out of order and needs to be moved.
-                        if (j == ii) {
-                            temp = documents[j];
-                        }
-                        // this is one in between that needs to be shifted left.
-                        if (temp != null && j != i) {
-                            documents[j] = documents[j + 1];
-                        }
-                        // this is where the one that is out of order needs to be moved to.
-                        if (j == i) {
-                            documents[j] = temp;
-                            return false;
-                        }
-                    }
+        DocumentOrderingWrapper[] sorted = new DocumentOrderingWrapper[length];
+        int count = 0;
+        while (!ready.isEmpty()) {
+            int i = ready.poll();
+            sorted[count++] = documents[i];
+            for (int successor : successors.get(i)) {
+                if (--inDegrees[successor] == 0) {
+                    ready.add(successor);
                 }
-                ii = ii + 1;
             }
         }
 
-        return true;
+        if (count < length) {
+            throw circularDependencies(getCycles(documents, successors, inDegrees));
+        }
+
+        System.arraycopy(sorted, 0, documents, 0, length);
     }
 
-    public static LinkedList<String> getIds(DocumentOrderingWrapper[] documents) {
-        LinkedList<String> ids = new LinkedList<>();
-        for (DocumentOrderingWrapper document : documents) {
-            ids.add(document.getDocumentId());
+    // ----------------------------------------------------- Private Methods
+
+    /**
+     * Ranks the documents the way the former sort arranged them before its passes: the documents with an id or with
+     * ordering constraints first, by descending number of constraints, then the anonymous documents without ordering.
+     * Documents keep their discovery order within each rank.
+     */
+    private static int[] getRanks(DocumentOrderingWrapper[] documents) {
+        int length = documents.length;
+        Integer[] order = new Integer[length];
+        for (int i = 0; i < length; i++) {
+            order[i] = i;
         }
-        return ids;
+
+        // Arrays.sort of objects is stable
+        Arrays.sort(order, Comparator.<Integer>comparingInt(i -> isAnonymousAndUnordered(documents[i]) ? 1 : 0)
+                .thenComparingInt(i -> -(documents[i].beforeIds.length + documents[i].afterIds.length)));
+
+        int[] ranks = new int[length];
+        for (int rank = 0; rank < length; rank++) {
+            ranks[order[rank]] = rank;
+        }
+
+        return ranks;
     }
 
-    public static int innerSort(DocumentOrderingWrapper[] documents) {
+    private static boolean isAnonymousAndUnordered(DocumentOrderingWrapper document) {
+        return (document.id == null || document.id.isEmpty()) && !document.isOrdered();
+    }
 
-        int numberOfPasses = 0;
-        boolean doMore = true;
+    /**
+     * Returns the documents taking part in a cycle, found as the strongly connected components of more than one
+     * document, or of a document ordered relative to itself, among the documents which could not be sorted. The other
+     * remaining documents are only blocked by a cycle and are not reported.
+     */
+    private static List<DocumentOrderingWrapper> getCycles(DocumentOrderingWrapper[] documents, List<Set<Integer>> successors, int[] inDegrees) {
+        int length = documents.length;
+        int[] indexes = new int[length];
+        int[] lowLinks = new int[length];
+        boolean[] onStack = new boolean[length];
+        Arrays.fill(indexes, -1);
+        Deque<Integer> stack = new ArrayDeque<>();
+        int[] counter = { 0 };
+        List<DocumentOrderingWrapper> circular = new ArrayList<>();
 
-        while (doMore) {
-            numberOfPasses++;
-            if (numberOfPasses == MAX_SORT_PASSED) {
-                if (LOGGER.isLoggable(Level.SEVERE)) {
-                    StringBuilder msg = new StringBuilder("Exceeded maximum number of attempts to sort the application's faces-config documents.\nDocument Info\n==================");
-                    for (DocumentOrderingWrapper w : documents) {
-                        msg.append("  ").append(w.toString()).append('\n');
-                    }
-                    LOGGER.severe(msg.toString());
-                }
-                throw new ConfigurationException("Exceeded maximum number of attempts to sort the faces-config documents.");
+        for (int i = 0; i < length; i++) {
+            if (inDegrees[i] > 0 && indexes[i] < 0) {
+                strongConnect(i, documents, successors, inDegrees, indexes, lowLinks, onStack, stack, counter, circular);
             }
-            if (LOGGER.isLoggable(Level.FINE)) {
-                LOGGER.log(Level.FINE, "Starting sort pass number {0}...", numberOfPasses);
+        }
+
+        return circular;
+    }
+
+    /**
+     * Tarjan's strongly connected components algorithm, restricted to the documents which could not be sorted.
+     */
+    private static void strongConnect(int node, DocumentOrderingWrapper[] documents, List<Set<Integer>> successors, int[] inDegrees, int[] indexes,
+            int[] lowLinks, boolean[] onStack, Deque<Integer> stack, int[] counter, List<DocumentOrderingWrapper> circular) {
+        indexes[node] = lowLinks[node] = counter[0]++;
+        stack.push(node);
+        onStack[node] = true;
+
+        for (int successor : successors.get(node)) {
+            if (inDegrees[successor] == 0) {
+                continue;
             }
-            doMore = false;
-            for (int i = 0; i < documents.length - 1; i++) {
-                if (LOGGER.isLoggable(Level.FINE)) {
-                    LOGGER.log(Level.FINE, "Comparing {0}, {1}", new Object[] { documents[i].id, documents[i + 1].id });
-                }
-                if (COMPARATOR.compare(documents[i], documents[i + 1]) != DO_NOT_SWAP) {
-                    if (LOGGER.isLoggable(Level.FINE)) {
-                        LOGGER.log(Level.FINE, "Swapping {0} with {1}", new Object[] { documents[i].id, documents[i + 1].id });
-                    }
-                    DocumentOrderingWrapper temp = documents[i];
-                    documents[i] = documents[i + 1];
-                    documents[i + 1] = temp;
-                    doMore = true;
-                }
+            if (indexes[successor] < 0) {
+                strongConnect(successor, documents, successors, inDegrees, indexes, lowLinks, onStack, stack, counter, circular);
+                lowLinks[node] = Math.min(lowLinks[node], lowLinks[successor]);
+            } else if (onStack[successor]) {
+                lowLinks[node] = Math.min(lowLinks[node], indexes[successor]);
             }
+        }
 
-            // compare first and last elements
-            if (LOGGER.isLoggable(Level.FINE)) {
-                LOGGER.log(Level.FINE, "Comparing {0}, {1}", new Object[] { documents[0].id, documents[documents.length - 1].id });
-            }
-            if (COMPARATOR.compare(documents[0], documents[documents.length - 1]) != DO_NOT_SWAP) {
-                if (LOGGER.isLoggable(Level.FINE)) {
-                    LOGGER.log(Level.FINE, "Swapping {0} with {1}", new Object[] { documents[0].id, documents[documents.length - 1].id });
+        if (lowLinks[node] == indexes[node]) {
+            List<Integer> component = new ArrayList<>();
+            int member;
+            do {
+                member = stack.pop();
+                onStack[member] = false;
+                component.add(member);
+            } while (member != node);
+
+            if (component.size() > 1 || successors.get(node).contains(node)) {
+                Collections.sort(component);
+                for (int index : component) {
+                    circular.add(documents[index]);
                 }
-                DocumentOrderingWrapper temp = documents[0];
-                documents[0] = documents[documents.length - 1];
-                documents[documents.length - 1] = temp;
-                doMore = true;
             }
         }
-
-        return numberOfPasses;
     }
 
-    // ----------------------------------------------------- Private Methods
-
     /**
-     * Update before/after knowledge of all nodes in the array. Consider the case of A after B, B after C, C after D, and D
-     * with no ordering characteristics. When the code below executes, the before/after of specific nodes will be updated so
-     * that in the case of the example above we'd have:
-     *
-     * A -> after B B -> before A, after C C -> before B, A after D D -> before C, B, A
-     *
-     * So when an attempt is made to sort [A, B, C, D] the end result is [D, C, B, A] No extra enhancement of after ID
-     * information is necessary outside of the single node information due to the way the algorithm processes the array.
-     *
-     * This method also performs cyclic detection. If, after updating the before/after information, the before/after
-     * information contains a reference to the document ID we're currently processing, throw an exception.
+     * Assigns each document to the group of the documents before others (0), not ordered relative to others (1) or after
+     * others (2). The named predecessors of a document before others are moved to the first group and the named successors
+     * of a document after others to the last group, so that no constraint points to an earlier group.
      */
-    private static void enhanceOrderingData(DocumentOrderingWrapper[] wrappers) throws CircularDependencyException {
+    private static int[] getGroups(DocumentOrderingWrapper[] documents, List<Set<Integer>> successors, List<Set<Integer>> predecessors) {
+        int length = documents.length;
+        int[] groups = new int[length];
+        Deque<Integer> beforeOthers = new ArrayDeque<>();
+        Deque<Integer> afterOthers = new ArrayDeque<>();
 
-        for (int i = 0; i < wrappers.length; i++) {
-            DocumentOrderingWrapper w = wrappers[i];
+        for (int i = 0; i < length; i++) {
+            if (documents[i].isBeforeOthers()) {
+                groups[i] = 0;
+                beforeOthers.add(i);
+            } else if (documents[i].isAfterOthers()) {
+                groups[i] = 2;
+                afterOthers.add(i);
+            } else {
+                groups[i] = 1;
+            }
+        }
 
-            // process before IDs other than 'others'
-            for (String id : w.getBeforeIds()) {
-                if (OTHERS_KEY.equals(id)) {
-                    continue;
+        while (!beforeOthers.isEmpty()) {
+            for (int predecessor : predecessors.get(beforeOthers.poll())) {
+                if (groups[predecessor] == 1) {
+                    groups[predecessor] = 0;
+                    beforeOthers.add(predecessor);
+                } else if (groups[predecessor] == 2) {
+                    throw circularDependencies(List.of(documents[predecessor]));
                 }
-                for (DocumentOrderingWrapper other : wrappers) {
-                    if (id.equals(other.id)) {
-                        String[] afterIds = other.getAfterIds();
-                        if (Arrays.binarySearch(afterIds, w.id) < 0) {
-                            Set<String> newAfterIds = new HashSet<>(afterIds.length + 1);
-                            newAfterIds.addAll(Arrays.asList(afterIds));
-                            newAfterIds.add(w.id);
-                            other.afterIds = newAfterIds.toArray(new String[newAfterIds.size()]);
-                            Arrays.sort(other.afterIds);
-                        }
-
-                        String[] otherBeforeIds = other.getBeforeIds();
-                        if (otherBeforeIds.length > 0) {
-
-                            String[] currentBeforeIds = w.getBeforeIds();
-                            Set<String> newBeforeIds = new HashSet<>(Arrays.asList(currentBeforeIds));
-                            for (String bid : otherBeforeIds) {
-                                if (OTHERS_KEY.equals(bid)) {
-                                    continue;
-                                }
-                                newBeforeIds.add(bid);
-                            }
-                            String[] temp = newBeforeIds.toArray(new String[newBeforeIds.size()]);
-                            Arrays.sort(temp);
-                            if (search(temp, w.id)) {
-                                throw new CircularDependencyException();
-                            }
-                            w.beforeIds = temp;
-                        }
-                    }
-                }
-
             }
+        }
 
-            // process after IDs other than 'others'
-            for (String id : w.getAfterIds()) {
-                if (OTHERS_KEY.equals(id)) {
-                    continue;
-                }
-                for (DocumentOrderingWrapper other : wrappers) {
-                    if (id.equals(other.id)) {
-                        String[] beforeIds = other.getBeforeIds();
-                        if (Arrays.binarySearch(beforeIds, w.id) < 0) {
-                            Set<String> newBeforeIds = new HashSet<>(beforeIds.length + 1);
-                            newBeforeIds.addAll(Arrays.asList(beforeIds));
-                            newBeforeIds.add(w.id);
-                            other.beforeIds = newBeforeIds.toArray(new String[newBeforeIds.size()]);
-                            Arrays.sort(other.beforeIds);
-                        }
-                        String[] otherAfterIds = other.getAfterIds();
-                        if (otherAfterIds.length > 0) {
-                            String[] currentAfterIds = w.getAfterIds();
-                            Set<String> newAfterIds = new HashSet<>(Arrays.asList(currentAfterIds));
-                            for (String bid : otherAfterIds) {
-                                if (OTHERS_KEY.equals(bid)) {
-                                    continue;
-                                }
-                                newAfterIds.add(bid);
-                            }
-                            String[] temp = newAfterIds.toArray(new String[newAfterIds.size()]);
-                            Arrays.sort(temp);
-                            if (search(temp, w.id)) {
-                                throw new CircularDependencyException();
-                            }
-                            w.afterIds = temp;
-                        }
-                    }
+        while (!afterOthers.isEmpty()) {
+            for (int successor : successors.get(afterOthers.poll())) {
+                if (groups[successor] == 1) {
+                    groups[successor] = 2;
+                    afterOthers.add(successor);
+                } else if (groups[successor] == 0) {
+                    throw circularDependencies(List.of(documents[successor]));
                 }
             }
         }
+
+        return groups;
+    }
+
+    private static ConfigurationException circularDependencies(List<DocumentOrderingWrapper> documents) {
+        StringBuilder msg = new StringBuilder("Circular dependencies detected!\nDocument Info\n==================\n");
+        for (DocumentOrderingWrapper w : documents) {
+            msg.append("  ").append(w.toString()).append('\n');
+        }
+
+        return new ConfigurationException(msg.toString());
     }
 
     /**
@@ -663,108 +627,4 @@ public class DocumentOrderingWrapper {
         return configMap;
     }
 
-    public static void preSort(DocumentOrderingWrapper[] documents) {
-        List<DocumentOrderingWrapper> anonymousAndUnorderedList = new ArrayList<>();
-        Map<Integer, Integer> linkedMap = new LinkedHashMap<>();
-
-        DocumentOrderingWrapper[] copyOfDocuments = new DocumentOrderingWrapper[documents.length];
-        System.arraycopy(documents, 0, copyOfDocuments, 0, documents.length);
-
-        int i = 0;
-        for (DocumentOrderingWrapper w : documents) {
-
-            String[] bfs = w.getBeforeIds();
-            String[] afs = w.getAfterIds();
-            int knowledge = bfs.length + afs.length;
-
-            if ((w.id == null || "".equals(w.id)) && !w.isOrdered()) {
-                anonymousAndUnorderedList.add(w);
-            } else {
-                linkedMap.put(i, knowledge);
-            }
-            i++;
-        }
-
-        linkedMap = descendingByValue(linkedMap);
-
-        i = 0;
-        for (Map.Entry<Integer, Integer> entry : linkedMap.entrySet()) {
-            Integer index = entry.getKey();
-            documents[i] = copyOfDocuments[index];
-            i++;
-        }
-        for (DocumentOrderingWrapper w : anonymousAndUnorderedList) {
-            documents[i] = w;
-            i++;
-        }
-
-    }
-
-    public static <K, V extends Comparable<? super V>> Map<K, V> descendingByValue(Map<K, V> map) {
-        List<Map.Entry<K, V>> list = new LinkedList<>(map.entrySet());
-        Collections.sort(list, (a, b) -> b.getValue().compareTo(a.getValue()));
-
-        Map<K, V> result = new LinkedHashMap<>();
-        for (Map.Entry<K, V> entry : list) {
-            result.put(entry.getKey(), entry.getValue());
-        }
-        return result;
-    }
-
-    // ---------------------------------------------------------- Nested Classes
-
-    private static final class DocumentOrderingComparator implements Comparator<DocumentOrderingWrapper> {
-
-        // --------------------------------------------- Methods from Comparator
-
-        @Override
-        public int compare(DocumentOrderingWrapper wrapper1, DocumentOrderingWrapper wrapper2) {
-
-            String w1Id = wrapper1.id;
-            String w2Id = wrapper2.id;
-            boolean w1IsOrdered = wrapper1.isOrdered();
-            boolean w2IsOrdered = wrapper2.isOrdered();
-            if (w1IsOrdered && !w2IsOrdered) {
-                if (wrapper1.isAfterOrdered() && !wrapper1.isBeforeOthers()) {
-                    return SWAP;
-                }
-            }
-
-            boolean w2IsBeforeW1 = wrapper2.isBefore(w1Id);
-            boolean w1IsAfterW2 = wrapper1.isAfter(w2Id);
-
-            if (w2IsBeforeW1 || w1IsAfterW2) {
-                return SWAP; // move w2 before w1
-            }
-
-            // no explicit ID ordering. Check others ordering
-            boolean w1IsAfterOthers = wrapper1.isAfterOthers();
-            if (w1IsAfterOthers && !wrapper1.isBefore(w2Id) && !(wrapper1.isAfterOthers() && wrapper2.isAfterOthers())) {
-                return SWAP;
-            }
-            boolean w2IsBeforeOthers = wrapper2.isBeforeOthers();
-            if (w2IsBeforeOthers && !wrapper2.isAfter(w1Id) && !(wrapper1.isBeforeOthers() && wrapper2.isBeforeOthers())) {
-                return SWAP;
-            }
-
-            return DO_NOT_SWAP;
-
-        }
-
-    } // END FacesConfigComparator
-
-    private static final class CircularDependencyException extends Exception {
-
-        // -------------------------------------------------------- Constructors
-
-        /**
-         *
-         */
-        private static final long serialVersionUID = 739253127985795440L;
-
-        public CircularDependencyException() {
-            super();
-        }
-
-    } // END CircularDependencyException
 }
@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.config.manager.spi;
+
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.AnnotationScanIndex;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.util.FacesLogger;
+
+import jakarta.faces.FacesException;
+import jakarta.servlet.ServletContext;
+
+/**
+ * <p>
+ * {@link AnnotationScanner} reading the class files of the application with {@link ClassFileReader} instead of relying
+ * on the classes found by the <code>ServletContainerInitializer</code>. Only the classes that are actually annotated
+ * with one of the Faces configuration annotations are loaded.
+ * </p>
+ *
+ * <p>
+ * The jars to scan are those whose <code>faces-config.xml</code> is not metadata complete, as given to
+ * {@link #getAnnotatedClasses(Set)}, plus <code>/WEB-INF/classes</code>. Each jar is scanned by its own task on the
+ * executor set with {@link #setExecutor(ExecutorService)}; tasks not yet picked up by the executor are run by the
+ * calling thread, so that scanning cannot starve a small or already busy pool.
+ * </p>
+ *
+ * <p>
+ * The annotated class names found in a jar are kept in an index file, keyed by a checksum of the central directory of
+ * the jar, so that unchanged jars are not read again on the next start. The index is written to the file given by the
+ * <code>com.sun.faces.annotationScanIndex</code> context parameter, or to the servlet temporary directory.
+ * </p>
+ */
+public class ClassFileAnnotationScanner extends AnnotationScanner {
+
+    private static final Logger LOGGER = FacesLogger.CONFIG.getLogger();
+
+    private static final String TEMPDIR_ATTRIBUTE = "jakarta.servlet.context.tempdir";
+    private static final String DEFAULT_INDEX_FILE = "mojarra-annotation.idx";
+    private static final String WEB_INF_CLASSES = "/WEB-INF/classes/";
+    private static final String CLASS_EXTENSION = ".class";
+
+    private static final int INDEX_MAGIC = 0x4D4A4149;
+    private static final int INDEX_FORMAT_VERSION = 1;
+
+    private final Path indexFile;
+    private ExecutorService executor;
+
+    // ------------------------------------------------------------ Constructors
+
+    public ClassFileAnnotationScanner(ServletContext servletContext) {
+        super(servletContext);
+        indexFile = getIndexFile(servletContext);
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param executor the executor running the scan of each jar, or <code>null</code> to scan in the calling thread
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public Map<Class<? extends Annotation>, Set<Class<?>>> getAnnotatedClasses(Set<URI> uris) {
+        Map<String, List<String>> index = loadIndex();
+        Map<String, List<String>> usedIndex = new ConcurrentHashMap<>();
+
+        List<FutureTask<Set<String>>> tasks = new ArrayList<>();
+        for (Path jar : getJars(uris)) {
+            tasks.add(new FutureTask<>(() -> scanJar(jar, index, usedIndex)));
+        }
+        tasks.add(new FutureTask<>(this::scanWebInfClasses));
+
+        if (executor != null) {
+            try {
+                for (FutureTask<Set<String>> task : tasks) {
+                    executor.execute(task);
+                }
+            } catch (RejectedExecutionException e) {
+                // the remaining tasks are run below
+            }
+        }
+
+        Set<String> classNames = new TreeSet<>();
+        for (FutureTask<Set<String>> task : tasks) {
+            task.run(); // does nothing if the executor already started the task
+            try {
+                classNames.addAll(task.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new FacesException(e);
+            } catch (ExecutionException e) {
+                throw new FacesException(e.getCause());
+            }
+        }
+
+        if (!usedIndex.equals(index)) {
+            saveIndex(usedIndex);
+        }
+
+        return processClassList(classNames);
+    }
+
+    // ------------------------------------------------- Package Private Methods
+
+    /**
+     * @param jar the jar to scan
+     * @param index the annotated class names of the jars scanned by a previous start, keyed by checksum
+     * @param usedIndex receives the annotated class names of this jar
+     * @return the names of the classes of the jar annotated with a Faces configuration annotation and matching the
+     * <code>com.sun.faces.annotationScanPackages</code> context parameter
+     * @throws IOException if the jar cannot be read
+     */
+    Set<String> scanJar(Path jar, Map<String, List<String>> index, Map<String, List<String>> usedIndex) throws IOException {
+        String jarName = jar.getFileName().toString();
+        if (!processJar(jarName)) {
+            return Collections.emptySet();
+        }
+
+        List<String> annotated;
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            String key = getChecksum(zip);
+            annotated = index.get(key);
+            if (annotated == null) {
+                annotated = new ArrayList<>();
+                Enumeration<? extends ZipEntry> entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry entry = entries.nextElement();
+                    if (isClass(entry.getName())) {
+                        try (InputStream in = new BufferedInputStream(zip.getInputStream(entry))) {
+                            String className = getAnnotatedClassName(in, jarName + "!/" + entry.getName());
+                            if (className != null) {
+                                annotated.add(className);
+                            }
+                        }
+                    }
+                }
+            } else if (LOGGER.isLoggable(FINE)) {
+                LOGGER.log(FINE, "Reusing the annotation scan index for {0}", jarName);
+            }
+            usedIndex.put(key, annotated);
+        }
+
+        String[] packages = getJarPackages(jarName);
+        Set<String> classNames = new HashSet<>();
+        for (String className : annotated) {
+            if (processClass(className, packages)) {
+                classNames.add(className);
+            }
+        }
+
+        return classNames;
+    }
+
+    Map<String, List<String>> loadIndex() {
+        if (indexFile == null || !Files.isRegularFile(indexFile)) {
+            return Collections.emptyMap();
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_FORMAT_VERSION) {
+                return Collections.emptyMap();
+            }
+
+            int size = in.readInt();
+            Map<String, List<String>> index = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                String key = in.readUTF();
+                int count = in.readInt();
+                List<String> classNames = new ArrayList<>(count);
+                for (int j = 0; j < count; j++) {
+                    classNames.add(in.readUTF());
+                }
+                index.put(key, classNames);
+            }
+
+            return index;
+        } catch (IOException e) {
+            if (LOGGER.isLoggable(WARNING)) {
+                LOGGER.log(WARNING, "Unable to read the annotation scan index " + indexFile + ", scanning all jars", e);
+            }
+            return Collections.emptyMap();
+        }
+    }
+
+    void saveIndex(Map<String, List<String>> index) {
+        if (indexFile == null) {
+            return;
+        }
+
+        try {
+            Path temp = Files.createTempFile(indexFile.toAbsolutePath().getParent(), DEFAULT_INDEX_FILE, ".tmp");
+            try (OutputStream stream = Files.newOutputStream(temp); DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+                out.writeInt(INDEX_MAGIC);
+                out.writeInt(INDEX_FORMAT_VERSION);
+                out.writeInt(index.size());
+                for (Map.Entry<String, List<String>> entry : index.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().size());
+                    for (String className : entry.getValue()) {
+                        out.writeUTF(className);
+                    }
+                }
+            }
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (LOGGER.isLoggable(WARNING)) {
+                LOGGER.log(WARNING, "Unable to write the annotation scan index " + indexFile, e);
+            }
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private Set<String> scanWebInfClasses() throws IOException {
+        Set<String> classNames = new HashSet<>();
+        scanWebInfClasses(WEB_INF_CLASSES, classNames);
+        return classNames;
+    }
+
+    private void scanWebInfClasses(String directory, Set<String> classNames) throws IOException {
+        Set<String> paths = servletContext.getResourcePaths(directory);
+        if (paths == null) {
+            return;
+        }
+
+        for (String path : paths) {
+            if (path.endsWith("/")) {
+                scanWebInfClasses(path, classNames);
+            } else if (isClass(path)) {
+                try (InputStream stream = servletContext.getResourceAsStream(path)) {
+                    if (stream == null) {
+                        continue;
+                    }
+                    String className = getAnnotatedClassName(new BufferedInputStream(stream), path);
+                    if (className != null && processClass(className)) {
+                        classNames.add(className);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A class file which cannot be read is logged and skipped rather than failing the startup of the application. The
+     * class loader still reports it if the class is ever loaded.
+     */
+    private static String getAnnotatedClassName(InputStream stream, String location) {
+        try {
+            return ClassFileReader.getAnnotatedClassName(stream, FACES_ANNOTATIONS);
+        } catch (IOException e) {
+            if (LOGGER.isLoggable(WARNING)) {
+                LOGGER.log(WARNING, "Unable to read class file " + location + ", skipping it in the annotation scan", e);
+            }
+            return null;
+        }
+    }
+
+    private Set<Path> getJars(Set<URI> uris) {
+        Set<Path> jars = new HashSet<>();
+        if (uris == null) {
+            return jars;
+        }
+
+        for (URI uri : uris) {
+            Path jar = toJarPath(uri);
+            if (jar != null) {
+                jars.add(jar);
+            } else if (LOGGER.isLoggable(FINE)) {
+                LOGGER.log(FINE, "Not scanning {0} for annotations, it is not a jar on the file system", uri);
+            }
+        }
+
+        return jars;
+    }
+
+    private String[] getJarPackages(String jarName) {
+        Map<String, String[]> classpathPackages = getClasspathPackages();
+        if (classpathPackages == null) {
+            return null;
+        }
+
+        String[] packages = classpathPackages.get(jarName);
+        return packages != null ? packages : classpathPackages.get("*");
+    }
+
+    /**
+     * @return the jar file of a <code>jar:file:...!/...</code> URI, or <code>null</code>
+     */
+    static Path toJarPath(URI uri) {
+        String spec = uri.toString();
+        int separator = spec.indexOf("!/");
+        if (!spec.startsWith("jar:file:") || separator == -1) {
+            return null;
+        }
+
+        try {
+            Path jar = Paths.get(new URL(spec.substring("jar:".length(), separator)).toURI());
+            return Files.isRegularFile(jar) ? jar : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * A checksum of the names and CRCs of the entries of the central directory, which changes whenever the content of the
+     * jar changes without having to read the entries.
+     */
+    private static String getChecksum(ZipFile zip) {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[8];
+        int count = 0;
+        Enumeration<? extends ZipEntry> entries = zip.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            crc.update(entry.getName().getBytes(UTF_8));
+            long entryCrc = entry.getCrc();
+            for (int i = 0; i < 8; i++) {
+                buffer[i] = (byte) (entryCrc >>> (8 * i));
+            }
+            crc.update(buffer);
+            count++;
+        }
+
+        return count + ":" + Long.toHexString(crc.getValue());
+    }
+
+    private static boolean isClass(String name) {
+        return name.endsWith(CLASS_EXTENSION) && !name.endsWith("module-info.class") && !name.endsWith("package-info.class")
+                && !name.startsWith("META-INF/versions/");
+    }
+
+    private static Path getIndexFile(ServletContext servletContext) {
+        String path = WebConfiguration.getInstance(servletContext).getOptionValue(AnnotationScanIndex);
+        if (path != null && !path.isEmpty()) {
+            return Paths.get(path);
+        }
+
+        Object tempDir = servletContext.getAttribute(TEMPDIR_ATTRIBUTE);
+        if (tempDir instanceof File && ((File) tempDir).isDirectory()) {
+            return ((File) tempDir).toPath().resolve(DEFAULT_INDEX_FILE);
+        }
+
+        return null;
+    }
+
+}
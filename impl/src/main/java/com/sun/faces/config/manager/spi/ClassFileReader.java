@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.config.manager.spi;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+
+/**
+ * <p>
+ * Minimal reader of the class file format, as defined by chapter 4 of the Java Virtual Machine Specification. It only
+ * decodes what is needed to find the runtime visible annotations of a class, so that classes can be selected by their
+ * annotations without being loaded.
+ * </p>
+ */
+final class ClassFileReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private ClassFileReader() {
+    }
+
+    /**
+     * @param stream the class file
+     * @param annotationDescriptors the descriptors of the annotations of interest, such as
+     * <code>Ljakarta/faces/component/FacesComponent;</code>
+     * @return the binary name of the class if it is annotated with at least one of the given annotations, otherwise
+     * <code>null</code>
+     * @throws IOException if the class file cannot be read or is malformed
+     */
+    static String getAnnotatedClassName(InputStream stream, Set<String> annotationDescriptors) throws IOException {
+        try {
+            return readAnnotatedClassName(stream, annotationDescriptors);
+        } catch (IndexOutOfBoundsException | NullPointerException e) {
+            // A constant pool index out of range or referring to an entry of the wrong kind
+            throw new IOException("Malformed class file", e);
+        }
+    }
+
+    private static String readAnnotatedClassName(InputStream stream, Set<String> annotationDescriptors) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        in.skipBytes(4); // minor_version, major_version
+
+        int constantPoolCount = in.readUnsignedShort();
+        String[] utf8 = new String[constantPoolCount];
+        int[] classNameIndexes = new int[constantPoolCount];
+        boolean candidate = false;
+
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+            case CONSTANT_UTF8:
+                utf8[i] = in.readUTF();
+                candidate |= annotationDescriptors.contains(utf8[i]);
+                break;
+            case CONSTANT_CLASS:
+                classNameIndexes[i] = in.readUnsignedShort();
+                break;
+            case CONSTANT_STRING:
+            case CONSTANT_METHOD_TYPE:
+            case CONSTANT_MODULE:
+            case CONSTANT_PACKAGE:
+                in.skipBytes(2);
+                break;
+            case CONSTANT_METHOD_HANDLE:
+                in.skipBytes(3);
+                break;
+            case CONSTANT_INTEGER:
+            case CONSTANT_FLOAT:
+            case CONSTANT_FIELDREF:
+            case CONSTANT_METHODREF:
+            case CONSTANT_INTERFACE_METHODREF:
+            case CONSTANT_NAME_AND_TYPE:
+            case CONSTANT_DYNAMIC:
+            case CONSTANT_INVOKE_DYNAMIC:
+                in.skipBytes(4);
+                break;
+            case CONSTANT_LONG:
+            case CONSTANT_DOUBLE:
+                in.skipBytes(8);
+                i++; // takes two entries
+                break;
+            default:
+                throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        // An annotation type which does not appear in the constant pool cannot annotate the class
+        if (!candidate) {
+            return null;
+        }
+
+        in.skipBytes(2); // access_flags
+        int thisClass = in.readUnsignedShort();
+        in.skipBytes(2); // super_class
+        in.skipBytes(2 * in.readUnsignedShort()); // interfaces
+
+        skipMembers(in); // fields
+        skipMembers(in); // methods
+
+        for (int attributes = in.readUnsignedShort(); attributes > 0; attributes--) {
+            String name = utf8[in.readUnsignedShort()];
+            int length = in.readInt();
+            if (!RUNTIME_VISIBLE_ANNOTATIONS.equals(name)) {
+                in.skipBytes(length);
+                continue;
+            }
+
+            for (int annotations = in.readUnsignedShort(); annotations > 0; annotations--) {
+                if (annotationDescriptors.contains(utf8[in.readUnsignedShort()])) {
+                    return utf8[classNameIndexes[thisClass]].replace('/', '.');
+                }
+                skipElementValuePairs(in);
+            }
+        }
+
+        return null;
+    }
+
+    private static void skipMembers(DataInputStream in) throws IOException {
+        for (int members = in.readUnsignedShort(); members > 0; members--) {
+            in.skipBytes(6); // access_flags, name_index, descriptor_index
+            for (int attributes = in.readUnsignedShort(); attributes > 0; attributes--) {
+                in.skipBytes(2);
+                in.skipBytes(in.readInt());
+            }
+        }
+    }
+
+    private static void skipElementValuePairs(DataInputStream in) throws IOException {
+        for (int pairs = in.readUnsignedShort(); pairs > 0; pairs--) {
+            in.skipBytes(2); // element_name_index
+            skipElementValue(in);
+        }
+    }
+
+    private static void skipElementValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+        case 'e':
+            in.skipBytes(4); // type_name_index, const_name_index
+            break;
+        case '@':
+            in.skipBytes(2); // type_index
+            skipElementValuePairs(in);
+            break;
+        case '[':
+            for (int values = in.readUnsignedShort(); values > 0; values--) {
+                skipElementValue(in);
+            }
+            break;
+        default:
+            in.skipBytes(2); // const_value_index or class_info_index
+            break;
+        }
+    }
+
+}
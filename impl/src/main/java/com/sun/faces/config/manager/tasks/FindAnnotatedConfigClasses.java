@@ -24,12 +24,15 @@ import java.net.URI;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
 
 import com.sun.faces.config.InitFacesContext;
+import com.sun.faces.config.StartupTimeline;
+import com.sun.faces.config.StartupTimeline.Span;
+import com.sun.faces.config.manager.spi.ClassFileAnnotationScanner;
 import com.sun.faces.config.manager.spi.FilterClassesFromFacesInitializerAnnotationProvider;
 import com.sun.faces.spi.AnnotationProvider;
 import com.sun.faces.spi.AnnotationProviderFactory;
-import com.sun.faces.util.Timer;
 
 import jakarta.servlet.ServletContext;
 
@@ -43,27 +46,42 @@ public class FindAnnotatedConfigClasses implements Callable<Map<Class<? extends
     private final AnnotationProvider provider;
     private final ProvideMetadataToAnnotationScanTask metadataGetter;
     private final Set<Class<?>> annotatedSet;
+    private final Span parentSpan;
 
     // -------------------------------------------------------- Constructors
 
-    @SuppressWarnings("unchecked")
     public FindAnnotatedConfigClasses(ServletContext servletContext, InitFacesContext facesContext, ProvideMetadataToAnnotationScanTask metadataGetter) {
+        this(servletContext, facesContext, metadataGetter, null);
+    }
+
+    /**
+     * @param executor the executor the provider may use to scan in parallel, or <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public FindAnnotatedConfigClasses(ServletContext servletContext, InitFacesContext facesContext, ProvideMetadataToAnnotationScanTask metadataGetter,
+            ExecutorService executor) {
         this.facesContext = facesContext;
         provider = AnnotationProviderFactory.createAnnotationProvider(servletContext);
+        if (provider instanceof ClassFileAnnotationScanner) {
+            ((ClassFileAnnotationScanner) provider).setExecutor(executor);
+        }
         this.metadataGetter = metadataGetter;
         annotatedSet = (Set<Class<?>>) servletContext.getAttribute(ANNOTATED_CLASSES);
+        parentSpan = StartupTimeline.currentSpan();
     }
 
     // ----------------------------------------------- Methods from Callable
 
     @Override
     public Map<Class<? extends Annotation>, Set<Class<?>>> call() throws Exception {
-
-        Timer t = Timer.getInstance();
-        if (t != null) {
-            t.startTiming();
+        try (Span span = parentSpan.startChild("scan annotations")) {
+            return scan();
         }
+    }
+
+    // --------------------------------------------------------- Private Methods
 
+    private Map<Class<? extends Annotation>, Set<Class<?>>> scan() {
         Set<URI> scanUris = null;
         com.sun.faces.spi.AnnotationScanner annotationScanner = metadataGetter.getAnnotationScanner();
 
@@ -84,14 +102,7 @@ public class FindAnnotatedConfigClasses implements Callable<Map<Class<? extends
         // Note that DelegatingAnnotationProvider itself ignores the scanUris and directly gets the classes from the
         // ServletContext where they were stored by the ServletContainerInitializer
 
-        Map<Class<? extends Annotation>, Set<Class<?>>> annotatedClasses = provider.getAnnotatedClasses(scanUris);
-
-        if (t != null) {
-            t.stopTiming();
-            t.logResult("Configuration annotation scan complete.");
-        }
-
-        return annotatedClasses;
+        return provider.getAnnotatedClasses(scanUris);
     }
 
 } // END AnnotationScanTask
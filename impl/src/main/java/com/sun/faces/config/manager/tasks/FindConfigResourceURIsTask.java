@@ -25,6 +25,8 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.concurrent.Callable;
 
+import com.sun.faces.config.StartupTimeline;
+import com.sun.faces.config.StartupTimeline.Span;
 import com.sun.faces.spi.ConfigurationResourceProvider;
 
 import jakarta.servlet.ServletContext;
@@ -39,6 +41,7 @@ public class FindConfigResourceURIsTask implements Callable<Collection<URI>> {
 
     private final ConfigurationResourceProvider provider;
     private final ServletContext servletContext;
+    private final Span parentSpan;
 
     // -------------------------------------------------------- Constructors
 
@@ -52,6 +55,7 @@ public class FindConfigResourceURIsTask implements Callable<Collection<URI>> {
     public FindConfigResourceURIsTask(ConfigurationResourceProvider provider, ServletContext servletContext) {
         this.provider = provider;
         this.servletContext = servletContext;
+        parentSpan = StartupTimeline.currentSpan();
     }
 
     // ----------------------------------------------- Methods from Callable
@@ -63,7 +67,10 @@ public class FindConfigResourceURIsTask implements Callable<Collection<URI>> {
     @SuppressWarnings("unchecked")
     @Override
     public Collection<URI> call() throws Exception {
-        Collection<URI> untypedCollection = provider.getResources(servletContext);
+        Collection<URI> untypedCollection;
+        try (Span span = parentSpan.startChild("discover " + provider.getClass().getSimpleName())) {
+            untypedCollection = provider.getResources(servletContext);
+        }
         Iterator<?> untypedCollectionIterator = untypedCollection.iterator();
 
         Collection<URI> result = emptyList();
@@ -59,10 +59,11 @@ import org.xml.sax.SAXParseException;
 
 import com.sun.faces.config.ConfigManager;
 import com.sun.faces.config.ConfigurationException;
+import com.sun.faces.config.StartupTimeline;
+import com.sun.faces.config.StartupTimeline.Span;
 import com.sun.faces.config.manager.DbfFactory;
 import com.sun.faces.config.manager.documents.DocumentInfo;
 import com.sun.faces.util.FacesLogger;
-import com.sun.faces.util.Timer;
 
 import jakarta.servlet.ServletContext;
 
@@ -93,6 +94,7 @@ public class ParseConfigResourceToDOMTask implements Callable<DocumentInfo> {
     private final URI documentURI;
     private DocumentBuilderFactory factory;
     private final boolean validating;
+    private final Span parentSpan;
 
 
 
@@ -113,6 +115,7 @@ public class ParseConfigResourceToDOMTask implements Callable<DocumentInfo> {
         this.servletContext = servletContext;
         this.documentURI = documentURI;
         this.validating = validating;
+        parentSpan = StartupTimeline.currentSpan();
     }
 
 
@@ -125,19 +128,9 @@ public class ParseConfigResourceToDOMTask implements Callable<DocumentInfo> {
      */
     @Override
     public DocumentInfo call() throws Exception {
-        try {
-            Timer timer = Timer.getInstance();
-            if (timer != null) {
-                timer.startTiming();
-            }
-
+        try (Span span = parentSpan.startChild("parse " + documentURI)) {
             Document document = getDocument();
 
-            if (timer != null) {
-                timer.stopTiming();
-                timer.logResult("Parse " + documentURI.toURL().toExternalForm());
-            }
-
             return new DocumentInfo(document, documentURI);
         } catch (Exception e) {
             throw new ConfigurationException(format("Unable to parse document ''{0}'': {1}", documentURI.toURL().toExternalForm(), e.getMessage()), e);
@@ -184,36 +177,8 @@ public class ParseConfigResourceToDOMTask implements Callable<DocumentInfo> {
         Document returnDoc = configDocument;
 
         if (validating && documentNS != null) {
-            DOMSource domSource = new DOMSource(configDocument, documentURL.toExternalForm());
-
-            /*
-             * If the Document in question is 1.2 (i.e. it has a namespace matching JAVAEE_SCHEMA_DEFAULT_NS, then perform
-             * validation using the cached schema and return. Otherwise we assume a 1.0 or 1.1 faces-config in which case we need to
-             * transform it to reference a special 1.1 schema before validating.
-             */
-            Node documentElement = ((Document) domSource.getNode()).getDocumentElement();
-
-            switch (documentNS) {
-            case JAKARTAEE_SCHEMA_DEFAULT_NS:
-            case JAVAEE_SCHEMA_DEFAULT_NS:
-            case JAVAEE_SCHEMA_LEGACY_DEFAULT_NS: {
-
-                // If the Document in question is 1.2+ (i.e. it has a namespace matching JAVAEE_SCHEMA_LEGACY_DEFAULT_NS or later,
-                // then perform validation using the cached schema and return.
-
-                returnDoc = loadDocument(
-                    findMatchingSchema(documentNS, getVersion(documentElement), documentElement.getLocalName()),
-                    domSource);
-                break;
-            }
-
-            default:
-                // Assume a 1.0 or 1.1 faces-config in which case we need to transform it to reference a special 1.1 schema
-                // before validating.
-
-                returnDoc = loadDocument(
-                    findMatchingSchema(documentNS, null, null),
-                    transformDocument(documentNS, domSource));
+            try (Span span = StartupTimeline.startSpan("validate " + documentURI)) {
+                returnDoc = validate(configDocument, documentURL, documentNS);
             }
         }
 
@@ -228,6 +193,39 @@ public class ParseConfigResourceToDOMTask implements Callable<DocumentInfo> {
         return returnDoc;
     }
 
+    private Document validate(Document configDocument, URL documentURL, String documentNS) throws Exception {
+        DOMSource domSource = new DOMSource(configDocument, documentURL.toExternalForm());
+
+        /*
+         * If the Document in question is 1.2 (i.e. it has a namespace matching JAVAEE_SCHEMA_DEFAULT_NS, then perform
+         * validation using the cached schema and return. Otherwise we assume a 1.0 or 1.1 faces-config in which case we need to
+         * transform it to reference a special 1.1 schema before validating.
+         */
+        Node documentElement = ((Document) domSource.getNode()).getDocumentElement();
+
+        switch (documentNS) {
+        case JAKARTAEE_SCHEMA_DEFAULT_NS:
+        case JAVAEE_SCHEMA_DEFAULT_NS:
+        case JAVAEE_SCHEMA_LEGACY_DEFAULT_NS: {
+
+            // If the Document in question is 1.2+ (i.e. it has a namespace matching JAVAEE_SCHEMA_LEGACY_DEFAULT_NS or later,
+            // then perform validation using the cached schema and return.
+
+            return loadDocument(
+                findMatchingSchema(documentNS, getVersion(documentElement), documentElement.getLocalName()),
+                domSource);
+        }
+
+        default:
+            // Assume a 1.0 or 1.1 faces-config in which case we need to transform it to reference a special 1.1 schema
+            // before validating.
+
+            return loadDocument(
+                findMatchingSchema(documentNS, null, null),
+                transformDocument(documentNS, domSource));
+        }
+    }
+
     private Document parseDocumentFromURL(DocumentBuilder documentBuilder, URL documentURL) throws SAXException, IOException {
         InputSource documentInputSource = new InputSource(getInputStream(documentURL));
         documentInputSource.setSystemId(documentURI.toURL().toExternalForm());
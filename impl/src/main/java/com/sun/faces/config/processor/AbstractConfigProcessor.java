@@ -31,14 +31,18 @@ import static java.util.logging.Level.SEVERE;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
+import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
 
 import com.sun.faces.application.ApplicationAssociate;
 import com.sun.faces.application.ApplicationInstanceFactoryMetadataMap;
@@ -127,6 +131,45 @@ public abstract class AbstractConfigProcessor implements ConfigProcessor {
         return res != null && res.length() != 0 ? res : null;
     }
 
+    /**
+     * @return the descendant elements of <code>node</code> with the given local name, in document order. This is the
+     * DOM equivalent of the XPath expression <code>.//ns:localName</code>, without the cost of compiling and evaluating
+     * an expression for every element of every configuration document.
+     */
+    protected NodeList getElements(Node node, String namespace, String localName) {
+        return ((Element) node).getElementsByTagNameNS(namespace, localName);
+    }
+
+    /**
+     * @return the text nodes of the descendant elements of <code>node</code> with the given local name, in document
+     * order. Like the XPath expression <code>.//ns:localName/text()</code>, adjacent text and CDATA nodes are reported as
+     * a single value and elements without text are skipped.
+     */
+    protected List<String> getTexts(Node node, String namespace, String localName) {
+        List<String> texts = new ArrayList<>();
+        NodeList elements = getElements(node, namespace, localName);
+        for (int i = 0, size = elements.getLength(); i < size; i++) {
+            collectTexts(elements.item(i), texts);
+        }
+
+        return texts;
+    }
+
+    /**
+     * @return the text nodes of the child elements of <code>node</code> with the given local name, like the XPath
+     * expression <code>./ns:localName/text()</code>.
+     */
+    protected List<String> getChildTexts(Node node, String namespace, String localName) {
+        List<String> texts = new ArrayList<>();
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE && localName.equals(child.getLocalName()) && Objects.equals(namespace, child.getNamespaceURI())) {
+                collectTexts(child, texts);
+            }
+        }
+
+        return texts;
+    }
+
     /**
      * @return a <code>Map</code> of of textual values keyed off the values of any lang or xml:lang attributes specified on
      * an attribute. If no such attribute exists, then the key {@link ApplicationResourceBundle#DEFAULT_KEY} will be used
@@ -217,6 +260,10 @@ public abstract class AbstractConfigProcessor implements ConfigProcessor {
 
                     if (classMetadataMap.hasAnnotations(className) && performInjection) {
                         InjectionProvider injectionProvider = (InjectionProvider) facesContext.getAttributes().get(INJECTION_PROVIDER_KEY);
+                        if (injectionProvider == null) {
+                            // Instances registered lazily are created after startup
+                            injectionProvider = ApplicationAssociate.getInstance(facesContext.getExternalContext()).getInjectionProvider();
+                        }
 
                         try {
                             injectionProvider.inject(returnObject);
@@ -305,9 +352,33 @@ public abstract class AbstractConfigProcessor implements ConfigProcessor {
     // --------------------------------------------------------- Private Methods
 
     private String buildMessage(String cause, Node source) {
+        if (source == null) {
+            return MessageFormat.format("\n  Cause: {0}", cause);
+        }
+
         return MessageFormat.format("\n  Source Document: {0}\n  Cause: {1}", source.getOwnerDocument().getDocumentURI(), cause);
     }
 
+    private static void collectTexts(Node element, List<String> texts) {
+        StringBuilder text = null;
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            short type = child.getNodeType();
+            if (type == Node.TEXT_NODE || type == Node.CDATA_SECTION_NODE) {
+                if (text == null) {
+                    text = new StringBuilder();
+                }
+                text.append(child.getNodeValue());
+            } else if (text != null) {
+                texts.add(text.toString());
+                text = null;
+            }
+        }
+
+        if (text != null) {
+            texts.add(text.toString());
+        }
+    }
+
     private boolean isDevModeEnabled(ServletContext sc, FacesContext facesContext) {
         return getProjectStage(sc, facesContext).equals(Development);
     }
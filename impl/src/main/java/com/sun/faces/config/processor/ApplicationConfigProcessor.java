@@ -23,6 +23,7 @@ import static java.util.logging.Level.SEVERE;
 import static java.util.logging.Level.WARNING;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -213,6 +214,11 @@ public class ApplicationConfigProcessor extends AbstractConfigProcessor {
 
     // -------------------------------------------- Methods from ConfigProcessor
 
+    @Override
+    public Collection<Class<? extends ConfigProcessor>> getDependencies() {
+        return List.of(FactoryConfigProcessor.class, LifecycleConfigProcessor.class);
+    }
+
     @Override
     public void process(ServletContext servletContext, FacesContext facesContext, DocumentInfo[] documentInfos) throws Exception {
         Application application = getApplication();
@@ -20,10 +20,10 @@ import static java.text.MessageFormat.format;
 import static java.util.logging.Level.FINE;
 
 import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.List;
 import java.util.logging.Logger;
 
-import javax.xml.xpath.XPathExpressionException;
-
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -71,6 +71,11 @@ public class BehaviorConfigProcessor extends AbstractConfigProcessor {
 
     // -------------------------------------------- Methods from ConfigProcessor
 
+    @Override
+    public Collection<Class<? extends ConfigProcessor>> getDependencies() {
+        return List.of(ApplicationConfigProcessor.class);
+    }
+
     @Override
     public void process(ServletContext sc, FacesContext facesContext, DocumentInfo[] documentInfos) throws Exception {
 
@@ -94,7 +99,7 @@ public class BehaviorConfigProcessor extends AbstractConfigProcessor {
 
     // --------------------------------------------------------- Private Methods
 
-    private void addBehaviors(NodeList behaviors, String namespace) throws XPathExpressionException {
+    private void addBehaviors(NodeList behaviors, String namespace) {
         Application app = getApplication();
         Verifier verifier = Verifier.getCurrentInstance();
         for (int i = 0, size = behaviors.getLength(); i < size; i++) {
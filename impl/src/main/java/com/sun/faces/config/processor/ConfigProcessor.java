@@ -16,6 +16,9 @@
 
 package com.sun.faces.config.processor;
 
+import java.util.Collection;
+import java.util.Collections;
+
 import com.sun.faces.config.manager.documents.DocumentInfo;
 
 import jakarta.faces.context.FacesContext;
@@ -49,4 +52,16 @@ public interface ConfigProcessor {
 
     void destroy(ServletContext servletContext, FacesContext facesContext);
 
+    /**
+     * <p>
+     * The processors whose configuration this processor builds upon. A processor only runs once its dependencies have
+     * completed, processors not depending on each other may run concurrently.
+     * </p>
+     *
+     * @return the types of the processors this processor depends on
+     */
+    default Collection<Class<? extends ConfigProcessor>> getDependencies() {
+        return Collections.emptyList();
+    }
+
 }
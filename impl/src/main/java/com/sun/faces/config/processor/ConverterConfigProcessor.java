@@ -19,6 +19,8 @@ package com.sun.faces.config.processor;
 import static java.text.MessageFormat.format;
 import static java.util.logging.Level.FINE;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.logging.Logger;
 
 import org.w3c.dom.Document;
@@ -69,6 +71,11 @@ public class ConverterConfigProcessor extends AbstractConfigProcessor {
 
     // -------------------------------------------- Methods from ConfigProcessor
 
+    @Override
+    public Collection<Class<? extends ConfigProcessor>> getDependencies() {
+        return List.of(ApplicationConfigProcessor.class);
+    }
+
     @Override
     public void process(ServletContext sc, FacesContext facesContext, DocumentInfo[] documentInfos) throws Exception {
 
@@ -16,6 +16,7 @@
 
 package com.sun.faces.config.processor;
 
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.LazyConfigRegistration;
 import static java.text.MessageFormat.format;
 import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.WARNING;
@@ -23,6 +24,7 @@ import static java.util.logging.Level.WARNING;
 import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,6 +35,7 @@ import org.w3c.dom.NodeList;
 
 import com.sun.faces.application.ApplicationAssociate;
 import com.sun.faces.config.ConfigurationException;
+import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.config.manager.documents.DocumentInfo;
 import com.sun.faces.facelets.compiler.Compiler;
 import com.sun.faces.facelets.tag.TagLibrary;
@@ -362,8 +365,12 @@ public class FaceletTaglibConfigProcessor extends AbstractConfigProcessor {
 
             if (handlerClass != null) {
                 try {
-                    Class<?> clazz = loadClass(sc, facesContext, handlerClass, this, null);
-                    taglibrary.putBehavior(tagName, behaviorId, clazz);
+                    if (isLazyRegistration(sc)) {
+                        taglibrary.putBehavior(tagName, behaviorId, lazyClass(sc, handlerClass));
+                    } else {
+                        Class<?> clazz = loadClass(sc, facesContext, handlerClass, this, null);
+                        taglibrary.putBehavior(tagName, behaviorId, clazz);
+                    }
                 } catch (ClassNotFoundException e) {
                     throw new ConfigurationException(e);
                 }
@@ -385,15 +392,14 @@ public class FaceletTaglibConfigProcessor extends AbstractConfigProcessor {
         try {
             Class<?> clazz;
             try {
-                clazz = loadClass(sc, facesContext, className, this, null);
-                taglibrary.putTagHandler(name, clazz);
-            } catch (NoClassDefFoundError defNotFound) {
-                String message = defNotFound.toString();
-                if (message.contains("com/sun/facelets/") || message.contains("com.sun.facelets.")) {
-                    if (LOGGER.isLoggable(WARNING)) {
-                        LOGGER.log(WARNING, "faces.config.legacy.facelet.warning", new Object[] { handlerClass, });
-                    }
+                if (isLazyRegistration(sc)) {
+                    taglibrary.putTagHandler(name, lazyClass(sc, className));
                 } else {
+                    clazz = loadClass(sc, facesContext, className, this, null);
+                    taglibrary.putTagHandler(name, clazz);
+                }
+            } catch (NoClassDefFoundError defNotFound) {
+                if (!warnIfLegacyFacelet(defNotFound, className)) {
                     throw defNotFound;
                 }
             }
@@ -443,8 +449,12 @@ public class FaceletTaglibConfigProcessor extends AbstractConfigProcessor {
             }
             if (handlerClass != null) {
                 try {
-                    Class<?> clazz = loadClass(sc, facesContext, handlerClass, this, null);
-                    taglibrary.putValidator(name, validatorId, clazz);
+                    if (isLazyRegistration(sc)) {
+                        taglibrary.putValidator(name, validatorId, lazyClass(sc, handlerClass));
+                    } else {
+                        Class<?> clazz = loadClass(sc, facesContext, handlerClass, this, null);
+                        taglibrary.putValidator(name, validatorId, clazz);
+                    }
                 } catch (NoClassDefFoundError defNotFound) {
                     String message = defNotFound.toString();
                     if (message.contains("com/sun/facelets/") || message.contains("com.sun.facelets.")) {
@@ -485,8 +495,12 @@ public class FaceletTaglibConfigProcessor extends AbstractConfigProcessor {
             }
             if (handlerClass != null) {
                 try {
-                    Class<?> clazz = loadClass(sc, facesContext, handlerClass, this, null);
-                    taglibrary.putConverter(name, converterId, clazz);
+                    if (isLazyRegistration(sc)) {
+                        taglibrary.putConverter(name, converterId, lazyClass(sc, handlerClass));
+                    } else {
+                        Class<?> clazz = loadClass(sc, facesContext, handlerClass, this, null);
+                        taglibrary.putConverter(name, converterId, clazz);
+                    }
                 } catch (NoClassDefFoundError defNotFound) {
                     String message = defNotFound.toString();
                     if (message.contains("com/sun/facelets/") || message.contains("com.sun.facelets.")) {
@@ -536,8 +550,12 @@ public class FaceletTaglibConfigProcessor extends AbstractConfigProcessor {
             }
             if (handlerClass != null) {
                 try {
-                    Class<?> clazz = loadClass(sc, facesContext, handlerClass, this, null);
-                    taglibrary.putComponent(name, componentType, rendererType, clazz);
+                    if (isLazyRegistration(sc)) {
+                        taglibrary.putComponent(name, componentType, rendererType, lazyClass(sc, handlerClass));
+                    } else {
+                        Class<?> clazz = loadClass(sc, facesContext, handlerClass, this, null);
+                        taglibrary.putComponent(name, componentType, rendererType, clazz);
+                    }
                 } catch (NoClassDefFoundError defNotFound) {
                     String message = defNotFound.toString();
                     if (message.contains("com/sun/facelets/") || message.contains("com.sun.facelets.")) {
@@ -596,6 +614,42 @@ public class FaceletTaglibConfigProcessor extends AbstractConfigProcessor {
 
     }
 
+    /**
+     * Handler classes are only loaded when their tag is first used if <code>com.sun.faces.lazyConfigRegistration</code> is
+     * enabled.
+     */
+    private static boolean isLazyRegistration(ServletContext sc) {
+        return WebConfiguration.getInstance(sc).isOptionEnabled(LazyConfigRegistration);
+    }
+
+    private Supplier<Class<?>> lazyClass(ServletContext sc, String className) {
+        return () -> {
+            try {
+                return loadClass(sc, FacesContext.getCurrentInstance(), className, this, null);
+            } catch (ClassNotFoundException e) {
+                throw new ConfigurationException(e);
+            } catch (NoClassDefFoundError e) {
+                warnIfLegacyFacelet(e, className);
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * @return <code>true</code> if the given error is caused by a dependency on a legacy Facelets class, after logging it
+     */
+    private static boolean warnIfLegacyFacelet(NoClassDefFoundError error, String className) {
+        String message = error.toString();
+        if (message.contains("com/sun/facelets/") || message.contains("com.sun.facelets.")) {
+            if (LOGGER.isLoggable(WARNING)) {
+                LOGGER.log(WARNING, "faces.config.legacy.facelet.warning", new Object[] { className, });
+            }
+            return true;
+        }
+
+        return false;
+    }
+
     private static Method createMethod(Class<?> type, String signatureParam) throws Exception {
 
         // Formatted XML might cause \n\t characters - make sure we only have space characters left
@@ -21,6 +21,8 @@ import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.WARNING;
 
 import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
@@ -72,6 +74,11 @@ public class FacesConfigExtensionProcessor extends AbstractConfigProcessor {
 
     // -------------------------------------------- Methods from ConfigProcessor
 
+    @Override
+    public Collection<Class<? extends ConfigProcessor>> getDependencies() {
+        return List.of(ApplicationConfigProcessor.class);
+    }
+
     @Override
     public void process(ServletContext sc, FacesContext facesContext, DocumentInfo[] documentInfos) throws Exception {
 
@@ -23,6 +23,7 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -32,10 +33,7 @@ import java.util.logging.Logger;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 
 import org.w3c.dom.Attr;
 import org.w3c.dom.DOMImplementation;
@@ -156,6 +154,11 @@ public class FacesFlowDefinitionConfigProcessor extends AbstractConfigProcessor
         return newDoc;
     }
 
+    @Override
+    public Collection<Class<? extends ConfigProcessor>> getDependencies() {
+        return List.of(ApplicationConfigProcessor.class, NavigationConfigProcessor.class);
+    }
+
     @Override
     public void process(ServletContext sc, FacesContext facesContext, DocumentInfo[] documentInfos) throws Exception {
 
@@ -279,17 +282,14 @@ public class FacesFlowDefinitionConfigProcessor extends AbstractConfigProcessor
             application.setFlowHandler(flowHandler = flowHandlerFactory.createFlowHandler(context));
         }
 
-        XPath xpath = XPathFactory.newInstance().newXPath();
-        xpath.setNamespaceContext(new FacesConfigNamespaceContext(namespace));
-
         String nameStr = "";
-        NodeList nameList = (NodeList) xpath.evaluate("./ns1:name/text()", document.getDocumentElement(), XPathConstants.NODESET);
-        if (null != nameList && 1 < nameList.getLength()) {
+        List<String> nameList = getChildTexts(document.getDocumentElement(), namespace, "name");
+        if (null != nameList && 1 < nameList.size()) {
             throw new XPathExpressionException("<faces-config> must have at most one <name> element.");
         }
 
-        if (null != nameList && 1 == nameList.getLength()) {
-            nameStr = nameList.item(0).getNodeValue().trim();
+        if (null != nameList && 1 == nameList.size()) {
+            nameStr = nameList.get(0).trim();
             if (0 < nameStr.length()) {
                 ApplicationAssociate associate = ApplicationAssociate.getInstance(context.getExternalContext());
                 try {
@@ -312,16 +312,16 @@ public class FacesFlowDefinitionConfigProcessor extends AbstractConfigProcessor
             FlowBuilderImpl flowBuilder = new FlowBuilderImpl(context);
             flowBuilder.id(nameStr, flowId);
 
-            processViews(xpath, flowDefinition, flowBuilder);
-            processNavigationRules(xpath, flowDefinition, flowBuilder);
-            processReturns(xpath, flowDefinition, flowBuilder);
-            processInboundParameters(xpath, flowDefinition, flowBuilder);
-            processFlowCalls(xpath, flowDefinition, flowBuilder);
-            processSwitches(xpath, flowDefinition, flowBuilder);
-            processMethodCalls(context, xpath, flowDefinition, flowBuilder);
-            processInitializerFinalizer(xpath, flowDefinition, flowBuilder);
+            processViews(namespace, flowDefinition, flowBuilder);
+            processNavigationRules(namespace, flowDefinition, flowBuilder);
+            processReturns(namespace, flowDefinition, flowBuilder);
+            processInboundParameters(namespace, flowDefinition, flowBuilder);
+            processFlowCalls(namespace, flowDefinition, flowBuilder);
+            processSwitches(namespace, flowDefinition, flowBuilder);
+            processMethodCalls(context, namespace, flowDefinition, flowBuilder);
+            processInitializerFinalizer(namespace, flowDefinition, flowBuilder);
 
-            String startNodeId = processStartNode(xpath, flowDefinition, flowBuilder);
+            String startNodeId = processStartNode(namespace, flowDefinition, flowBuilder);
 
             if (null != startNodeId) {
                 FlowImpl toAdd = flowBuilder._getFlow();
@@ -340,65 +340,65 @@ public class FacesFlowDefinitionConfigProcessor extends AbstractConfigProcessor
 
     }
 
-    private void processNavigationRules(XPath xpath, Node flowDefinition, FlowBuilder flowBuilder) throws XPathExpressionException {
+    private void processNavigationRules(String namespace, Node flowDefinition, FlowBuilder flowBuilder) throws XPathExpressionException {
         // <editor-fold defaultstate="collapsed">
-        NodeList navRules = (NodeList) xpath.evaluate(".//ns1:navigation-rule", flowDefinition, XPathConstants.NODESET);
+        NodeList navRules = getElements(flowDefinition, namespace, "navigation-rule");
         for (int i_navRule = 0; i_navRule < navRules.getLength(); i_navRule++) {
             Node navRule = navRules.item(i_navRule);
-            NodeList fromViewIdList = (NodeList) xpath.evaluate(".//ns1:from-view-id/text()", navRule, XPathConstants.NODESET);
-            if (1 != fromViewIdList.getLength()) {
+            List<String> fromViewIdList = getTexts(navRule, namespace, "from-view-id");
+            if (1 != fromViewIdList.size()) {
                 throw new XPathExpressionException("Within <navigation-rule> must have exactly one <from-view-id>");
             }
-            String fromViewId = fromViewIdList.item(0).getNodeValue().trim();
+            String fromViewId = fromViewIdList.get(0).trim();
 
-            NodeList navCases = (NodeList) xpath.evaluate(".//ns1:navigation-case", navRule, XPathConstants.NODESET);
+            NodeList navCases = getElements(navRule, namespace, "navigation-case");
             for (int i_navCase = 0; i_navCase < navCases.getLength(); i_navCase++) {
                 Node navCase = navCases.item(i_navCase);
-                NodeList toViewIdList = (NodeList) xpath.evaluate(".//ns1:to-view-id/text()", navCase, XPathConstants.NODESET);
-                if (1 != toViewIdList.getLength()) {
+                List<String> toViewIdList = getTexts(navCase, namespace, "to-view-id");
+                if (1 != toViewIdList.size()) {
                     throw new XPathExpressionException("Within <navigation-case>, must have exactly one <to-view-id>");
                 }
-                String toViewId = toViewIdList.item(0).getNodeValue().trim();
+                String toViewId = toViewIdList.get(0).trim();
 
                 NavigationCaseBuilder ncb = flowBuilder.navigationCase();
                 ncb.fromViewId(fromViewId).toViewId(toViewId);
 
                 {
-                    NodeList fromOutcomeList = (NodeList) xpath.evaluate(".//ns1:from-outcome/text()", navCase, XPathConstants.NODESET);
-                    if (null != fromOutcomeList && 1 < fromOutcomeList.getLength()) {
+                    List<String> fromOutcomeList = getTexts(navCase, namespace, "from-outcome");
+                    if (null != fromOutcomeList && 1 < fromOutcomeList.size()) {
                         throw new XPathExpressionException("Within <navigation-case>, must have at most one <from-outcome>");
                     }
-                    if (null != fromOutcomeList && 1 == fromOutcomeList.getLength()) {
-                        String fromOutcome = fromOutcomeList.item(0).getNodeValue().trim();
+                    if (null != fromOutcomeList && 1 == fromOutcomeList.size()) {
+                        String fromOutcome = fromOutcomeList.get(0).trim();
                         ncb.fromOutcome(fromOutcome);
                     }
                 }
 
                 {
-                    NodeList fromActionList = (NodeList) xpath.evaluate(".//ns1:from-action/text()", navCase, XPathConstants.NODESET);
-                    if (null != fromActionList && 1 < fromActionList.getLength()) {
+                    List<String> fromActionList = getTexts(navCase, namespace, "from-action");
+                    if (null != fromActionList && 1 < fromActionList.size()) {
                         throw new XPathExpressionException("Within <navigation-case>, must have at most one <from-action>");
                     }
-                    if (null != fromActionList && 1 == fromActionList.getLength()) {
-                        String fromAction = fromActionList.item(0).getNodeValue().trim();
+                    if (null != fromActionList && 1 == fromActionList.size()) {
+                        String fromAction = fromActionList.get(0).trim();
                         ncb.fromAction(fromAction);
                     }
                 }
 
                 {
-                    NodeList ifList = (NodeList) xpath.evaluate(".//ns1:if/text()", navCase, XPathConstants.NODESET);
-                    if (null != ifList && 1 < ifList.getLength()) {
+                    List<String> ifList = getTexts(navCase, namespace, "if");
+                    if (null != ifList && 1 < ifList.size()) {
                         throw new XPathExpressionException("Within <navigation-case>, must have zero or one <if>");
                     }
-                    if (null != ifList && 1 == ifList.getLength()) {
-                        String ifStr = ifList.item(0).getNodeValue().trim();
+                    if (null != ifList && 1 == ifList.size()) {
+                        String ifStr = ifList.get(0).trim();
                         ncb.condition(ifStr);
                     }
 
                 }
 
                 {
-                    NodeList redirectList = (NodeList) xpath.evaluate(".//ns1:redirect", navCase, XPathConstants.NODESET);
+                    NodeList redirectList = getElements(navCase, namespace, "redirect");
                     if (null != redirectList && 1 < redirectList.getLength()) {
                         throw new XPathExpressionException("Within <navigation-case>, must have zero or one <redirect>");
                     }
@@ -409,21 +409,21 @@ public class FacesFlowDefinitionConfigProcessor extends AbstractConfigProcessor
                         if (null != includeViewParams && "true".equalsIgnoreCase(includeViewParams)) {
                             redirector.includeViewParams();
                         }
-                        NodeList viewParamList = (NodeList) xpath.evaluate(".//ns1:redirect-param", redirectNode, XPathConstants.NODESET);
+                        NodeList viewParamList = getElements(redirectNode, namespace, "redirect-param");
                         if (null != viewParamList) {
                             for (int i_viewParam = 0; i_viewParam < viewParamList.getLength(); i_viewParam++) {
                                 Node viewParam = viewParamList.item(i_viewParam);
-                                NodeList nameList = (NodeList) xpath.evaluate(".//ns1:name/text()", viewParam, XPathConstants.NODESET);
-                                if (null == nameList || 1 != nameList.getLength()) {
+                                List<String> nameList = getTexts(viewParam, namespace, "name");
+                                if (null == nameList || 1 != nameList.size()) {
                                     throw new XPathExpressionException("Within <redirect-param> must have <name>.");
                                 }
-                                String nameStr = nameList.item(0).getNodeValue().trim();
+                                String nameStr = nameList.get(0).trim();
 
-                                NodeList valueList = (NodeList) xpath.evaluate(".//ns1:value/text()", viewParam, XPathConstants.NODESET);
-                                if (null == valueList || 1 != valueList.getLength()) {
+                                List<String> valueList = getTexts(viewParam, namespace, "value");
+                                if (null == valueList || 1 != valueList.size()) {
                                     throw new XPathExpressionException("Within <redirect-param> must have <value>.");
                                 }
-                                String valueStr = valueList.item(0).getNodeValue().trim();
+                                String valueStr = valueList.get(0).trim();
                                 redirector.parameter(nameStr, valueStr);
                             }
                         }
@@ -435,103 +435,103 @@ public class FacesFlowDefinitionConfigProcessor extends AbstractConfigProcessor
         // </editor-fold>
     }
 
-    private void processViews(XPath xpath, Node flowDefinition, FlowBuilder flowBuilder) throws XPathExpressionException {
-        NodeList views = (NodeList) xpath.evaluate(".//ns1:view", flowDefinition, XPathConstants.NODESET);
+    private void processViews(String namespace, Node flowDefinition, FlowBuilder flowBuilder) throws XPathExpressionException {
+        NodeList views = getElements(flowDefinition, namespace, "view");
         for (int i_view = 0; i_view < views.getLength(); i_view++) {
             Node viewNode = views.item(i_view);
             String viewNodeId = getIdAttribute(viewNode);
-            NodeList vdlDocumentList = (NodeList) xpath.evaluate(".//ns1:vdl-document/text()", viewNode, XPathConstants.NODESET);
-            if (1 != vdlDocumentList.getLength()) {
+            List<String> vdlDocumentList = getTexts(viewNode, namespace, "vdl-document");
+            if (1 != vdlDocumentList.size()) {
                 throw new XPathExpressionException("Within <view> exactly one child is allowed, and it must be a <vdl-document>");
             }
-            String vdlDocumentStr = vdlDocumentList.item(0).getNodeValue().trim();
+            String vdlDocumentStr = vdlDocumentList.get(0).trim();
             flowBuilder.viewNode(viewNodeId, vdlDocumentStr);
         }
     }
 
-    private void processReturns(XPath xpath, Node flowDefinition, FlowBuilder flowBuilder) throws XPathExpressionException {
+    private void processReturns(String namespace, Node flowDefinition, FlowBuilder flowBuilder) throws XPathExpressionException {
 
-        NodeList returns = (NodeList) xpath.evaluate(".//ns1:flow-return", flowDefinition, XPathConstants.NODESET);
+        NodeList returns = getElements(flowDefinition, namespace, "flow-return");
         for (int i_return = 0; i_return < returns.getLength(); i_return++) {
             Node returnNode = returns.item(i_return);
-            NodeList fromOutcomeList = (NodeList) xpath.evaluate(".//ns1:from-outcome/text()", returnNode, XPathConstants.NODESET);
+            List<String> fromOutcomeList = getTexts(returnNode, namespace, "from-outcome");
             String id = getIdAttribute(returnNode);
-            if (null != fromOutcomeList && 1 < fromOutcomeList.getLength()) {
+            if (null != fromOutcomeList && 1 < fromOutcomeList.size()) {
                 throw new XPathExpressionException("Within <flow-return id=\"" + id + "\"> only one child is allowed, and it must be a <from-outcome>");
             }
-            if (null != fromOutcomeList && 1 == fromOutcomeList.getLength()) {
-                String fromOutcomeStr = fromOutcomeList.item(0).getNodeValue().trim();
+            if (null != fromOutcomeList && 1 == fromOutcomeList.size()) {
+                String fromOutcomeStr = fromOutcomeList.get(0).trim();
                 flowBuilder.returnNode(id).fromOutcome(fromOutcomeStr);
             }
 
         }
     }
 
-    private void processInboundParameters(XPath xpath, Node flowDefinition, FlowBuilder flowBuilder) throws XPathExpressionException {
-        NodeList inboundParameters = (NodeList) xpath.evaluate(".//ns1:inbound-parameter", flowDefinition, XPathConstants.NODESET);
+    private void processInboundParameters(String namespace, Node flowDefinition, FlowBuilder flowBuilder) throws XPathExpressionException {
+        NodeList inboundParameters = getElements(flowDefinition, namespace, "inbound-parameter");
         for (int i_inbound = 0; i_inbound < inboundParameters.getLength(); i_inbound++) {
             Node inboundParamNode = inboundParameters.item(i_inbound);
-            NodeList nameList = (NodeList) xpath.evaluate(".//ns1:name/text()", inboundParamNode, XPathConstants.NODESET);
-            if (1 < nameList.getLength()) {
+            List<String> nameList = getTexts(inboundParamNode, namespace, "name");
+            if (1 < nameList.size()) {
                 throw new XPathExpressionException("Within <inbound-parameter> only one <name> child is allowed");
             }
-            String nameStr = nameList.item(0).getNodeValue().trim();
+            String nameStr = nameList.get(0).trim();
 
-            NodeList valueList = (NodeList) xpath.evaluate(".//ns1:value/text()", inboundParamNode, XPathConstants.NODESET);
-            if (1 < valueList.getLength()) {
+            List<String> valueList = getTexts(inboundParamNode, namespace, "value");
+            if (1 < valueList.size()) {
                 throw new XPathExpressionException("Within <inbound-parameter> only one <value> child is allowed");
             }
-            String valueStr = valueList.item(0).getNodeValue().trim();
+            String valueStr = valueList.get(0).trim();
             flowBuilder.inboundParameter(nameStr, valueStr);
         }
     }
 
-    private void processFlowCalls(XPath xpath, Node flowDefinition, FlowBuilder flowBuilder) throws XPathExpressionException {
-        NodeList flowCalls = (NodeList) xpath.evaluate(".//ns1:flow-call", flowDefinition, XPathConstants.NODESET);
+    private void processFlowCalls(String namespace, Node flowDefinition, FlowBuilder flowBuilder) throws XPathExpressionException {
+        NodeList flowCalls = getElements(flowDefinition, namespace, "flow-call");
         for (int i_flowCall = 0; i_flowCall < flowCalls.getLength(); i_flowCall++) {
             Node flowCallNode = flowCalls.item(i_flowCall);
             String flowCallId = getIdAttribute(flowCallNode);
-            NodeList facesFlowRefList = (NodeList) xpath.evaluate(".//ns1:flow-reference", flowCallNode, XPathConstants.NODESET);
+            NodeList facesFlowRefList = getElements(flowCallNode, namespace, "flow-reference");
             if (null == facesFlowRefList || 1 != facesFlowRefList.getLength()) {
                 throw new XPathExpressionException("Within <flow-call> must have exactly one <flow-reference>");
             }
             Node facesFlowRefNode = facesFlowRefList.item(0);
 
-            NodeList facesFlowIdList = (NodeList) xpath.evaluate(".//ns1:flow-id/text()", facesFlowRefNode, XPathConstants.NODESET);
-            if (null == facesFlowIdList || 1 != facesFlowIdList.getLength()) {
+            List<String> facesFlowIdList = getTexts(facesFlowRefNode, namespace, "flow-id");
+            if (null == facesFlowIdList || 1 != facesFlowIdList.size()) {
                 throw new XPathExpressionException("Within <flow-reference> must have exactly one <flow-id>");
             }
 
-            String destinationId = facesFlowIdList.item(0).getNodeValue().trim();
+            String destinationId = facesFlowIdList.get(0).trim();
 
-            NodeList definingDocumentIdList = (NodeList) xpath.evaluate(".//ns1:flow-document-id/text()", facesFlowRefNode, XPathConstants.NODESET);
-            if (null == definingDocumentIdList && 1 != definingDocumentIdList.getLength()) {
+            List<String> definingDocumentIdList = getTexts(facesFlowRefNode, namespace, "flow-document-id");
+            if (null == definingDocumentIdList && 1 != definingDocumentIdList.size()) {
                 throw new XPathExpressionException("Within <flow-reference> must have at most one <flow-document-id>");
             }
             String definingDocumentId = "";
-            if (null != definingDocumentIdList && 1 == definingDocumentIdList.getLength()) {
-                definingDocumentId = definingDocumentIdList.item(0).getNodeValue().trim();
+            if (null != definingDocumentIdList && 1 == definingDocumentIdList.size()) {
+                definingDocumentId = definingDocumentIdList.get(0).trim();
             }
 
             FlowCallBuilder flowCallBuilder = flowBuilder.flowCallNode(flowCallId);
 
             flowCallBuilder.flowReference(definingDocumentId, destinationId);
 
-            NodeList outboundParameters = (NodeList) xpath.evaluate(".//ns1:outbound-parameter", flowDefinition, XPathConstants.NODESET);
+            NodeList outboundParameters = getElements(flowDefinition, namespace, "outbound-parameter");
             if (null != outboundParameters) {
                 for (int i_outbound = 0; i_outbound < outboundParameters.getLength(); i_outbound++) {
                     Node outboundParamNode = outboundParameters.item(i_outbound);
-                    NodeList nameList = (NodeList) xpath.evaluate(".//ns1:name/text()", outboundParamNode, XPathConstants.NODESET);
-                    if (1 < nameList.getLength()) {
+                    List<String> nameList = getTexts(outboundParamNode, namespace, "name");
+                    if (1 < nameList.size()) {
                         throw new XPathExpressionException("Within <outbound-parameter> only one <name> child is allowed");
                     }
-                    String nameStr = nameList.item(0).getNodeValue().trim();
+                    String nameStr = nameList.get(0).trim();
 
-                    NodeList valueList = (NodeList) xpath.evaluate(".//ns1:value/text()", outboundParamNode, XPathConstants.NODESET);
-                    if (1 < valueList.getLength()) {
+                    List<String> valueList = getTexts(outboundParamNode, namespace, "value");
+                    if (1 < valueList.size()) {
                         throw new XPathExpressionException("Within <inbound-parameter> only one <value> child is allowed");
                     }
-                    String valueStr = valueList.item(0).getNodeValue().trim();
+                    String valueStr = valueList.get(0).trim();
                     flowCallBuilder.outboundParameter(nameStr, valueStr);
                 }
             }
@@ -539,8 +539,8 @@ public class FacesFlowDefinitionConfigProcessor extends AbstractConfigProcessor
         }
     }
 
-    private void processSwitches(XPath xpath, Node flowDefinition, FlowBuilder flowBuilder) throws XPathExpressionException {
-        NodeList switches = (NodeList) xpath.evaluate(".//ns1:switch", flowDefinition, XPathConstants.NODESET);
+    private void processSwitches(String namespace, Node flowDefinition, FlowBuilder flowBuilder) throws XPathExpressionException {
+        NodeList switches = getElements(flowDefinition, namespace, "switch");
         if (null == switches) {
             return;
         }
@@ -548,34 +548,33 @@ public class FacesFlowDefinitionConfigProcessor extends AbstractConfigProcessor
             Node switchNode = switches.item(i_switch);
             String switchId = getIdAttribute(switchNode);
             SwitchBuilder switchBuilder = flowBuilder.switchNode(switchId);
-            NodeList cases = (NodeList) xpath.evaluate(".//ns1:case", switchNode, XPathConstants.NODESET);
+            NodeList cases = getElements(switchNode, namespace, "case");
             if (null != cases) {
                 for (int i_case = 0; i_case < cases.getLength(); i_case++) {
                     Node caseNode = cases.item(i_case);
-                    NodeList ifList = (NodeList) xpath.evaluate(".//ns1:if/text()", caseNode, XPathConstants.NODESET);
-                    if (1 < ifList.getLength()) {
+                    List<String> ifList = getTexts(caseNode, namespace, "if");
+                    if (1 < ifList.size()) {
                         throw new XPathExpressionException("Within <case> only one <if> child is allowed");
                     }
-                    String ifStr = ifList.item(0).getNodeValue().trim();
+                    String ifStr = ifList.get(0).trim();
 
-                    NodeList fromOutcomeList = (NodeList) xpath.evaluate(".//ns1:from-outcome/text()", caseNode, XPathConstants.NODESET);
-                    if (1 < fromOutcomeList.getLength()) {
+                    List<String> fromOutcomeList = getTexts(caseNode, namespace, "from-outcome");
+                    if (1 < fromOutcomeList.size()) {
                         throw new XPathExpressionException("Within <case> only one <from-outcome> child is allowed");
                     }
-                    String fromOutcomeStr = fromOutcomeList.item(0).getNodeValue().trim();
+                    String fromOutcomeStr = fromOutcomeList.get(0).trim();
 
                     switchBuilder.switchCase().condition(ifStr).fromOutcome(fromOutcomeStr);
                 }
             }
 
-            NodeList defaultOutcomeList = (NodeList) xpath.evaluate(".//ns1:default-outcome/text()", switchNode, XPathConstants.NODESET);
-            if (null != defaultOutcomeList && 1 < defaultOutcomeList.getLength()) {
+            List<String> defaultOutcomeList = getTexts(switchNode, namespace, "default-outcome");
+            if (null != defaultOutcomeList && 1 < defaultOutcomeList.size()) {
                 throw new XPathExpressionException("Within <switch> only one <default-outcome> child is allowed");
             }
             if (null != defaultOutcomeList) {
-                Node defaultOutcomeNode = defaultOutcomeList.item(0);
-                if (null != defaultOutcomeNode) {
-                    String defaultOutcomeStr = defaultOutcomeNode.getNodeValue().trim();
+                if (1 == defaultOutcomeList.size()) {
+                    String defaultOutcomeStr = defaultOutcomeList.get(0).trim();
                     switchBuilder.defaultOutcome(defaultOutcomeStr);
                 }
             }
@@ -583,8 +582,8 @@ public class FacesFlowDefinitionConfigProcessor extends AbstractConfigProcessor
 
     }
 
-    private void processMethodCalls(FacesContext context, XPath xpath, Node flowDefinition, FlowBuilder flowBuilder) throws XPathExpressionException {
-        NodeList methodCalls = (NodeList) xpath.evaluate(".//ns1:method-call", flowDefinition, XPathConstants.NODESET);
+    private void processMethodCalls(FacesContext context, String namespace, Node flowDefinition, FlowBuilder flowBuilder) throws XPathExpressionException {
+        NodeList methodCalls = getElements(flowDefinition, namespace, "method-call");
         if (null == methodCalls) {
             return;
         }
@@ -592,13 +591,13 @@ public class FacesFlowDefinitionConfigProcessor extends AbstractConfigProcessor
             Node methodCallNode = methodCalls.item(i_methodCall);
             String methodCallId = getIdAttribute(methodCallNode);
             MethodCallBuilder methodCallBuilder = flowBuilder.methodCallNode(methodCallId);
-            NodeList methodList = (NodeList) xpath.evaluate(".//ns1:method/text()", methodCallNode, XPathConstants.NODESET);
-            if (1 != methodList.getLength()) {
+            List<String> methodList = getTexts(methodCallNode, namespace, "method");
+            if (1 != methodList.size()) {
                 throw new XPathExpressionException("Within <method-call> exactly one <method> child is allowed");
             }
-            String methodStr = methodList.item(0).getNodeValue().trim();
+            String methodStr = methodList.get(0).trim();
 
-            NodeList params = (NodeList) xpath.evaluate(".//ns1:parameter", methodCallNode, XPathConstants.NODESET);
+            NodeList params = getElements(methodCallNode, namespace, "parameter");
             if (null != params) {
                 List<Class<?>> paramTypes = Collections.emptyList();
                 if (0 < params.getLength()) {
@@ -611,19 +610,19 @@ public class FacesFlowDefinitionConfigProcessor extends AbstractConfigProcessor
 
                     for (int i_param = 0; i_param < params.getLength(); i_param++) {
                         Node param = params.item(i_param);
-                        NodeList valueList = (NodeList) xpath.evaluate(".//ns1:value/text()", param, XPathConstants.NODESET);
-                        if (null == valueList || 1 != valueList.getLength()) {
+                        List<String> valueList = getTexts(param, namespace, "value");
+                        if (null == valueList || 1 != valueList.size()) {
                             throw new XPathExpressionException("Within <parameter> exactly one <value> child is allowed");
                         }
-                        String valueStr = valueList.item(0).getNodeValue().trim();
+                        String valueStr = valueList.get(0).trim();
                         String classStr = null;
 
-                        NodeList classList = (NodeList) xpath.evaluate(".//ns1:class/text()", param, XPathConstants.NODESET);
-                        if (null != classList && 1 < classList.getLength()) {
+                        List<String> classList = getTexts(param, namespace, "class");
+                        if (null != classList && 1 < classList.size()) {
                             throw new XPathExpressionException("Within <parameter> at most one <class> child is allowed");
                         }
-                        if (null != classList && 1 == classList.getLength()) {
-                            classStr = classList.item(0).getNodeValue().trim();
+                        if (null != classList && 1 == classList.size()) {
+                            classStr = classList.get(0).trim();
                         }
                         Class<?> clazz = String.class;
                         if (null != classStr) {
@@ -646,12 +645,12 @@ public class FacesFlowDefinitionConfigProcessor extends AbstractConfigProcessor
                 methodCallBuilder.expression(methodStr, paramArray);
             }
 
-            NodeList defaultOutcomeList = (NodeList) xpath.evaluate(".//ns1:default-outcome/text()", methodCallNode, XPathConstants.NODESET);
-            if (null != defaultOutcomeList && 1 < defaultOutcomeList.getLength()) {
+            List<String> defaultOutcomeList = getTexts(methodCallNode, namespace, "default-outcome");
+            if (null != defaultOutcomeList && 1 < defaultOutcomeList.size()) {
                 throw new XPathExpressionException("Within <method-call> only one <default-outcome> child is allowed");
             }
-            if (null != defaultOutcomeList) {
-                String defaultOutcomeStr = defaultOutcomeList.item(0).getNodeValue().trim();
+            if (1 == defaultOutcomeList.size()) {
+                String defaultOutcomeStr = defaultOutcomeList.get(0).trim();
                 methodCallBuilder.defaultOutcome(defaultOutcomeStr);
             }
 
@@ -659,37 +658,37 @@ public class FacesFlowDefinitionConfigProcessor extends AbstractConfigProcessor
 
     }
 
-    private void processInitializerFinalizer(XPath xpath, Node flowDefinition, FlowBuilder flowBuilder) throws XPathExpressionException {
-        NodeList initializerNodeList = (NodeList) xpath.evaluate(".//ns1:initializer/text()", flowDefinition, XPathConstants.NODESET);
-        if (1 < initializerNodeList.getLength()) {
+    private void processInitializerFinalizer(String namespace, Node flowDefinition, FlowBuilder flowBuilder) throws XPathExpressionException {
+        List<String> initializerNodeList = getTexts(flowDefinition, namespace, "initializer");
+        if (1 < initializerNodeList.size()) {
             throw new XPathExpressionException("At most one <initializer> is allowed.");
         }
 
-        if (1 == initializerNodeList.getLength()) {
-            String initializerStr = initializerNodeList.item(0).getNodeValue().trim();
+        if (1 == initializerNodeList.size()) {
+            String initializerStr = initializerNodeList.get(0).trim();
             flowBuilder.initializer(initializerStr);
         }
 
-        NodeList finalizerNodeList = (NodeList) xpath.evaluate(".//ns1:finalizer/text()", flowDefinition, XPathConstants.NODESET);
-        if (1 < finalizerNodeList.getLength()) {
+        List<String> finalizerNodeList = getTexts(flowDefinition, namespace, "finalizer");
+        if (1 < finalizerNodeList.size()) {
             throw new XPathExpressionException("At most one <finalizer> is allowed.");
         }
 
-        if (1 == finalizerNodeList.getLength()) {
-            String finalizerStr = finalizerNodeList.item(0).getNodeValue().trim();
+        if (1 == finalizerNodeList.size()) {
+            String finalizerStr = finalizerNodeList.get(0).trim();
             flowBuilder.finalizer(finalizerStr);
         }
 
     }
 
-    private String processStartNode(XPath xpath, Node flowDefinition, FlowBuilder flowBuilder) throws XPathExpressionException {
+    private String processStartNode(String namespace, Node flowDefinition, FlowBuilder flowBuilder) throws XPathExpressionException {
         String startNodeId = null;
-        NodeList startNodeList = (NodeList) xpath.evaluate(".//ns1:start-node/text()", flowDefinition, XPathConstants.NODESET);
-        if (1 < startNodeList.getLength()) {
+        List<String> startNodeList = getTexts(flowDefinition, namespace, "start-node");
+        if (1 < startNodeList.size()) {
             throw new XPathExpressionException("Within <flow-definition> at most one <start-node> is allowed");
         }
-        if (null != startNodeList && 1 == startNodeList.getLength()) {
-            startNodeId = startNodeList.item(0).getNodeValue().trim();
+        if (null != startNodeList && 1 == startNodeList.size()) {
+            startNodeId = startNodeList.get(0).trim();
         }
 
         return startNodeId;
@@ -16,12 +16,14 @@
 
 package com.sun.faces.config.processor;
 
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.LazyConfigRegistration;
 import static com.sun.faces.util.MessageUtils.RENDERER_CANNOT_BE_REGISTERED_ID;
 import static com.sun.faces.util.MessageUtils.getExceptionMessageString;
 import static java.text.MessageFormat.format;
 import static java.util.logging.Level.FINE;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,7 +35,9 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 import com.sun.faces.config.ConfigurationException;
+import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.config.manager.documents.DocumentInfo;
+import com.sun.faces.renderkit.RenderKitImpl;
 import com.sun.faces.util.FacesLogger;
 
 import jakarta.faces.FactoryFinder;
@@ -125,6 +129,11 @@ public class RenderKitConfigProcessor extends AbstractConfigProcessor {
 
     // -------------------------------------------- Methods from ConfigProcessor
 
+    @Override
+    public Collection<Class<? extends ConfigProcessor>> getDependencies() {
+        return List.of(ApplicationConfigProcessor.class);
+    }
+
     @Override
     public void process(ServletContext servletContext, FacesContext facesContext, DocumentInfo[] documentInfos) throws Exception {
 
@@ -282,6 +291,18 @@ public class RenderKitConfigProcessor extends AbstractConfigProcessor {
 
             if (rendererFamily != null && rendererType != null && rendererClass != null) {
 
+                if (isLazyRegistration(sc, renderKit)) {
+                    String className = rendererClass;
+                    if (LOGGER.isLoggable(FINE)) {
+                        LOGGER.log(FINE, format("Calling RenderKitImpl.addLazyRenderer({0},{1}, {2}) for RenderKit ''{3}''", rendererFamily, rendererType,
+                                rendererClass, renderKit.getClass()));
+                    }
+
+                    ((RenderKitImpl) renderKit).addLazyRenderer(rendererFamily, rendererType,
+                            () -> (Renderer) createInstance(sc, FacesContext.getCurrentInstance(), className, Renderer.class, null, null));
+                    continue;
+                }
+
                 Renderer renderer = (Renderer) createInstance(sc, facesContext, rendererClass, Renderer.class, null, rendererNode);
 
                 if (renderer != null) {
@@ -320,6 +341,14 @@ public class RenderKitConfigProcessor extends AbstractConfigProcessor {
             }
 
             if (behaviorRendererType != null && behaviorRendererClass != null) {
+                if (isLazyRegistration(servletContext, renderKit)) {
+                    String className = behaviorRendererClass;
+                    ((RenderKitImpl) renderKit).addLazyClientBehaviorRenderer(behaviorRendererType,
+                            () -> (ClientBehaviorRenderer) createInstance(servletContext, FacesContext.getCurrentInstance(), className,
+                                    ClientBehaviorRenderer.class, null, null));
+                    continue;
+                }
+
                 ClientBehaviorRenderer behaviorRenderer = (ClientBehaviorRenderer) createInstance(servletContext, facesContext, behaviorRendererClass,
                         ClientBehaviorRenderer.class, null, behaviorRendererNode);
 
@@ -336,4 +365,12 @@ public class RenderKitConfigProcessor extends AbstractConfigProcessor {
 
     }
 
+    /**
+     * Renderers of the default render kit implementation are only created when first requested if
+     * <code>com.sun.faces.lazyConfigRegistration</code> is enabled.
+     */
+    private static boolean isLazyRegistration(ServletContext servletContext, RenderKit renderKit) {
+        return renderKit instanceof RenderKitImpl && WebConfiguration.getInstance(servletContext).isOptionEnabled(LazyConfigRegistration);
+    }
+
 }
@@ -17,20 +17,15 @@
 package com.sun.faces.config.processor;
 
 import static java.util.logging.Level.FINE;
-import static java.util.logging.Level.FINEST;
 import static java.util.logging.Level.INFO;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.logging.Logger;
 
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
-
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -59,6 +54,11 @@ public class ResourceLibraryContractsConfigProcessor extends AbstractConfigProce
     public ResourceLibraryContractsConfigProcessor() {
     }
 
+    @Override
+    public Collection<Class<? extends ConfigProcessor>> getDependencies() {
+        return List.of(ApplicationConfigProcessor.class);
+    }
+
     /**
      * Process the configuration documents.
      *
@@ -79,7 +79,7 @@ public class ResourceLibraryContractsConfigProcessor extends AbstractConfigProce
             String namespace = document.getDocumentElement().getNamespaceURI();
             NodeList resourceLibraryContracts = document.getDocumentElement().getElementsByTagNameNS(namespace, RESOURCE_LIBRARY_CONTRACTS);
             if (resourceLibraryContracts != null && resourceLibraryContracts.getLength() > 0) {
-                processResourceLibraryContracts(resourceLibraryContracts, map);
+                processResourceLibraryContracts(resourceLibraryContracts, namespace, map);
             }
 
         }
@@ -95,81 +95,72 @@ public class ResourceLibraryContractsConfigProcessor extends AbstractConfigProce
      * Process the resource library contracts.
      *
      * @param resourceLibraryContracts the resource library contracts.
+     * @param namespace the namespace of the document.
      * @param map the set of resource library contracts.
      */
-    private void processResourceLibraryContracts(NodeList resourceLibraryContracts, HashMap<String, List<String>> map) {
-        XPath xpath = XPathFactory.newInstance().newXPath();
-        xpath.setNamespaceContext(new FacesConfigNamespaceContext());
+    private void processResourceLibraryContracts(NodeList resourceLibraryContracts, String namespace, HashMap<String, List<String>> map) {
         for (int c = 0; c < resourceLibraryContracts.getLength(); c++) {
             Node node = resourceLibraryContracts.item(c);
-            try {
-                NodeList mappings = (NodeList) xpath.evaluate(".//ns1:contract-mapping", node, XPathConstants.NODESET);
-                if (mappings != null) {
-                    for (int m = 0; m < mappings.getLength(); m++) {
-                        Node contractMapping = mappings.item(m);
-                        NodeList urlPatterns = (NodeList) xpath.evaluate(".//ns1:url-pattern/text()", contractMapping, XPathConstants.NODESET);
-                        if (urlPatterns != null) {
-                            for (int p = 0; p < urlPatterns.getLength(); p++) {
-                                String urlPattern = urlPatterns.item(p).getNodeValue().trim();
-
-                                if (LOGGER.isLoggable(INFO)) {
-                                    LOGGER.log(INFO, "Processing resource library contract mapping for url-pattern: {0}", urlPattern);
-                                }
+            NodeList mappings = getElements(node, namespace, "contract-mapping");
+            if (mappings != null) {
+                for (int m = 0; m < mappings.getLength(); m++) {
+                    Node contractMapping = mappings.item(m);
+                    List<String> urlPatterns = getTexts(contractMapping, namespace, "url-pattern");
+                    if (urlPatterns != null) {
+                        for (int p = 0; p < urlPatterns.size(); p++) {
+                            String urlPattern = urlPatterns.get(p).trim();
+
+                            if (LOGGER.isLoggable(INFO)) {
+                                LOGGER.log(INFO, "Processing resource library contract mapping for url-pattern: {0}", urlPattern);
+                            }
 
-                                if (!map.containsKey(urlPattern)) {
-                                    /*
-                                     * If there is no urlPattern then add it to the list,
-                                     */
-                                    ArrayList<String> list = new ArrayList<>();
-                                    NodeList contracts = (NodeList) xpath.evaluate(".//ns1:contracts/text()", contractMapping, XPathConstants.NODESET);
-                                    if (contracts != null && contracts.getLength() > 0) {
-                                        for (int j = 0; j < contracts.getLength(); j++) {
-                                            String[] contractStrings = contracts.item(j).getNodeValue().trim().split(",");
-                                            for (String contractString : contractStrings) {
-                                                if (!list.contains(contractString)) {
-                                                    if (LOGGER.isLoggable(INFO)) {
-                                                        LOGGER.log(INFO, "Added contract: {0} for url-pattern: {1}", new Object[]{contractString, urlPattern});
-                                                    }
-                                                    list.add(contractString);
-                                                } else {
-                                                    /*
-                                                     * We found the contract again in the list for the specified url-pattern.
-                                                     */
-                                                    if (LOGGER.isLoggable(INFO)) {
-                                                        LOGGER.log(INFO, "Duplicate contract: {0} found for url-pattern: {1}", new Object[]{contractString, urlPattern});
-                                                    }
+                            if (!map.containsKey(urlPattern)) {
+                                /*
+                                 * If there is no urlPattern then add it to the list,
+                                 */
+                                ArrayList<String> list = new ArrayList<>();
+                                List<String> contracts = getTexts(contractMapping, namespace, "contracts");
+                                if (contracts != null && contracts.size() > 0) {
+                                    for (int j = 0; j < contracts.size(); j++) {
+                                        String[] contractStrings = contracts.get(j).trim().split(",");
+                                        for (String contractString : contractStrings) {
+                                            if (!list.contains(contractString)) {
+                                                if (LOGGER.isLoggable(INFO)) {
+                                                    LOGGER.log(INFO, "Added contract: {0} for url-pattern: {1}", new Object[]{contractString, urlPattern});
+                                                }
+                                                list.add(contractString);
+                                            } else {
+                                                /*
+                                                 * We found the contract again in the list for the specified url-pattern.
+                                                 */
+                                                if (LOGGER.isLoggable(INFO)) {
+                                                    LOGGER.log(INFO, "Duplicate contract: {0} found for url-pattern: {1}", new Object[]{contractString, urlPattern});
                                                 }
                                             }
                                         }
                                     }
+                                }
 
-                                    if (!list.isEmpty()) {
-                                        /*
-                                         * Now add the url-pattern and its contracts.
-                                         */
-                                        map.put(urlPattern, list);
-                                    } else {
-                                        /*
-                                         * The list was empty, log there were no contracts specified.
-                                         */
-                                        LOGGER.log(INFO, "No contracts found for url-pattern: {0}", urlPattern);
-                                    }
+                                if (!list.isEmpty()) {
+                                    /*
+                                     * Now add the url-pattern and its contracts.
+                                     */
+                                    map.put(urlPattern, list);
                                 } else {
                                     /*
-                                     * Otherwise log there is a duplicate url-pattern found.
+                                     * The list was empty, log there were no contracts specified.
                                      */
-                                    LOGGER.log(INFO, "Duplicate url-patern found: {0}, ignoring it", urlPattern);
+                                    LOGGER.log(INFO, "No contracts found for url-pattern: {0}", urlPattern);
                                 }
+                            } else {
+                                /*
+                                 * Otherwise log there is a duplicate url-pattern found.
+                                 */
+                                LOGGER.log(INFO, "Duplicate url-patern found: {0}, ignoring it", urlPattern);
                             }
                         }
                     }
                 }
-            } catch (XPathExpressionException exception) {
-                /*
-                 * This particular exception will never happen since the above valid XPath expressions never change, but the XPath
-                 * runtime defines it as a checked exception so we have to deal with it.
-                 */
-                LOGGER.log(FINEST, "Unable to parse XPath expression", exception);
             }
         }
     }
@@ -19,12 +19,12 @@ package com.sun.faces.config.processor;
 import static java.text.MessageFormat.format;
 import static java.util.logging.Level.FINE;
 
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
-import javax.xml.xpath.XPathExpressionException;
-
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -74,6 +74,11 @@ public class ValidatorConfigProcessor extends AbstractConfigProcessor {
 
     // -------------------------------------------- Methods from ConfigProcessor
 
+    @Override
+    public Collection<Class<? extends ConfigProcessor>> getDependencies() {
+        return List.of(ApplicationConfigProcessor.class);
+    }
+
     @Override
     public void process(ServletContext servletContext, FacesContext facesContext, DocumentInfo[] documentInfos) throws Exception {
 
@@ -120,7 +125,7 @@ public class ValidatorConfigProcessor extends AbstractConfigProcessor {
 
     }
 
-    private void addValidators(FacesContext facesContext, NodeList validators, String namespace) throws XPathExpressionException {
+    private void addValidators(FacesContext facesContext, NodeList validators, String namespace) {
         Application application = getApplication();
         Verifier verifier = Verifier.getCurrentInstance();
         for (int i = 0, size = validators.getLength(); i < size; i++) {
@@ -37,6 +37,7 @@ import java.util.logging.Logger;
 import com.sun.faces.RIConstants;
 import com.sun.faces.application.ApplicationAssociate;
 import com.sun.faces.application.ApplicationStateInfo;
+import com.sun.faces.component.ClientIdIndex;
 import com.sun.faces.facelets.tag.faces.ComponentSupport;
 import com.sun.faces.util.ComponentStruct;
 import com.sun.faces.util.FacesLogger;
@@ -302,11 +303,13 @@ public class StateContext {
         public void processEvent(SystemEvent event) throws AbortProcessingException {
             FacesContext ctx = FacesContext.getCurrentInstance();
             if (event instanceof PreRemoveFromViewEvent) {
+                ClientIdIndex.componentRemoved(ctx, ((PreRemoveFromViewEvent) event).getComponent());
                 if (stateCtx.trackViewModifications()) {
                     handleRemove(ctx, ((PreRemoveFromViewEvent) event).getComponent());
                     ctx.getViewRoot().getAttributes().put(RIConstants.TREE_HAS_DYNAMIC_COMPONENTS, Boolean.TRUE);
                 }
             } else {
+                ClientIdIndex.componentAdded(ctx, ((PostAddToViewEvent) event).getComponent());
                 if (stateCtx.trackViewModifications()) {
                     handleAdd(ctx, ((PostAddToViewEvent) event).getComponent());
                     ctx.getViewRoot().getAttributes().put(RIConstants.TREE_HAS_DYNAMIC_COMPONENTS, Boolean.TRUE);
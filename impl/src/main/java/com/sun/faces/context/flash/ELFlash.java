@@ -49,11 +49,15 @@ import jakarta.faces.component.UIViewRoot;
 import jakarta.faces.context.ExternalContext;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.context.Flash;
+import jakarta.faces.event.AbortProcessingException;
 import jakarta.faces.event.PhaseId;
 import jakarta.faces.event.PostKeepFlashValueEvent;
 import jakarta.faces.event.PostPutFlashValueEvent;
 import jakarta.faces.event.PreClearFlashEvent;
+import jakarta.faces.event.PreDestroyApplicationEvent;
 import jakarta.faces.event.PreRemoveFlashValueEvent;
+import jakarta.faces.event.SystemEvent;
+import jakarta.faces.event.SystemEventListener;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -108,7 +112,7 @@ public class ELFlash extends Flash {
      * </p>
      *
      */
-    private Map<String, Map<String, Object>> flashInnerMap = null;
+    private volatile Map<String, Map<String, Object>> flashInnerMap = null;
 
     private final AtomicLong sequenceNumber = new AtomicLong(0);
 
@@ -120,6 +124,8 @@ public class ELFlash extends Flash {
 
     private final ByteArrayGuardAESCTR guard;
 
+    private final FlashReaper reaper;
+
 
     /**
      * <p>
@@ -151,6 +157,14 @@ public class ELFlash extends Flash {
      */
     static final String FLASH_NOW_REQUEST_KEY = FLASH_ATTRIBUTE_NAME + "n";
 
+    /**
+     * <p>
+     * This constant is used as the key in the request map to remember that the {@link SessionHelper} has been synchronized
+     * with the session of the current request.
+     * </p>
+     */
+    static final String SESSION_HELPER_REQUEST_KEY = FLASH_ATTRIBUTE_NAME + "h";
+
     private enum CONSTANTS {
 
         /**
@@ -197,6 +211,12 @@ public class ELFlash extends Flash {
          */
         ForceSetMaxAgeZero,
 
+        /**
+         * This key is used in the contextMap to indicate that the flash was accessed during this request, so that the
+         * session attributes holding it must be set again at the end of the request in order to be replicated.
+         */
+        SessionReplicationPending,
+
     }
 
     /** Creates a new instance of ELFlash */
@@ -228,6 +248,24 @@ public class ELFlash extends Flash {
 
         guard = new ByteArrayGuardAESCTR();
 
+        reaper = new FlashReaper(this::getFlashInnerMap, sequenceNumber::get, numberOfConcurentFlashUsers);
+        FacesContext context = FacesContext.getCurrentInstance();
+        if (context != null) {
+            reaper.registerMBean(extContext.getApplicationContextPath());
+            context.getApplication().subscribeToEvent(PreDestroyApplicationEvent.class, new SystemEventListener() {
+
+                @Override
+                public boolean isListenerForSource(Object source) {
+                    return true;
+                }
+
+                @Override
+                public void processEvent(SystemEvent event) throws AbortProcessingException {
+                    reaper.destroy();
+                }
+            });
+        }
+
     }
 
     /**
@@ -269,18 +307,10 @@ public class ELFlash extends Flash {
 
         /*
          * If we are in a clustered environment and a session is active, store a helper to ensure our innerMap gets successfully
-         * replicated.
+         * replicated. This is done once per request, the helper itself only locks the session it is stored in.
          */
-        if (appMap.get(EnableDistributable.getQualifiedName()) != null) {
-            synchronized (extContext.getContext()) {
-                if (extContext.getSession(false) != null) {
-                    SessionHelper sessionHelper = SessionHelper.getInstance(extContext);
-                    if (sessionHelper == null) {
-                        sessionHelper = new SessionHelper();
-                    }
-                    sessionHelper.update(extContext, flash);
-                }
-            }
+        if (flash != null && flash.distributable) {
+            flash.updateSessionHelper(extContext);
         }
 
         return flash;
@@ -356,11 +386,8 @@ public class ELFlash extends Flash {
         if (null == result) {
             result = getPhaseMapForReading().get(key);
         }
-        if (distributable && context.getExternalContext().getSession(false) != null) {
-            SessionHelper sessionHelper = SessionHelper.getInstance(context.getExternalContext());
-            if (sessionHelper != null) {
-                sessionHelper.update(context.getExternalContext(), this);
-            }
+        if (distributable) {
+            context.getAttributes().put(CONSTANTS.SessionReplicationPending, Boolean.TRUE);
         }
 
         if (LOGGER.isLoggable(Level.FINEST)) {
@@ -394,11 +421,8 @@ public class ELFlash extends Flash {
             }
             context.getApplication().publishEvent(context, PostPutFlashValueEvent.class, key);
         }
-        if (distributable && context.getExternalContext().getSession(false) != null) {
-            SessionHelper sessionHelper = SessionHelper.getInstance(context.getExternalContext());
-            if (sessionHelper != null) {
-                sessionHelper.update(context.getExternalContext(), this);
-            }
+        if (distributable) {
+            context.getAttributes().put(CONSTANTS.SessionReplicationPending, Boolean.TRUE);
         }
 
         return result;
@@ -611,6 +635,7 @@ public class ELFlash extends Flash {
         Map<Object, Object> contextMap = context.getAttributes();
         PreviousNextFlashInfoManager flashManager = getCurrentFlashManager(contextMap, false);
         if (null == flashManager) {
+            replicateSessionIfNeeded(context);
             return;
         }
         if (isKeepMessages()) {
@@ -637,9 +662,65 @@ public class ELFlash extends Flash {
         }
 
         setCookie(context, flashManager, flashManager.encode(), false);
+        replicateSessionIfNeeded(context);
 
     }
 
+    /**
+     * <p>
+     * Stores the {@link SessionHelper} in the session of the current request, or restores the inner map from it after the
+     * session has been activated on this node. This only happens on the first access to the flash in a request which has
+     * a session.
+     * </p>
+     */
+    private void updateSessionHelper(ExternalContext extContext) {
+        Map<String, Object> requestMap = extContext.getRequestMap();
+        if (requestMap.containsKey(SESSION_HELPER_REQUEST_KEY)) {
+            return;
+        }
+
+        Object session = extContext.getSession(false);
+        if (session == null) {
+            return;
+        }
+
+        SessionHelper sessionHelper = SessionHelper.getInstance(extContext);
+        if (sessionHelper == null) {
+            synchronized (session) {
+                sessionHelper = SessionHelper.getInstance(extContext);
+                if (sessionHelper == null) {
+                    // Store it before releasing the lock, so that concurrent requests of the session share one helper.
+                    sessionHelper = new SessionHelper();
+                    extContext.getSessionMap().put(SessionHelper.FLASH_SESSIONACTIVATIONLISTENER_ATTRIBUTE_NAME, sessionHelper);
+                }
+            }
+        }
+
+        sessionHelper.update(extContext, this);
+        requestMap.put(SESSION_HELPER_REQUEST_KEY, Boolean.TRUE);
+    }
+
+    /**
+     * <p>
+     * Sets the session attributes holding the flash again if it has been read or written during this request, so that the
+     * container replicates them. Doing this once at the end of the request instead of on every access keeps the number of
+     * session writes, and thus of replications, at one per request.
+     * </p>
+     */
+    private void replicateSessionIfNeeded(FacesContext context) {
+        if (context.getAttributes().remove(CONSTANTS.SessionReplicationPending) == null) {
+            return;
+        }
+
+        ExternalContext extContext = context.getExternalContext();
+        if (extContext.getSession(false) != null) {
+            SessionHelper sessionHelper = SessionHelper.getInstance(extContext);
+            if (sessionHelper != null) {
+                sessionHelper.update(extContext, this);
+            }
+        }
+    }
+
     void setFlashInnerMap(Map<String, Map<String, Object>> flashInnerMap) {
         this.flashInnerMap = flashInnerMap;
     }
@@ -672,56 +753,29 @@ public class ELFlash extends Flash {
         context.getAttributes().put(CONSTANTS.KeepFlagAttributeName, Boolean.TRUE);
     }
 
-    void clearKeepFlag(FacesContext context) {
+    static void clearKeepFlag(FacesContext context) {
         context.getAttributes().remove(CONSTANTS.KeepFlagAttributeName);
     }
 
-    boolean isKeepFlagSet(FacesContext context) {
+    static boolean isKeepFlagSet(FacesContext context) {
         return Boolean.TRUE == context.getAttributes().get(CONSTANTS.KeepFlagAttributeName);
     }
 
     private long getNewSequenceNumber() {
         long result = sequenceNumber.incrementAndGet();
 
-        if (0 == result % numberOfFlashesBetweenFlashReapings) {
-            reapFlashes();
-        }
-
         if (result == Long.MAX_VALUE) {
             result = 1;
             sequenceNumber.set(1);
         }
 
-        return result;
-    }
-
-    private void reapFlashes() {
+        reaper.track(result);
 
-        if (flashInnerMap.size() < numberOfConcurentFlashUsers) {
-            return;
+        if (0 == result % numberOfFlashesBetweenFlashReapings) {
+            reaper.schedule();
         }
 
-        Set<String> keys = flashInnerMap.keySet();
-        long sequenceNumberToTest, currentSequenceNumber = sequenceNumber.get();
-        Map<String, Object> curFlash;
-        for (String cur : keys) {
-            sequenceNumberToTest = Long.parseLong(cur);
-            if (numberOfConcurentFlashUsers < currentSequenceNumber - sequenceNumberToTest) {
-                if (null != (curFlash = flashInnerMap.get(cur))) {
-                    curFlash.clear();
-                }
-                flashInnerMap.remove(cur);
-            }
-        }
-        if (distributable && FacesContext.getCurrentInstance().getExternalContext().getSession(false) != null) {
-            ExternalContext extContext = FacesContext.getCurrentInstance().getExternalContext();
-            SessionHelper sessionHelper = SessionHelper.getInstance(extContext);
-            if (null != sessionHelper) {
-                sessionHelper.remove(extContext);
-                sessionHelper = new SessionHelper();
-                sessionHelper.update(extContext, this);
-            }
-        }
+        return result;
     }
 
     private boolean responseCompleteWasJustSetTrue(FacesContext context, Map<Object, Object> contextMap) {
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.context.flash;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.sun.faces.util.FacesLogger;
+import com.sun.faces.util.MojarraThreadFactory;
+
+/**
+ * <p>
+ * Expires the entries of the inner map of the {@link ELFlash} off the request threads.
+ * </p>
+ *
+ * <p>
+ * A flash expires once more newer flashes have been created than the configured number of concurrent flash users. Since
+ * sequence numbers are handed out in increasing order, tracking a new flash is appending its sequence number to a queue,
+ * and the expired flashes are always at the head of that queue. Every
+ * <code>com.sun.faces.numberOfFlashesBetweenFlashReapings</code> flashes a reap is handed to a background thread,
+ * which polls the queue until it reaches a flash which has not expired yet. This costs the request threads a constant
+ * time per flash, and the reaper a time proportional to the number of expired flashes instead of to the number of live
+ * ones. The background thread is only kept alive while there is reaping to do.
+ * </p>
+ *
+ * <p>
+ * The number of live and reaped flashes is exposed through JMX under
+ * <code>com.sun.faces:type=Flash,name=&lt;context path&gt;</code>.
+ * </p>
+ */
+public final class FlashReaper implements FlashReaperMBean {
+
+    private static final Logger LOGGER = FacesLogger.FLASH.getLogger();
+
+    private final Supplier<Map<String, Map<String, Object>>> innerMap;
+    private final LongSupplier currentSequenceNumber;
+    private final int numberOfConcurrentFlashUsers;
+    private final Queue<Long> sequenceNumbers = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean reapScheduled = new AtomicBoolean();
+    private final LongAdder reapedFlashes = new LongAdder();
+    private final ThreadPoolExecutor executor;
+    private ObjectName objectName;
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param innerMap supplies the current inner map of the flash, which is replaced after session activation
+     * @param currentSequenceNumber supplies the last sequence number handed out
+     * @param numberOfConcurrentFlashUsers the number of newer flashes after which a flash expires
+     */
+    FlashReaper(Supplier<Map<String, Map<String, Object>>> innerMap, LongSupplier currentSequenceNumber, int numberOfConcurrentFlashUsers) {
+        this.innerMap = innerMap;
+        this.currentSequenceNumber = currentSequenceNumber;
+        this.numberOfConcurrentFlashUsers = numberOfConcurrentFlashUsers;
+        executor = new ThreadPoolExecutor(1, 1, 60, SECONDS, new LinkedBlockingQueue<>(), new MojarraThreadFactory("FlashReaper"));
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    // ------------------------------------------------- Methods from FlashReaperMBean
+
+    @Override
+    public int getLiveFlashes() {
+        return innerMap.get().size();
+    }
+
+    @Override
+    public long getReapedFlashes() {
+        return reapedFlashes.sum();
+    }
+
+    @Override
+    public int getTrackedFlashes() {
+        return sequenceNumbers.size();
+    }
+
+    // ------------------------------------------------------- Package Private Methods
+
+    /**
+     * Track the flash with the given, newly handed out, sequence number.
+     */
+    void track(long sequenceNumber) {
+        sequenceNumbers.offer(sequenceNumber);
+    }
+
+    /**
+     * Reap the expired flashes in the background, unless a reap is already pending.
+     */
+    void schedule() {
+        if (reapScheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::reap);
+            } catch (RejectedExecutionException e) {
+                reapScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Remove the expired flashes from the inner map.
+     */
+    void reap() {
+        try {
+            Map<String, Map<String, Object>> flashes = innerMap.get();
+            long current = currentSequenceNumber.getAsLong();
+            Long sequenceNumber;
+
+            // A sequence number greater than the current one was handed out before the sequence wrapped around.
+            while ((sequenceNumber = sequenceNumbers.peek()) != null
+                    && (numberOfConcurrentFlashUsers < current - sequenceNumber || sequenceNumber > current)) {
+                sequenceNumbers.poll();
+                Map<String, Object> flash = flashes.remove(sequenceNumber.toString());
+
+                if (flash != null) {
+                    flash.clear();
+                    reapedFlashes.increment();
+                }
+            }
+        } finally {
+            reapScheduled.set(false);
+        }
+    }
+
+    void registerMBean(String contextPath) {
+        try {
+            ObjectName name = new ObjectName("com.sun.faces:type=Flash,name=" + ObjectName.quote(contextPath.isEmpty() ? "/" : contextPath));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = name;
+        } catch (JMException | SecurityException e) {
+            LOGGER.log(WARNING, "Unable to register the flash reaper with JMX", e);
+        }
+    }
+
+    void destroy() {
+        executor.shutdownNow();
+
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (JMException | SecurityException e) {
+                LOGGER.log(FINE, "Unable to unregister " + objectName, e);
+            }
+            objectName = null;
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.context.flash;
+
+/**
+ * JMX management interface of the {@link FlashReaper}.
+ */
+public interface FlashReaperMBean {
+
+    /**
+     * @return the number of flashes currently held by the application
+     */
+    int getLiveFlashes();
+
+    /**
+     * @return the number of flashes removed because they expired
+     */
+    long getReapedFlashes();
+
+    /**
+     * @return the number of sequence numbers waiting to expire
+     */
+    int getTrackedFlashes();
+
+}
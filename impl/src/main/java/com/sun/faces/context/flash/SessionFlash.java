@@ -0,0 +1,518 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.context.flash;
+
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.NumberOfClientWindows;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.util.ConcurrentLRUMap;
+import com.sun.faces.util.FacesLogger;
+
+import jakarta.faces.application.FacesMessage;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.context.Flash;
+import jakarta.faces.event.PhaseId;
+import jakarta.faces.event.PostKeepFlashValueEvent;
+import jakarta.faces.event.PostPutFlashValueEvent;
+import jakarta.faces.event.PreClearFlashEvent;
+import jakarta.faces.event.PreRemoveFlashValueEvent;
+import jakarta.faces.lifecycle.ClientWindow;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * <p>
+ * A {@link Flash} which keeps its values in the session of the user instead of in an application wide map correlated by
+ * a cookie. It is obtained from the {@link SessionFlashFactory}.
+ * </p>
+ *
+ * <p>
+ * Each request works on two request scoped maps, like the {@link ELFlash}: the "current" map holds the values handed
+ * over by the previous request and the values written before render response, the "next" map holds the values written
+ * during render response. At the end of the request, the current map is stored in the session if the response is a
+ * redirect, otherwise the next map is, and the stored map becomes the current map of the next request of the same
+ * client window. When client windows are not enabled, the stored map is instead correlated with the next request by a
+ * token in a cookie, like the {@link ELFlash} does, so that concurrent requests of the same session each hand over
+ * their own flash. A flash handed over by a redirect is only taken by a GET request, as the redirect is followed with
+ * one, so that a concurrent postback or ajax request carrying the same cookie or client window does not consume it.
+ * </p>
+ *
+ * <p>
+ * The stored maps are held in a session attribute which is set again whenever it changes, so it is replicated like any
+ * other session attribute. No session is created unless a value is actually handed over to the next request. The
+ * number of pending flashes per session is bounded by <code>jakarta.faces.NUMBER_OF_CLIENT_WINDOWS</code>.
+ * </p>
+ */
+final class SessionFlash extends Flash {
+
+    private static final Logger LOGGER = FacesLogger.FLASH.getLogger();
+
+    /**
+     * The key of the session attribute holding the flashes handed over to the next request, by client window id or, when
+     * client windows are not enabled, by the token in the {@link #TOKEN_COOKIE_NAME} cookie.
+     */
+    static final String SESSION_ATTRIBUTE_NAME = ELFlash.PREFIX + "s";
+
+    /**
+     * The name of the cookie correlating the next request with its flash when client windows are not enabled.
+     */
+    static final String TOKEN_COOKIE_NAME = ELFlash.PREFIX + "t";
+
+    private static final String STATE_ATTRIBUTE_NAME = ELFlash.PREFIX + "r";
+    private static final String KEEP_MESSAGES_KEY = ELFlash.PREFIX + "k";
+    private static final String MESSAGES_KEY = ELFlash.PREFIX + "m";
+
+    // ------------------------------------------------------------ Flash Methods
+
+    @Override
+    public boolean isKeepMessages() {
+        State state = getState(FacesContext.getCurrentInstance());
+        return Boolean.TRUE.equals(state.next.get(KEEP_MESSAGES_KEY)) || Boolean.TRUE.equals(state.current.get(KEEP_MESSAGES_KEY));
+    }
+
+    @Override
+    public void setKeepMessages(boolean newValue) {
+        FacesContext context = FacesContext.getCurrentInstance();
+        getMapForWriting(context, getState(context)).put(KEEP_MESSAGES_KEY, newValue);
+    }
+
+    @Override
+    public boolean isRedirect() {
+        State state = getState(FacesContext.getCurrentInstance());
+        return state.redirect || state.redirecting;
+    }
+
+    // Like in ELFlash, whether to redirect is decided by the navigation handler.
+    @Override
+    public void setRedirect(boolean newValue) {
+    }
+
+    @Override
+    public void putNow(String key, Object value) {
+        getState(FacesContext.getCurrentInstance()).current.put(key, value);
+    }
+
+    @Override
+    public void keep(String key) {
+        FacesContext context = FacesContext.getCurrentInstance();
+        State state = getState(context);
+        Object toKeep = context.getExternalContext().getRequestMap().remove(key);
+
+        if (toKeep == null) {
+            toKeep = state.current.get(key);
+        }
+
+        if (toKeep != null) {
+            getMapForWriting(context, state).put(key, toKeep);
+            context.getApplication().publishEvent(context, PostKeepFlashValueEvent.class, key);
+        }
+    }
+
+    @Override
+    public void doPrePhaseActions(FacesContext context) {
+        if (context.getCurrentPhaseId() == PhaseId.RESTORE_VIEW) {
+            State state = getState(context);
+
+            if (Boolean.TRUE.equals(state.current.get(KEEP_MESSAGES_KEY))) {
+                restoreAllMessages(context, state);
+            }
+        }
+    }
+
+    @Override
+    public void doPostPhaseActions(FacesContext context) {
+        Object redirect = context.getAttributes().get(ELFlash.ACT_AS_DO_LAST_PHASE_ACTIONS);
+
+        if (redirect != null) {
+            doLastPhaseActions(context, (Boolean) redirect);
+        } else if (context.getResponseComplete() || context.getCurrentPhaseId() == PhaseId.RENDER_RESPONSE) {
+            doLastPhaseActions(context, false);
+        }
+    }
+
+    // -------------------------------------------------------------- Map Methods
+
+    @Override
+    public Object get(Object key) {
+        if ("keepMessages".equals(key)) {
+            return isKeepMessages();
+        }
+
+        if ("redirect".equals(key)) {
+            return isRedirect();
+        }
+
+        FacesContext context = FacesContext.getCurrentInstance();
+        State state = getState(context);
+        Object result = state.current.get(key);
+
+        if (key != null && ELFlash.isKeepFlagSet(context)) {
+            keep(key.toString());
+            ELFlash.clearKeepFlag(context);
+        }
+
+        return result;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        if ("keepMessages".equals(key)) {
+            setKeepMessages(Boolean.parseBoolean((String) value));
+            return null;
+        }
+
+        if ("redirect".equals(key)) {
+            return Boolean.parseBoolean((String) value);
+        }
+
+        FacesContext context = FacesContext.getCurrentInstance();
+        Object result = getMapForWriting(context, getState(context)).put(key, value);
+
+        if (LOGGER.isLoggable(Level.FINEST)) {
+            LOGGER.log(Level.FINEST, "put({0},{1})", new Object[] { key, value });
+        }
+
+        context.getApplication().publishEvent(context, PostPutFlashValueEvent.class, key);
+        return result;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        FacesContext context = FacesContext.getCurrentInstance();
+        context.getApplication().publishEvent(context, PreRemoveFlashValueEvent.class, key);
+        return getMapForWriting(context, getState(context)).remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> values) {
+        FacesContext context = FacesContext.getCurrentInstance();
+        getMapForWriting(context, getState(context)).putAll(values);
+    }
+
+    @Override
+    public void clear() {
+        FacesContext context = FacesContext.getCurrentInstance();
+        getMapForWriting(context, getState(context)).clear();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return getState(FacesContext.getCurrentInstance()).current.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return getState(FacesContext.getCurrentInstance()).current.containsValue(value);
+    }
+
+    @Override
+    public int size() {
+        return getState(FacesContext.getCurrentInstance()).current.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        State state = getState(FacesContext.getCurrentInstance());
+        return state.current.isEmpty() && state.next.isEmpty();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return getState(FacesContext.getCurrentInstance()).current.values();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        State state = getState(FacesContext.getCurrentInstance());
+        Set<String> result = new HashSet<>(state.current.keySet());
+        result.addAll(state.next.keySet());
+        return result;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        State state = getState(FacesContext.getCurrentInstance());
+        Set<Map.Entry<String, Object>> result = new HashSet<>(state.current.entrySet());
+        result.addAll(state.next.entrySet());
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return entrySet().toString();
+    }
+
+    // ---------------------------------------------------------- Private Methods
+
+    /**
+     * <p>
+     * Returns the flash state of the current request, taking the flash handed over by the previous request out of the
+     * session on first access. Of concurrent requests correlated with the same flash, only one takes it.
+     * </p>
+     */
+    @SuppressWarnings("unchecked")
+    private static State getState(FacesContext context) {
+        Map<Object, Object> attributes = context.getAttributes();
+        State state = (State) attributes.get(STATE_ATTRIBUTE_NAME);
+
+        if (state == null) {
+            ExternalContext extContext = context.getExternalContext();
+            String clientWindowId = getClientWindowId(extContext);
+            String key = clientWindowId != null ? clientWindowId : getToken(extContext);
+            StoredFlash stored = null;
+
+            if (key != null && extContext.getSession(false) != null) {
+                Map<String, StoredFlash> flashes = (Map<String, StoredFlash>) extContext.getSessionMap().get(SESSION_ATTRIBUTE_NAME);
+
+                if (flashes != null) {
+                    stored = flashes.get(key);
+
+                    if (stored != null && (stored.redirect && !isGetRequest(extContext) || !flashes.remove(key, stored))) {
+                        stored = null;
+                    }
+                }
+            }
+
+            state = stored != null ? new State(clientWindowId, stored.values, stored.redirect) : new State(clientWindowId, new HashMap<>(), false);
+            state.handedOver = stored != null;
+            attributes.put(STATE_ATTRIBUTE_NAME, state);
+        }
+
+        return state;
+    }
+
+    private static String getClientWindowId(ExternalContext extContext) {
+        ClientWindow clientWindow = extContext.getClientWindow();
+        return clientWindow != null ? clientWindow.getId() : null;
+    }
+
+    private static String getToken(ExternalContext extContext) {
+        Cookie cookie = (Cookie) extContext.getRequestCookieMap().get(TOKEN_COOKIE_NAME);
+        return cookie != null && !cookie.getValue().isEmpty() ? cookie.getValue() : null;
+    }
+
+    private static boolean isGetRequest(ExternalContext extContext) {
+        return !(extContext.getRequest() instanceof HttpServletRequest request) || "GET".equals(request.getMethod());
+    }
+
+    /**
+     * <p>
+     * Without client windows, gives the flash which is going to be handed over a new token and sends it to the client,
+     * unless the response is already committed. The token is sent as soon as possible, because the values written during
+     * render response are only handed over once the response is complete.
+     * </p>
+     */
+    private static boolean assignToken(FacesContext context, State state) {
+        if (state.clientWindowId != null || state.token != null) {
+            return true;
+        }
+
+        ExternalContext extContext = context.getExternalContext();
+        if (extContext.isResponseCommitted()) {
+            return false;
+        }
+
+        state.token = UUID.randomUUID().toString();
+        extContext.addResponseCookie(TOKEN_COOKIE_NAME, state.token, getCookieProperties(extContext, -1));
+        return true;
+    }
+
+    private static Map<String, Object> getCookieProperties(ExternalContext extContext, int maxAge) {
+        Map<String, Object> properties = new HashMap<>();
+        String requestContextPath = extContext.getRequestContextPath();
+        properties.put("path", requestContextPath.isEmpty() ? "/" : requestContextPath);
+        properties.put("maxAge", maxAge);
+        properties.put("httpOnly", Boolean.TRUE);
+
+        if (extContext.isSecure()) {
+            properties.put("secure", Boolean.TRUE);
+        }
+
+        return properties;
+    }
+
+    /**
+     * <p>
+     * Like in {@link ELFlash}, values written before render response are visible to the current request and are only
+     * handed over on redirect, values written during render response are handed over to the next request.
+     * </p>
+     */
+    private static Map<String, Object> getMapForWriting(FacesContext context, State state) {
+        PhaseId currentPhase = context.getCurrentPhaseId();
+
+        if (currentPhase != null && currentPhase.getOrdinal() >= PhaseId.RENDER_RESPONSE.getOrdinal()) {
+            assignToken(context, state);
+            return state.next;
+        }
+
+        return state.current;
+    }
+
+    private void doLastPhaseActions(FacesContext context, boolean outgoingResponseIsRedirect) {
+        State state = getState(context);
+        if (state.done) {
+            return;
+        }
+        state.done = true;
+        state.redirecting = outgoingResponseIsRedirect;
+
+        if (isKeepMessages() && !state.redirect) {
+            saveAllMessages(context, outgoingResponseIsRedirect ? state.current : state.next);
+        }
+
+        Map<String, Object> handedOver = outgoingResponseIsRedirect ? state.current : state.next;
+        if (!outgoingResponseIsRedirect && !state.current.isEmpty()) {
+            context.getApplication().publishEvent(context, PreClearFlashEvent.class, state.current);
+        }
+
+        store(context, state, handedOver.isEmpty() ? null : new StoredFlash(handedOver, outgoingResponseIsRedirect));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void store(FacesContext context, State state, StoredFlash stored) {
+        ExternalContext extContext = context.getExternalContext();
+        if (stored == null && !state.handedOver) {
+            return; // Nothing was taken out of the session and nothing is put back.
+        }
+
+        if (stored != null && (extContext.getSession(false) == null && extContext.isResponseCommitted() || !assignToken(context, state))) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "faces.externalcontext.flash.response.already.committed");
+            }
+            return;
+        }
+
+        if (stored == null && extContext.getSession(false) == null) {
+            return;
+        }
+
+        Map<String, Object> sessionMap = extContext.getSessionMap();
+        Map<String, StoredFlash> flashes = (Map<String, StoredFlash>) sessionMap.get(SESSION_ATTRIBUTE_NAME);
+
+        if (flashes == null) {
+            if (stored == null) {
+                return;
+            }
+
+            synchronized (extContext.getSession(true)) {
+                flashes = (Map<String, StoredFlash>) sessionMap.get(SESSION_ATTRIBUTE_NAME);
+                if (flashes == null) {
+                    flashes = new ConcurrentLRUMap<>(getMaxClientWindows(extContext));
+                    sessionMap.put(SESSION_ATTRIBUTE_NAME, flashes);
+                }
+            }
+        }
+
+        if (stored != null) {
+            flashes.put(state.clientWindowId != null ? state.clientWindowId : state.token, stored);
+        }
+
+        // Set the attribute again, also after taking a flash out of it, so that the container replicates the change.
+        sessionMap.put(SESSION_ATTRIBUTE_NAME, flashes);
+    }
+
+    private static int getMaxClientWindows(ExternalContext extContext) {
+        try {
+            return Math.max(1, Integer.parseInt(WebConfiguration.getInstance(extContext).getOptionValue(NumberOfClientWindows)));
+        } catch (NumberFormatException e) {
+            return Integer.parseInt(NumberOfClientWindows.getDefaultValue());
+        }
+    }
+
+    private static void saveAllMessages(FacesContext context, Map<String, Object> target) {
+        Map<String, List<FacesMessage>> allFacesMessages = new HashMap<>();
+
+        for (Iterator<String> clientIds = context.getClientIdsWithMessages(); clientIds.hasNext();) {
+            String clientId = clientIds.next();
+            List<FacesMessage> facesMessages = new ArrayList<>();
+            context.getMessages(clientId).forEachRemaining(facesMessages::add);
+            allFacesMessages.put(clientId, facesMessages);
+        }
+
+        if (!allFacesMessages.isEmpty()) {
+            target.put(MESSAGES_KEY, allFacesMessages);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void restoreAllMessages(FacesContext context, State state) {
+        Map<String, List<FacesMessage>> allFacesMessages = (Map<String, List<FacesMessage>>) state.current.remove(MESSAGES_KEY);
+
+        if (allFacesMessages != null) {
+            for (Map.Entry<String, List<FacesMessage>> entry : allFacesMessages.entrySet()) {
+                for (FacesMessage message : entry.getValue()) {
+                    context.addMessage(entry.getKey(), message);
+                }
+            }
+        }
+    }
+
+    // ----------------------------------------------------------- Nested Classes
+
+    /**
+     * The flash of the current request.
+     */
+    private static final class State {
+
+        private final String clientWindowId;
+        private String token;
+        private final Map<String, Object> current;
+        private final Map<String, Object> next = new HashMap<>();
+        private final boolean redirect;
+        private boolean handedOver;
+        private boolean redirecting;
+        private boolean done;
+
+        State(String clientWindowId, Map<String, Object> current, boolean redirect) {
+            this.clientWindowId = clientWindowId;
+            this.current = current;
+            this.redirect = redirect;
+        }
+    }
+
+    /**
+     * A flash handed over to the next request, as stored in the session.
+     */
+    private static final class StoredFlash implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final HashMap<String, Object> values;
+        private final boolean redirect;
+
+        StoredFlash(Map<String, Object> values, boolean redirect) {
+            this.values = new HashMap<>(values);
+            this.redirect = redirect;
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.context.flash;
+
+import jakarta.faces.context.Flash;
+import jakarta.faces.context.FlashFactory;
+
+/**
+ * <p>
+ * A {@link FlashFactory} whose flash keeps its values in the session of the user, by client window, instead of in an
+ * application wide map correlated by a cookie. It needs no cookie and is replicated like any other session attribute,
+ * at the cost of a session for the users of the flash. It is enabled by declaring it in <code>faces-config.xml</code>:
+ * </p>
+ *
+ * <pre>
+ * &lt;factory&gt;
+ *     &lt;flash-factory&gt;com.sun.faces.context.flash.SessionFlashFactory&lt;/flash-factory&gt;
+ * &lt;/factory&gt;
+ * </pre>
+ *
+ * @see SessionFlash
+ */
+public class SessionFlashFactory extends FlashFactory {
+
+    private final Flash flash = new SessionFlash();
+
+    public SessionFlashFactory() {
+        super(null);
+    }
+
+    public SessionFlashFactory(FlashFactory wrapped) {
+        super(wrapped);
+    }
+
+    /**
+     * The returned flash is stateless, all its state is held by the current request and session, so the same instance is
+     * returned whatever the value of <code>create</code>.
+     */
+    @Override
+    public Flash getFlash(boolean create) {
+        return flash;
+    }
+
+}
@@ -30,13 +30,14 @@ class SessionHelper implements Serializable, HttpSessionActivationListener {
     static final String FLASH_SESSIONACTIVATIONLISTENER_ATTRIBUTE_NAME = ELFlash.FLASH_ATTRIBUTE_NAME + "FSAL";
 
     private static final String FLASH_INNER_MAP_KEY = ELFlash.FLASH_ATTRIBUTE_NAME + "FIM";
+    // Guarded by this, the helper is shared by the concurrent requests of its session only.
     private boolean didPassivate;
 
     static SessionHelper getInstance(ExternalContext extContext) {
         return (SessionHelper) extContext.getSessionMap().get(FLASH_SESSIONACTIVATIONLISTENER_ATTRIBUTE_NAME);
     }
 
-    void update(ExternalContext extContext, ELFlash flash) {
+    synchronized void update(ExternalContext extContext, ELFlash flash) {
         Map<String, Object> sessionMap = extContext.getSessionMap();
         if (didPassivate) {
             Map<String, Map<String, Object>> flashInnerMap = (Map<String, Map<String, Object>>) sessionMap.get(FLASH_INNER_MAP_KEY);
@@ -55,12 +56,12 @@ class SessionHelper implements Serializable, HttpSessionActivationListener {
     }
 
     @Override
-    public void sessionDidActivate(HttpSessionEvent hse) {
+    public synchronized void sessionDidActivate(HttpSessionEvent hse) {
         didPassivate = true;
     }
 
     @Override
-    public void sessionWillPassivate(HttpSessionEvent hse) {
+    public synchronized void sessionWillPassivate(HttpSessionEvent hse) {
         didPassivate = true;
 
     }
@@ -23,6 +23,7 @@ import jakarta.el.ELException;
 import jakarta.el.ELResolver;
 import jakarta.faces.context.FacesContext;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Maintains an ordered composite list of child <code>ELResolver for Faces</code>.
@@ -44,6 +45,11 @@ public final class ChainTypeCompositeELResolver extends FacesCompositeELResolver
         _wrapped.add(elResolver);
     }
 
+    @Override
+    public void enableRootResolutionCache(Set<ELResolver> identifierBoundResolvers) {
+        _wrapped.enableRootResolutionCache(identifierBoundResolvers);
+    }
+
     @Override
     public Object getValue(ELContext context, Object base, Object property) throws ELException {
         FacesContext ctx = getFacesContext(context);
@@ -17,6 +17,10 @@
 
 package com.sun.faces.el;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import jakarta.el.ELContext;
 import jakarta.el.ELException;
 import jakarta.el.ELResolver;
@@ -26,6 +30,12 @@ import jakarta.el.ELResolver;
  *
  */
 public class DemuxCompositeELResolver extends FacesCompositeELResolver {
+
+    /**
+     * Upper bound of the root resolution cache, it only guards against expressions built from unbounded input.
+     */
+    private static final int MAX_CACHED_ROOT_IDENTIFIERS = 10_000;
+
     private final ELResolverChainType _chainType;
 
     private ELResolver[] _rootELResolvers = new ELResolver[2];
@@ -36,6 +46,10 @@ public class DemuxCompositeELResolver extends FacesCompositeELResolver {
     private int _propertyELResolverCount = 0;
     private int _allELResolverCount = 0;
 
+    // Both null unless the root resolution cache is enabled
+    private boolean[] _identifierBoundRootELResolvers;
+    private ConcurrentMap<String, Integer> _rootResolutionCache;
+
     public DemuxCompositeELResolver(ELResolverChainType chainType) {
         if (chainType == null) {
             throw new NullPointerException();
@@ -131,6 +145,48 @@ public class DemuxCompositeELResolver extends FacesCompositeELResolver {
         _addAllELResolver(elResolver);
     }
 
+    @Override
+    public void enableRootResolutionCache(Set<ELResolver> identifierBoundResolvers) {
+        boolean[] identifierBound = new boolean[_rootELResolverCount];
+        for (int i = 0; i < _rootELResolverCount; i++) {
+            identifierBound[i] = identifierBoundResolvers.contains(_rootELResolvers[i]);
+        }
+
+        _identifierBoundRootELResolvers = identifierBound;
+        _rootResolutionCache = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Resolves a root identifier like {@link #_getValue(int, ELResolver[], ELContext, Object, Object)}, but skips the
+     * identifier bound resolvers which come before the one that resolved the identifier last time, as they are known not
+     * to resolve it. All other resolvers, and the remembered one, are consulted as usual, so if the latter does not
+     * resolve the identifier anymore the lookup simply continues down the chain, and a different outcome is remembered.
+     */
+    private Object _getRootValue(ELContext context, String identifier) throws ELException {
+        Integer cached = _rootResolutionCache.get(identifier);
+        int resolvedBy = cached != null ? cached : -1;
+        boolean[] identifierBound = _identifierBoundRootELResolvers;
+
+        for (int i = 0; i < _rootELResolverCount; i++) {
+            if (i < resolvedBy && i < identifierBound.length && identifierBound[i]) {
+                continue;
+            }
+
+            Object result = _rootELResolvers[i].getValue(context, null, identifier);
+
+            if (context.isPropertyResolved()) {
+                // A resolver consulted before the remembered one does not invalidate it
+                if (i > resolvedBy && (_rootResolutionCache.size() < MAX_CACHED_ROOT_IDENTIFIERS || cached != null)) {
+                    _rootResolutionCache.put(identifier, i);
+                }
+
+                return result;
+            }
+        }
+
+        return null;
+    }
+
     private Object _getValue(int resolverCount, ELResolver[] resolvers, ELContext context, Object base, Object property) throws ELException {
         for (int i = 0; i < resolverCount; i++) {
             Object result = resolvers[i].getValue(context, base, property);
@@ -151,6 +207,10 @@ public class DemuxCompositeELResolver extends FacesCompositeELResolver {
         ELResolver[] resolvers;
 
         if (base == null) {
+            if (_rootResolutionCache != null && property instanceof String) {
+                return _getRootValue(context, (String) property);
+            }
+
             resolverCount = _rootELResolverCount;
             resolvers = _rootELResolvers;
         } else {
@@ -17,19 +17,17 @@
 package com.sun.faces.el;
 
 import static com.sun.faces.RIConstants.EMPTY_CLASS_ARGS;
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableELRootResolutionCache;
 import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.InterpretEmptyStringSubmittedValuesAsNull;
 import static com.sun.faces.util.MessageUtils.NULL_PARAMETERS_ERROR_MESSAGE_ID;
 import static com.sun.faces.util.MessageUtils.getExceptionMessageString;
 import static com.sun.faces.util.ReflectionUtils.lookupMethod;
 import static com.sun.faces.util.ReflectionUtils.newInstance;
 import static com.sun.faces.util.Util.getCdiBeanManager;
-import static java.lang.Boolean.FALSE;
 
 import com.sun.faces.application.ApplicationAssociate;
 import com.sun.faces.config.WebConfiguration;
 import com.sun.faces.context.flash.FlashELResolver;
-import com.sun.faces.util.Cache;
-import com.sun.faces.util.LRUCache;
 import jakarta.el.ArrayELResolver;
 import jakarta.el.BeanELResolver;
 import jakarta.el.CompositeELResolver;
@@ -43,8 +41,10 @@ import jakarta.el.ValueExpression;
 import jakarta.faces.context.ExternalContext;
 import jakarta.faces.context.FacesContext;
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.regex.Matcher;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
@@ -52,38 +52,15 @@ import java.util.regex.Pattern;
  */
 public class ELUtils {
 
-    /**
-     * The maximum size of the <code>compositeComponentEvaluationCache</code>.
-     */
-    private static final int compositeComponentEvaluationCacheMaxSize = 1000;
-
     /**
      * Helps to determine if a EL expression represents a composite component EL expression.
+     * <p>
+     * The pattern is only matched while a Facelet is compiled: {@link com.sun.faces.facelets.tag.TagAttributeImpl}
+     * classifies its value in its constructor, and {@link com.sun.faces.facelets.el.ELText#parse(String, String)} checks
+     * each expression in template text as it parses it. Neither happens per request, so there is no need to cache the
+     * evaluation result here.
      */
     private static final Pattern COMPOSITE_COMPONENT_EXPRESSION = Pattern.compile(".(?:[ ]+|[\\[{,(])cc[.].+[}]");
-    // do not use this Matcher, it's only for the Cache Factory
-    private static final Matcher COMPOSITE_COMPONENT_EXPRESSION_MATCHER = COMPOSITE_COMPONENT_EXPRESSION.matcher("");
-
-    /**
-     * Cache.Factory that initialize an element inside the LRUCache evaluating a Matcher against the input.
-     * We should be able to share a Matcher because the Factory it's executed atomically
-     * and this Matcher is used only here
-     */
-    private static final Cache.Factory<String,Boolean> isCompositeExpressionInit = new Cache.Factory<>() {
-
-        // it would be safer to declare the shared Matcher here, but it requires Java 16+ ... Faces 5.0 ?
-        // private static final Matcher COMPOSITE_COMPONENT_EXPRESSION_MATCHER = COMPOSITE_COMPONENT_EXPRESSION.matcher("");
-
-        @Override
-        public Boolean newInstance(String expression) {
-            return expression == null ? FALSE : COMPOSITE_COMPONENT_EXPRESSION_MATCHER.reset(expression).find();
-        }
-    };
-
-    /**
-     * Private cache for storing evaluation results for composite components checks.
-     */
-    private static final LRUCache<String, Boolean> compositeComponentEvaluationCache = new LRUCache<>(isCompositeExpressionInit, compositeComponentEvaluationCacheMaxSize);
 
     /**
      * Used to determine if EL method arguments are being passed to a composite component lookup expression.
@@ -127,7 +104,7 @@ public class ELUtils {
     // ---------------------------------------------------------- Public Methods
 
     public static boolean isCompositeComponentExpr(String expression) {
-        return compositeComponentEvaluationCache.get(expression);
+        return expression != null && COMPOSITE_COMPONENT_EXPRESSION.matcher(expression).find();
     }
 
     public static boolean isCompositeComponentMethodExprLookup(String expression) {
@@ -135,10 +112,6 @@ public class ELUtils {
     }
 
     public static boolean isCompositeComponentLookupWithArgs(String expression) {
-        // TODO we should be trying to re-use the Matcher by calling
-        //      pizzi80: not sure because it will require a synchronized block if this method
-        //               is called by multiple threads
-        // m.reset(expression);
         return COMPOSITE_COMPONENT_LOOKUP_WITH_ARGS.matcher(expression).find();
     }
 
@@ -152,7 +125,7 @@ public class ELUtils {
      */
     public static void buildFacesResolver(FacesCompositeELResolver composite, ApplicationAssociate associate) {
         checkNotNull(composite, associate);
-        addCDIELResolver(composite);
+        ELResolver cdiResolver = addCDIELResolver(composite);
         composite.add(FLASH_RESOLVER);
         composite.addPropertyELResolver(COMPOSITE_COMPONENT_ATTRIBUTES_EL_RESOLVER);
         addELResolvers(composite, associate.getELResolversFromFacesConfig());
@@ -165,12 +138,24 @@ public class ELUtils {
         composite.addPropertyELResolver(RESOURCE_RESOLVER);
         composite.addPropertyELResolver(BUNDLE_RESOLVER);
         composite.addRootELResolver(FACES_BUNDLE_RESOLVER);
-        addEL3_0_Resolvers(composite, associate);
+        List<ELResolver> el3Resolvers = addEL3_0_Resolvers(composite, associate);
         composite.addPropertyELResolver(MAP_RESOLVER);
         composite.addPropertyELResolver(LIST_RESOLVER);
         composite.addPropertyELResolver(ARRAY_RESOLVER);
         composite.addPropertyELResolver(BEAN_RESOLVER);
         composite.addRootELResolver(SCOPED_RESOLVER);
+
+        if (WebConfiguration.getInstance().isOptionEnabled(EnableELRootResolutionCache)) {
+            // Whether these resolve a root identifier only depends on the identifier: the CDI bean names and the
+            // resource bundle vars are fixed once the application is deployed, the others never resolve one.
+            // The custom resolvers from faces-config and the application are always consulted.
+            Set<ELResolver> identifierBoundResolvers = Collections.newSetFromMap(new IdentityHashMap<>());
+            identifierBoundResolvers.add(cdiResolver);
+            identifierBoundResolvers.add(FLASH_RESOLVER);
+            identifierBoundResolvers.add(FACES_BUNDLE_RESOLVER);
+            identifierBoundResolvers.addAll(el3Resolvers);
+            composite.enableRootResolutionCache(identifierBoundResolvers);
+        }
     }
 
     private static void checkNotNull(FacesCompositeELResolver composite, ApplicationAssociate associate) {
@@ -183,11 +168,13 @@ public class ELUtils {
         }
     }
 
-    private static void addCDIELResolver(FacesCompositeELResolver composite) {
-        composite.add(getCdiBeanManager(FacesContext.getCurrentInstance()).getELResolver());
+    private static ELResolver addCDIELResolver(FacesCompositeELResolver composite) {
+        ELResolver cdiResolver = getCdiBeanManager(FacesContext.getCurrentInstance()).getELResolver();
+        composite.add(cdiResolver);
+        return cdiResolver;
     }
 
-    private static void addEL3_0_Resolvers(FacesCompositeELResolver composite, ApplicationAssociate associate) {
+    private static List<ELResolver> addEL3_0_Resolvers(FacesCompositeELResolver composite, ApplicationAssociate associate) {
         ExpressionFactory expressionFactory = associate.getExpressionFactory();
 
         Method getStreamELResolverMethod = lookupMethod(ExpressionFactory.class, "getStreamELResolver", EMPTY_CLASS_ARGS);
@@ -200,12 +187,17 @@ public class ELUtils {
 
                     // Assume that if we have getStreamELResolver, then we must have
                     // jakarta.el.staticFieldELResolver
-                    composite.addRootELResolver((ELResolver) newInstance("jakarta.el.StaticFieldELResolver"));
+                    ELResolver staticFieldELResolver = (ELResolver) newInstance("jakarta.el.StaticFieldELResolver");
+                    composite.addRootELResolver(staticFieldELResolver);
+
+                    return List.of(streamELResolver, staticFieldELResolver);
                 }
             } catch (IllegalArgumentException | ReflectiveOperationException | SecurityException t) {
                 // This is normal on containers that do not have these ELResolvers
             }
         }
+
+        return Collections.emptyList();
     }
 
     public static Object evaluateValueExpression(ValueExpression expression, ELContext elContext) {
@@ -16,6 +16,8 @@
 
 package com.sun.faces.el;
 
+import java.util.Set;
+
 import jakarta.el.CompositeELResolver;
 import jakarta.el.ELResolver;
 
@@ -39,4 +41,20 @@ public abstract class FacesCompositeELResolver extends CompositeELResolver {
     public abstract void addRootELResolver(ELResolver elResolver);
 
     public abstract void addPropertyELResolver(ELResolver elResolver);
+
+    /**
+     * <p>
+     * Remember, per root identifier, which of the root resolvers resolved it, so that later lookups of the identifier
+     * skip the given resolvers when they come before that one. Only the resolver is remembered, never the value.
+     * </p>
+     *
+     * <p>
+     * This implementation does nothing.
+     * </p>
+     *
+     * @param identifierBoundResolvers the resolvers for which resolving a root identifier or not only depends on the
+     * identifier
+     */
+    public void enableRootResolutionCache(Set<ELResolver> identifierBoundResolvers) {
+    }
 }
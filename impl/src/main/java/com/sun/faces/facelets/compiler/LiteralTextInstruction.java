@@ -19,6 +19,7 @@ package com.sun.faces.facelets.compiler;
 import java.io.IOException;
 
 import com.sun.faces.config.FaceletsConfiguration;
+import com.sun.faces.renderkit.html_basic.PreEscapedText;
 
 import jakarta.el.ELContext;
 import jakarta.el.ExpressionFactory;
@@ -27,14 +28,17 @@ import jakarta.faces.context.FacesContext;
 final class LiteralTextInstruction implements Instruction {
     private final String text;
 
+    private final PreEscapedText escapedText;
+
     public LiteralTextInstruction(String text) {
         this.text = text;
+        escapedText = new PreEscapedText(text);
     }
 
     @Override
     public void write(FacesContext context) throws IOException {
         if (FaceletsConfiguration.getInstance(context).isEscapeInlineText(context)) {
-            context.getResponseWriter().writeText(text, null);
+            escapedText.writeTo(context.getResponseWriter());
         } else {
             context.getResponseWriter().write(text);
         }
@@ -22,20 +22,19 @@ import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
-import javax.xml.parsers.SAXParserFactory;
 
 import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
 import org.xml.sax.Locator;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
-import org.xml.sax.XMLReader;
 import org.xml.sax.ext.LexicalHandler;
 import org.xml.sax.helpers.DefaultHandler;
 
@@ -361,6 +360,11 @@ public final class SAXCompiler extends Compiler {
 
     }
 
+    /**
+     * Parser pools indexed by validation and DOCTYPE declaration handling, see {@link #getParserPool(CompilationHandler)}.
+     */
+    private final AtomicReferenceArray<SAXParserPool> parserPools = new AtomicReferenceArray<>(6);
+
     public SAXCompiler() {
         super();
     }
@@ -388,8 +392,13 @@ public final class SAXCompiler extends Compiler {
         try (InputStream is = new BufferedInputStream(src.openStream(), 1024);) {
 
             writeXmlDecl(is, encoding, mngr);
-            SAXParser parser = createSAXParser(handler);
-            parser.parse(is, handler);
+            SAXParserPool pool = getParserPool(handler);
+            SAXParser parser = pool.borrow(handler);
+            try {
+                parser.parse(is, handler);
+            } finally {
+                pool.release(parser);
+            }
         } catch (SAXException e) {
             throw new FaceletException("Error Parsing " + alias + ": " + e.getMessage(), e.getCause());
         } catch (ParserConfigurationException e) {
@@ -442,21 +451,17 @@ public final class SAXCompiler extends Compiler {
         }
     }
 
-    private SAXParser createSAXParser(CompilationHandler handler) throws SAXException, ParserConfigurationException {
-        SAXParserFactory factory = Util.createSAXParserFactory();
-        factory.setNamespaceAware(true);
-        factory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
-        factory.setFeature("http://xml.org/sax/features/validation", isValidating());
-        factory.setValidating(isValidating());
-        if (handler.isDisallowDoctypeDeclSet()) {
-            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", handler.isDisallowDoctypeDecl());
-        }
-        SAXParser parser = factory.newSAXParser();
-        XMLReader reader = parser.getXMLReader();
-        reader.setProperty("http://xml.org/sax/properties/lexical-handler", handler);
-        reader.setErrorHandler(handler);
-        reader.setEntityResolver(handler);
-        return parser;
+    private SAXParserPool getParserPool(CompilationHandler handler) {
+        Boolean disallowDoctypeDecl = handler.isDisallowDoctypeDeclSet() ? handler.isDisallowDoctypeDecl() : null;
+        int index = (isValidating() ? 1 : 0) + (disallowDoctypeDecl == null ? 0 : disallowDoctypeDecl ? 2 : 4);
+
+        SAXParserPool pool = parserPools.get(index);
+        if (pool == null) {
+            parserPools.compareAndSet(index, null, new SAXParserPool(isValidating(), disallowDoctypeDecl));
+            pool = parserPools.get(index);
+        }
+
+        return pool;
     }
 
 }
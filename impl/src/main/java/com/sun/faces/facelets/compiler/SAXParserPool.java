@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.facelets.compiler;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.ext.LexicalHandler;
+import org.xml.sax.helpers.DefaultHandler;
+
+import com.sun.faces.util.Util;
+
+/**
+ * <p>
+ * Pool of identically configured {@link SAXParser} instances used by the {@link SAXCompiler}.
+ * </p>
+ *
+ * <p>
+ * Looking up a {@link SAXParserFactory} and creating a parser is costly compared to the parse of a typical facelet, so
+ * parsers are reused. A borrowed parser is confined to the borrowing thread until it is released, at which point it is
+ * {@link SAXParser#reset() reset} to its factory configuration. At most {@link #MAX_IDLE} parsers are kept idle,
+ * parsers released beyond that are left to the garbage collector.
+ * </p>
+ */
+final class SAXParserPool {
+
+    static final int MAX_IDLE = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private static final DefaultHandler NO_OP_HANDLER = new DefaultHandler();
+    private static final String LEXICAL_HANDLER = "http://xml.org/sax/properties/lexical-handler";
+
+    private final boolean validating;
+    private final Boolean disallowDoctypeDecl;
+    private final BlockingQueue<SAXParser> idle = new ArrayBlockingQueue<>(MAX_IDLE);
+
+    // ------------------------------------------------------------ Constructors
+
+    /**
+     * @param validating whether the parsers validate the documents
+     * @param disallowDoctypeDecl whether the parsers reject documents with a DOCTYPE declaration, <code>null</code> to
+     * keep the default of the underlying parser
+     */
+    SAXParserPool(boolean validating, Boolean disallowDoctypeDecl) {
+        this.validating = validating;
+        this.disallowDoctypeDecl = disallowDoctypeDecl;
+    }
+
+    // ------------------------------------------------------- Package Private Methods
+
+    /**
+     * @param handler the handler receiving the content, lexical and error events and resolving the entities
+     * @return a parser for the exclusive use of the calling thread until it is passed to {@link #release(SAXParser)}
+     */
+    <H extends DefaultHandler & LexicalHandler> SAXParser borrow(H handler) throws SAXException, ParserConfigurationException {
+        SAXParser parser = idle.poll();
+        if (parser == null) {
+            parser = createSAXParser();
+        }
+
+        XMLReader reader = parser.getXMLReader();
+        reader.setProperty(LEXICAL_HANDLER, handler);
+        reader.setErrorHandler(handler);
+        reader.setEntityResolver(handler);
+        return parser;
+    }
+
+    void release(SAXParser parser) {
+        try {
+            // Do not let the idle parser retain the handler and, through it, the compiled document
+            XMLReader reader = parser.getXMLReader();
+            reader.setProperty(LEXICAL_HANDLER, null);
+            reader.setContentHandler(NO_OP_HANDLER);
+            reader.setDTDHandler(NO_OP_HANDLER);
+            reader.setErrorHandler(NO_OP_HANDLER);
+            reader.setEntityResolver(NO_OP_HANDLER);
+            parser.reset();
+        } catch (SAXException | UnsupportedOperationException e) {
+            // The parser cannot be reused
+            return;
+        }
+
+        idle.offer(parser);
+    }
+
+    int getIdleCount() {
+        return idle.size();
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private SAXParser createSAXParser() throws SAXException, ParserConfigurationException {
+        SAXParserFactory factory = Util.createSAXParserFactory();
+        factory.setNamespaceAware(true);
+        factory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
+        factory.setFeature("http://xml.org/sax/features/validation", validating);
+        factory.setValidating(validating);
+        if (disallowDoctypeDecl != null) {
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", disallowDoctypeDecl);
+        }
+        return factory.newSAXParser();
+    }
+
+}
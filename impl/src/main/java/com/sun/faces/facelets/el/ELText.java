@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.sun.faces.el.ELUtils;
+import com.sun.faces.renderkit.html_basic.PreEscapedText;
 import com.sun.faces.util.HtmlUtils;
 import com.sun.faces.util.MessageUtils;
 
@@ -214,6 +215,9 @@ public class ELText {
 
     protected final String literal;
 
+    // The literal along with its escaped form, created when the literal is first written as text
+    private PreEscapedText preEscapedLiteral;
+
     public ELText(String literal) {
         this.literal = literal;
     }
@@ -251,7 +255,13 @@ public class ELText {
     }
 
     public void writeText(ResponseWriter out, ELContext ctx) throws ELException, IOException {
-        out.writeText(literal, null);
+        PreEscapedText text = preEscapedLiteral;
+        if (text == null) {
+            text = new PreEscapedText(literal);
+            preEscapedLiteral = text;
+        }
+
+        text.writeTo(out);
     }
 
     /**
@@ -16,7 +16,16 @@
 
 package com.sun.faces.facelets.impl;
 
+import static java.util.logging.Level.FINE;
+
 import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import com.sun.faces.application.resource.ResourceImpl;
+import com.sun.faces.util.FacesLogger;
 
 import jakarta.faces.application.ResourceHandler;
 import jakarta.faces.application.ViewResource;
@@ -24,20 +33,98 @@ import jakarta.faces.context.FacesContext;
 
 public class DefaultResourceResolver {
 
+    private static final Logger LOGGER = FacesLogger.FACELETS_FACTORY.getLogger();
+
     private ResourceHandler resourceHandler;
 
+    /**
+     * Index of the resolved view URLs, <code>null</code> if the view resources may change while the application is
+     * running.
+     */
+    private final ViewResourceIndex index;
+
     public DefaultResourceResolver(ResourceHandler resourceHandler) {
+        this(resourceHandler, false);
+    }
+
+    /**
+     * @param resourceHandler the resource handler used to locate view resources
+     * @param indexed <code>true</code> if view resources are known not to change while the application is running, in
+     * which case resolved URLs, as well as paths that did not resolve, are remembered
+     */
+    public DefaultResourceResolver(ResourceHandler resourceHandler, boolean indexed) {
         this.resourceHandler = resourceHandler;
+        index = indexed ? new ViewResourceIndex() : null;
     }
 
     public URL resolveUrl(String path) {
-        ViewResource faceletResource = resourceHandler.createViewResource(FacesContext.getCurrentInstance(), path);
+        FacesContext context = FacesContext.getCurrentInstance();
 
-        if (faceletResource != null) {
-            return faceletResource.getURL();
+        if (index == null) {
+            return doResolveUrl(context, path).getURL();
+        }
+
+        List<String> contracts = getResourceLibraryContracts(context);
+        Optional<URL> indexed = index.get(contracts, path);
+        if (indexed != null) {
+            return indexed.orElse(null);
         }
 
-        return null;
+        Resolution resolution = doResolveUrl(context, path);
+        if (resolution.isCacheable()) {
+            index.put(contracts, path, resolution.getURL());
+        }
+
+        return resolution.getURL();
+    }
+
+    /**
+     * Resolves all the views known to the resource handler so that the index is complete before the first request.
+     * This is a no-op if this resolver is not indexed.
+     *
+     * @param context the {@link FacesContext} used during startup
+     */
+    public void buildIndex(FacesContext context) {
+        if (index == null) {
+            return;
+        }
+
+        try {
+            resourceHandler.getViewResources(context, "/", Integer.MAX_VALUE).forEach(this::resolveUrl);
+        } catch (RuntimeException e) {
+            // The index is filled on demand when views cannot be listed during startup
+            if (LOGGER.isLoggable(FINE)) {
+                LOGGER.log(FINE, "Unable to build the view resource index during startup", e);
+            }
+        }
+
+        if (LOGGER.isLoggable(FINE)) {
+            LOGGER.log(FINE, "Indexed {0} view resources", index.size());
+        }
+    }
+
+    /**
+     * Forgets the resolution of the given view path, for example after the view has been added or removed.
+     *
+     * @param path the view path
+     */
+    public void invalidate(String path) {
+        if (index != null) {
+            index.invalidate(path);
+        }
+    }
+
+    /**
+     * Forgets the resolution of all view paths.
+     */
+    public void invalidateAll() {
+        if (index != null) {
+            index.clear();
+        }
+    }
+
+    public boolean isIndexed() {
+        return index != null;
     }
 
     @Override
@@ -45,4 +132,42 @@ public class DefaultResourceResolver {
         return "DefaultResourceResolver";
     }
 
+    // --------------------------------------------------------- Private Methods
+
+    private Resolution doResolveUrl(FacesContext context, String path) {
+        ViewResource faceletResource = resourceHandler.createViewResource(context, path);
+
+        if (faceletResource != null) {
+            return new Resolution(faceletResource.getURL(), !(faceletResource instanceof ResourceImpl) || ((ResourceImpl) faceletResource).isCacheable());
+        }
+
+        return new Resolution(null, true);
+    }
+
+    private static List<String> getResourceLibraryContracts(FacesContext context) {
+        List<String> contracts = context.getResourceLibraryContracts();
+        return contracts != null ? contracts : Collections.emptyList();
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    private static final class Resolution {
+
+        private final URL url;
+        private final boolean cacheable;
+
+        Resolution(URL url, boolean cacheable) {
+            this.url = url;
+            this.cacheable = cacheable;
+        }
+
+        URL getURL() {
+            return url;
+        }
+
+        boolean isCacheable() {
+            return cacheable;
+        }
+    }
+
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.facelets.impl;
+
+import java.net.URL;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ * Index of the URLs resolved for view resources by the {@link DefaultResourceResolver}. Both hits and misses are
+ * recorded, so that once a view path has been resolved, asking again whether it exists (for example from
+ * {@link jakarta.faces.view.ViewDeclarationLanguage#viewExists(jakarta.faces.context.FacesContext, String)} while
+ * deriving the view id of each request) is a hash lookup instead of a round trip through the resource handler and the
+ * servlet container.
+ * </p>
+ *
+ * <p>
+ * The location of a view depends on the resource library contracts of the current request, so the index is partitioned
+ * by the list of active contracts.
+ * </p>
+ *
+ * <p>
+ * Misses come from view ids in requests, which any client can make up, so at most {@value #MAX_MISSES} of them are
+ * remembered per partition: the misses are forgotten all at once when there are that many, which keeps recording one a
+ * constant time operation. Hits are bounded by the views of the application.
+ * </p>
+ */
+final class ViewResourceIndex {
+
+    static final int MAX_MISSES = 1000;
+
+    private static final Optional<URL> MISSING = Optional.empty();
+
+    private final ConcurrentMap<List<String>, Partition> partitions = new ConcurrentHashMap<>();
+
+    // ------------------------------------------------------- Package Private Methods
+
+    /**
+     * @param contracts the resource library contracts of the current request
+     * @param path the view path
+     * @return <code>null</code> if the path has not been resolved yet, otherwise the resolved URL, which is empty if the
+     * path did not resolve to a view resource
+     */
+    Optional<URL> get(List<String> contracts, String path) {
+        Partition partition = partitions.get(contracts);
+        if (partition == null) {
+            return null;
+        }
+
+        Optional<URL> url = partition.urls.get(path);
+        if (url == null && partition.misses.contains(path)) {
+            url = MISSING;
+        }
+
+        return url;
+    }
+
+    void put(List<String> contracts, String path, URL url) {
+        Partition partition = partitions.get(contracts);
+        if (partition == null) {
+            partition = partitions.computeIfAbsent(List.copyOf(contracts), k -> new Partition());
+        }
+
+        if (url != null) {
+            partition.misses.remove(path);
+            partition.urls.put(path, Optional.of(url));
+        } else {
+            partition.urls.remove(path);
+            if (partition.misses.size() >= MAX_MISSES) {
+                partition.misses.clear();
+            }
+            partition.misses.add(path);
+        }
+    }
+
+    void invalidate(String path) {
+        for (Partition partition : partitions.values()) {
+            partition.urls.remove(path);
+            partition.misses.remove(path);
+        }
+    }
+
+    void clear() {
+        partitions.clear();
+    }
+
+    int size() {
+        int size = 0;
+        for (Partition partition : partitions.values()) {
+            size += partition.urls.size() + partition.misses.size();
+        }
+
+        return size;
+    }
+
+    // ------------------------------------------------------- Nested Classes
+
+    private static final class Partition {
+
+        private final ConcurrentMap<String, Optional<URL>> urls = new ConcurrentHashMap<>();
+
+        private final Set<String> misses = ConcurrentHashMap.newKeySet();
+    }
+
+}
@@ -23,6 +23,7 @@ import java.lang.reflect.Method;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import com.sun.faces.facelets.tag.faces.CompositeComponentTagHandler;
 
@@ -481,6 +482,36 @@ public abstract class AbstractTagLibrary implements TagLibrary {
         }
     }
 
+    /**
+     * Defers the creation of a factory, and thereby the loading and introspection of the handler class, until the tag
+     * is first compiled.
+     */
+    private static final class LazyHandlerFactory implements TagHandlerFactory {
+
+        private final Supplier<TagHandlerFactory> supplier;
+
+        private volatile TagHandlerFactory factory;
+
+        public LazyHandlerFactory(Supplier<TagHandlerFactory> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public TagHandler createHandler(TagConfig cfg) throws FacesException, ELException {
+            TagHandlerFactory result = factory;
+            if (result == null) {
+                synchronized (this) {
+                    result = factory;
+                    if (result == null) {
+                        result = factory = supplier.get();
+                    }
+                }
+            }
+
+            return result.createHandler(cfg);
+        }
+    }
+
     private final Map<String, TagHandlerFactory> factories;
 
     private final String namespace;
@@ -518,6 +549,19 @@ public abstract class AbstractTagLibrary implements TagLibrary {
         factories.put(name, new UserComponentHandlerFactory(componentType, rendererType, handlerType));
     }
 
+    /**
+     * Like {@link #addComponent(String, String, String, Class)}, but the handler type is only obtained from the given
+     * supplier when the tag is first compiled.
+     *
+     * @param name name to use, "foo" would be {@code <my:foo />}
+     * @param componentType componentType to use
+     * @param rendererType rendererType to use
+     * @param handlerType supplies a Class that extends ComponentHandler
+     */
+    protected final void addComponent(String name, String componentType, String rendererType, Supplier<Class<?>> handlerType) {
+        factories.put(name, new LazyHandlerFactory(() -> new UserComponentHandlerFactory(componentType, rendererType, handlerType.get())));
+    }
+
     /**
      * Add a ConverterHandler for the specified converterId
      *
@@ -544,6 +588,18 @@ public abstract class AbstractTagLibrary implements TagLibrary {
         factories.put(name, new UserConverterHandlerFactory(converterId, type));
     }
 
+    /**
+     * Like {@link #addConverter(String, String, Class)}, but the TagHandler type is only obtained from the given
+     * supplier when the tag is first compiled.
+     *
+     * @param name name to use, "foo" would be {@code <my:foo />}
+     * @param converterId id to pass to Application instance
+     * @param type supplies a TagHandler type that takes in a ConverterConfig
+     */
+    protected final void addConverter(String name, String converterId, Supplier<Class<?>> type) {
+        factories.put(name, new LazyHandlerFactory(() -> new UserConverterHandlerFactory(converterId, type.get())));
+    }
+
     /**
      * Add a ValidatorHandler for the specified validatorId
      *
@@ -570,6 +626,18 @@ public abstract class AbstractTagLibrary implements TagLibrary {
         factories.put(name, new UserValidatorHandlerFactory(validatorId, type));
     }
 
+    /**
+     * Like {@link #addValidator(String, String, Class)}, but the TagHandler type is only obtained from the given
+     * supplier when the tag is first compiled.
+     *
+     * @param name name to use, "foo" would be {@code <my:foo />}
+     * @param validatorId id to pass to Application instance
+     * @param type supplies a TagHandler type that takes in a ValidatorConfig
+     */
+    protected final void addValidator(String name, String validatorId, Supplier<Class<?>> type) {
+        factories.put(name, new LazyHandlerFactory(() -> new UserValidatorHandlerFactory(validatorId, type.get())));
+    }
+
     /**
      * <p class="changed_added_2_0">
      * Adds a named behavior
@@ -586,6 +654,18 @@ public abstract class AbstractTagLibrary implements TagLibrary {
         factories.put(name, new UserBehaviorHandlerFactory(behaviorId, type));
     }
 
+    /**
+     * Like {@link #addBehavior(String, String, Class)}, but the TagHandler type is only obtained from the given supplier
+     * when the tag is first compiled.
+     *
+     * @param name name to use, "foo" would be {@code <my:foo />}
+     * @param behaviorId id to pass to Application instance
+     * @param type supplies a TagHandler type that takes in a BehaviorConfig
+     */
+    protected final void addBehavior(String name, String behaviorId, Supplier<Class<?>> type) {
+        factories.put(name, new LazyHandlerFactory(() -> new UserBehaviorHandlerFactory(behaviorId, type.get())));
+    }
+
     /**
      * Use the specified HandlerType in compiling Facelets. HandlerType must extend TagHandler.
      *
@@ -597,6 +677,17 @@ public abstract class AbstractTagLibrary implements TagLibrary {
         factories.put(name, new HandlerFactory(handlerType));
     }
 
+    /**
+     * Like {@link #addTagHandler(String, Class)}, but the HandlerType is only obtained from the given supplier when the
+     * tag is first compiled.
+     *
+     * @param name name to use, "foo" would be {@code <my:foo />}
+     * @param handlerType supplies a type that must extend TagHandler
+     */
+    protected final void addTagHandler(String name, Supplier<Class<?>> handlerType) {
+        factories.put(name, new LazyHandlerFactory(() -> new HandlerFactory(handlerType.get())));
+    }
+
     /**
      * Add a UserTagHandler specified a the URL source.
      *
@@ -50,6 +50,16 @@ public class TagAttributeImpl extends TagAttribute {
 
     private final boolean literal;
 
+    /**
+     * Composite component classification of {@link #value}, computed once when this attribute is compiled so that
+     * creating expressions at tree building time does not need to evaluate the {@link ELUtils} patterns again.
+     */
+    private final boolean compositeComponentExpr;
+
+    private final boolean compositeComponentLookupWithArgs;
+
+    private final boolean compositeComponentMethodExprLookup;
+
     private final String localName;
 
     private final Location location;
@@ -66,6 +76,9 @@ public class TagAttributeImpl extends TagAttribute {
 
     public TagAttributeImpl() {
         literal = false;
+        compositeComponentExpr = false;
+        compositeComponentLookupWithArgs = false;
+        compositeComponentMethodExprLookup = false;
         localName = null;
         location = null;
         namespace = null;
@@ -86,6 +99,15 @@ public class TagAttributeImpl extends TagAttribute {
         } catch (ELException e) {
             throw new TagAttributeException(this, e);
         }
+        if (value != null) {
+            compositeComponentExpr = ELUtils.isCompositeComponentExpr(value);
+            compositeComponentLookupWithArgs = ELUtils.isCompositeComponentLookupWithArgs(value);
+            compositeComponentMethodExprLookup = ELUtils.isCompositeComponentMethodExprLookup(value);
+        } else {
+            compositeComponentExpr = false;
+            compositeComponentLookupWithArgs = false;
+            compositeComponentMethodExprLookup = false;
+        }
     }
 
     /**
@@ -168,15 +190,15 @@ public class TagAttributeImpl extends TagAttribute {
 
         try {
             ExpressionFactory f = ctx.getExpressionFactory();
-            if (ELUtils.isCompositeComponentLookupWithArgs(value)) {
+            if (compositeComponentLookupWithArgs) {
                 String message = MessageUtils.getExceptionMessageString(ARGUMENTS_NOT_LEGAL_CC_ATTRS_EXPR);
                 throw new TagAttributeException(this, message);
             }
             // Determine if this is a composite component attribute lookup.
             // If so, look for a MethodExpression under the attribute key
-            if (ELUtils.isCompositeComponentMethodExprLookup(value)) {
+            if (compositeComponentMethodExprLookup) {
                 result = new AttributeLookupMethodExpression(getValueExpression(ctx, MethodExpression.class));
-            } else if (ELUtils.isCompositeComponentExpr(value)) {
+            } else if (compositeComponentExpr) {
                 MethodExpression delegate = new TagMethodExpression(this, f.createMethodExpression(ctx, value, type, paramTypes));
                 result = new ContextualCompositeMethodExpression(getLocation(), delegate);
             } else {
@@ -336,8 +358,9 @@ public class TagAttributeImpl extends TagAttribute {
         try {
             ExpressionFactory f = ctx.getExpressionFactory();
             ValueExpression delegate = f.createValueExpression(ctx, expr, type);
-            if (ELUtils.isCompositeComponentExpr(expr)) {
-                if (ELUtils.isCompositeComponentLookupWithArgs(expr)) {
+            boolean ownValue = expr == value;
+            if (ownValue ? compositeComponentExpr : ELUtils.isCompositeComponentExpr(expr)) {
+                if (ownValue ? compositeComponentLookupWithArgs : ELUtils.isCompositeComponentLookupWithArgs(expr)) {
                     String message = MessageUtils.getExceptionMessageString(ARGUMENTS_NOT_LEGAL_CC_ATTRS_EXPR);
                     throw new TagAttributeException(this, message);
                 }
@@ -18,6 +18,7 @@ package com.sun.faces.facelets.tag;
 
 import java.lang.reflect.Method;
 import java.net.URL;
+import java.util.function.Supplier;
 
 import com.sun.faces.util.Util;
 
@@ -42,6 +43,13 @@ public class TagLibraryImpl extends AbstractTagLibrary {
         this.addConverter(name, id, handlerClass);
     }
 
+    public void putConverter(String name, String id, Supplier<Class<?>> handlerClass) {
+        Util.notNull("name", name);
+        Util.notNull("id", id);
+        Util.notNull("handlerClass", handlerClass);
+        this.addConverter(name, id, handlerClass);
+    }
+
     public void putValidator(String name, String id) {
         Util.notNull("name", name);
         Util.notNull("id", id);
@@ -55,6 +63,13 @@ public class TagLibraryImpl extends AbstractTagLibrary {
         this.addValidator(name, id, handlerClass);
     }
 
+    public void putValidator(String name, String id, Supplier<Class<?>> handlerClass) {
+        Util.notNull("name", name);
+        Util.notNull("id", id);
+        Util.notNull("handlerClass", handlerClass);
+        this.addValidator(name, id, handlerClass);
+    }
+
     public void putBehavior(String name, String id) {
         Util.notNull("name", name);
         Util.notNull("id", id);
@@ -68,12 +83,25 @@ public class TagLibraryImpl extends AbstractTagLibrary {
         this.addBehavior(name, id, handlerClass);
     }
 
+    public void putBehavior(String name, String id, Supplier<Class<?>> handlerClass) {
+        Util.notNull("name", name);
+        Util.notNull("id", id);
+        Util.notNull("handlerClass", handlerClass);
+        this.addBehavior(name, id, handlerClass);
+    }
+
     public void putTagHandler(String name, Class type) {
         Util.notNull("name", name);
         Util.notNull("type", type);
         addTagHandler(name, type);
     }
 
+    public void putTagHandler(String name, Supplier<Class<?>> type) {
+        Util.notNull("name", name);
+        Util.notNull("type", type);
+        addTagHandler(name, type);
+    }
+
     public void putComponent(String name, String componentType, String rendererType) {
         Util.notNull("name", name);
         Util.notNull("componentType", componentType);
@@ -86,6 +114,12 @@ public class TagLibraryImpl extends AbstractTagLibrary {
         this.addComponent(name, componentType, rendererType, handlerClass);
     }
 
+    public void putComponent(String name, String componentType, String rendererType, Supplier<Class<?>> handlerClass) {
+        Util.notNull("name", name);
+        Util.notNull("handlerClass", handlerClass);
+        this.addComponent(name, componentType, rendererType, handlerClass);
+    }
+
     public void putUserTag(String name, URL source) {
         Util.notNull("name", name);
         Util.notNull("source", source);
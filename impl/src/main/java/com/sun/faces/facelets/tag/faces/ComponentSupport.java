@@ -211,7 +211,7 @@ public final class ComponentSupport {
             return null;
         }
         if (isPartialStateSaving(context)) {
-            result = getDescendantMarkIdCache(parent).get(id);
+            result = getFromDescendantMarkIdCache(parent, id);
         }
 
         return result;
@@ -231,7 +231,7 @@ public final class ComponentSupport {
     public static UIComponent findChildByTagId(FacesContext context, UIComponent parent, String id) {
         if (isPartialStateSaving(context)) {
             // fast path - get the child from the descendant mark id cache
-            return getDescendantMarkIdCache(parent).get(id);
+            return getFromDescendantMarkIdCache(parent, id);
         }
         else {
             // original impl - traverse the tree
@@ -298,98 +298,40 @@ public final class ComponentSupport {
         return null;
     }
 
-    @SuppressWarnings("unchecked")
-    private static Map<String, UIComponent> getDescendantMarkIdCache(UIComponent component) {
-        Map<String, UIComponent> descendantMarkIdCache = (Map<String, UIComponent>) component.getTransientStateHelper().getTransient(MARK_ID_CACHE);
-
-        if (descendantMarkIdCache == null) {
-            descendantMarkIdCache = new HashMap<String, UIComponent>();
-            component.getTransientStateHelper().putTransient(MARK_ID_CACHE, descendantMarkIdCache);
-        }
-
-        return descendantMarkIdCache;
-    }
-
     /**
-     * Adds the mark id of the specified {@link UIComponent} <code>otherComponent</code> to the mark id cache of this component,
-     * including all its descendant mark ids. Changes are propagated up the component tree.
+     * Used to add the mark ids of <code>otherComponent</code> to the mark id caches of <code>component</code> and its
+     * ancestors. It does nothing anymore, because {@link jakarta.faces.component.UIComponentBase} maintains these caches
+     * itself as children and facets are added.
+     *
+     * @param component the component whose cache was updated
+     * @param otherComponent the component added below it
+     * @deprecated The descendant mark id caches are maintained by {@link jakarta.faces.component.UIComponentBase}.
      */
+    @Deprecated(since = "5.0", forRemoval = true)
     public static void addToDescendantMarkIdCache(UIComponent component, UIComponent otherComponent) {
-        String markId = (String) otherComponent.getAttributes().get(MARK_CREATED);
-        if (markId != null) {
-            addSingleDescendantMarkId(component, markId, otherComponent);
-        }
-        Map<String, UIComponent> otherMarkIds = getDescendantMarkIdCache(otherComponent);
-        if (!otherMarkIds.isEmpty()) {
-            addAllDescendantMarkIds(component, otherMarkIds);
-        }
-    }
-
-    /**
-     * Adds the specified <code>markId</code> and its corresponding {@link UIComponent} <code>otherComponent</code>
-     * to the mark id cache of this component. Changes are propagated up the component tree.
-     */
-    private static void addSingleDescendantMarkId(UIComponent component, String markId, UIComponent otherComponent) {
-        getDescendantMarkIdCache(component).put(markId, otherComponent);
-        UIComponent parent = component.getParent();
-        if (parent != null) {
-            addSingleDescendantMarkId(parent, markId, otherComponent);
-        }
-    }
-
-    /**
-     * Adds all specified <code>otherMarkIds</code> to the mark id cache of this component.
-     * Changes are propagated up the component tree.
-     */
-    private static void addAllDescendantMarkIds(UIComponent component, Map<String, UIComponent> otherMarkIds) {
-        getDescendantMarkIdCache(component).putAll(otherMarkIds);
-        UIComponent parent = component.getParent();
-        if (parent != null) {
-            addAllDescendantMarkIds(parent, otherMarkIds);
-        }
     }
 
     /**
-     * Removes the mark id of the specified {@link UIComponent} <code>otherComponent</code> from the mark id cache of this component,
-     * including all its descendant mark ids. Changes are propagated up the component tree.
+     * Used to remove the mark ids of <code>otherComponent</code> from the mark id caches of <code>component</code> and
+     * its ancestors. It does nothing anymore, because {@link jakarta.faces.component.UIComponentBase} maintains these
+     * caches itself as children and facets are removed.
+     *
+     * @param component the component whose cache was updated
+     * @param otherComponent the component removed from below it
+     * @deprecated The descendant mark id caches are maintained by {@link jakarta.faces.component.UIComponentBase}.
      */
+    @Deprecated(since = "5.0", forRemoval = true)
     public static void removeFromDescendantMarkIdCache(UIComponent component, UIComponent otherComponent) {
-        String markId = (String) otherComponent.getAttributes().get(MARK_CREATED);
-        if (markId != null) {
-            removeSingleDescendantMarkId(component, markId);
-        }
-        Map<String, UIComponent> otherMarkIds = getDescendantMarkIdCache(otherComponent);
-        if (!otherMarkIds.isEmpty()) {
-            removeAllDescendantMarkIds(component, otherMarkIds);
-        }
-    }
-
-    /**
-     * Removes the specified <code>markId</code> from the mark id cache of this component.
-     * Changes are propagated up the component tree.
-     */
-    private static void removeSingleDescendantMarkId(UIComponent component, String markId) {
-        getDescendantMarkIdCache(component).remove(markId);
-        UIComponent parent = component.getParent();
-        if (parent != null) {
-            removeSingleDescendantMarkId(parent, markId);
-        }
     }
 
     /**
-     * Removes all specified <code>otherMarkIds</code> from the mark id cache of this component.
-     * Changes are propagated up the component tree.
+     * Returns the descendant of the given component with the given mark id. The descendant mark id caches are kept
+     * current by {@link jakarta.faces.component.UIComponentBase} as children and facets are added and removed.
      */
-    private static void removeAllDescendantMarkIds(UIComponent component, Map<String, UIComponent> otherMarkIds) {
-        Map<String, UIComponent> descendantMarkIdCache = getDescendantMarkIdCache(component);
-        Iterator<String> iterator = otherMarkIds.keySet().iterator();
-        while (iterator.hasNext()) {
-            descendantMarkIdCache.remove(iterator.next());
-        }
-        UIComponent parent = component.getParent();
-        if (parent != null) {
-            removeAllDescendantMarkIds(parent, otherMarkIds);
-        }
+    @SuppressWarnings("unchecked")
+    private static UIComponent getFromDescendantMarkIdCache(UIComponent component, String markId) {
+        Map<String, UIComponent> descendantMarkIdCache = (Map<String, UIComponent>) component.getTransientStateHelper().getTransient(MARK_ID_CACHE);
+        return descendantMarkIdCache != null ? descendantMarkIdCache.get(markId) : null;
     }
 
     /**
@@ -21,14 +21,16 @@ import static com.sun.faces.util.Util.getCdiBeanManager;
 
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.sun.faces.RIConstants;
+import com.sun.faces.lifecycle.ClientWindowRegistry;
+import com.sun.faces.lifecycle.ClientWindowState;
 
 import jakarta.enterprise.context.ContextNotActiveException;
 import jakarta.enterprise.context.spi.Context;
@@ -38,13 +40,11 @@ import jakarta.enterprise.event.Observes;
 import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.enterprise.inject.spi.BeforeShutdown;
 import jakarta.enterprise.inject.spi.PassivationCapable;
-import jakarta.faces.context.ExternalContext;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.flow.Flow;
 import jakarta.faces.flow.FlowHandler;
 import jakarta.faces.flow.FlowScoped;
 import jakarta.faces.lifecycle.ClientWindow;
-import jakarta.servlet.http.HttpSession;
 import jakarta.servlet.http.HttpSessionEvent;
 
 public class FlowCDIContext implements Context, Serializable {
@@ -103,140 +103,161 @@ public class FlowCDIContext implements Context, Serializable {
         this.flowIds = new ConcurrentHashMap<>(flowIds);
     }
 
-    private static final String PER_SESSION_BEAN_MAP_LIST = FlowCDIContext.class.getPackage().getName() + ".PER_SESSION_BEAN_MAP_LIST";
-    private static final String PER_SESSION_CREATIONAL_LIST = FlowCDIContext.class.getPackage().getName() + ".PER_SESSION_CREATIONAL_LIST";
-
     // -------------------------------------------------------- Private Methods
 
 
     /*
-     * Encapsulate access to the two maps we need to provide.
+     * Encapsulate access to the two maps we need to provide. They are held by the FlowScope of the current flow
+     * in the state of the current client window, see ClientWindowRegistry.
      *
      */
     private static class FlowScopeMapHelper {
-        private transient String flowBeansForClientWindowKey;
-        private transient String creationalForClientWindowKey;
-        private transient final Map<String, Object> sessionMap;
+        private final FacesContext facesContext;
+        private final FlowScopeKey key;
+        private ClientWindowState window;
+        private FlowScope flowScope;
 
         private FlowScopeMapHelper(FacesContext facesContext) {
-            ExternalContext extContext = facesContext.getExternalContext();
-            sessionMap = extContext.getSessionMap();
-
-            Flow currentFlow = getCurrentFlow(facesContext);
-            int currentFlowDepth = FlowHandlerImpl.getFlowStack(facesContext).getCurrentFlowDepth();
-
-            generateKeyForCDIBeansBelongToAFlow(facesContext, currentFlow, currentFlowDepth);
+            this(facesContext, getCurrentFlow(facesContext), FlowHandlerImpl.getFlowStack(facesContext).getCurrentFlowDepth());
         }
 
         private FlowScopeMapHelper(FacesContext facesContext, Flow flow, int flowDepth) {
-            ExternalContext extContext = facesContext.getExternalContext();
-            sessionMap = extContext.getSessionMap();
+            this.facesContext = facesContext;
 
-            generateKeyForCDIBeansBelongToAFlow(facesContext, flow, flowDepth);
-        }
-
-        private void generateKeyForCDIBeansBelongToAFlow(FacesContext facesContext, Flow flow, int flowDepth) {
             if (null != flow) {
                 ClientWindow curWindow = facesContext.getExternalContext().getClientWindow();
                 if (null == curWindow) {
                     throw new IllegalStateException("Unable to obtain current ClientWindow.  Is the ClientWindow feature enabled?");
                 }
 
-                final String clientWindow = flow.getClientWindowFlowId(curWindow);
-
-                flowBeansForClientWindowKey = clientWindow + ":" + flowDepth + "_beans";
-                creationalForClientWindowKey = clientWindow + ":" + flowDepth + "_creational";
-
+                key = new FlowScopeKey(flow.getDefiningDocumentId(), flow.getId(), flowDepth);
+                window = ClientWindowRegistry.getWindow(facesContext, curWindow.getId(), false);
+                flowScope = window != null ? window.getAttribute(key) : null;
             } else {
-                flowBeansForClientWindowKey = creationalForClientWindowKey = null;
+                key = null;
             }
         }
 
         private void createMaps() {
-            getFlowScopedBeanMapForCurrentFlow();
-            getFlowScopedCreationalMapForCurrentFlow();
+            getFlowScope();
         }
 
         private boolean isFlowExists() {
-            return null != flowBeansForClientWindowKey && null != creationalForClientWindowKey;
+            return null != key;
         }
 
-        public String getCreationalForClientWindowKey() {
-            return creationalForClientWindowKey;
+        private FlowScope getFlowScope() {
+            if (flowScope == null && key != null) {
+                if (window == null) {
+                    window = ClientWindowRegistry.getWindow(facesContext, facesContext.getExternalContext().getClientWindow().getId(), true);
+                }
+                flowScope = window.computeAttributeIfAbsent(key, k -> new FlowScope());
+            }
+            return flowScope;
         }
 
-        public String getFlowBeansForClientWindowKey() {
-            return flowBeansForClientWindowKey;
+        private void removeFlowScope() {
+            if (flowScope != null) {
+                flowScope.clear();
+                window.removeAttribute(key);
+                flowScope = null;
+            }
         }
 
         private Map<String, Object> getFlowScopedBeanMapForCurrentFlow() {
-            if (null == flowBeansForClientWindowKey && null == creationalForClientWindowKey) {
+            if (null == key) {
                 return Collections.emptyMap();
             }
-            Map<String, Object> result;
-            result = (Map<String, Object>) sessionMap.get(flowBeansForClientWindowKey);
-            if (null == result) {
-                result = new ConcurrentHashMap<>();
-                sessionMap.put(flowBeansForClientWindowKey, result);
-                ensureBeanMapCleanupOnSessionDestroyed(sessionMap, flowBeansForClientWindowKey);
-            }
-            return result;
+            return getFlowScope().beans;
         }
 
         private Map<String, CreationalContext<?>> getFlowScopedCreationalMapForCurrentFlow() {
-            if (null == flowBeansForClientWindowKey && null == creationalForClientWindowKey) {
+            if (null == key) {
                 return Collections.emptyMap();
             }
-            Map<String, CreationalContext<?>> result;
-            result = (Map<String, CreationalContext<?>>) sessionMap.get(creationalForClientWindowKey);
-            if (null == result) {
-                result = new ConcurrentHashMap<>();
-                sessionMap.put(creationalForClientWindowKey, result);
-                ensureCreationalCleanupOnSessionDestroyed(sessionMap, creationalForClientWindowKey);
-            }
-            return result;
+            return getFlowScope().creationals;
         }
 
         private void updateSession() {
-            if (flowBeansForClientWindowKey == null && creationalForClientWindowKey == null) {
+            if (key == null) {
                 return;
             }
 
-            sessionMap.put(flowBeansForClientWindowKey, getFlowScopedBeanMapForCurrentFlow());
-            sessionMap.put(creationalForClientWindowKey, getFlowScopedCreationalMapForCurrentFlow());
-
-            Object obj = sessionMap.get(PER_SESSION_BEAN_MAP_LIST);
-            if (obj != null) {
-                sessionMap.put(PER_SESSION_BEAN_MAP_LIST, obj);
+            ClientWindowRegistry registry = ClientWindowRegistry.getInstance(facesContext, false);
+            if (registry != null) {
+                registry.update(facesContext.getExternalContext());
             }
+        }
+    }
+
+    /*
+     * Identifies a flow of a client window, it is the key of the FlowScope in the ClientWindowState.
+     */
+    private static final class FlowScopeKey implements Serializable {
+
+        private static final long serialVersionUID = 1L;
 
-            obj = sessionMap.get(PER_SESSION_CREATIONAL_LIST);
-            if (obj != null) {
-                sessionMap.put(PER_SESSION_CREATIONAL_LIST, obj);
+        private final String definingDocumentId;
+        private final String flowId;
+        private final int depth;
+
+        FlowScopeKey(String definingDocumentId, String flowId, int depth) {
+            this.definingDocumentId = definingDocumentId;
+            this.flowId = flowId;
+            this.depth = depth;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof FlowScopeKey)) {
+                return false;
             }
+            FlowScopeKey other = (FlowScopeKey) obj;
+            return depth == other.depth && Objects.equals(flowId, other.flowId) && Objects.equals(definingDocumentId, other.definingDocumentId);
         }
-    }
 
-    private static void ensureBeanMapCleanupOnSessionDestroyed(Map<String, Object> sessionMap, String flowBeansForClientWindow) {
-        @SuppressWarnings("unchecked")
-        List<String> beanMapList = (List<String>) sessionMap.get(PER_SESSION_BEAN_MAP_LIST);
-        if (beanMapList == null) {
-            beanMapList = new ArrayList<>();
-            sessionMap.put(PER_SESSION_BEAN_MAP_LIST, beanMapList);
+        @Override
+        public int hashCode() {
+            return Objects.hash(definingDocumentId, flowId, depth);
         }
 
-        beanMapList.add(flowBeansForClientWindow);
+        @Override
+        public String toString() {
+            return "FlowScopeKey{" + "definingDocumentId=" + definingDocumentId + ", flowId=" + flowId + ", depth=" + depth + '}';
+        }
     }
 
-    private static void ensureCreationalCleanupOnSessionDestroyed(Map<String, Object> sessionMap, String creationalForClientWindow) {
-        @SuppressWarnings("unchecked")
-        List<String> beanMapList = (List<String>) sessionMap.get(PER_SESSION_CREATIONAL_LIST);
-        if (beanMapList == null) {
-            beanMapList = new ArrayList<>();
-            sessionMap.put(PER_SESSION_CREATIONAL_LIST, beanMapList);
+    /*
+     * The beans of a flow of a client window and their creational contexts.
+     */
+    private static final class FlowScope implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, Object> beans = new ConcurrentHashMap<>();
+        private final Map<String, CreationalContext<?>> creationals = new ConcurrentHashMap<>();
+
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        private void destroy(BeanManager beanManager) {
+            if (beanManager != null) {
+                for (Entry<String, Object> entry : beans.entrySet()) {
+                    if (FLOW_SCOPE_MAP_KEY.equals(entry.getKey())) {
+                        continue;
+                    }
+                    Contextual owner = beanManager.getPassivationCapableBean(entry.getKey());
+                    if (owner != null) {
+                        owner.destroy(entry.getValue(), creationals.get(entry.getKey()));
+                    }
+                }
+            }
+
+            clear();
         }
 
-        beanMapList.add(creationalForClientWindow);
+        private void clear() {
+            beans.clear();
+            creationals.clear();
+        }
     }
 
     private final void assertNotReleased() {
@@ -262,34 +283,37 @@ public class FlowCDIContext implements Context, Serializable {
     /*
      * Called from WebappLifecycleListener.sessionDestroyed()
      */
-    @SuppressWarnings("unchecked")
     public static void sessionDestroyed(HttpSessionEvent httpSessionEvent) {
-        HttpSession session = httpSessionEvent.getSession();
-
-        List<String> beanMapList = (List<String>) session.getAttribute(PER_SESSION_BEAN_MAP_LIST);
-        if (beanMapList != null) {
-            for (String beanMapName : beanMapList) {
-                Map<Contextual<?>, Object> beanMap = (Map<Contextual<?>, Object>) session.getAttribute(beanMapName);
-                beanMap.clear();
-                session.removeAttribute(beanMapName);
-            }
-            session.removeAttribute(PER_SESSION_BEAN_MAP_LIST);
-            beanMapList.clear();
+        ClientWindowRegistry registry = ClientWindowRegistry.getInstance(httpSessionEvent.getSession());
+        if (registry == null) {
+            return;
         }
 
-        List<String> creationalList = (List<String>) session.getAttribute(PER_SESSION_CREATIONAL_LIST);
-        if (creationalList != null) {
-            for (String creationalName : creationalList) {
-                Map<Contextual<?>, CreationalContext<?>> creationalMap = (Map<Contextual<?>, CreationalContext<?>>) session.getAttribute(creationalName);
-                creationalMap.clear();
-                session.removeAttribute(creationalName);
-            }
-            session.removeAttribute(PER_SESSION_CREATIONAL_LIST);
-            creationalList.clear();
+        for (ClientWindowState window : registry.getWindows()) {
+            clientWindowDestroyed(window);
         }
 
     }
 
+    /*
+     * Called when a client window is destroyed, either with its session or because its session no longer retains it.
+     * The beans of the flows of the window are destroyed, which invokes their @PreDestroy methods.
+     */
+    public static void clientWindowDestroyed(ClientWindowState window) {
+        BeanManager beanManager = null;
+
+        for (Iterator<Object> attributes = window.getAttributes().values().iterator(); attributes.hasNext();) {
+            Object attribute = attributes.next();
+            if (attribute instanceof FlowScope) {
+                attributes.remove();
+                if (beanManager == null) {
+                    beanManager = getCdiBeanManager(FacesContext.getCurrentInstance());
+                }
+                ((FlowScope) attribute).destroy(beanManager);
+            }
+        }
+    }
+
     static Map<Object, Object> getCurrentFlowScopeAndUpdateSession() {
         return getCurrentFlowScopeAndUpdateSession(new FlowScopeMapHelper(FacesContext.getCurrentInstance()));
 
@@ -330,8 +354,7 @@ public class FlowCDIContext implements Context, Serializable {
             owner.destroy(bean, creational);
         }
 
-        flowScopedBeanMap.clear();
-        creationalMap.clear();
+        mapHelper.removeFlowScope();
         mapHelper.updateSession();
         getBeanReference(beanManager, FlowCDIEventFireHelperImpl.class).fireDestroyedEvent(currentFlow);
     }
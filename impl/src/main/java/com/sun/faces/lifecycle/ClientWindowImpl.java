@@ -19,8 +19,6 @@ package com.sun.faces.lifecycle;
 import static com.sun.faces.renderkit.RenderKitUtils.PredefinedPostbackParameter.CLIENT_WINDOW_PARAM;
 
 import java.util.Map;
-import jakarta.faces.component.UINamingContainer;
-import jakarta.faces.context.ExternalContext;
 import jakarta.faces.context.FacesContext;
 import jakarta.faces.lifecycle.ClientWindow;
 import jakarta.faces.render.ResponseStateManager;
@@ -56,19 +54,7 @@ public class ClientWindowImpl extends ClientWindow {
     }
 
     private String calculateClientWindow(FacesContext context) {
-        synchronized (context.getExternalContext().getSession(true)) {
-            final String clientWindowCounterKey = "com.sun.faces.lifecycle.ClientWindowCounterKey";
-            ExternalContext extContext = context.getExternalContext();
-            Map<String, Object> sessionAttrs = extContext.getSessionMap();
-            Integer counter = (Integer) sessionAttrs.get(clientWindowCounterKey);
-            if (null == counter) {
-                counter = Integer.valueOf(0);
-            }
-            char sep = UINamingContainer.getSeparatorChar(context);
-            id = tokenGenerator.getNextToken() + sep + ++counter;
-
-            sessionAttrs.put(clientWindowCounterKey, counter);
-        }
+        id = ClientWindowRegistry.getInstance(context, true).nextId(context, tokenGenerator);
         return id;
     }
 
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.lifecycle;
+
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.NumberOfClientWindows;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.faces.cdi.clientwindow.ClientWindowScopeManager;
+import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.flow.FlowCDIContext;
+import com.sun.faces.util.ConcurrentLRUMap;
+import com.sun.faces.util.FacesLogger;
+
+import jakarta.faces.component.UINamingContainer;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.lifecycle.ClientWindow;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * <p>
+ * The client windows of a session. It is the single session attribute holding the per window state of the
+ * implementation, such as the client window scoped and the flow scoped beans, so that looking up the state of the
+ * current window is one map lookup by window id instead of several session attribute lookups by composite keys.
+ * </p>
+ *
+ * <p>
+ * It also hands out the ids of new client windows: a random token drawn once per session followed by a per session
+ * counter in base 36, which is short and needs no lock. The number of windows whose state is retained is bounded by
+ * <code>jakarta.faces.NUMBER_OF_CLIENT_WINDOWS</code>, the least recently used window is forgotten first. The client
+ * window scoped and flow scoped beans of a forgotten window are destroyed like the ones of a destroyed session.
+ * </p>
+ */
+public final class ClientWindowRegistry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOGGER = FacesLogger.CLIENTWINDOW.getLogger();
+
+    private static final String SESSION_ATTRIBUTE_NAME = ClientWindowRegistry.class.getName();
+    private static final String CURRENT_WINDOW_ATTRIBUTE_NAME = ClientWindowRegistry.class.getName() + ".CURRENT";
+
+    private volatile String token;
+    private final AtomicInteger counter = new AtomicInteger();
+    private final ConcurrentLRUMap<String, ClientWindowState> windows;
+
+    private ClientWindowRegistry(int maxWindows) {
+        windows = new ConcurrentLRUMap<>(maxWindows, new WindowDestroyer());
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param context the {@link FacesContext} for the current request
+     * @param create <code>true</code> to create the registry, and the session, if necessary
+     * @return the registry of the current session, or <code>null</code> if there is none and <code>create</code> is
+     * <code>false</code>
+     */
+    public static ClientWindowRegistry getInstance(FacesContext context, boolean create) {
+        ExternalContext extContext = context.getExternalContext();
+        Object session = extContext.getSession(create);
+        if (session == null) {
+            return null;
+        }
+
+        Map<String, Object> sessionMap = extContext.getSessionMap();
+        ClientWindowRegistry registry = (ClientWindowRegistry) sessionMap.get(SESSION_ATTRIBUTE_NAME);
+
+        if (registry == null && create) {
+            synchronized (session) {
+                registry = (ClientWindowRegistry) sessionMap.get(SESSION_ATTRIBUTE_NAME);
+                if (registry == null) {
+                    registry = new ClientWindowRegistry(getMaxWindows(extContext));
+                    sessionMap.put(SESSION_ATTRIBUTE_NAME, registry);
+                }
+            }
+        }
+
+        return registry;
+    }
+
+    /**
+     * @param session the session
+     * @return the registry of the given session, or <code>null</code> if there is none
+     */
+    public static ClientWindowRegistry getInstance(HttpSession session) {
+        return (ClientWindowRegistry) session.getAttribute(SESSION_ATTRIBUTE_NAME);
+    }
+
+    /**
+     * <p>
+     * Returns the state of the window with the given id. The state of the current window is remembered for the rest of
+     * the request, so that the subsequent lookups do not touch the session.
+     * </p>
+     *
+     * @param context the {@link FacesContext} for the current request
+     * @param clientWindowId the id of the window, usually the one of {@link ExternalContext#getClientWindow()}
+     * @param create <code>true</code> to create the state, the registry and the session if necessary
+     * @return the state of the window, or <code>null</code> if there is none and <code>create</code> is <code>false</code>
+     */
+    public static ClientWindowState getWindow(FacesContext context, String clientWindowId, boolean create) {
+        if (clientWindowId == null) {
+            return null;
+        }
+
+        Map<Object, Object> attributes = context.getAttributes();
+        ClientWindowState window = (ClientWindowState) attributes.get(CURRENT_WINDOW_ATTRIBUTE_NAME);
+        if (window != null && window.getId().equals(clientWindowId)) {
+            return window;
+        }
+
+        ClientWindowRegistry registry = getInstance(context, create);
+        if (registry == null) {
+            return null;
+        }
+
+        window = registry.windows.get(clientWindowId);
+        if (window == null && create) {
+            ClientWindowState created = new ClientWindowState(clientWindowId);
+            window = registry.windows.putIfAbsent(clientWindowId, created);
+            if (window == null) {
+                window = created;
+                registry.update(context.getExternalContext());
+            }
+        }
+
+        if (window != null) {
+            attributes.put(CURRENT_WINDOW_ATTRIBUTE_NAME, window);
+        }
+
+        return window;
+    }
+
+    /**
+     * @param context the {@link FacesContext} for the current request
+     * @param create <code>true</code> to create the state, the registry and the session if necessary
+     * @return the state of the current client window, or <code>null</code> if there is no current client window
+     */
+    public static ClientWindowState getCurrentWindow(FacesContext context, boolean create) {
+        ClientWindow clientWindow = context.getExternalContext().getClientWindow();
+        return clientWindow != null ? getWindow(context, clientWindow.getId(), create) : null;
+    }
+
+    /**
+     * @return the state of all the retained windows of this session
+     */
+    public Collection<ClientWindowState> getWindows() {
+        return windows.values();
+    }
+
+    /**
+     * Set the registry again as session attribute, so that the container replicates the changes of the window states.
+     *
+     * @param extContext the {@link ExternalContext} for the current request
+     */
+    public void update(ExternalContext extContext) {
+        extContext.getSessionMap().put(SESSION_ATTRIBUTE_NAME, this);
+    }
+
+    // ------------------------------------------------------- Package Private Methods
+
+    /**
+     * @return the id for a new client window of this session
+     */
+    String nextId(FacesContext context, TokenGenerator tokenGenerator) {
+        String sessionToken = token;
+        if (sessionToken == null) {
+            synchronized (this) {
+                if (token == null) {
+                    token = tokenGenerator.getNextToken();
+                }
+                sessionToken = token;
+            }
+        }
+
+        return sessionToken + UINamingContainer.getSeparatorChar(context) + Integer.toString(counter.incrementAndGet(), 36);
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static void destroy(ClientWindowState window) {
+        FacesContext context = FacesContext.getCurrentInstance();
+        FlowCDIContext.clientWindowDestroyed(window);
+
+        Object clientWindowScopeManager = context != null ? context.getExternalContext().getApplicationMap().get(ClientWindowScopeManager.CLIENT_WINDOW_SCOPE_MANAGER) : null;
+        if (clientWindowScopeManager instanceof ClientWindowScopeManager) {
+            ((ClientWindowScopeManager) clientWindowScopeManager).clientWindowDestroyed(window);
+        }
+    }
+
+    private static int getMaxWindows(ExternalContext extContext) {
+        try {
+            return Math.max(1, Integer.parseInt(WebConfiguration.getInstance(extContext).getOptionValue(NumberOfClientWindows)));
+        } catch (NumberFormatException nfe) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "Unable to set number of client windows.  Defaulting to {0}", NumberOfClientWindows.getDefaultValue());
+            }
+            return Integer.parseInt(NumberOfClientWindows.getDefaultValue());
+        }
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    /**
+     * Destroys the state of the windows forgotten because of the bound on the number of windows.
+     */
+    private static final class WindowDestroyer implements ConcurrentLRUMap.EvictionListener<String, ClientWindowState> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void onEviction(String clientWindowId, ClientWindowState window) {
+            try {
+                destroy(window);
+            } catch (RuntimeException e) {
+                // The window is evicted while serving another window, whose request should not fail because of it.
+                LOGGER.log(Level.WARNING, "Unable to destroy the state of client window " + clientWindowId, e);
+            }
+        }
+    }
+
+}
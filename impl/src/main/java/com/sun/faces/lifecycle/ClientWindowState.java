@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.lifecycle;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * The state the implementation keeps for a client window of a session, see {@link ClientWindowRegistry}. Each feature
+ * stores its state under its own key, which can be any object with proper equality, so no key has to be built from the
+ * window id.
+ * </p>
+ */
+public final class ClientWindowState implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String id;
+    private final ConcurrentMap<Object, Object> attributes = new ConcurrentHashMap<>();
+
+    ClientWindowState(String id) {
+        this.id = id;
+    }
+
+    /**
+     * @return the id of the client window
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @param <T> the type of the attribute
+     * @param key the key of the attribute
+     * @return the attribute, or <code>null</code> if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getAttribute(Object key) {
+        return (T) attributes.get(key);
+    }
+
+    /**
+     * @param <T> the type of the attribute
+     * @param key the key of the attribute
+     * @param factory creates the attribute if there is none yet
+     * @return the existing or created attribute
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T computeAttributeIfAbsent(Object key, Function<Object, T> factory) {
+        return (T) attributes.computeIfAbsent(key, factory);
+    }
+
+    /**
+     * @param <T> the type of the attribute
+     * @param key the key of the attribute
+     * @return the removed attribute, or <code>null</code> if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T removeAttribute(Object key) {
+        return (T) attributes.remove(key);
+    }
+
+    /**
+     * @return the attributes of the client window, by key
+     */
+    public ConcurrentMap<Object, Object> getAttributes() {
+        return attributes;
+    }
+
+}
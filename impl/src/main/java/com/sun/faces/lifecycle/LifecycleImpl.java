@@ -22,6 +22,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.lifecycle.profiler.LifecycleProfiler;
 import com.sun.faces.util.FacesLogger;
 import com.sun.faces.util.MessageUtils;
 import com.sun.faces.util.Util;
@@ -67,10 +68,23 @@ public class LifecycleImpl extends Lifecycle {
     // List for registered PhaseListeners
     private List<PhaseListener> listeners = new CopyOnWriteArrayList<>();
 
+    // The profiler timing the phases, null unless the profiler is enabled
+    private LifecycleProfiler profiler;
+
     public LifecycleImpl() {
     }
 
     public LifecycleImpl(FacesContext context) {
+        if (context != null) {
+            profiler = LifecycleProfiler.create(context);
+        }
+    }
+
+    /**
+     * @return the {@link LifecycleProfiler} of this lifecycle, or <code>null</code> if profiling is disabled
+     */
+    public LifecycleProfiler getProfiler() {
+        return profiler;
     }
 
 
@@ -122,6 +136,10 @@ public class LifecycleImpl extends Lifecycle {
             LOGGER.fine("execute(" + context + ")");
         }
 
+        if (profiler != null) {
+            profiler.attach(context);
+        }
+
         for (int i = 1, len = phases.length - 1; i < len; i++) { // Skip ANY_PHASE placeholder
 
             if (context.getRenderResponse() || context.getResponseComplete()) {
@@ -146,6 +164,10 @@ public class LifecycleImpl extends Lifecycle {
             LOGGER.fine("render(" + context + ")");
         }
 
+        if (profiler != null) {
+            profiler.attach(context);
+        }
+
         if (!context.getResponseComplete()) {
             response.doPhase(context, this, listeners.listIterator());
         }
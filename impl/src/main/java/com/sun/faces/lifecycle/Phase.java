@@ -20,6 +20,8 @@ import java.util.ListIterator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.sun.faces.lifecycle.profiler.LifecycleProfiler;
+import com.sun.faces.lifecycle.profiler.Measurement;
 import com.sun.faces.util.FacesLogger;
 import com.sun.faces.util.Timer;
 
@@ -66,14 +68,22 @@ public abstract class Phase {
             timer.startTiming();
         }
 
+        LifecycleProfiler profiler = lifecycle instanceof LifecycleImpl ? ((LifecycleImpl) lifecycle).getProfiler() : null;
+        long start = profiler != null ? System.nanoTime() : 0;
+        long listenerNanos = 0;
+
         try {
             handleBeforePhase(context, listeners, event);
+            if (profiler != null) {
+                listenerNanos = System.nanoTime() - start;
+            }
             if (!shouldSkip(context)) {
                 execute(context);
             }
         } catch (Throwable e) {
             queueException(context, e);
         } finally {
+            long afterPhaseStart = profiler != null ? System.nanoTime() : 0;
             try {
                 handleAfterPhase(context, listeners, event);
             } catch (Throwable e) {
@@ -84,6 +94,11 @@ public abstract class Phase {
                 timer.stopTiming();
                 timer.logResult("Execution time for phase (including any PhaseListeners) -> " + getId().toString());
             }
+            if (profiler != null) {
+                long end = System.nanoTime();
+                profiler.record(context, Measurement.PHASE_LISTENERS, listenerNanos + end - afterPhaseStart);
+                profiler.record(context, Measurement.of(getId()), end - start);
+            }
 
             context.getExceptionHandler().handle();
         }
@@ -22,6 +22,8 @@ import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.sun.faces.lifecycle.profiler.LifecycleProfiler;
+import com.sun.faces.lifecycle.profiler.Measurement;
 import com.sun.faces.util.DebugUtil;
 import com.sun.faces.util.FacesLogger;
 
@@ -67,7 +69,12 @@ public class RenderResponsePhase extends Phase {
 
             ViewDeclarationLanguage vdl = vh.getViewDeclarationLanguage(facesContext, facesContext.getViewRoot().getViewId());
             if (vdl != null) {
+                LifecycleProfiler profiler = LifecycleProfiler.getInstance(facesContext);
+                long start = profiler != null ? System.nanoTime() : 0;
                 vdl.buildView(facesContext, facesContext.getViewRoot());
+                if (profiler != null) {
+                    profiler.record(facesContext, Measurement.BUILD_VIEW, System.nanoTime() - start);
+                }
             }
 
             Application application = facesContext.getApplication();
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.lifecycle.profiler;
+
+import java.util.Collection;
+
+/**
+ * <p>
+ * Publishes the data collected by the {@link LifecycleProfiler}. The implementation class is configured with the
+ * <code>com.sun.faces.lifecycleProfilerReporter</code> context parameter and must have a public no-argument
+ * constructor. By default the {@link LoggingLifecycleProfileReporter} is used.
+ * </p>
+ *
+ * <p>
+ * Reporters are invoked every <code>com.sun.faces.lifecycleProfilerReportInterval</code> seconds (if positive), when the
+ * <code>report</code> operation of the {@link LifecycleProfilerMBean} is invoked, and when the application is shut
+ * down.
+ * </p>
+ */
+public interface LifecycleProfileReporter {
+
+    /**
+     * @param profiles the profiles of all the views processed so far
+     */
+    void report(Collection<ViewProfile> profiles);
+
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.lifecycle.profiler;
+
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableLifecycleProfiler;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.LifecycleProfilerMaxViews;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.LifecycleProfilerReportInterval;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.LifecycleProfilerReporter;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.util.FacesLogger;
+import com.sun.faces.util.MojarraThreadFactory;
+import com.sun.faces.util.ReflectionUtils;
+
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.context.ExternalContext;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.event.AbortProcessingException;
+import jakarta.faces.event.PreDestroyApplicationEvent;
+import jakarta.faces.event.SystemEvent;
+import jakarta.faces.event.SystemEventListener;
+
+/**
+ * <p>
+ * Records, per view id, how long each phase of the lifecycle takes (including the phase listeners), as well as the
+ * build view, state saving and response flushing sub-timings of the render response phase.
+ * </p>
+ *
+ * <p>
+ * The profiler is enabled with the <code>com.sun.faces.enableLifecycleProfiler</code> context parameter. When it is
+ * disabled the {@link com.sun.faces.lifecycle.LifecycleImpl} does not create one and the instrumented code paths only
+ * perform a <code>null</code> check. Recording is lock-free, see {@link LatencyHistogram}. The collected data is
+ * available through JMX, as <code>com.sun.faces:type=LifecycleProfiler,name=&lt;context path&gt;</code>, and is
+ * published to a {@link LifecycleProfileReporter}.
+ * </p>
+ *
+ * <p>
+ * Since every request URL gets a view root, also the ones of nonexistent views, the number of profiled views is bounded
+ * by the <code>com.sun.faces.lifecycleProfilerMaxViews</code> context parameter. Once it is reached, the timings of the
+ * views which were not profiled yet are recorded for the {@link #UNKNOWN_VIEW_ID}.
+ * </p>
+ */
+public class LifecycleProfiler implements LifecycleProfilerMBean {
+
+    private static final Logger LOGGER = FacesLogger.LIFECYCLE.getLogger();
+
+    private static final String PROFILER_KEY = LifecycleProfiler.class.getName();
+
+    /**
+     * View id used for the requests without a view root, for example when the restore view phase failed, and for the
+     * views beyond the maximum number of profiled views.
+     */
+    static final String UNKNOWN_VIEW_ID = "";
+
+    private final ConcurrentMap<String, ViewProfile> profiles = new ConcurrentHashMap<>();
+    private final LifecycleProfileReporter reporter;
+    private final int maxViews;
+    private ScheduledExecutorService scheduler;
+    private ObjectName objectName;
+
+    // ------------------------------------------------------------ Constructors
+
+    LifecycleProfiler(LifecycleProfileReporter reporter, int maxViews) {
+        this.reporter = reporter;
+        this.maxViews = maxViews;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    /**
+     * @param context the {@link FacesContext} used during startup
+     * @return a new started profiler, or <code>null</code> if profiling is disabled
+     */
+    public static LifecycleProfiler create(FacesContext context) {
+        ExternalContext externalContext = context.getExternalContext();
+        WebConfiguration config = WebConfiguration.getInstance(externalContext);
+        if (!config.isOptionEnabled(EnableLifecycleProfiler)) {
+            return null;
+        }
+
+        LifecycleProfiler profiler = new LifecycleProfiler(createReporter(config.getOptionValue(LifecycleProfilerReporter)),
+                parseMaxViews(config.getOptionValue(LifecycleProfilerMaxViews)));
+        profiler.registerMBean(externalContext.getApplicationContextPath());
+        profiler.scheduleReports(config.getOptionValue(LifecycleProfilerReportInterval));
+        context.getApplication().subscribeToEvent(PreDestroyApplicationEvent.class, new SystemEventListener() {
+
+            @Override
+            public boolean isListenerForSource(Object source) {
+                return true;
+            }
+
+            @Override
+            public void processEvent(SystemEvent event) throws AbortProcessingException {
+                profiler.destroy();
+            }
+        });
+
+        return profiler;
+    }
+
+    /**
+     * @param context the {@link FacesContext} for the current request
+     * @return the profiler attached to the current request, or <code>null</code> if profiling is disabled
+     */
+    public static LifecycleProfiler getInstance(FacesContext context) {
+        return (LifecycleProfiler) context.getAttributes().get(PROFILER_KEY);
+    }
+
+    /**
+     * Make this profiler available to the code executed during the current request, see
+     * {@link #getInstance(FacesContext)}.
+     *
+     * @param context the {@link FacesContext} for the current request
+     */
+    public void attach(FacesContext context) {
+        context.getAttributes().put(PROFILER_KEY, this);
+    }
+
+    /**
+     * Record a duration for the view of the current request.
+     *
+     * @param context the {@link FacesContext} for the current request
+     * @param measurement what has been measured
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(FacesContext context, Measurement measurement, long nanos) {
+        UIViewRoot viewRoot = context.getViewRoot();
+        String viewId = viewRoot != null ? viewRoot.getViewId() : null;
+        record(viewId != null ? viewId : UNKNOWN_VIEW_ID, measurement, nanos);
+    }
+
+    public Collection<ViewProfile> getProfiles() {
+        return Collections.unmodifiableCollection(profiles.values());
+    }
+
+    public ViewProfile getProfile(String viewId) {
+        return profiles.get(viewId);
+    }
+
+    // ----------------------------------------------- Methods from LifecycleProfilerMBean
+
+    @Override
+    public String[] getViewIds() {
+        return profiles.keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public long getCount(String viewId, String measurement) {
+        LatencyHistogram histogram = getHistogram(viewId, measurement);
+        return histogram != null ? histogram.getCount() : 0;
+    }
+
+    @Override
+    public double getMeanMillis(String viewId, String measurement) {
+        LatencyHistogram histogram = getHistogram(viewId, measurement);
+        return histogram != null ? histogram.getMeanMillis() : 0;
+    }
+
+    @Override
+    public double getPercentileMillis(String viewId, String measurement, double percentile) {
+        LatencyHistogram histogram = getHistogram(viewId, measurement);
+        return histogram != null ? histogram.getPercentileMillis(percentile) : 0;
+    }
+
+    @Override
+    public double getMaxMillis(String viewId, String measurement) {
+        LatencyHistogram histogram = getHistogram(viewId, measurement);
+        return histogram != null ? histogram.getMaxMillis() : 0;
+    }
+
+    @Override
+    public void report() {
+        try {
+            reporter.report(getProfiles());
+        } catch (RuntimeException e) {
+            LOGGER.log(WARNING, "Unable to report the lifecycle profile", e);
+        }
+    }
+
+    @Override
+    public void reset() {
+        for (ViewProfile profile : profiles.values()) {
+            profile.reset();
+        }
+    }
+
+    // ------------------------------------------------------- Package Private Methods
+
+    void record(String viewId, Measurement measurement, long nanos) {
+        ViewProfile profile = profiles.get(viewId);
+        if (profile == null) {
+            // The bound may be exceeded by a few views when they are first recorded concurrently, which is harmless.
+            profile = profiles.computeIfAbsent(profiles.size() < maxViews ? viewId : UNKNOWN_VIEW_ID, ViewProfile::new);
+        }
+
+        profile.record(measurement, nanos);
+    }
+
+    void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+
+        report();
+
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (JMException | SecurityException e) {
+                LOGGER.log(FINE, "Unable to unregister " + objectName, e);
+            }
+            objectName = null;
+        }
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private static LifecycleProfileReporter createReporter(String className) {
+        if (className != null && !className.isEmpty()) {
+            try {
+                LifecycleProfileReporter reporter = (LifecycleProfileReporter) ReflectionUtils.newInstance(className);
+                if (reporter != null) {
+                    return reporter;
+                }
+            } catch (ReflectiveOperationException | ClassCastException | IllegalArgumentException | SecurityException e) {
+                LOGGER.log(WARNING, "Unable to create the lifecycle profile reporter " + className + ", using the default one", e);
+            }
+        }
+
+        return new LoggingLifecycleProfileReporter();
+    }
+
+    private static int parseMaxViews(String maxViews) {
+        try {
+            return Math.max(0, Integer.parseInt(maxViews));
+        } catch (NumberFormatException e) {
+            LOGGER.log(WARNING, "Invalid lifecycle profiler maximum number of views {0}", maxViews);
+            return Integer.parseInt(LifecycleProfilerMaxViews.getDefaultValue());
+        }
+    }
+
+    private void registerMBean(String contextPath) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("com.sun.faces:type=LifecycleProfiler,name=" + ObjectName.quote(contextPath.isEmpty() ? "/" : contextPath));
+            server.registerMBean(this, name);
+            objectName = name;
+        } catch (JMException | SecurityException e) {
+            LOGGER.log(WARNING, "Unable to register the lifecycle profiler with JMX", e);
+        }
+    }
+
+    private void scheduleReports(String interval) {
+        long seconds;
+        try {
+            seconds = Long.parseLong(interval);
+        } catch (NumberFormatException e) {
+            LOGGER.log(WARNING, "Invalid lifecycle profiler report interval {0}", interval);
+            return;
+        }
+
+        if (seconds > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(new MojarraThreadFactory("LifecycleProfiler"));
+            scheduler.scheduleAtFixedRate(this::report, seconds, seconds, TimeUnit.SECONDS);
+        }
+    }
+
+    private LatencyHistogram getHistogram(String viewId, String measurement) {
+        ViewProfile profile = profiles.get(viewId);
+        return profile != null ? profile.getHistogram(Measurement.valueOf(measurement)) : null;
+    }
+
+}
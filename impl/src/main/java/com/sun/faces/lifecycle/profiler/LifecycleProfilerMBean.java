@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.lifecycle.profiler;
+
+/**
+ * JMX management interface of the {@link LifecycleProfiler}. Measurements are referenced by their
+ * {@link Measurement} name.
+ */
+public interface LifecycleProfilerMBean {
+
+    String[] getViewIds();
+
+    long getCount(String viewId, String measurement);
+
+    double getMeanMillis(String viewId, String measurement);
+
+    double getPercentileMillis(String viewId, String measurement, double percentile);
+
+    double getMaxMillis(String viewId, String measurement);
+
+    /**
+     * Invoke the configured {@link LifecycleProfileReporter}.
+     */
+    void report();
+
+    /**
+     * Discard everything recorded so far.
+     */
+    void reset();
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.lifecycle.profiler;
+
+import static java.util.logging.Level.INFO;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+import com.sun.faces.util.FacesLogger;
+
+/**
+ * Default {@link LifecycleProfileReporter} logging one line per view and measurement to the timing logger.
+ */
+public class LoggingLifecycleProfileReporter implements LifecycleProfileReporter {
+
+    private static final Logger LOGGER = FacesLogger.TIMING.getLogger();
+
+    @Override
+    public void report(Collection<ViewProfile> profiles) {
+        if (!LOGGER.isLoggable(INFO)) {
+            return;
+        }
+
+        StringBuilder report = new StringBuilder("Lifecycle profile (count, mean, p50, p90, p99, max in ms):");
+        for (ViewProfile profile : profiles) {
+            for (Measurement measurement : Measurement.values()) {
+                LatencyHistogram histogram = profile.getHistogram(measurement);
+                if (histogram == null || histogram.getCount() == 0) {
+                    continue;
+                }
+
+                report.append(String.format(Locale.ROOT, "%n  %s %s: %d, %.3f, %.3f, %.3f, %.3f, %.3f", profile.getViewId(), measurement, histogram.getCount(),
+                        histogram.getMeanMillis(), histogram.getPercentileMillis(50), histogram.getPercentileMillis(90), histogram.getPercentileMillis(99),
+                        histogram.getMaxMillis()));
+            }
+        }
+
+        LOGGER.log(INFO, report.toString());
+    }
+
+}
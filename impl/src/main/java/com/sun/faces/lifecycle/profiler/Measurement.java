@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.lifecycle.profiler;
+
+import jakarta.faces.event.PhaseId;
+
+/**
+ * The timings recorded per view by the {@link LifecycleProfiler}.
+ */
+public enum Measurement {
+
+    /** Restore view phase, including phase listeners. */
+    RESTORE_VIEW,
+    /** Apply request values phase, including phase listeners. */
+    APPLY_REQUEST_VALUES,
+    /** Process validations phase, including phase listeners. */
+    PROCESS_VALIDATIONS,
+    /** Update model values phase, including phase listeners. */
+    UPDATE_MODEL_VALUES,
+    /** Invoke application phase, including phase listeners. */
+    INVOKE_APPLICATION,
+    /** Render response phase, including phase listeners. */
+    RENDER_RESPONSE,
+    /** Time spent in the before and after phase listeners of a single phase. */
+    PHASE_LISTENERS,
+    /** Building the view before it is rendered. */
+    BUILD_VIEW,
+    /** Saving the view state while the response is written. */
+    SAVE_STATE,
+    /** Writing the buffered response, without saving the view state. */
+    FLUSH;
+
+    private static final Measurement[] PHASES = { null, RESTORE_VIEW, APPLY_REQUEST_VALUES, PROCESS_VALIDATIONS, UPDATE_MODEL_VALUES, INVOKE_APPLICATION,
+            RENDER_RESPONSE };
+
+    /**
+     * @param phaseId the phase
+     * @return the measurement of the given phase
+     */
+    public static Measurement of(PhaseId phaseId) {
+        return PHASES[phaseId.getOrdinal()];
+    }
+
+}
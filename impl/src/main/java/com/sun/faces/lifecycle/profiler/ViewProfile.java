@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.lifecycle.profiler;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The {@link LatencyHistogram}s recorded for a single view. Histograms are only allocated for the measurements that
+ * actually occur, a view which is never posted back has no histograms for the postback phases.
+ */
+public final class ViewProfile {
+
+    private final String viewId;
+    private final AtomicReferenceArray<LatencyHistogram> histograms = new AtomicReferenceArray<>(Measurement.values().length);
+
+    // ------------------------------------------------------------ Constructors
+
+    ViewProfile(String viewId) {
+        this.viewId = viewId;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    public String getViewId() {
+        return viewId;
+    }
+
+    /**
+     * @param measurement the measurement
+     * @return the histogram of the given measurement, or <code>null</code> if nothing has been recorded for it
+     */
+    public LatencyHistogram getHistogram(Measurement measurement) {
+        return histograms.get(measurement.ordinal());
+    }
+
+    // ------------------------------------------------------- Package Private Methods
+
+    void record(Measurement measurement, long nanos) {
+        LatencyHistogram histogram = histograms.get(measurement.ordinal());
+        if (histogram == null) {
+            histograms.compareAndSet(measurement.ordinal(), null, new LatencyHistogram());
+            histogram = histograms.get(measurement.ordinal());
+        }
+
+        histogram.record(nanos);
+    }
+
+    void reset() {
+        for (int i = 0; i < histograms.length(); i++) {
+            LatencyHistogram histogram = histograms.get(i);
+            if (histogram != null) {
+                histogram.reset();
+            }
+        }
+    }
+
+}
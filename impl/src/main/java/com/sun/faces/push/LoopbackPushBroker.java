@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.push;
+
+import static java.util.logging.Level.WARNING;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * <p>
+ * This push broker delivers the published messages to all the brokers started in the same JVM, and the same class
+ * loader. It is meant for testing and for deployments running several instances of an application side by side.
+ * </p>
+ *
+ * @see PushBroker
+ */
+public class LoopbackPushBroker implements PushBroker {
+
+    // Constants ------------------------------------------------------------------------------------------------------
+
+    private static final Logger logger = Logger.getLogger(LoopbackPushBroker.class.getName());
+
+    private static final List<Consumer<PushMessage>> SUBSCRIBERS = new CopyOnWriteArrayList<>();
+
+    // Properties -----------------------------------------------------------------------------------------------------
+
+    private volatile Consumer<PushMessage> subscriber;
+
+    // Actions --------------------------------------------------------------------------------------------------------
+
+    @Override
+    public void start(Consumer<PushMessage> subscriber) {
+        this.subscriber = subscriber;
+        SUBSCRIBERS.add(subscriber);
+    }
+
+    @Override
+    public void publish(PushMessage message) {
+        for (Consumer<PushMessage> subscriber : SUBSCRIBERS) {
+            try {
+                subscriber.accept(message);
+            } catch (RuntimeException e) {
+                logger.log(WARNING, "Unable to deliver push message", e);
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (subscriber != null) {
+            SUBSCRIBERS.remove(subscriber);
+            subscriber = null;
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.push;
+
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * Service provider interface to publish push messages to the other nodes of a cluster, so that
+ * {@link jakarta.faces.push.PushContext#send(Object)} reaches the web socket sessions connected to any node and not only
+ * the ones connected to the node sending the message.
+ * </p>
+ *
+ * <p>
+ * The implementation is configured with the <code>com.sun.faces.pushBroker</code> context parameter, whose value is the
+ * fully qualified name of a class with a public no-argument constructor. Each node delivers the messages it sends to its
+ * own sessions itself and ignores them when they are received back from the broker. Two implementations are provided:
+ * {@link LoopbackPushBroker}, which connects the nodes of a single JVM, and {@link TcpPushBroker}, a reference
+ * implementation connecting the nodes over TCP.
+ * </p>
+ *
+ * @see WebsocketSessionManager
+ */
+public interface PushBroker {
+
+    /**
+     * Start receiving the messages published by all nodes.
+     *
+     * @param subscriber The callback delivering a received message to the web socket sessions of this node.
+     */
+    void start(Consumer<PushMessage> subscriber);
+
+    /**
+     * Publish given message to all nodes.
+     *
+     * @param message The push message.
+     */
+    void publish(PushMessage message);
+
+    /**
+     * Stop receiving messages and release the resources of this broker.
+     */
+    void stop();
+
+}
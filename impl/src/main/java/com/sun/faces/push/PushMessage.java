@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.push;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * <p>
+ * A push message published to the other nodes of the cluster through the {@link PushBroker}. The message is encoded as
+ * JSON once, by the node sending it, and the channel identifiers are resolved by each receiving node.
+ * </p>
+ *
+ * @see PushBroker
+ */
+public final class PushMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String origin;
+    private final String channel;
+    private final String channelId;
+    private final Set<Serializable> users;
+    private final String json;
+    private final String conflationKey;
+
+    PushMessage(String origin, String channel, String channelId, Set<Serializable> users, String json) {
+        this(origin, channel, channelId, users, json, null);
+    }
+
+    PushMessage(String origin, String channel, String channelId, Set<Serializable> users, String json, String conflationKey) {
+        this.origin = origin;
+        this.channel = channel;
+        this.channelId = channelId;
+        this.users = users;
+        this.json = json;
+        this.conflationKey = conflationKey;
+    }
+
+    /**
+     * @return The identifier of the node which sent the message.
+     */
+    public String getOrigin() {
+        return origin;
+    }
+
+    /**
+     * @return The web socket channel name.
+     */
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * @return The session or view scoped channel identifier, or <code>null</code> if the message is sent to the
+     * application scoped channel or to users.
+     */
+    public String getChannelId() {
+        return channelId;
+    }
+
+    /**
+     * @return The users to send the message to, or <code>null</code> if the message is not sent to users.
+     */
+    public Set<Serializable> getUsers() {
+        return users;
+    }
+
+    /**
+     * @return The JSON encoded message.
+     */
+    public String getJson() {
+        return json;
+    }
+
+    /**
+     * @return The key the message is conflated with on delivery, or <code>null</code> if it must not be conflated.
+     */
+    public String getConflationKey() {
+        return conflationKey;
+    }
+
+}
@@ -0,0 +1,640 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.push;
+
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.PushBrokerAddress;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.PushBrokerSecret;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.BindException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.util.MojarraThreadFactory;
+
+import jakarta.faces.context.FacesContext;
+
+/**
+ * <p>
+ * Reference push broker connecting the nodes over TCP. The first node to start listens on the configured address and
+ * acts as the hub: it relays every message it receives to all the other nodes. The other nodes connect to the hub. When
+ * the hub goes away, the node which lost it, or else the next node publishing a message, takes over.
+ * </p>
+ *
+ * <p>
+ * Publishing never blocks the publishing thread, nor does relaying by the hub block the other nodes: connecting happens
+ * in the background, and is retried until it succeeds, and each connection queues the messages to send, up to {@value #MAX_QUEUED_FRAMES}, for its own
+ * writer thread. Messages which do not fit in the queue of a stalled connection, or which are published while this node
+ * is not connected, are dropped and counted.
+ * </p>
+ *
+ * <p>
+ * The address is configured with the <code>com.sun.faces.pushBrokerAddress</code> context parameter, as
+ * <code>host:port</code>, and defaults to {@value #DEFAULT_ADDRESS}. Messages are exchanged in a plain framed format,
+ * not with Java serialization, so the users a message is sent to must be {@link String}, {@link Long} or
+ * {@link Integer}; messages to other users only reach the sessions of the publishing node.
+ * </p>
+ *
+ * <p>
+ * When a secret is configured with the <code>com.sun.faces.pushBrokerSecret</code> context parameter, both ends of
+ * each connection prove that they know it before exchanging any message, with a HMAC of random challenges. Without a
+ * secret, the broker only accepts to run on a loopback address.
+ * </p>
+ *
+ * @see PushBroker
+ */
+public class TcpPushBroker implements PushBroker {
+
+    // Constants ------------------------------------------------------------------------------------------------------
+
+    private static final Logger logger = Logger.getLogger(TcpPushBroker.class.getName());
+
+    static final String DEFAULT_ADDRESS = "localhost:7847";
+    private static final int MAX_MESSAGE_SIZE = 16 * 1024 * 1024;
+    private static final int MAX_USERS = 65536;
+    static final int MAX_QUEUED_FRAMES = 1024;
+    private static final int HANDSHAKE_TIMEOUT = 10000;
+    private static final long MIN_RECONNECT_DELAY = 100;
+    private static final long MAX_RECONNECT_DELAY = 30000;
+    private static final int CHALLENGE_SIZE = 32;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final byte ROLE_HUB = 'H';
+    private static final byte ROLE_NODE = 'N';
+    private static final byte USER_STRING = 'S';
+    private static final byte USER_LONG = 'L';
+    private static final byte USER_INTEGER = 'I';
+
+    // Properties -----------------------------------------------------------------------------------------------------
+
+    private final String host;
+    private final int port;
+    private final byte[] secret;
+    private final SecureRandom random = new SecureRandom();
+    private final ExecutorService threads = Executors.newCachedThreadPool(new MojarraThreadFactory("TcpPushBroker"));
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean connecting = new AtomicBoolean();
+    private final LongAdder droppedFrames = new LongAdder();
+
+    private volatile Consumer<PushMessage> subscriber;
+    private volatile ServerSocket server;
+    private volatile boolean stopped;
+
+    // Constructors ---------------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a broker for the address and secret configured in the current faces context, if any, else the default
+     * address without secret.
+     */
+    public TcpPushBroker() {
+        this(getOption(PushBrokerAddress, DEFAULT_ADDRESS), getOption(PushBrokerSecret, ""));
+    }
+
+    TcpPushBroker(String address, String secret) {
+        int separator = address.lastIndexOf(':');
+
+        if (separator < 0) {
+            throw new IllegalArgumentException("Push broker address must be host:port, not " + address);
+        }
+
+        host = address.substring(0, separator);
+        port = Integer.parseInt(address.substring(separator + 1));
+        this.secret = secret == null || secret.isEmpty() ? null : secret.getBytes(UTF_8);
+    }
+
+    // Actions --------------------------------------------------------------------------------------------------------
+
+    @Override
+    public void start(Consumer<PushMessage> subscriber) {
+        if (secret == null) {
+            try {
+                if (!InetAddress.getByName(host).isLoopbackAddress()) {
+                    throw new IllegalStateException("Push broker address " + host + ":" + port + " is not a loopback address, "
+                            + PushBrokerSecret.getQualifiedName() + " must be configured");
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Unable to resolve push broker address " + host, e);
+            }
+        }
+
+        this.subscriber = subscriber;
+        connect();
+    }
+
+    @Override
+    public void publish(PushMessage message) {
+        if (server == null && connections.isEmpty()) {
+            connectInBackground();
+            droppedFrames.increment();
+            return;
+        }
+
+        byte[] frame;
+
+        try {
+            frame = encode(message);
+        } catch (IOException e) {
+            logger.log(WARNING, "Unable to encode push message, it will only reach this node", e);
+            return;
+        }
+
+        for (Connection connection : connections) {
+            connection.write(frame);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        stopped = true;
+
+        if (server != null) {
+            closeQuietly(server);
+            server = null;
+        }
+
+        for (Connection connection : connections) {
+            connection.close();
+        }
+
+        threads.shutdownNow();
+    }
+
+    /**
+     * @return <code>true</code> if this broker is the hub.
+     */
+    boolean isHub() {
+        return server != null;
+    }
+
+    /**
+     * @return The number of nodes this broker is connected to.
+     */
+    int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * @return The number of messages which have not been sent to a node because its queue was full, or because this
+     * broker was not connected.
+     */
+    long getDroppedFrames() {
+        return droppedFrames.sum();
+    }
+
+    // Helpers --------------------------------------------------------------------------------------------------------
+
+    /**
+     * @return <code>false</code> if this broker is still neither the hub nor connected to it.
+     */
+    private synchronized boolean connect() {
+        if (!isDisconnected()) {
+            return true;
+        }
+
+        try {
+            InetAddress address = InetAddress.getByName(host);
+
+            try {
+                server = new ServerSocket(port, 50, address);
+                threads.execute(this::accept);
+            } catch (BindException e) {
+                // Another node is the hub.
+                Socket socket = new Socket();
+
+                try {
+                    socket.connect(new InetSocketAddress(address, port), HANDSHAKE_TIMEOUT);
+                } catch (IOException connectFailure) {
+                    closeQuietly(socket);
+                    throw connectFailure;
+                }
+
+                open(socket, false);
+            }
+        } catch (IOException e) {
+            logger.log(connecting.get() ? FINE : WARNING, "Unable to connect push broker to " + host + ":" + port, e);
+        }
+
+        return !isDisconnected();
+    }
+
+    private void connectInBackground() {
+        if (stopped || !connecting.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            threads.execute(() -> {
+                try {
+                    // Retry with a growing delay, for example while the previous hub is still releasing the address.
+                    for (long delay = MIN_RECONNECT_DELAY; !connect(); delay = Math.min(delay * 2, MAX_RECONNECT_DELAY)) {
+                        Thread.sleep(delay);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt(); // Stopped.
+                } finally {
+                    connecting.set(false);
+                }
+
+                if (isDisconnected()) {
+                    connectInBackground(); // The connection was lost again while finishing.
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            connecting.set(false); // Stopped.
+        }
+    }
+
+    private boolean isDisconnected() {
+        return !stopped && server == null && connections.isEmpty();
+    }
+
+    private void accept() {
+        ServerSocket socket = server;
+
+        while (!stopped && socket != null && !socket.isClosed()) {
+            try {
+                Socket accepted = socket.accept();
+                threads.execute(() -> {
+                    try {
+                        open(accepted, true);
+                    } catch (IOException e) {
+                        logger.log(WARNING, "Push broker refused connection from " + accepted.getRemoteSocketAddress(), e);
+                    }
+                });
+            } catch (IOException e) {
+                if (!stopped) {
+                    logger.log(FINE, "Push broker stopped accepting connections", e);
+                }
+                return;
+            }
+        }
+    }
+
+    private void open(Socket socket, boolean hub) throws IOException {
+        socket.setTcpNoDelay(true);
+        Connection connection = new Connection(socket);
+
+        if (secret != null) {
+            try {
+                socket.setSoTimeout(HANDSHAKE_TIMEOUT);
+                connection.authenticate(hub);
+                socket.setSoTimeout(0);
+            } catch (IOException e) {
+                closeQuietly(socket);
+                throw e;
+            }
+        }
+
+        connections.add(connection);
+        threads.execute(connection);
+        threads.execute(connection::drain);
+    }
+
+    private void receive(Connection source, byte[] frame) {
+        PushMessage message;
+
+        try {
+            message = decode(frame);
+        } catch (IOException e) {
+            logger.log(WARNING, "Unable to decode push message, closing connection", e);
+            source.close();
+            return;
+        }
+
+        if (server != null) {
+            // Hub relays to all the other nodes, this only queues the message.
+            for (Connection connection : connections) {
+                if (connection != source) {
+                    connection.write(frame);
+                }
+            }
+        }
+
+        Consumer<PushMessage> target = subscriber;
+
+        if (target != null) {
+            try {
+                target.accept(message);
+            } catch (RuntimeException e) {
+                logger.log(WARNING, "Unable to deliver push message", e);
+            }
+        }
+    }
+
+    static byte[] encode(PushMessage message) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            writeString(output, message.getOrigin());
+            writeString(output, message.getChannel());
+            writeString(output, message.getChannelId());
+            writeUsers(output, message.getUsers());
+            writeString(output, message.getJson());
+            writeString(output, message.getConflationKey());
+        }
+
+        return bytes.toByteArray();
+    }
+
+    static PushMessage decode(byte[] frame) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(frame));
+        String origin = readString(input);
+        String channel = readString(input);
+        String channelId = readString(input);
+        Set<Serializable> users = readUsers(input);
+        String json = readString(input);
+        String conflationKey = readString(input);
+
+        if (input.available() > 0) {
+            throw new IOException("Unexpected trailing bytes in push message");
+        }
+
+        return new PushMessage(origin, channel, channelId, users, json, conflationKey);
+    }
+
+    private static void writeString(DataOutput output, String string) throws IOException {
+        if (string == null) {
+            output.writeInt(-1);
+        } else {
+            byte[] bytes = string.getBytes(UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private static String readString(DataInput input) throws IOException {
+        int length = input.readInt();
+
+        if (length == -1) {
+            return null;
+        }
+
+        if (length < 0 || length > MAX_MESSAGE_SIZE) {
+            throw new IOException("Invalid string length " + length);
+        }
+
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static void writeUsers(DataOutput output, Set<Serializable> users) throws IOException {
+        if (users == null) {
+            output.writeInt(-1);
+            return;
+        }
+
+        output.writeInt(users.size());
+
+        for (Serializable user : users) {
+            if (user instanceof String string) {
+                output.writeByte(USER_STRING);
+                writeString(output, string);
+            } else if (user instanceof Long number) {
+                output.writeByte(USER_LONG);
+                output.writeLong(number);
+            } else if (user instanceof Integer number) {
+                output.writeByte(USER_INTEGER);
+                output.writeInt(number);
+            } else {
+                throw new IOException("Unsupported push user type " + (user != null ? user.getClass().getName() : null));
+            }
+        }
+    }
+
+    private static Set<Serializable> readUsers(DataInput input) throws IOException {
+        int size = input.readInt();
+
+        if (size == -1) {
+            return null;
+        }
+
+        if (size < 0 || size > MAX_USERS) {
+            throw new IOException("Invalid number of push users " + size);
+        }
+
+        Set<Serializable> users = new HashSet<>(size * 2);
+
+        for (int i = 0; i < size; i++) {
+            byte type = input.readByte();
+
+            switch (type) {
+            case USER_STRING:
+                users.add(readString(input));
+                break;
+            case USER_LONG:
+                users.add(input.readLong());
+                break;
+            case USER_INTEGER:
+                users.add(input.readInt());
+                break;
+            default:
+                throw new IOException("Unknown push user type " + type);
+            }
+        }
+
+        return users;
+    }
+
+    private static String getOption(WebConfiguration.WebContextInitParameter parameter, String defaultValue) {
+        FacesContext context = FacesContext.getCurrentInstance();
+        return context != null ? WebConfiguration.getInstance(context.getExternalContext()).getOptionValue(parameter) : defaultValue;
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception ignore) {
+            // Ignore.
+        }
+    }
+
+    // Nested classes -------------------------------------------------------------------------------------------------
+
+    /**
+     * A connection to another node, reading the messages it sends on its own thread, and writing the messages queued for
+     * it on another one.
+     */
+    private final class Connection implements Runnable {
+
+        private final Socket socket;
+        private final DataInputStream input;
+        private final DataOutputStream output;
+        private final BlockingQueue<byte[]> outbox = new ArrayBlockingQueue<>(MAX_QUEUED_FRAMES);
+        private volatile boolean closed;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        /**
+         * Exchange random challenges with the other node, and verify that it answers with the HMAC of both challenges
+         * and of its role, using the shared secret. The role prevents the other node from reflecting our own answer.
+         */
+        void authenticate(boolean hub) throws IOException {
+            byte[] challenge = new byte[CHALLENGE_SIZE];
+            random.nextBytes(challenge);
+            output.write(challenge);
+            output.flush();
+
+            byte[] otherChallenge = new byte[CHALLENGE_SIZE];
+            input.readFully(otherChallenge);
+            byte[] hubChallenge = hub ? challenge : otherChallenge;
+            byte[] nodeChallenge = hub ? otherChallenge : challenge;
+
+            output.write(sign(hub ? ROLE_HUB : ROLE_NODE, hubChallenge, nodeChallenge));
+            output.flush();
+
+            byte[] expected = sign(hub ? ROLE_NODE : ROLE_HUB, hubChallenge, nodeChallenge);
+            byte[] answer = new byte[expected.length];
+            input.readFully(answer);
+
+            if (!MessageDigest.isEqual(expected, answer)) {
+                throw new IOException("Push broker peer did not prove knowledge of the shared secret");
+            }
+        }
+
+        private byte[] sign(byte role, byte[] hubChallenge, byte[] nodeChallenge) throws IOException {
+            try {
+                Mac mac = Mac.getInstance(MAC_ALGORITHM);
+                mac.init(new SecretKeySpec(secret, MAC_ALGORITHM));
+                mac.update(role);
+                mac.update(hubChallenge);
+                mac.update(nodeChallenge);
+                return mac.doFinal();
+            } catch (GeneralSecurityException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!stopped) {
+                    int length = input.readInt();
+
+                    if (length < 0 || length > MAX_MESSAGE_SIZE) {
+                        throw new IOException("Invalid push message length " + length);
+                    }
+
+                    byte[] frame = new byte[length];
+                    input.readFully(frame);
+                    receive(this, frame);
+                }
+            } catch (EOFException e) {
+                // Other node went away.
+            } catch (IOException e) {
+                if (!stopped) {
+                    logger.log(FINE, "Push broker connection lost", e);
+                }
+            } finally {
+                close();
+            }
+        }
+
+        /**
+         * Queue given message, or drop it if the queue is full.
+         */
+        void write(byte[] frame) {
+            if (closed) {
+                return;
+            }
+
+            if (!outbox.offer(frame)) {
+                droppedFrames.increment();
+                logger.log(FINE, "Push broker connection is stalled, dropping message");
+            }
+        }
+
+        /**
+         * Send the queued messages until the connection is closed, flushing whenever the queue is empty.
+         */
+        void drain() {
+            try {
+                while (!closed && !stopped) {
+                    byte[] frame = outbox.poll(1, SECONDS);
+
+                    if (frame != null) {
+                        output.writeInt(frame.length);
+                        output.write(frame);
+
+                        if (outbox.isEmpty()) {
+                            output.flush();
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                logger.log(FINE, "Unable to send push message", e);
+            } finally {
+                close();
+            }
+        }
+
+        void close() {
+            closed = true;
+            outbox.clear();
+
+            if (connections.remove(this)) {
+                closeQuietly(socket);
+
+                if (isDisconnected()) {
+                    // Lost the hub, reconnect to the next one or become it.
+                    connectInBackground();
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,751 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.push;
+
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.WebsocketConflatedChannels;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.WebsocketConflationKey;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.WebsocketConflationWindow;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.WebsocketDeliveryThreads;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.WebsocketOutboundQueueSize;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.WebsocketSendTimeout;
+import static jakarta.websocket.CloseReason.CloseCodes.TRY_AGAIN_LATER;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.Collections.emptySet;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.config.WebConfiguration.WebContextInitParameter;
+import com.sun.faces.lifecycle.profiler.LatencyHistogram;
+import com.sun.faces.util.MojarraThreadFactory;
+import com.sun.faces.util.Util;
+
+import jakarta.faces.context.FacesContext;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+
+/**
+ * <p>
+ * This web socket delivery engine sends push messages to web socket sessions on its own executor, so that pushing a
+ * message to a channel with many open sessions does not block the thread invoking
+ * {@link jakarta.faces.push.PushContext#send(Object)}.
+ * </p>
+ *
+ * <p>
+ * Each session has a bounded outbound queue which is drained by at most one thread at a time, so messages to a session
+ * are sent in order and one after the other. A session whose queue is full, or which does not accept a message within
+ * the send timeout, is considered a slow consumer: it is closed with {@link CloseReason.CloseCodes#TRY_AGAIN_LATER},
+ * which makes the client reconnect, and its pending messages are dropped. Large fan-outs are split in batches which are
+ * queued by the executor as well. Messages are sent asynchronously: the next message of a session is only taken from its
+ * queue once the web socket container has reported the previous one as sent, so no delivery thread waits for a client.
+ * </p>
+ *
+ * <p>
+ * The executor uses virtual threads when the runtime supports them, unless a number of delivery threads is configured
+ * with <code>com.sun.faces.websocketDeliveryThreads</code>. The outbound queue size and the send timeout in
+ * milliseconds are configured with <code>com.sun.faces.websocketOutboundQueueSize</code> and
+ * <code>com.sun.faces.websocketSendTimeout</code>. Delivery metrics are available through JMX, as
+ * <code>com.sun.faces:type=WebsocketDelivery,name=&lt;context path&gt;</code>.
+ * </p>
+ *
+ * <p>
+ * Conflation is enabled by setting <code>com.sun.faces.websocketConflationWindow</code> to a number of milliseconds.
+ * Messages to the channels listed in <code>com.sun.faces.websocketConflatedChannels</code>, space separated, or to all
+ * channels if none are listed, are then delivered to a session at most once per window: the messages pushed during the
+ * window replace the pending ones of the same channel, so only the latest one is delivered, and the replaced ones are
+ * cancelled. If <code>com.sun.faces.websocketConflationKey</code> names a property of the pushed objects (a map key or
+ * a bean property), the latest message is kept for each distinct value of that property instead, for example for each
+ * ticker symbol of a price feed.
+ * </p>
+ *
+ * @see WebsocketSessionManager
+ */
+public class WebsocketDeliveryEngine implements WebsocketDeliveryEngineMBean {
+
+    // Constants ------------------------------------------------------------------------------------------------------
+
+    private static final Logger logger = Logger.getLogger(WebsocketDeliveryEngine.class.getName());
+
+    private static final CloseReason REASON_SLOW_CONSUMER = new CloseReason(TRY_AGAIN_LATER, "Slow consumer");
+    private static final String OUTBOX = WebsocketDeliveryEngine.class.getName() + ".OUTBOX";
+
+    static final int FAN_OUT_BATCH_SIZE = 256;
+
+    // Properties -----------------------------------------------------------------------------------------------------
+
+    private final ExecutorService executor;
+    private final int queueSize;
+    private final long sendTimeout; // In nanoseconds.
+    private final long conflationWindow;
+    private final Set<String> conflatedChannels;
+    private final String conflationKey;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final ConcurrentMap<Class<?>, Optional<MethodHandle>> conflationKeyGetters = new ConcurrentHashMap<>();
+
+    private final LongAdder queuedMessages = new LongAdder();
+    private final LongAdder deliveredMessages = new LongAdder();
+    private final LongAdder droppedMessages = new LongAdder();
+    private final LongAdder failedMessages = new LongAdder();
+    private final LongAdder evictedSessions = new LongAdder();
+    private final LongAdder conflatedMessages = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private ObjectName objectName;
+
+    // Constructors ---------------------------------------------------------------------------------------------------
+
+    WebsocketDeliveryEngine(ExecutorService executor, int queueSize, long sendTimeout) {
+        this(executor, queueSize, sendTimeout, 0, emptySet(), null);
+    }
+
+    WebsocketDeliveryEngine(ExecutorService executor, int queueSize, long sendTimeout, long conflationWindow, Set<String> conflatedChannels,
+            String conflationKey) {
+        this.executor = executor;
+        this.queueSize = queueSize;
+        this.sendTimeout = MILLISECONDS.toNanos(sendTimeout);
+        this.conflationWindow = MILLISECONDS.toNanos(conflationWindow);
+        this.conflatedChannels = conflatedChannels;
+        this.conflationKey = conflationKey;
+
+        if (conflationWindow > 0 || sendTimeout > 0) {
+            scheduler = new ScheduledThreadPoolExecutor(1, new MojarraThreadFactory("WebsocketScheduler"));
+            scheduler.setRemoveOnCancelPolicy(true);
+        } else {
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Create a delivery engine configured from the web configuration of the current faces context, if any, and register
+     * it with JMX.
+     *
+     * @param context The current faces context, may be <code>null</code>.
+     * @return The delivery engine.
+     */
+    static WebsocketDeliveryEngine create(FacesContext context) {
+        WebConfiguration config = context != null ? WebConfiguration.getInstance(context.getExternalContext()) : null;
+        int threads = getIntOption(config, WebsocketDeliveryThreads);
+        String channels = config != null ? config.getOptionValue(WebsocketConflatedChannels) : null;
+        String key = config != null ? config.getOptionValue(WebsocketConflationKey) : null;
+        WebsocketDeliveryEngine engine = new WebsocketDeliveryEngine(createExecutor(threads), Math.max(1, getIntOption(config, WebsocketOutboundQueueSize)),
+                getIntOption(config, WebsocketSendTimeout), getIntOption(config, WebsocketConflationWindow),
+                Util.isEmpty(channels) ? emptySet() : new HashSet<>(Arrays.asList(channels.trim().split("\\s+"))), Util.isEmpty(key) ? null : key);
+
+        if (context != null) {
+            engine.registerMBean(context.getExternalContext().getApplicationContextPath());
+        }
+
+        return engine;
+    }
+
+    // Actions --------------------------------------------------------------------------------------------------------
+
+    /**
+     * Prepare the outbound queue of given opened web socket session.
+     *
+     * @param session The opened web socket session.
+     */
+    void open(Session session) {
+        session.getUserProperties().put(OUTBOX, new Outbox(session));
+    }
+
+    /**
+     * Discard the outbound queue of given closed web socket session. Its pending messages are failed.
+     *
+     * @param session The closed web socket session.
+     */
+    void close(Session session) {
+        Outbox outbox = (Outbox) session.getUserProperties().remove(OUTBOX);
+
+        if (outbox != null) {
+            outbox.discard();
+        }
+    }
+
+    /**
+     * Returns the key conflating given message pushed to given channel, if conflation is enabled for the channel.
+     *
+     * @param channel The web socket channel name.
+     * @param message The pushed object, before its JSON encoding.
+     * @return The conflation key, or <code>null</code> if the message must not be conflated.
+     */
+    String getConflationKey(String channel, Object message) {
+        if (conflationWindow <= 0 || !(conflatedChannels.isEmpty() || conflatedChannels.contains(channel))) {
+            return null;
+        }
+
+        Object value = conflationKey != null ? getConflationKeyValue(message) : null;
+        return value != null ? channel + "\u0000" + value : channel;
+    }
+
+    /**
+     * Queue given message for delivery to all given open web socket sessions, without conflating it.
+     *
+     * @param sessions The web socket sessions.
+     * @param text The push message string.
+     * @return The results of the send operation, one per open session.
+     */
+    Set<Future<Void>> send(Collection<Session> sessions, String text) {
+        return send(sessions, text, null);
+    }
+
+    /**
+     * Queue given message for delivery to all given open web socket sessions.
+     *
+     * @param sessions The web socket sessions.
+     * @param text The push message string.
+     * @param conflationKey The key to conflate the message with, see {@link #getConflationKey(String, Object)}, or
+     * <code>null</code>.
+     * @return The results of the send operation, one per open session.
+     */
+    Set<Future<Void>> send(Collection<Session> sessions, String text, String conflationKey) {
+        List<Outbox> outboxes = new ArrayList<>(sessions.size());
+        List<Delivery> deliveries = new ArrayList<>(sessions.size());
+        long now = System.nanoTime();
+
+        for (Session session : sessions) {
+            if (session.isOpen()) {
+                Outbox outbox = (Outbox) session.getUserProperties().get(OUTBOX);
+
+                if (outbox != null) {
+                    outboxes.add(outbox);
+                    deliveries.add(new Delivery(text, now, conflationKey));
+                }
+            }
+        }
+
+        int size = outboxes.size();
+
+        if (size <= FAN_OUT_BATCH_SIZE) {
+            offer(outboxes, deliveries, 0, size);
+        } else {
+            for (int from = 0; from < size; from += FAN_OUT_BATCH_SIZE) {
+                int batchFrom = from;
+                int batchTo = Math.min(size, from + FAN_OUT_BATCH_SIZE);
+
+                try {
+                    executor.execute(() -> offer(outboxes, deliveries, batchFrom, batchTo));
+                } catch (RejectedExecutionException e) {
+                    for (int i = batchFrom; i < batchTo; i++) {
+                        fail(deliveries.get(i), e);
+                    }
+                }
+            }
+        }
+
+        return new HashSet<>(deliveries);
+    }
+
+    /**
+     * Stop delivering messages and unregister from JMX.
+     */
+    void shutdown() {
+        executor.shutdownNow();
+
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (JMException | SecurityException e) {
+                logger.log(FINE, "Unable to unregister " + objectName, e);
+            }
+
+            objectName = null;
+        }
+    }
+
+    /**
+     * @return The number of tasks waiting for the scheduler, that is the armed send timeouts and conflation windows.
+     */
+    int getScheduledTasks() {
+        return scheduler != null ? scheduler.getQueue().size() : 0;
+    }
+
+    // Metrics --------------------------------------------------------------------------------------------------------
+
+    @Override
+    public long getQueuedMessages() {
+        return queuedMessages.sum();
+    }
+
+    @Override
+    public long getDeliveredMessages() {
+        return deliveredMessages.sum();
+    }
+
+    @Override
+    public long getDroppedMessages() {
+        return droppedMessages.sum();
+    }
+
+    @Override
+    public long getFailedMessages() {
+        return failedMessages.sum();
+    }
+
+    @Override
+    public long getEvictedSessions() {
+        return evictedSessions.sum();
+    }
+
+    @Override
+    public long getConflatedMessages() {
+        return conflatedMessages.sum();
+    }
+
+    @Override
+    public double getMeanLatencyMillis() {
+        return latency.getMeanMillis();
+    }
+
+    @Override
+    public double getLatencyPercentileMillis(double percentile) {
+        return latency.getPercentileMillis(percentile);
+    }
+
+    @Override
+    public double getMaxLatencyMillis() {
+        return latency.getMaxMillis();
+    }
+
+    // Helpers --------------------------------------------------------------------------------------------------------
+
+    private static void offer(List<Outbox> outboxes, List<Delivery> deliveries, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Delivery delivery = deliveries.get(i);
+
+            if (delivery.conflationKey != null) {
+                outboxes.get(i).conflate(delivery);
+            } else {
+                outboxes.get(i).offer(delivery);
+            }
+        }
+    }
+
+    private Object getConflationKeyValue(Object message) {
+        if (message instanceof Map) {
+            return ((Map<?, ?>) message).get(conflationKey);
+        }
+
+        if (message == null) {
+            return null;
+        }
+
+        Optional<MethodHandle> getter = conflationKeyGetters.computeIfAbsent(message.getClass(), this::findConflationKeyGetter);
+
+        if (getter.isPresent()) {
+            try {
+                return (Object) getter.get().invokeExact(message);
+            } catch (Throwable e) {
+                logger.log(FINE, "Unable to get conflation key " + conflationKey + " of " + message.getClass(), e);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Look up the getter of the conflation key property once per class, as a method handle taking and returning an
+     * object.
+     */
+    private Optional<MethodHandle> findConflationKeyGetter(Class<?> type) {
+        String property = Character.toUpperCase(conflationKey.charAt(0)) + conflationKey.substring(1);
+
+        for (String prefix : new String[] { "get", "is" }) {
+            try {
+                MethodHandle getter = MethodHandles.publicLookup().unreflect(type.getMethod(prefix + property));
+                return Optional.of(getter.asType(MethodType.methodType(Object.class, Object.class)));
+            } catch (NoSuchMethodException e) {
+                continue;
+            } catch (IllegalAccessException e) {
+                // E.g. a public getter of a non-public class.
+                logger.log(FINE, "Unable to access conflation key " + conflationKey + " of " + type, e);
+                break;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private void fail(Delivery delivery, Throwable cause) {
+        failedMessages.increment();
+        delivery.completeExceptionally(cause);
+    }
+
+    private static int getIntOption(WebConfiguration config, WebContextInitParameter parameter) {
+        String value = config != null ? config.getOptionValue(parameter) : parameter.getDefaultValue();
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            if (logger.isLoggable(WARNING)) {
+                logger.log(WARNING, "Cannot parse " + parameter.getQualifiedName() + ", using " + parameter.getDefaultValue(), e);
+            }
+
+            return Integer.parseInt(parameter.getDefaultValue());
+        }
+    }
+
+    private static ExecutorService createExecutor(int threads) {
+        if (threads <= 0) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // No virtual threads in this runtime.
+                threads = Runtime.getRuntime().availableProcessors() * 2;
+            }
+        }
+
+        return Executors.newFixedThreadPool(threads, new MojarraThreadFactory("WebsocketDelivery"));
+    }
+
+    private void registerMBean(String contextPath) {
+        try {
+            ObjectName name = new ObjectName("com.sun.faces:type=WebsocketDelivery,name=" + ObjectName.quote(contextPath.isEmpty() ? "/" : contextPath));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = name;
+        } catch (JMException | SecurityException e) {
+            logger.log(WARNING, "Unable to register the web socket delivery metrics with JMX", e);
+        }
+    }
+
+    // Nested classes -------------------------------------------------------------------------------------------------
+
+    /**
+     * A message queued for a single session, completed once it has been sent.
+     */
+    private static final class Delivery extends CompletableFuture<Void> {
+
+        private final String text;
+        private final long queuedAt;
+        private final String conflationKey;
+        private final AtomicBoolean settled = new AtomicBoolean(); // Set once the send has been reported or has timed out.
+        private long sendingAt; // Published by Outbox.sending.
+
+        Delivery(String text, long queuedAt, String conflationKey) {
+            this.text = text;
+            this.queuedAt = queuedAt;
+            this.conflationKey = conflationKey;
+        }
+    }
+
+    /**
+     * The outbound queue of a session. It is drained by at most one task at a time. The send timeout is enforced by a
+     * single watchdog per outbox, which is armed when a send starts while it is not armed yet and which keeps re-arming
+     * itself for as long as sends are in progress, so that sends don't schedule nor cancel tasks of their own.
+     */
+    private final class Outbox implements Runnable {
+
+        private final Session session;
+        private final BlockingQueue<Delivery> queue = new ArrayBlockingQueue<>(queueSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean evicted = new AtomicBoolean();
+        private final AtomicBoolean watchdogArmed = new AtomicBoolean();
+        private volatile Delivery sending;
+        private volatile ScheduledFuture<?> watchdog;
+        private final Map<String, Delivery> conflated = new LinkedHashMap<>(); // Guarded by itself.
+        private boolean flushScheduled; // Guarded by conflated.
+        private long lastFlush = System.nanoTime() - conflationWindow; // Guarded by conflated.
+
+        Outbox(Session session) {
+            this.session = session;
+        }
+
+        void offer(Delivery delivery) {
+            if (evicted.get()) {
+                fail(delivery, new IllegalStateException("Session has been closed"));
+            } else if (queue.offer(delivery)) {
+                queuedMessages.increment();
+                schedule();
+            } else {
+                droppedMessages.increment();
+                delivery.completeExceptionally(new IllegalStateException("Outbound queue of session is full"));
+                evict();
+            }
+        }
+
+        /**
+         * Send the next queued message, if any. The following one is sent once the web socket container has reported
+         * this one as sent, see {@link #sent(Delivery, SendResult)}.
+         */
+        @Override
+        public void run() {
+            Delivery delivery;
+
+            while ((delivery = queue.poll()) != null) {
+                queuedMessages.decrement();
+
+                if (deliver(delivery)) {
+                    return;
+                }
+            }
+
+            scheduled.set(false);
+
+            // A message may have been queued after the last poll but before the scheduled flag was cleared.
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        /**
+         * Queue given message right away if nothing was delivered during the last conflation window, otherwise keep it
+         * until the end of the window, replacing the pending message with the same key.
+         */
+        void conflate(Delivery delivery) {
+            Delivery replaced = null;
+            long delay = 0;
+
+            synchronized (conflated) {
+                long elapsed = System.nanoTime() - lastFlush;
+
+                if (!flushScheduled && elapsed >= conflationWindow) {
+                    lastFlush += elapsed;
+                } else {
+                    replaced = conflated.put(delivery.conflationKey, delivery);
+
+                    if (!flushScheduled) {
+                        flushScheduled = true;
+                        delay = conflationWindow - elapsed;
+                    } else {
+                        delay = -1;
+                    }
+                }
+            }
+
+            if (replaced != null) {
+                conflatedMessages.increment();
+                replaced.cancel(false);
+            }
+
+            if (delay == 0) {
+                offer(delivery);
+            } else if (delay > 0) {
+                try {
+                    scheduler.schedule(this::flush, delay, NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    flush();
+                }
+            }
+        }
+
+        private void flush() {
+            List<Delivery> deliveries;
+
+            synchronized (conflated) {
+                deliveries = new ArrayList<>(conflated.values());
+                conflated.clear();
+                flushScheduled = false;
+                lastFlush = System.nanoTime();
+            }
+
+            for (Delivery delivery : deliveries) {
+                if (!delivery.isDone()) {
+                    offer(delivery);
+                }
+            }
+        }
+
+        void discard() {
+            Delivery delivery;
+            ScheduledFuture<?> armed = watchdog;
+
+            if (armed != null) {
+                armed.cancel(false);
+            }
+
+            synchronized (conflated) {
+                for (Delivery pending : conflated.values()) {
+                    fail(pending, new IllegalStateException("Session has been closed"));
+                }
+
+                conflated.clear();
+            }
+
+            while ((delivery = queue.poll()) != null) {
+                queuedMessages.decrement();
+                fail(delivery, new IllegalStateException("Session has been closed"));
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    discard();
+                }
+            }
+        }
+
+        /**
+         * Start sending given message. Returns <code>true</code> if the send is in progress, in which case the outbox
+         * is drained further once it is done, or <code>false</code> if the message failed right away.
+         */
+        private boolean deliver(Delivery delivery) {
+            if (evicted.get() || !session.isOpen()) {
+                fail(delivery, new IllegalStateException("Session has been closed"));
+                return false;
+            }
+
+            try {
+                if (sendTimeout > 0) {
+                    delivery.sendingAt = System.nanoTime();
+                    sending = delivery;
+
+                    if (watchdogArmed.compareAndSet(false, true)) {
+                        armWatchdog(sendTimeout);
+                    }
+                }
+
+                session.getAsyncRemote().sendText(delivery.text, result -> sent(delivery, result));
+                return true;
+            } catch (RuntimeException e) {
+                if (delivery.settled.compareAndSet(false, true)) {
+                    fail(delivery, e);
+                }
+
+                return false;
+            }
+        }
+
+        private void sent(Delivery delivery, SendResult result) {
+            if (!delivery.settled.compareAndSet(false, true)) {
+                return; // Timed out, the session has been evicted.
+            }
+
+            if (result.isOK()) {
+                latency.record(System.nanoTime() - delivery.queuedAt);
+                deliveredMessages.increment();
+                delivery.complete(null);
+            } else {
+                fail(delivery, result.getException());
+            }
+
+            // Continue on the executor rather than on the container thread which reported the result.
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                discard();
+            }
+        }
+
+        private void armWatchdog(long delay) {
+            try {
+                watchdog = scheduler.schedule(this::checkSendTimeout, delay, NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                watchdogArmed.set(false); // Shut down.
+            }
+        }
+
+        /**
+         * Time out the send in progress if it has taken too long, otherwise check again when it would. Disarms itself
+         * once no send is in progress.
+         */
+        private void checkSendTimeout() {
+            Delivery delivery = sending;
+
+            if (delivery != null && !delivery.settled.get()) {
+                long remaining = delivery.sendingAt + sendTimeout - System.nanoTime();
+
+                if (remaining > 0) {
+                    armWatchdog(remaining);
+                } else if (delivery.settled.compareAndSet(false, true)) {
+                    watchdogArmed.set(false);
+                    fail(delivery, new TimeoutException("Message was not sent within " + NANOSECONDS.toMillis(sendTimeout) + " ms"));
+                    evict();
+                } else {
+                    checkSendTimeout(); // The send has just been reported.
+                }
+
+                return;
+            }
+
+            watchdogArmed.set(false);
+
+            // A send may have started after the one above was read, but before the watchdog was disarmed.
+            delivery = sending;
+
+            if (delivery != null && !delivery.settled.get() && watchdogArmed.compareAndSet(false, true)) {
+                checkSendTimeout();
+            }
+        }
+
+        private void evict() {
+            if (evicted.compareAndSet(false, true)) {
+                evictedSessions.increment();
+                discard();
+
+                try {
+                    // Do not let the thread which is pushing the message wait for the close handshake.
+                    executor.execute(this::close);
+                } catch (RejectedExecutionException e) {
+                    close();
+                }
+            }
+        }
+
+        private void close() {
+            try {
+                session.close(REASON_SLOW_CONSUMER);
+            } catch (IOException e) {
+                logger.log(FINE, "Unable to close slow consumer session", e);
+            }
+        }
+    }
+
+}
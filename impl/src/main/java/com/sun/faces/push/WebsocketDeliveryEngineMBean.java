@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.push;
+
+/**
+ * <p>
+ * JMX view on the delivery metrics of the {@link WebsocketDeliveryEngine}.
+ * </p>
+ *
+ * @see WebsocketDeliveryEngine
+ */
+public interface WebsocketDeliveryEngineMBean {
+
+    /**
+     * @return the number of messages currently waiting in the outbound queues of all sessions
+     */
+    long getQueuedMessages();
+
+    /**
+     * @return the number of messages delivered so far
+     */
+    long getDeliveredMessages();
+
+    /**
+     * @return the number of messages dropped because the outbound queue of their session was full
+     */
+    long getDroppedMessages();
+
+    /**
+     * @return the number of messages which could not be delivered because the send failed or the session was closed
+     */
+    long getFailedMessages();
+
+    /**
+     * @return the number of sessions closed because they did not keep up with the pushed messages
+     */
+    long getEvictedSessions();
+
+    /**
+     * @return the number of messages which were not delivered because a more recent message replaced them within the
+     * conflation window
+     */
+    long getConflatedMessages();
+
+    /**
+     * @return the mean time between queueing and delivering a message, in milliseconds
+     */
+    double getMeanLatencyMillis();
+
+    /**
+     * @param percentile the percentile, between <code>0</code> and <code>100</code>
+     * @return the time between queueing and delivering a message at the given percentile, in milliseconds
+     */
+    double getLatencyPercentileMillis(double percentile);
+
+    /**
+     * @return the maximum time between queueing and delivering a message, in milliseconds
+     */
+    double getMaxLatencyMillis();
+
+}
@@ -81,7 +81,13 @@ public class WebsocketPushContext implements PushContext {
 
     @Override
     public Set<Future<Void>> send(Object message) {
-        return socketSessions.send(getChannelId(channel, sessionScope, viewScope), Json.encode(message));
+        String channelId = getChannelId(channel, sessionScope, viewScope);
+        String json = Json.encode(message);
+        String conflationKey = socketSessions.getConflationKey(channel, message);
+        Set<Future<Void>> results = socketSessions.send(channelId, json, conflationKey);
+        boolean applicationScoped = channelId != null && channelId.equals(getChannelId(channel, EMPTY_SCOPE, EMPTY_SCOPE));
+        socketSessions.publish(channel, applicationScoped ? null : channelId, null, json, conflationKey);
+        return results;
     }
 
     @Override
@@ -93,18 +99,20 @@ public class WebsocketPushContext implements PushContext {
     public <S extends Serializable> Map<S, Set<Future<Void>>> send(Object message, Collection<S> users) {
         Map<S, Set<Future<Void>>> resultsByUser = new HashMap<>(users.size());
         String json = Json.encode(message);
+        String conflationKey = socketSessions.getConflationKey(channel, message);
 
         for (S user : users) {
             Set<String> channelIds = socketUsers.getChannelIds(user, channel);
             Set<Future<Void>> results = new HashSet<>(channelIds.size());
 
             for (String channelId : channelIds) {
-                results.addAll(socketSessions.send(channelId, json));
+                results.addAll(socketSessions.send(channelId, json, conflationKey));
             }
 
             resultsByUser.put(user, results);
         }
 
+        socketSessions.publish(channel, null, new HashSet<Serializable>(users), json, conflationKey);
         return resultsByUser;
     }
 
@@ -17,18 +17,18 @@
 package com.sun.faces.push;
 
 import static com.sun.faces.cdi.CdiUtils.getBeanReference;
+import static com.sun.faces.config.WebConfiguration.WebContextInitParameter.PushBrokerClass;
+import static com.sun.faces.push.WebsocketChannelManager.EMPTY_SCOPE;
 import static com.sun.faces.push.WebsocketEndpoint.PARAM_CHANNEL;
 import static jakarta.websocket.CloseReason.CloseCodes.NORMAL_CLOSURE;
-import static java.lang.String.format;
 import static java.util.Collections.emptySet;
 import static java.util.logging.Level.WARNING;
 
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
@@ -36,8 +36,11 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
+import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.util.ReflectionUtils;
 import com.sun.faces.util.Util;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.util.AnnotationLiteral;
 import jakarta.faces.context.FacesContext;
@@ -72,18 +75,12 @@ public class WebsocketSessionManager {
         private static final long serialVersionUID = 1L;
     };
 
-    private static final long TOMCAT_WEB_SOCKET_RETRY_TIMEOUT = 10; // Milliseconds.
-    private static final long TOMCAT_WEB_SOCKET_MAX_RETRIES = 100; // So, that's retrying for about 1 second.
-    private static final String WARNING_TOMCAT_WEB_SOCKET_BOMBED = "Tomcat cannot handle concurrent push messages."
-            + " A push message has been sent only after %s retries of " + TOMCAT_WEB_SOCKET_RETRY_TIMEOUT + "ms apart."
-            + " Consider rate limiting sending push messages. For example, once every 500ms.";
-    private static final String ERROR_TOMCAT_WEB_SOCKET_BOMBED = "Tomcat cannot handle concurrent push messages."
-            + " A push message could NOT be sent after %s retries of " + TOMCAT_WEB_SOCKET_RETRY_TIMEOUT + "ms apart."
-            + " Consider rate limiting sending push messages. For example, once every 500ms.";
-
     // Properties -----------------------------------------------------------------------------------------------------
 
     private final ConcurrentMap<String, Collection<Session>> socketSessions = new ConcurrentHashMap<>();
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile PushBroker pushBroker;
+    private volatile WebsocketDeliveryEngine deliveryEngine;
 
     @Inject
     private WebsocketUserManager socketUsers;
@@ -96,6 +93,8 @@ public class WebsocketSessionManager {
      * @param channelId The channel identifier to register.
      */
     protected void register(String channelId) {
+        getDeliveryEngine();
+
         if (!socketSessions.containsKey(channelId)) {
             socketSessions.putIfAbsent(channelId, new ConcurrentLinkedQueue<Session>());
         }
@@ -125,6 +124,7 @@ public class WebsocketSessionManager {
         Collection<Session> sessions = socketSessions.get(channelId);
 
         if (sessions != null && sessions.add(session)) {
+            getDeliveryEngine().open(session);
             Serializable user = socketUsers.getUser(getChannel(session), channelId);
 
             if (user != null) {
@@ -142,6 +142,9 @@ public class WebsocketSessionManager {
      * Encode the given message object as JSON and send it to all open web socket sessions associated with given web socket
      * channel identifier.
      *
+     * The message is queued for delivery by the {@link WebsocketDeliveryEngine}, this method does not wait for it to be
+     * sent.
+     *
      * @param channelId The web socket channel identifier.
      * @param message The push message string.
      * @return The results of the send operation. If it returns an empty set, then there was no open session associated with
@@ -149,73 +152,59 @@ public class WebsocketSessionManager {
      * was successfully delivered and otherwise throw {@link ExecutionException}.
      */
     protected Set<Future<Void>> send(String channelId, String message) {
+        return send(channelId, message, null);
+    }
+
+    /**
+     * Send the given JSON encoded message to all open web socket sessions associated with given web socket channel
+     * identifier, conflating it with the not yet delivered messages having the same conflation key.
+     *
+     * @param channelId The web socket channel identifier.
+     * @param message The push message string.
+     * @param conflationKey The conflation key as obtained from {@link #getConflationKey(String, Object)}, or
+     * <code>null</code> to not conflate the message.
+     * @return The results of the send operation. The futures of messages replaced by a later message within the
+     * conflation window are cancelled.
+     * @see #send(String, String)
+     */
+    protected Set<Future<Void>> send(String channelId, String message, String conflationKey) {
         Collection<Session> sessions = channelId != null ? socketSessions.get(channelId) : null;
 
         if (sessions != null && !sessions.isEmpty()) {
-            Set<Future<Void>> results = new HashSet<>(sessions.size());
-
-            for (Session session : sessions) {
-                if (session.isOpen()) {
-                    results.add(send(session, message, true));
-                }
-            }
-
-            return results;
+            return getDeliveryEngine().send(sessions, message, conflationKey);
         }
 
         return emptySet();
     }
 
-    private Future<Void> send(Session session, String text, boolean retrySendTomcatWebSocket) {
-        try {
-            return session.getAsyncRemote().sendText(text);
-        } catch (IllegalStateException e) {
-            // Awkward workaround for Tomcat not willing to queue/synchronize asyncRemote().
-            // https://bz.apache.org/bugzilla/show_bug.cgi?id=56026
-            if (session.getClass().getName().startsWith("org.apache.tomcat.websocket.") && e.getMessage().contains("[TEXT_FULL_WRITING]")) {
-                if (retrySendTomcatWebSocket) {
-                    return CompletableFuture.supplyAsync(() -> retrySendTomcatWebSocket(session, text));
-                } else {
-                    return null;
-                }
-            } else {
-                throw e;
-            }
-        }
+    /**
+     * Returns the key conflating given message object pushed to given web socket channel.
+     *
+     * @param channel The web socket channel name.
+     * @param message The push message object.
+     * @return The conflation key, or <code>null</code> if conflation is not enabled for the channel.
+     */
+    protected String getConflationKey(String channel, Object message) {
+        return getDeliveryEngine().getConflationKey(channel, message);
     }
 
-    private Void retrySendTomcatWebSocket(Session session, String text) {
-        int retries = 0;
-        Exception cause = null;
-
-        while (++retries < TOMCAT_WEB_SOCKET_MAX_RETRIES) {
-            try {
-                Thread.sleep(TOMCAT_WEB_SOCKET_RETRY_TIMEOUT);
-
-                if (!session.isOpen()) {
-                    cause = new IllegalStateException("Too bad, session is now closed");
-                    break;
-                }
-
-                Future<Void> result = send(session, text, false);
-
-                if (result == null) {
-                    continue;
-                }
-
-                if (logger.isLoggable(WARNING)) {
-                    logger.log(WARNING, format(WARNING_TOMCAT_WEB_SOCKET_BOMBED, retries));
-                }
+    /**
+     * Publish the given JSON encoded message to the other nodes of the cluster, if a {@link PushBroker} is configured.
+     * Each node sends it to its own open web socket sessions of either given channel or given users.
+     *
+     * @param channel The web socket channel name.
+     * @param channelId The session or view scoped channel identifier, or <code>null</code> for the application scoped
+     * channel or when sending to users.
+     * @param users The users to send the message to, or <code>null</code> when not sending to users.
+     * @param message The push message string.
+     * @param conflationKey The conflation key of the message, or <code>null</code>.
+     */
+    protected void publish(String channel, String channelId, Set<Serializable> users, String message, String conflationKey) {
+        getDeliveryEngine();
 
-                return result.get();
-            } catch (InterruptedException | ExecutionException e) {
-                Thread.currentThread().interrupt();
-                cause = e;
-                break;
-            }
+        if (pushBroker != null) {
+            pushBroker.publish(new PushMessage(nodeId, channel, channelId, users, message, conflationKey));
         }
-
-        throw new UnsupportedOperationException(format(ERROR_TOMCAT_WEB_SOCKET_BOMBED, retries), cause);
     }
 
     /**
@@ -228,6 +217,7 @@ public class WebsocketSessionManager {
         Collection<Session> sessions = socketSessions.get(getChannelId(session));
 
         if (sessions != null && sessions.remove(session)) {
+            getDeliveryEngine().close(session);
             fireEvent(session, reason, SESSION_CLOSED);
         }
     }
@@ -255,6 +245,38 @@ public class WebsocketSessionManager {
         }
     }
 
+    /**
+     * Create the delivery engine and start the push broker, if any, configured from the web configuration of given faces
+     * context. This is invoked during startup when the web socket endpoint is enabled, so that they do not depend on the
+     * thread which happens to push the first message. Subsequent invocations have no effect.
+     *
+     * @param context The faces context to configure the delivery from, may be <code>null</code>.
+     */
+    public void initialize(FacesContext context) {
+        if (deliveryEngine == null) {
+            synchronized (this) {
+                if (deliveryEngine == null) {
+                    pushBroker = createPushBroker(context);
+                    deliveryEngine = WebsocketDeliveryEngine.create(context);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stop the delivery of push messages.
+     */
+    @PreDestroy
+    protected void destroy() {
+        if (pushBroker != null) {
+            pushBroker.stop();
+        }
+
+        if (deliveryEngine != null) {
+            deliveryEngine.shutdown();
+        }
+    }
+
     // Internal -------------------------------------------------------------------------------------------------------
 
     private static volatile WebsocketSessionManager instance;
@@ -270,6 +292,56 @@ public class WebsocketSessionManager {
         return instance;
     }
 
+    /**
+     * The delivery engine and the push broker are normally created by {@link #initialize(FacesContext)} during startup.
+     * Otherwise they are created on first use, configured from the current faces context, if any.
+     */
+    private WebsocketDeliveryEngine getDeliveryEngine() {
+        if (deliveryEngine == null) {
+            initialize(FacesContext.getCurrentInstance());
+        }
+
+        return deliveryEngine;
+    }
+
+    private PushBroker createPushBroker(FacesContext context) {
+        String className = context != null ? WebConfiguration.getInstance(context.getExternalContext()).getOptionValue(PushBrokerClass) : null;
+
+        if (className == null || className.isEmpty()) {
+            return null;
+        }
+
+        try {
+            PushBroker broker = (PushBroker) ReflectionUtils.newInstance(className);
+            broker.start(this::receive);
+            return broker;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.log(WARNING, "Unable to start push broker " + className + ", push messages will only reach this node", e);
+            return null;
+        }
+    }
+
+    /**
+     * Deliver a message published by another node to the open web socket sessions of this node.
+     */
+    private void receive(PushMessage message) {
+        if (nodeId.equals(message.getOrigin())) {
+            return; // Already delivered by publishing node.
+        }
+
+        if (message.getUsers() != null) {
+            for (Serializable user : message.getUsers()) {
+                for (String channelId : socketUsers.getChannelIds(user, message.getChannel())) {
+                    send(channelId, message.getJson(), message.getConflationKey());
+                }
+            }
+        } else {
+            String channelId = message.getChannelId();
+            send(channelId != null ? channelId : WebsocketChannelManager.getChannelId(message.getChannel(), EMPTY_SCOPE, EMPTY_SCOPE), message.getJson(),
+                    message.getConflationKey());
+        }
+    }
+
     // Helpers --------------------------------------------------------------------------------------------------------
 
     private static String getChannel(Session session) {
@@ -27,11 +27,12 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -67,14 +68,15 @@ public class RenderKitImpl extends RenderKit {
             + RIConstants.APPLICATION_XML_CONTENT_TYPE + ',' + RIConstants.TEXT_XML_CONTENT_TYPE;
 
     /**
-     * Keys are String renderer family. Values are HashMaps. Nested HashMap keys are Strings for the rendererType, and
-     * values are the Renderer instances themselves.
+     * Keys are String renderer family. Values are ConcurrentHashMaps. Nested map keys are Strings for the rendererType, and
+     * values are the Renderer instances themselves, or a {@link LazyRenderer} until a lazily registered renderer is first
+     * requested.
      */
-    private ConcurrentHashMap<String, HashMap<String, Renderer>> rendererFamilies = new ConcurrentHashMap<>();
+    private ConcurrentHashMap<String, ConcurrentHashMap<String, Renderer>> rendererFamilies = new ConcurrentHashMap<>();
 
     /**
      * For Behavior Renderers: Keys are Strings for the behaviorRendererType, and values are the behaviorRenderer instances
-     * themselves.
+     * themselves, or a {@link LazyClientBehaviorRenderer} until a lazily registered renderer is first requested.
      */
     private ConcurrentHashMap<String, ClientBehaviorRenderer> behaviorRenderers = new ConcurrentHashMap<>();
 
@@ -96,11 +98,7 @@ public class RenderKitImpl extends RenderKit {
         Util.notNull("rendererType", rendererType);
         Util.notNull("renderer", renderer);
 
-        HashMap<String, Renderer> renderers = rendererFamilies.get(family);
-        if (renderers == null) {
-            renderers = new HashMap<>();
-            rendererFamilies.put(family, renderers);
-        }
+        ConcurrentHashMap<String, Renderer> renderers = rendererFamilies.computeIfAbsent(family, k -> new ConcurrentHashMap<>());
 
         if (LOGGER.isLoggable(Level.FINE) && renderers.containsKey(rendererType)) {
             LOGGER.log(Level.FINE, "rendererType {0} has already been registered for family {1}.  Replacing existing renderer class type {2} with {3}.",
@@ -110,6 +108,21 @@ public class RenderKitImpl extends RenderKit {
 
     }
 
+    /**
+     * Registers a renderer which is only created when it is first requested from {@link #getRenderer(String, String)}.
+     *
+     * @param family the component family
+     * @param rendererType the renderer type
+     * @param rendererSupplier creates the renderer, it is invoked at most once
+     */
+    public void addLazyRenderer(String family, String rendererType, Supplier<? extends Renderer> rendererSupplier) {
+
+        Util.notNull("rendererSupplier", rendererSupplier);
+
+        addRenderer(family, rendererType, new LazyRenderer(rendererSupplier));
+
+    }
+
     @Override
     public Renderer getRenderer(String family, String rendererType) {
 
@@ -118,8 +131,17 @@ public class RenderKitImpl extends RenderKit {
 
         assert rendererFamilies != null;
 
-        HashMap<String, Renderer> renderers = rendererFamilies.get(family);
-        return renderers != null ? renderers.get(rendererType) : null;
+        ConcurrentHashMap<String, Renderer> renderers = rendererFamilies.get(family);
+        if (renderers == null) {
+            return null;
+        }
+
+        Renderer renderer = renderers.get(rendererType);
+        while (renderer instanceof LazyRenderer) {
+            renderer = ((LazyRenderer) renderer).resolve(renderers, rendererType);
+        }
+
+        return renderer;
 
     }
 
@@ -138,12 +160,32 @@ public class RenderKitImpl extends RenderKit {
 
     }
 
+    /**
+     * Registers a client behavior renderer which is only created when it is first requested from
+     * {@link #getClientBehaviorRenderer(String)}.
+     *
+     * @param behaviorRendererType the client behavior renderer type
+     * @param behaviorRendererSupplier creates the client behavior renderer, it is invoked at most once
+     */
+    public void addLazyClientBehaviorRenderer(String behaviorRendererType, Supplier<? extends ClientBehaviorRenderer> behaviorRendererSupplier) {
+
+        Util.notNull("behaviorRendererSupplier", behaviorRendererSupplier);
+
+        addClientBehaviorRenderer(behaviorRendererType, new LazyClientBehaviorRenderer(behaviorRendererSupplier));
+
+    }
+
     @Override
     public ClientBehaviorRenderer getClientBehaviorRenderer(String behaviorRendererType) {
 
         Util.notNull("behaviorRendererType", behaviorRendererType);
 
-        return behaviorRenderers != null ? behaviorRenderers.get(behaviorRendererType) : null;
+        ClientBehaviorRenderer behaviorRenderer = behaviorRenderers.get(behaviorRendererType);
+        while (behaviorRenderer instanceof LazyClientBehaviorRenderer) {
+            behaviorRenderer = ((LazyClientBehaviorRenderer) behaviorRenderer).resolve(behaviorRenderers, behaviorRendererType);
+        }
+
+        return behaviorRenderer;
 
     }
 
@@ -355,6 +397,70 @@ public class RenderKitImpl extends RenderKit {
 
     }
 
+    // ---------------------------------------------------------- Nested Classes
+
+    /**
+     * Memoizes the creation of a lazily registered renderer. The first caller creates the instance and replaces this
+     * placeholder with it, concurrent callers wait for and share that instance.
+     */
+    private static final class LazyInstance<T> {
+
+        private final Supplier<? extends T> supplier;
+        private T instance;
+
+        LazyInstance(Supplier<? extends T> supplier) {
+            this.supplier = supplier;
+        }
+
+        synchronized T get() {
+            if (instance == null) {
+                instance = supplier.get();
+            }
+
+            return instance;
+        }
+
+        <P extends T> T resolve(ConcurrentMap<String, T> map, String key, P placeholder) {
+            T created = get();
+            if (created != null) {
+                map.replace(key, placeholder, created);
+            } else {
+                map.remove(key, placeholder);
+            }
+
+            return map.get(key);
+        }
+
+    }
+
+    private static final class LazyRenderer extends Renderer {
+
+        private final LazyInstance<Renderer> instance;
+
+        LazyRenderer(Supplier<? extends Renderer> supplier) {
+            instance = new LazyInstance<>(supplier);
+        }
+
+        Renderer resolve(ConcurrentMap<String, Renderer> renderers, String rendererType) {
+            return instance.resolve(renderers, rendererType, this);
+        }
+
+    }
+
+    private static final class LazyClientBehaviorRenderer extends ClientBehaviorRenderer {
+
+        private final LazyInstance<ClientBehaviorRenderer> instance;
+
+        LazyClientBehaviorRenderer(Supplier<? extends ClientBehaviorRenderer> supplier) {
+            instance = new LazyInstance<>(supplier);
+        }
+
+        ClientBehaviorRenderer resolve(ConcurrentMap<String, ClientBehaviorRenderer> behaviorRenderers, String behaviorRendererType) {
+            return instance.resolve(behaviorRenderers, behaviorRendererType, this);
+        }
+
+    }
+
     // The test for this class is in TestRenderKit.java
 
 }
@@ -905,6 +905,26 @@ public class HtmlResponseWriter extends ResponseWriter {
         }
     }
 
+    /**
+     * <p>
+     * Write properly escaped text like {@link #writeText(Object, String)} does, but use the escaped form kept by the given
+     * text, so that text which is rendered over and over again is escaped only once.
+     * </p>
+     *
+     * @param text Text to be written
+     *
+     * @throws IOException if an input/output error occurs
+     * @throws NullPointerException if <code>text</code> is <code>null</code>
+     */
+    public void writeText(PreEscapedText text) throws IOException {
+        if (dontEscape || writingCdata && !isPartial) {
+            writeText(text.getText(), null);
+        } else {
+            closeStartIfNecessary();
+            writer.write(text.getEscaped(escapeUnicode, escapeIso, isPartial));
+        }
+    }
+
     /**
      * <p>
      * Write properly escaped text from a character array. If there is an open element that has been created by a call to
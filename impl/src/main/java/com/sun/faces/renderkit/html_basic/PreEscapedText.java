@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.renderkit.html_basic;
+
+import java.io.IOException;
+
+import com.sun.faces.io.FastStringWriter;
+import com.sun.faces.util.HtmlUtils;
+
+import jakarta.faces.context.ResponseWriter;
+
+/**
+ * <p>
+ * Text which does not change between requests, such as the literal parts of a Facelet template, along with its
+ * escaped form. {@link HtmlResponseWriter#writeText(PreEscapedText)} writes the escaped form directly, instead of
+ * escaping the same text again on every request.
+ * </p>
+ *
+ * <p>
+ * How text is escaped depends on the character encoding of the response and on whether it is part of a partial
+ * response, so the escaped form is computed once per combination, when it is first needed.
+ * </p>
+ */
+public final class PreEscapedText {
+
+    private final String text;
+
+    private final String[] escaped = new String[8];
+
+    public PreEscapedText(String text) {
+        this.text = text;
+    }
+
+    /**
+     * @return the text, unescaped
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Write this text to the given response writer as {@link ResponseWriter#writeText(Object, String)} would. The escaped
+     * form is only used when the writer is a {@link HtmlResponseWriter}, any other writer escapes the text itself.
+     *
+     * @param out the response writer
+     * @throws IOException if an input/output error occurs
+     */
+    public void writeTo(ResponseWriter out) throws IOException {
+        if (out instanceof HtmlResponseWriter htmlResponseWriter) {
+            htmlResponseWriter.writeText(this);
+        } else {
+            out.writeText(text, null);
+        }
+    }
+
+    String getEscaped(boolean escapeUnicode, boolean escapeIso, boolean forXml) throws IOException {
+        int mode = (escapeUnicode ? 1 : 0) | (escapeIso ? 2 : 0) | (forXml ? 4 : 0);
+
+        // Racy but harmless, at worst the same text is escaped twice
+        String result = escaped[mode];
+        if (result == null) {
+            FastStringWriter out = new FastStringWriter(text.length() + 16);
+            HtmlUtils.writeText(out, escapeUnicode, escapeIso, new char[1028], text.toCharArray(), forXml);
+            result = out.toString();
+            escaped[mode] = result;
+        }
+
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+}
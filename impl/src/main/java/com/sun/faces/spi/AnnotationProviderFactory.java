@@ -16,6 +16,8 @@
 
 package com.sun.faces.spi;
 
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.EnableClassFileAnnotationScanning;
+
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Iterator;
@@ -23,6 +25,8 @@ import java.util.ServiceLoader;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.sun.faces.config.WebConfiguration;
+import com.sun.faces.config.manager.spi.ClassFileAnnotationScanner;
 import com.sun.faces.config.manager.spi.FilterClassesFromFacesInitializerAnnotationProvider;
 import com.sun.faces.util.FacesLogger;
 
@@ -99,8 +103,13 @@ public class AnnotationProviderFactory {
         AnnotationProvider result = null;
         Constructor c;
 
+        Class<? extends AnnotationProvider> providerClass = DEFAULT_ANNOTATION_PROVIDER;
+        if (WebConfiguration.getInstance(sc).isOptionEnabled(EnableClassFileAnnotationScanning)) {
+            providerClass = ClassFileAnnotationScanner.class;
+        }
+
         try {
-            c = DEFAULT_ANNOTATION_PROVIDER.getDeclaredConstructor(ServletContext.class);
+            c = providerClass.getDeclaredConstructor(ServletContext.class);
             result = (AnnotationProvider) c.newInstance(sc);
         } catch (NoSuchMethodException | SecurityException | InstantiationException | IllegalAccessException | IllegalArgumentException
                 | InvocationTargetException e2) {
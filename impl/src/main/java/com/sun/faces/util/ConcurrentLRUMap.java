@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * A bounded, thread safe {@link Map} evicting the least recently used entry once it grows beyond its maximum
+ * capacity. It is the concurrent counterpart of {@link LRUMap} and does not need to be wrapped by
+ * {@link java.util.Collections#synchronizedMap(Map)}.
+ * </p>
+ *
+ * <p>
+ * Entries are kept in a {@link ConcurrentHashMap}, so reads never block. Recency is tracked by stamping each entry
+ * with the value of a logical clock which is only advanced by writes: a read stamps the entry as used after the last
+ * write, without writing to shared memory unless the entry was not used since then. The entries read since the last
+ * write are therefore equally recent. Only writes that push the map beyond its capacity take the eviction lock. Such a
+ * write evicts the eldest of a batch of candidates, collected by scanning the entries once for about an eighth of the
+ * capacity, and only scans again when all the candidates were evicted or used since, so the scan is amortized over
+ * the evictions.
+ * </p>
+ *
+ * <p>
+ * An optional {@link EvictionListener} is notified, outside of any lock, for every entry evicted because of the
+ * capacity bound. Explicit removals are not reported.
+ * </p>
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public class ConcurrentLRUMap<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V>, Serializable {
+
+    private static final long serialVersionUID = 3208154741291457367L;
+
+    /**
+     * The fraction of the entries collected as eviction candidates by a scan.
+     */
+    private static final int EVICTION_BATCH_DIVISOR = 8;
+
+    /**
+     * Callback notified when an entry is evicted. It is serializable because instances of this map are stored in the
+     * session.
+     */
+    @FunctionalInterface
+    public interface EvictionListener<K, V> extends Serializable {
+
+        void onEviction(K key, V value);
+
+    }
+
+    private final ConcurrentHashMap<K, Node<V>> map = new ConcurrentHashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final int maxCapacity;
+    private final EvictionListener<K, V> evictionListener;
+
+    private transient ArrayDeque<Candidate<K>> candidates; // guarded by evictionLock
+    private transient Set<Map.Entry<K, V>> entrySet;
+
+    // ------------------------------------------------------------ Constructors
+
+    public ConcurrentLRUMap(int maxCapacity) {
+        this(maxCapacity, null);
+    }
+
+    public ConcurrentLRUMap(int maxCapacity, EvictionListener<K, V> evictionListener) {
+        if (maxCapacity < 1) {
+            throw new IllegalArgumentException("maxCapacity must be greater than zero");
+        }
+        this.maxCapacity = maxCapacity;
+        this.evictionListener = evictionListener;
+    }
+
+    // ---------------------------------------------------------- Public Methods
+
+    public int getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<V> node = map.get(key);
+        if (node == null) {
+            return null;
+        }
+
+        touch(node);
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(value);
+
+        Node<V> previous = map.put(key, new Node<>(value, clock.addAndGet(2)));
+        if (previous == null) {
+            evictIfNeeded();
+            return null;
+        }
+
+        return previous.value;
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        Objects.requireNonNull(value);
+
+        Node<V> existing = map.putIfAbsent(key, new Node<>(value, clock.addAndGet(2)));
+        if (existing == null) {
+            evictIfNeeded();
+            return null;
+        }
+
+        touch(existing);
+        return existing.value;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Node<V> removed = map.remove(key);
+        return removed != null ? removed.value : null;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        Node<V> node = map.get(key);
+        return node != null && Objects.equals(node.value, value) && map.remove(key, node);
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(newValue);
+
+        Node<V> node = map.get(key);
+        return node != null && Objects.equals(node.value, oldValue) && map.replace(key, node, new Node<>(newValue, clock.addAndGet(2)));
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Objects.requireNonNull(value);
+
+        Node<V> previous = map.replace(key, new Node<>(value, clock.addAndGet(2)));
+        return previous != null ? previous.value : null;
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    /**
+     * The returned view is weakly consistent, like the views of {@link ConcurrentHashMap}, and iterating over it does
+     * not affect the recency of the entries.
+     */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+
+        return entrySet;
+    }
+
+    // --------------------------------------------------------- Private Methods
+
+    private void touch(Node<V> node) {
+        // Writes advance the clock by two, so a read stamp is more recent than the last write without advancing the
+        // clock, and repeated reads of a hot entry never write to shared memory.
+        long stamp = clock.get() + 1;
+        if (node.stamp != stamp) {
+            node.stamp = stamp;
+        }
+    }
+
+    private void evictIfNeeded() {
+        if (map.size() <= maxCapacity) {
+            return;
+        }
+
+        List<Map.Entry<K, V>> evicted = new ArrayList<>(1);
+
+        evictionLock.lock();
+        try {
+            if (candidates == null) {
+                candidates = new ArrayDeque<>();
+            }
+
+            while (map.size() > maxCapacity) {
+                Candidate<K> candidate = candidates.poll();
+                if (candidate == null) {
+                    if (!collectCandidates()) {
+                        break;
+                    }
+                    continue;
+                }
+
+                // Entries only get more recent, so the first candidate which was not used, replaced or removed since it
+                // was collected is still the eldest entry.
+                Node<V> node = map.get(candidate.key);
+                if (node != null && node.stamp == candidate.stamp && map.remove(candidate.key, node)) {
+                    evicted.add(new SimpleImmutableEntry<>(candidate.key, node.value));
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+
+        if (evictionListener != null) {
+            for (Map.Entry<K, V> entry : evicted) {
+                evictionListener.onEviction(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private boolean collectCandidates() {
+        int count = Math.max(1, map.size() / EVICTION_BATCH_DIVISOR);
+        PriorityQueue<Candidate<K>> eldest = new PriorityQueue<>(count + 1, Comparator.comparingLong((Candidate<K> candidate) -> candidate.stamp).reversed());
+
+        for (Map.Entry<K, Node<V>> entry : map.entrySet()) {
+            long stamp = entry.getValue().stamp;
+            if (eldest.size() < count || stamp < eldest.peek().stamp) {
+                eldest.add(new Candidate<>(entry.getKey(), stamp));
+                if (eldest.size() > count) {
+                    eldest.poll();
+                }
+            }
+        }
+
+        while (!eldest.isEmpty()) {
+            candidates.addFirst(eldest.poll());
+        }
+
+        return !candidates.isEmpty();
+    }
+
+    // ---------------------------------------------------------- Nested Classes
+
+    private static final class Candidate<K> {
+
+        private final K key;
+        private final long stamp;
+
+        Candidate(K key, long stamp) {
+            this.key = key;
+            this.stamp = stamp;
+        }
+
+    }
+
+    private static final class Node<V> implements Serializable {
+
+        private static final long serialVersionUID = -4571580473834312082L;
+
+        private final V value;
+        private volatile long stamp;
+
+        Node(V value, long stamp) {
+            this.value = value;
+            this.stamp = stamp;
+        }
+
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            Iterator<Map.Entry<K, Node<V>>> iterator = map.entrySet().iterator();
+
+            return new Iterator<>() {
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Map.Entry<K, V> next() {
+                    Map.Entry<K, Node<V>> next = iterator.next();
+                    return new SimpleImmutableEntry<>(next.getKey(), next.getValue().value);
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+    }
+
+}
@@ -54,6 +54,13 @@ public class ELAwareBeanManagerWrapper implements ELAwareBeanManager {
         this.wrapped = wrapped;
     }
 
+    /**
+     * @return the wrapped bean manager
+     */
+    public BeanManager getWrapped() {
+        return wrapped;
+    }
+
     /**
      * @return
      * @see jakarta.enterprise.inject.spi.el.ELAwareBeanManager#getELResolver()
@@ -34,6 +34,11 @@ import jakarta.faces.FacesException;
  * This class implements an abstract ConcurrentCache with objects in the cache potentially expiring. Only non-expired
  * objects will be returned from the cache or considered to be contained in the cache The cache is self-managing, so no
  * remove() method is defined
+ *
+ * <p>
+ * When an expired object is found, the thread that found it recreates the object while the other threads keep being
+ * served the expired object until the new one is available, instead of all waiting for it.
+ * </p>
  */
 public final class ExpiringConcurrentCache<K, V> extends ConcurrentCache<K, V> {
 
@@ -71,6 +76,10 @@ public final class ExpiringConcurrentCache<K, V> extends ConcurrentCache<K, V> {
             boolean newlyCached = false;
 
             Future<V> f = _cache.get(key);
+            if (f instanceof Refresh && !f.isDone()) {
+                // Another thread is recreating the expired object, do not wait for it
+                return ((Refresh<V>) f).getExpired();
+            }
             if (f == null) {
                 Callable<V> callable = () -> getFactory().newInstance(key);
                 FutureTask<V> ft = new FutureTask<>(callable);
@@ -93,9 +102,12 @@ public final class ExpiringConcurrentCache<K, V> extends ConcurrentCache<K, V> {
                 V obj = f.get();
                 if (!newlyCached && _getExpiryChecker().isExpired(key, obj)) {
 
-                    // Note that we are using both key and value in remove() call to ensure
-                    // that we are not removing the Future added after expiry check by a different thread
-                    _cache.remove(key, f);
+                    // Note that we are using both key and value in replace() call to ensure
+                    // that we are not replacing the Future added after expiry check by a different thread
+                    Refresh<V> refresh = new Refresh<>(() -> getFactory().newInstance(key), obj);
+                    if (_cache.replace(key, f, refresh)) {
+                        refresh.run();
+                    }
                 } else {
                     return obj;
                 }
@@ -151,6 +163,23 @@ public final class ExpiringConcurrentCache<K, V> extends ConcurrentCache<K, V> {
         return _checker;
     }
 
+    /**
+     * Recreation of an expired object, holding the expired object until the recreation is done.
+     */
+    private static final class Refresh<V> extends FutureTask<V> {
+
+        private final V expired;
+
+        Refresh(Callable<V> callable, V expired) {
+            super(callable);
+            this.expired = expired;
+        }
+
+        V getExpired() {
+            return expired;
+        }
+    }
+
     private final ExpiryChecker<K, V> _checker;
     private final ConcurrentMap<K, Future<V>> _cache = new ConcurrentHashMap<>();
 
@@ -29,17 +29,23 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.io.OutputStream;
 import java.io.StringWriter;
 import java.io.Writer;
-import java.lang.reflect.Array;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -56,6 +62,9 @@ import jakarta.json.stream.JsonGenerator;
  * them, even nested ones. The dates are formatted as ISO8601 instant via {@link DateTimeFormatter#ISO_INSTANT}, so you
  * can if necessary just pass the value straight to <code>new Date(value)</code> in JavaScript.
  * <p>
+ * The bean introspection is done once per class: the getters of each class are compiled to {@link MethodHandle}s and
+ * cached in a {@link ClassValue}. Arrays of primitives are encoded without boxing their elements.
+ * <p>
  * Below encoding options are available:
  * <ul>
  * <li>{@link Option#SKIP_NULL_VALUES}: skip null values in arrays, collections, maps and beans. This may reduce an
@@ -72,6 +81,13 @@ public class Json {
     private static final String ERROR_INVALID_BEAN = "Cannot introspect object of type '%s' as bean.";
     private static final String ERROR_INVALID_GETTER = "Cannot invoke getter of property '%s' of bean '%s'.";
 
+    private static final ClassValue<BeanEncoder> BEAN_ENCODERS = new ClassValue<>() {
+        @Override
+        protected BeanEncoder computeValue(Class<?> type) {
+            return new BeanEncoder(type);
+        }
+    };
+
     public enum Option {
 
         /**
@@ -113,12 +129,31 @@ public class Json {
      */
     public static void encode(Object object, Writer writer, Option... options) {
         try (JsonGenerator generator = jakarta.json.Json.createGenerator(writer)) {
-            generator.writeStartObject();
-            encode("data", object, generator, options.length == 0 ? noneOf(Option.class) : copyOf(asList(options)));
-            generator.writeEnd();
+            encode(object, generator, options);
         }
     }
 
+    /**
+     * Encodes the given object as JSON while streaming the UTF-8 encoded bytes in JSON format to the given output stream.
+     * The encoded object will be available as <code>data</code> property of the JS object in the returned JSON string.
+     *
+     * @param object The object to be encoded as JSON.
+     * @param output The output stream to stream the encoded output to.
+     * @param options The encoding options.
+     * @throws IllegalArgumentException When given object or one of its properties cannot be inspected as a JavaBean.
+     */
+    public static void encode(Object object, OutputStream output, Option... options) {
+        try (JsonGenerator generator = jakarta.json.Json.createGenerator(output)) {
+            encode(object, generator, options);
+        }
+    }
+
+    static void encode(Object object, JsonGenerator generator, Option... options) {
+        generator.writeStartObject();
+        encode("data", object, generator, options.length == 0 ? noneOf(Option.class) : copyOf(asList(options)));
+        generator.writeEnd();
+    }
+
     private static void encode(String name, Object object, JsonGenerator generator, EnumSet<Option> options) {
         if (object == null) {
             encodeNull(name, generator);
@@ -230,13 +265,46 @@ public class Json {
             generator.writeStartArray(name);
         }
 
-        boolean skipNullValues = options.contains(SKIP_NULL_VALUES);
-
-        for (int i = 0; i < Array.getLength(array); i++) {
-            Object value = Array.get(array, i);
+        if (array instanceof Object[]) {
+            boolean skipNullValues = options.contains(SKIP_NULL_VALUES);
 
-            if (!(value == null && skipNullValues)) {
-                encode(null, value, generator, options);
+            for (Object value : (Object[]) array) {
+                if (!(value == null && skipNullValues)) {
+                    encode(null, value, generator, options);
+                }
+            }
+        } else if (array instanceof int[]) {
+            for (int value : (int[]) array) {
+                generator.write(value);
+            }
+        } else if (array instanceof long[]) {
+            for (long value : (long[]) array) {
+                generator.write(value);
+            }
+        } else if (array instanceof double[]) {
+            for (double value : (double[]) array) {
+                generator.write(value);
+            }
+        } else if (array instanceof boolean[]) {
+            for (boolean value : (boolean[]) array) {
+                generator.write(value);
+            }
+        } else if (array instanceof char[]) {
+            for (char value : (char[]) array) {
+                generator.write(String.valueOf(value));
+            }
+        } else if (array instanceof byte[]) {
+            for (byte value : (byte[]) array) {
+                generator.write((long) value);
+            }
+        } else if (array instanceof short[]) {
+            for (short value : (short[]) array) {
+                generator.write((long) value);
+            }
+        } else {
+            // Like a Float in any other structure, it's encoded via Number#longValue().
+            for (float value : (float[]) array) {
+                generator.write((long) value);
             }
         }
 
@@ -282,41 +350,173 @@ public class Json {
     }
 
     private static void encodeBean(String name, Object bean, JsonGenerator generator, EnumSet<Option> options) {
-        BeanInfo beanInfo;
+        BEAN_ENCODERS.get(bean.getClass()).encode(name, bean, generator, options);
+    }
 
-        try {
-            beanInfo = Introspector.getBeanInfo(bean.getClass());
-        } catch (IntrospectionException e) {
-            throw new IllegalArgumentException(String.format(ERROR_INVALID_BEAN, bean.getClass()), e);
-        }
+    /**
+     * Encodes the public properties of the beans of a given class. The introspection is done once, when the encoder is
+     * created, and the getters are invoked via method handles.
+     */
+    private static final class BeanEncoder {
 
-        if (name == null) {
-            generator.writeStartObject();
-        } else {
-            generator.writeStartObject(name);
+        private final Class<?> type;
+        private final IntrospectionException introspectionFailure;
+        private final Property[] properties;
+
+        BeanEncoder(Class<?> type) {
+            this.type = type;
+            BeanInfo beanInfo;
+
+            try {
+                beanInfo = Introspector.getBeanInfo(type);
+            } catch (IntrospectionException e) {
+                introspectionFailure = e;
+                properties = new Property[0];
+                return;
+            }
+
+            List<Property> list = new ArrayList<>();
+
+            for (PropertyDescriptor property : beanInfo.getPropertyDescriptors()) {
+                if (property.getReadMethod() != null && !"class".equals(property.getName())) {
+                    list.add(new Property(property.getName(), property.getReadMethod()));
+                }
+            }
+
+            introspectionFailure = null;
+            properties = list.toArray(new Property[0]);
         }
 
-        boolean skipNullValues = options.contains(SKIP_NULL_VALUES);
+        void encode(String name, Object bean, JsonGenerator generator, EnumSet<Option> options) {
+            if (introspectionFailure != null) {
+                throw new IllegalArgumentException(String.format(ERROR_INVALID_BEAN, type), introspectionFailure);
+            }
 
-        for (PropertyDescriptor property : beanInfo.getPropertyDescriptors()) {
-            if (property.getReadMethod() == null || "class".equals(property.getName())) {
-                continue;
+            if (name == null) {
+                generator.writeStartObject();
+            } else {
+                generator.writeStartObject(name);
             }
 
-            Object value;
+            boolean skipNullValues = options.contains(SKIP_NULL_VALUES);
+
+            for (Property property : properties) {
+                property.encode(bean, generator, options, skipNullValues);
+            }
+
+            generator.writeEnd();
+        }
+    }
+
+    /**
+     * A bean property. Getters returning <code>int</code>, <code>long</code>, <code>double</code> or
+     * <code>boolean</code> are invoked without boxing their result.
+     */
+    private static final class Property {
+
+        private static final MethodType OBJECT_GETTER = MethodType.methodType(Object.class, Object.class);
+        private static final MethodType INT_GETTER = MethodType.methodType(int.class, Object.class);
+        private static final MethodType LONG_GETTER = MethodType.methodType(long.class, Object.class);
+        private static final MethodType DOUBLE_GETTER = MethodType.methodType(double.class, Object.class);
+        private static final MethodType BOOLEAN_GETTER = MethodType.methodType(boolean.class, Object.class);
+
+        private final String name;
+        private final Method getter;
+        private final MethodHandle handle;
+        private final Class<?> returnType;
+
+        Property(String name, Method getter) {
+            this.name = name;
+            this.getter = getter;
+
+            Class<?> type = getter.getReturnType();
+            MethodHandle compiled;
 
             try {
-                value = property.getReadMethod().invoke(bean);
-            } catch (Exception e) {
-                throw new IllegalArgumentException(String.format(ERROR_INVALID_GETTER, property.getName(), bean.getClass()), e);
+                MethodHandle unreflected = MethodHandles.publicLookup().unreflect(getter);
+
+                if (type == int.class) {
+                    compiled = unreflected.asType(INT_GETTER);
+                } else if (type == long.class) {
+                    compiled = unreflected.asType(LONG_GETTER);
+                } else if (type == double.class) {
+                    compiled = unreflected.asType(DOUBLE_GETTER);
+                } else if (type == boolean.class) {
+                    compiled = unreflected.asType(BOOLEAN_GETTER);
+                } else {
+                    compiled = unreflected.asType(OBJECT_GETTER);
+                    type = Object.class;
+                }
+            } catch (IllegalAccessException e) {
+                // E.g. a public getter of a non-public class, keep going through reflection which reports the failure.
+                compiled = null;
+                type = Object.class;
             }
 
-            if (!(value == null && skipNullValues)) {
-                encode(property.getName(), value, generator, options);
+            handle = compiled;
+            returnType = type;
+        }
+
+        void encode(Object bean, JsonGenerator generator, EnumSet<Option> options, boolean skipNullValues) {
+            // Only the getter invocations are guarded, failures of the generator must not be reported as invalid getters.
+            if (returnType == int.class) {
+                int value;
+
+                try {
+                    value = (int) handle.invokeExact(bean);
+                } catch (Throwable e) {
+                    throw invalidGetter(bean, e);
+                }
+
+                generator.write(name, value);
+            } else if (returnType == long.class) {
+                long value;
+
+                try {
+                    value = (long) handle.invokeExact(bean);
+                } catch (Throwable e) {
+                    throw invalidGetter(bean, e);
+                }
+
+                generator.write(name, value);
+            } else if (returnType == double.class) {
+                double value;
+
+                try {
+                    value = (double) handle.invokeExact(bean);
+                } catch (Throwable e) {
+                    throw invalidGetter(bean, e);
+                }
+
+                generator.write(name, value);
+            } else if (returnType == boolean.class) {
+                boolean value;
+
+                try {
+                    value = (boolean) handle.invokeExact(bean);
+                } catch (Throwable e) {
+                    throw invalidGetter(bean, e);
+                }
+
+                generator.write(name, value);
+            } else {
+                Object value;
+
+                try {
+                    value = handle != null ? (Object) handle.invokeExact(bean) : getter.invoke(bean);
+                } catch (Throwable e) {
+                    throw invalidGetter(bean, e);
+                }
+
+                if (!(value == null && skipNullValues)) {
+                    Json.encode(name, value, generator, options);
+                }
             }
         }
 
-        generator.writeEnd();
+        private IllegalArgumentException invalidGetter(Object bean, Throwable cause) {
+            return new IllegalArgumentException(String.format(ERROR_INVALID_GETTER, name, bean.getClass()), cause);
+        }
     }
 
 }
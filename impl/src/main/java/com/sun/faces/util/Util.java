@@ -43,7 +43,6 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.JarURLConnection;
-import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.util.ArrayList;
@@ -67,15 +66,12 @@ import java.util.stream.StreamSupport;
 import javax.naming.InitialContext;
 import javax.naming.NamingException;
 import javax.xml.XMLConstants;
-import javax.xml.namespace.NamespaceContext;
 import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.validation.SchemaFactory;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
 
 import com.sun.faces.RIConstants;
 import com.sun.faces.application.ApplicationAssociate;
@@ -148,7 +144,7 @@ public class Util {
         @SuppressWarnings("unchecked")
         Map<String, Pattern> result = (Map<String, Pattern>) appMap.get(PATTERN_CACHE_KEY);
         if (result == null) {
-            result = Collections.synchronizedMap(new LRUMap<>(15));
+            result = new ConcurrentLRUMap<>(15);
             appMap.put(PATTERN_CACHE_KEY, result);
         }
 
@@ -159,7 +155,7 @@ public class Util {
         @SuppressWarnings("unchecked")
         Map<String, Pattern> result = (Map<String, Pattern>) sc.getAttribute(PATTERN_CACHE_KEY);
         if (result == null) {
-            result = Collections.synchronizedMap(new LRUMap<>(15));
+            result = new ConcurrentLRUMap<>(15);
             sc.setAttribute(PATTERN_CACHE_KEY, result);
         }
 
@@ -345,6 +341,21 @@ public class Util {
         return factory;
     }
 
+    public static XMLInputFactory createXMLInputFactory() {
+        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        XMLInputFactory factory;
+        try {
+            Thread.currentThread().setContextClassLoader(Util.class.getClassLoader());
+            factory = XMLInputFactory.newInstance();
+        } finally {
+            Thread.currentThread().setContextClassLoader(cl);
+        }
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
     public static SchemaFactory createSchemaFactory(String uri) {
         ClassLoader cl = Thread.currentThread().getContextClassLoader();
         SchemaFactory factory;
@@ -1005,7 +1016,7 @@ public class Util {
 
     /**
      * <p>
-     * A slightly more efficient version of <code>String.split()</code> which caches the <code>Pattern</code>s in an LRUMap
+     * A slightly more efficient version of <code>String.split()</code> which caches the <code>Pattern</code>s in a ConcurrentLRUMap
      * instead of creating a new <code>Pattern</code> on each invocation.
      * </p>
      *
@@ -1021,7 +1032,7 @@ public class Util {
     /**
      * <p>A slightly more efficient version of
      * <code>String.split()</code> which caches
-     * the <code>Pattern</code>s in an LRUMap instead of
+     * the <code>Pattern</code>s in a ConcurrentLRUMap instead of
      * creating a new <code>Pattern</code> on each
      * invocation. Limited by splitLimit.</p>
      * @param appMap the Application Map
@@ -1389,42 +1400,7 @@ public class Util {
      * @return the version found, or "" if none found.
      */
     public static String getFacesConfigXmlVersion(FacesContext facesContext) {
-        String result = "";
-        InputStream stream = null;
-        try {
-            URL url = facesContext.getExternalContext().getResource("/WEB-INF/faces-config.xml");
-            if (url != null) {
-                XPathFactory factory = XPathFactory.newInstance();
-                XPath xpath = factory.newXPath();
-                xpath.setNamespaceContext(new JakartaNamespaceContext());
-                stream = url.openStream();
-                DocumentBuilderFactory dbf = createDocumentBuilderFactory();
-                try {
-                    dbf.setFeature("http://xml.org/sax/features/external-general-entities", false);
-                    dbf.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-                    dbf.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-
-                } catch (ParserConfigurationException pce) {
-                }
-                dbf.setNamespaceAware(true);
-                dbf.setValidating(false);
-                dbf.setXIncludeAware(false);
-                dbf.setExpandEntityReferences(false);
-                result = xpath.evaluate("string(/" + JakartaNamespaceContext.PREFIX + ":faces-config/@version)",
-                        dbf.newDocumentBuilder().parse(stream));
-            }
-        } catch (MalformedURLException mue) {
-        } catch (XPathExpressionException | IOException xpee) {
-        } catch (Exception e) {
-        } finally {
-            if (stream != null) {
-                try {
-                    stream.close();
-                } catch (IOException ioe) {
-                }
-            }
-        }
-        return result;
+        return getRootElementAttribute(facesContext, "/WEB-INF/faces-config.xml", "faces-config", "version");
     }
 
     /**
@@ -1434,63 +1410,44 @@ public class Util {
      * @return the version found, or "" if none found.
      */
     public static String getWebXmlVersion(FacesContext facesContext) {
+        return getRootElementAttribute(facesContext, "/WEB-INF/web.xml", "web-app", "version");
+    }
+
+    /**
+     * Streams the given resource up to its root element only, instead of building a DOM of the whole document just to
+     * read one attribute of it.
+     *
+     * @return the value of the attribute, or "" if the resource does not exist, is not well formed, or its root element
+     * is not the given element in the Jakarta EE namespace.
+     */
+    private static String getRootElementAttribute(FacesContext facesContext, String path, String localName, String attribute) {
         String result = "";
-        InputStream stream = null;
         try {
-            URL url = facesContext.getExternalContext().getResource("/WEB-INF/web.xml");
+            URL url = facesContext.getExternalContext().getResource(path);
             if (url != null) {
-                XPathFactory factory = XPathFactory.newInstance();
-                XPath xpath = factory.newXPath();
-                xpath.setNamespaceContext(new JakartaNamespaceContext());
-                stream = url.openStream();
-                DocumentBuilderFactory dbf = createDocumentBuilderFactory();
-                try {
-                    dbf.setFeature("http://xml.org/sax/features/external-general-entities", false);
-                    dbf.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-                    dbf.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-
-                } catch (ParserConfigurationException e) {
+                try (InputStream stream = url.openStream()) {
+                    XMLStreamReader reader = createXMLInputFactory().createXMLStreamReader(stream);
+                    try {
+                        reader.nextTag();
+                        if (localName.equals(reader.getLocalName()) && FacesSchema.Schemas.JAKARTAEE_SCHEMA_DEFAULT_NS.equals(reader.getNamespaceURI())) {
+                            String value = reader.getAttributeValue(null, attribute);
+                            if (value != null) {
+                                result = value;
+                            }
+                        }
+                    } finally {
+                        reader.close();
+                    }
                 }
-                dbf.setNamespaceAware(true);
-                dbf.setValidating(false);
-                dbf.setXIncludeAware(false);
-                dbf.setExpandEntityReferences(false);
-                result = xpath.evaluate("string(/" + JakartaNamespaceContext.PREFIX + ":web-app/@version)", dbf.newDocumentBuilder().parse(stream));
             }
-        } catch (MalformedURLException mue) {
-        } catch (XPathExpressionException | IOException xpee) {
         } catch (Exception e) {
-        } finally {
-            if (stream != null) {
-                try {
-                    stream.close();
-                } catch (IOException ioe) {
-                }
+            if (LOGGER.isLoggable(Level.FINEST)) {
+                LOGGER.log(Level.FINEST, "Unable to read " + path, e);
             }
         }
         return result;
     }
 
-    public static class JakartaNamespaceContext implements NamespaceContext {
-
-        public static final String PREFIX = "jakartaee";
-
-        @Override
-        public String getNamespaceURI(String prefix) {
-            return FacesSchema.Schemas.JAKARTAEE_SCHEMA_DEFAULT_NS;
-        }
-
-        @Override
-        public String getPrefix(String namespaceURI) {
-            return PREFIX;
-        }
-
-        @Override
-        public Iterator getPrefixes(String namespaceURI) {
-            return null;
-        }
-    }
-
     /**
      * Get the CDI bean manager.
      *
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.cdi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.application.ApplicationAssociate;
+import com.sun.faces.application.ApplicationImpl;
+import com.sun.faces.context.ExternalContextImpl;
+import com.sun.faces.context.FacesContextImpl;
+import com.sun.faces.lifecycle.LifecycleImpl;
+import com.sun.faces.mock.MockCDIProvider;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockServletContext;
+import com.sun.faces.util.ELAwareBeanManagerWrapper;
+
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.faces.FactoryFinder;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.context.FacesContext;
+import jakarta.faces.convert.Converter;
+import jakarta.faces.convert.FacesConverter;
+
+public class CdiUtilsTest {
+
+    private static final int CONVERTERS = 500;
+
+    private final Map<Annotation, Bean<?>> beans = new HashMap<>();
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AtomicInteger references = new AtomicInteger();
+    private BeanManager beanManager;
+
+    @Before
+    public void setUp() {
+        createApplication();
+
+        for (int i = 0; i < CONVERTERS; i++) {
+            beans.put(FacesConverter.Literal.of("converter" + i, Object.class, true), newBean("converter" + i));
+        }
+
+        beanManager = (BeanManager) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { BeanManager.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+            case "getBeans":
+                lookups.incrementAndGet();
+                Bean<?> bean = beans.get(((Annotation[]) args[1])[0]);
+                return bean != null ? Set.of(bean) : Set.of();
+            case "resolve":
+                Set<?> resolved = (Set<?>) args[0];
+                return resolved.isEmpty() ? null : resolved.iterator().next();
+            case "createCreationalContext":
+                return null;
+            case "getReference":
+                references.incrementAndGet();
+                return new TestConverter();
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            default:
+                throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        releaseApplication();
+    }
+
+    @Test
+    public void testBeansAreResolvedOncePerQualifier() {
+        for (int pass = 0; pass < 10; pass++) {
+            for (int i = 0; i < CONVERTERS; i++) {
+                Converter<?> converter = CdiUtils.getBeanReference(beanManager, Converter.class, FacesConverter.Literal.of("converter" + i, Object.class, true));
+                assertEquals(TestConverter.class, converter.getClass());
+            }
+        }
+
+        assertEquals(CONVERTERS, lookups.get());
+        assertEquals(10 * CONVERTERS, references.get());
+    }
+
+    @Test
+    public void testMissesAreCached() {
+        Annotation qualifier = FacesConverter.Literal.of("unknown", Object.class, true);
+
+        assertNull(CdiUtils.getBeanReference(beanManager, Converter.class, qualifier));
+        assertNull(CdiUtils.getBeanReference(beanManager, Converter.class, qualifier));
+        assertEquals(1, lookups.get());
+
+        // The type is part of the key
+        assertNull(CdiUtils.getBeanReferenceByType(beanManager, Object.class, qualifier));
+        assertEquals(2, lookups.get());
+        assertEquals(0, references.get());
+    }
+
+    @Test
+    public void testWrappedBeanManagerSharesCache() {
+        Annotation qualifier = FacesConverter.Literal.of("converter0", Object.class, true);
+
+        assertNotNull(CdiUtils.getBeanReference(new ELAwareBeanManagerWrapper(beanManager), Converter.class, qualifier));
+        assertNotNull(CdiUtils.getBeanReference(new ELAwareBeanManagerWrapper(beanManager), Converter.class, qualifier));
+        assertNotNull(CdiUtils.getBeanReference(beanManager, Converter.class, qualifier));
+
+        assertEquals(1, lookups.get());
+        assertEquals(1, ApplicationAssociate.getCurrentInstance().getCdiBeanCache().size());
+    }
+
+    @Test
+    public void testCacheIsPerApplication() {
+        Annotation qualifier = FacesConverter.Literal.of("converter0", Object.class, true);
+
+        Object first = CdiUtils.getBeanReference(beanManager, Converter.class, qualifier);
+        releaseApplication();
+        createApplication();
+        Object second = CdiUtils.getBeanReference(beanManager, Converter.class, qualifier);
+
+        assertEquals(2, lookups.get());
+        assertEquals(first.getClass(), second.getClass());
+    }
+
+    @Test
+    public void testNothingIsCachedWithoutApplication() {
+        Annotation qualifier = FacesConverter.Literal.of("converter0", Object.class, true);
+        releaseApplication();
+
+        CdiUtils.getBeanReference(beanManager, Converter.class, qualifier);
+        CdiUtils.getBeanReference(beanManager, Converter.class, qualifier);
+
+        assertEquals(2, lookups.get());
+    }
+
+    private static void releaseApplication() {
+        ApplicationAssociate.setCurrentInstance(null);
+        // FacesContextImpl.release() needs a real bean manager, this only clears the current instance
+        new MockFacesContext().release();
+    }
+
+    private void createApplication() {
+        CDI.setCDIProvider(new MockCDIProvider());
+        MockServletContext servletContext = new MockServletContext() {
+            @Override
+            public URL getResource(String path) {
+                return null;
+            }
+        };
+        FactoryFinder.setFactory(FactoryFinder.RENDER_KIT_FACTORY, "com.sun.faces.mock.MockRenderKitFactory");
+
+        FacesContext facesContext = new FacesContextImpl(new ExternalContextImpl(servletContext, new MockHttpServletRequest(), new MockHttpServletResponse()),
+                new LifecycleImpl());
+        new ApplicationImpl();
+        ApplicationAssociate.setCurrentInstance(ApplicationAssociate.getInstance(facesContext));
+    }
+
+    private static Bean<?> newBean(String name) {
+        return (Bean<?>) Proxy.newProxyInstance(CdiUtilsTest.class.getClassLoader(), new Class<?>[] { Bean.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+            case "getName":
+                return name;
+            case "getTypes":
+                return Set.<Type>of(Converter.class);
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return name;
+            default:
+                throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    public static class TestConverter implements Converter<Object> {
+
+        @Override
+        public Object getAsObject(FacesContext context, UIComponent component, String value) {
+            return value;
+        }
+
+        @Override
+        public String getAsString(FacesContext context, UIComponent component, Object value) {
+            return String.valueOf(value);
+        }
+    }
+
+}
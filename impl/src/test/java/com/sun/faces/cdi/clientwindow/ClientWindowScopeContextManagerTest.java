@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.cdi.clientwindow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.RIConstants;
+import com.sun.faces.lifecycle.ClientWindowRegistry;
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockHttpSession;
+import com.sun.faces.mock.MockServletContext;
+
+import jakarta.enterprise.context.spi.Contextual;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.PassivationCapable;
+import jakarta.enterprise.inject.spi.el.ELAwareBeanManager;
+import jakarta.faces.context.FacesContext;
+
+public class ClientWindowScopeContextManagerTest {
+
+    private final MockServletContext servletContext = new MockServletContext();
+    private final MockHttpSession session = new MockHttpSession(servletContext);
+    private final List<Object> destroyed = new ArrayList<>();
+    private final Contextual<Object> bean = newBean();
+    private MockFacesContext context;
+
+    @Before
+    public void setUp() {
+        servletContext.addInitParameter("jakarta.faces.NUMBER_OF_CLIENT_WINDOWS", "1");
+
+        MockHttpServletRequest request = new MockHttpServletRequest(session);
+        context = new MockFacesContext(new MockExternalContext(servletContext, request, new MockHttpServletResponse()) {
+
+            @Override
+            public Object getSession(boolean create) {
+                return request.getSession(create);
+            }
+        });
+
+        context.getAttributes().put(RIConstants.CDI_BEAN_MANAGER, Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { ELAwareBeanManager.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "getPassivationCapableBean":
+                        return "bean".equals(args[0]) ? bean : null;
+                    case "createCreationalContext":
+                        return null;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                }));
+    }
+
+    @After
+    public void tearDown() {
+        context.release();
+    }
+
+    @Test
+    public void testBeansOfEvictedWindowAreDestroyed() {
+        ClientWindowScopeManager.getInstance(context);
+        ClientWindowScopeContextManager contextManager = new ClientWindowScopeContextManager() {
+
+            @Override
+            protected String getCurrentClientWindowId(FacesContext facesContext) {
+                return "w1";
+            }
+        };
+
+        Object instance = contextManager.createBean(context, bean, null);
+        assertNotNull(contextManager.getBean(context, bean));
+
+        // The registry retains one window, so creating another one evicts w1.
+        ClientWindowRegistry.getWindow(context, "w2", true);
+
+        assertEquals(List.of(instance), destroyed);
+        assertNull(ClientWindowRegistry.getWindow(context, "w1", false));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Contextual<Object> newBean() {
+        return (Contextual<Object>) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Bean.class, PassivationCapable.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "getId":
+                        return "bean";
+                    case "create":
+                        return new Object();
+                    case "destroy":
+                        // This is where the container invokes the @PreDestroy methods.
+                        destroyed.add(args[0]);
+                        return null;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+}
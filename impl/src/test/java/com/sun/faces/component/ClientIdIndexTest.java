@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.component.visit.VisitContextFactoryImpl;
+import com.sun.faces.mock.MockApplication;
+import com.sun.faces.mock.MockCDIProvider;
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockServletContext;
+
+import jakarta.enterprise.inject.spi.CDI;
+import jakarta.faces.FactoryFinder;
+import jakarta.faces.component.ContextCallback;
+import jakarta.faces.component.UIColumn;
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UIData;
+import jakarta.faces.component.UINamingContainer;
+import jakarta.faces.component.UIPanel;
+import jakarta.faces.component.UIViewRoot;
+import jakarta.faces.context.FacesContext;
+
+public class ClientIdIndexTest {
+
+    private MockFacesContext context;
+    private UIViewRoot root;
+    private CountingNamingContainer form;
+
+    @Before
+    public void setUp() {
+        context = new MockFacesContext(new MockExternalContext(new MockServletContext(), new MockHttpServletRequest(), new MockHttpServletResponse()));
+        context.setApplication(new MockApplication());
+        CDI.setCDIProvider(new MockCDIProvider());
+        FactoryFinder.setFactory(FactoryFinder.VISIT_CONTEXT_FACTORY, VisitContextFactoryImpl.class.getName());
+
+        root = new UIViewRoot();
+        root.setId("root");
+        context.setViewRoot(root);
+
+        form = new CountingNamingContainer("form");
+        root.getChildren().add(form);
+        for (int i = 0; i < 100; i++) {
+            form.getChildren().add(newPanel("panel" + i));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        FactoryFinder.releaseFactories();
+        context.release();
+    }
+
+    @Test
+    public void testFindComponent() {
+        ClientIdIndex index = ClientIdIndex.getIndex(context, root);
+
+        assertSame(index, ClientIdIndex.getIndex(context, root));
+        assertSame(form, index.findComponent(context, "form"));
+        assertSame(form.getChildren().get(42), index.findComponent(context, "form:panel42"));
+        assertNull(index.findComponent(context, "form:unknown"));
+    }
+
+    @Test
+    public void testAddedAndRemovedComponents() {
+        ClientIdIndex index = ClientIdIndex.getIndex(context, root);
+        assertNull(index.findComponent(context, "form:added"));
+
+        UIComponent added = newPanel("added");
+        form.getChildren().add(added);
+        ClientIdIndex.componentAdded(context, added);
+        assertSame(added, index.findComponent(context, "form:added"));
+
+        UIComponent removed = form.getChildren().get(0);
+        ClientIdIndex.componentRemoved(context, removed);
+        form.getChildren().remove(removed);
+        assertNull(index.findComponent(context, "form:panel0"));
+    }
+
+    @Test
+    public void testStaleEntriesAreNotReturned() {
+        ClientIdIndex index = ClientIdIndex.getIndex(context, root);
+        UIComponent panel = index.findComponent(context, "form:panel1");
+
+        // Neither change is announced to the index
+        form.getChildren().remove(panel);
+        assertNull(index.findComponent(context, "form:panel1"));
+
+        UIComponent renamed = form.getChildren().get(1);
+        renamed.setId("renamed");
+        assertNull(index.findComponent(context, "form:panel2"));
+    }
+
+    @Test
+    public void testInvokeOnComponent() {
+        ClientIdIndex index = ClientIdIndex.getIndex(context, root);
+        List<UIComponent> targets = new ArrayList<>();
+        ContextCallback callback = (facesContext, target) -> targets.add(target);
+
+        // Invoked through the naming container, as from the view root
+        assertTrue(index.invokeOnComponent(context, "form:panel99", callback));
+        assertEquals(List.of(form.getChildren().get(99)), targets);
+        assertEquals(1, form.invocations);
+
+        // A row of an iteration component is resolved through the naming container the client id starts with
+        assertTrue(index.invokeOnComponent(context, "form:3:panel5", callback));
+        assertEquals(form.getChildren().get(5), targets.get(1));
+        assertEquals(2, form.invocations);
+
+        // Client ids which can't be found are still looked for from the view root
+        assertFalse(index.invokeOnComponent(context, "other:panel5", callback));
+        assertEquals(2, targets.size());
+    }
+
+    @Test
+    public void testInvokeOnComponentGoesThroughAncestors() {
+        CountingNamingContainer composite = new CountingNamingContainer("composite");
+        form.getChildren().add(composite);
+        UIComponent inner = newPanel("inner");
+        composite.getChildren().add(inner);
+
+        List<UIComponent> targets = new ArrayList<>();
+        assertTrue(ClientIdIndex.getIndex(context, root).invokeOnComponent(context, "form:composite:inner", (facesContext, target) -> targets.add(target)));
+
+        assertEquals(List.of(inner), targets);
+        assertEquals(1, form.invocations);
+        assertEquals(1, composite.invocations);
+    }
+
+    @Test
+    public void testIndexIsBuiltOutsideOfIteration() {
+        UIData table = newTable();
+        UIComponent cell = table.getChildren().get(0).getChildren().get(0);
+
+        assertSame(cell, ClientIdIndex.getIndex(context, root).findComponent(context, "form:table:cell"));
+    }
+
+    @Test
+    public void testRowsAreNotIndexed() {
+        UIData table = newTable();
+        UIComponent cell = table.getChildren().get(0).getChildren().get(0);
+
+        // Built while a row is current
+        table.setRowIndex(1);
+        ClientIdIndex index = ClientIdIndex.getIndex(context, root);
+        assertSame(form, index.findComponent(context, "form"));
+        assertNull(index.findComponent(context, "form:table:1"));
+        assertNull(index.findComponent(context, "form:table:1:cell"));
+        assertEquals(1, table.getRowIndex());
+
+        table.setRowIndex(-1);
+        List<UIComponent> targets = new ArrayList<>();
+        assertTrue(index.invokeOnComponent(context, "form:table:cell", (facesContext, target) -> targets.add(target)));
+        assertEquals(List.of(cell), targets);
+    }
+
+    private UIData newTable() {
+        UIData table = new UIData();
+        table.setId("table");
+        table.setRendererType(null);
+        table.setValue(List.of("a", "b", "c"));
+        form.getChildren().add(table);
+        UIColumn column = new UIColumn();
+        column.setId("column");
+        table.getChildren().add(column);
+        column.getChildren().add(newPanel("cell"));
+        return table;
+    }
+
+    private static UIComponent newPanel(String id) {
+        UIComponent panel = new UIPanel();
+        panel.setId(id);
+        return panel;
+    }
+
+    /**
+     * A naming container which, like an iteration component, also resolves client ids with a row index.
+     */
+    private static final class CountingNamingContainer extends UINamingContainer {
+
+        private int invocations;
+
+        CountingNamingContainer(String id) {
+            setId(id);
+            setRendererType(null);
+        }
+
+        @Override
+        public boolean invokeOnComponent(FacesContext context, String clientId, ContextCallback callback) {
+            invocations++;
+            String[] parts = clientId.split(":");
+            if (parts.length == 3 && parts[0].equals(getId()) && parts[1].chars().allMatch(Character::isDigit)) {
+                UIComponent child = findComponent(parts[2]);
+                if (child != null) {
+                    callback.invokeContextCallback(context, child);
+                    return true;
+                }
+            }
+
+            return super.invokeOnComponent(context, clientId, callback);
+        }
+    }
+
+}
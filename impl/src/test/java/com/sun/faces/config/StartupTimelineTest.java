@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.config.StartupTimeline.Span;
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockServletContext;
+
+public class StartupTimelineTest {
+
+    private MockServletContext servletContext;
+    private MockFacesContext context;
+
+    @Before
+    public void setUp() {
+        servletContext = new MockServletContext();
+    }
+
+    @After
+    public void tearDown() {
+        StartupTimeline timeline = StartupTimeline.getCurrentInstance();
+        if (timeline != null) {
+            timeline.cancel();
+        }
+        StartupTimeline.destroy(servletContext);
+        if (context != null) {
+            context.release();
+        }
+    }
+
+    @Test
+    public void testSpansAreNestedPerThread() throws Exception {
+        StartupTimeline timeline = StartupTimeline.begin();
+        assertSame(timeline, StartupTimeline.begin());
+
+        Span[] worker = new Span[1];
+        try (Span outer = StartupTimeline.startSpan("outer")) {
+            try (Span inner = StartupTimeline.startSpan("inner")) {
+                assertSame(inner, StartupTimeline.currentSpan());
+            }
+            assertSame(outer, StartupTimeline.currentSpan());
+
+            Span parent = StartupTimeline.currentSpan();
+            Thread thread = new Thread(() -> {
+                try (Span span = parent.startChild("worker")) {
+                    worker[0] = span;
+                }
+            }, "startup-worker");
+            thread.start();
+            thread.join();
+        }
+
+        assertSame(timeline.getRoot(), StartupTimeline.currentSpan());
+
+        List<Span> spans = timeline.getSpans();
+        assertEquals(4, spans.size());
+        assertEquals("outer", spans.get(1).getName());
+        assertSame(timeline.getRoot(), spans.get(1).getParent());
+        assertEquals("outer", spans.get(2).getParent().getName());
+        assertEquals("outer", worker[0].getParent().getName());
+        assertEquals("startup-worker", worker[0].getThreadName());
+        assertNotEquals(worker[0].getThreadName(), spans.get(1).getThreadName());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEndPublishesTimelineAndStopsRecording() throws Exception {
+        Path output = Files.createTempFile("timeline", ".json");
+        servletContext.addInitParameter("com.sun.faces.startupTimelineOutput", output.toString());
+        createFacesContext();
+
+        StartupTimeline timeline = StartupTimeline.begin();
+        try (Span span = StartupTimeline.startSpan("parse faces-config.xml")) {
+            StartupTimeline.startSpan("validate").close();
+        }
+
+        // Writing the JSON file needs a JSON-P implementation, which is optional and absent here, so this only must not fail
+        timeline.end(servletContext);
+        Files.delete(output);
+
+        assertNull(StartupTimeline.getCurrentInstance());
+        assertSame(timeline, StartupTimeline.getInstance(servletContext));
+
+        try (Span span = StartupTimeline.startSpan("after startup")) {
+            assertEquals(3, timeline.getSpans().size());
+        }
+
+        Map<String, Object> json = timeline.toMap();
+        assertEquals(List.of("contextPath", "startTime", "durationMillis", "root"), new ArrayList<>(json.keySet()));
+        assertEquals("test", json.get("contextPath"));
+        assertEquals(timeline.getStartTime(), json.get("startTime"));
+        assertEquals(3, ((BigDecimal) json.get("durationMillis")).scale());
+
+        Map<String, Object> root = (Map<String, Object>) json.get("root");
+        assertEquals("startup", root.get("name"));
+        List<Map<String, Object>> children = (List<Map<String, Object>>) root.get("children");
+        assertEquals(1, children.size());
+        assertEquals("parse faces-config.xml", children.get(0).get("name"));
+        assertEquals("validate", ((List<Map<String, Object>>) children.get(0).get("children")).get(0).get("name"));
+        assertTrue(timeline.getReport().contains("\n  ["));
+    }
+
+    @Test
+    public void testMBeanIsRegisteredWhenEnabled() throws Exception {
+        servletContext.addInitParameter("com.sun.faces.enableStartupTimeline", "true");
+        createFacesContext();
+
+        StartupTimeline timeline = StartupTimeline.begin();
+        StartupTimeline.startSpan("step").close();
+        timeline.end(servletContext);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("com.sun.faces:type=StartupTimeline,name=" + ObjectName.quote("test"));
+        assertTrue(server.isRegistered(name));
+        assertEquals(timeline.getDurationMillis("step"), (Double) server.invoke(name, "getDurationMillis", new Object[] { "step" },
+                new String[] { String.class.getName() }), 0);
+
+        StartupTimeline.destroy(servletContext);
+        assertFalse(server.isRegistered(name));
+    }
+
+    private void createFacesContext() {
+        context = new MockFacesContext(new MockExternalContext(servletContext, new MockHttpServletRequest(), new MockHttpServletResponse()));
+    }
+
+}
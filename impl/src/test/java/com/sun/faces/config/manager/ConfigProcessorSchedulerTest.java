@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.config.manager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.sun.faces.config.manager.ConfigProcessorScheduler.Timing;
+import com.sun.faces.config.manager.documents.DocumentInfo;
+import com.sun.faces.config.processor.ConfigProcessor;
+
+import jakarta.faces.context.FacesContext;
+import jakarta.servlet.ServletContext;
+
+public class ConfigProcessorSchedulerTest {
+
+    @Test
+    public void testRunsInListOrderWithoutExecutor() throws Exception {
+        List<String> invoked = Collections.synchronizedList(new ArrayList<>());
+        ConfigProcessorScheduler scheduler = new ConfigProcessorScheduler(List.of(new Root(), new Left(), new Right(), new Joined()));
+
+        List<Timing> timings = scheduler.run(null, processor -> invoked.add(processor.getClass().getSimpleName()));
+
+        assertEquals(List.of("Root", "Left", "Right", "Joined"), invoked);
+        for (Timing timing : timings) {
+            assertEquals(Thread.currentThread().getName(), timing.getThreadName());
+        }
+    }
+
+    @Test
+    public void testRunsIndependentProcessorsConcurrently() throws Exception {
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        List<String> invoked = Collections.synchronizedList(new ArrayList<>());
+        ConfigProcessorScheduler scheduler = new ConfigProcessorScheduler(List.of(new Root(), new Left(), new Right(), new Joined()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Timing> timings = scheduler.run(executor, processor -> {
+                if (processor instanceof Left || processor instanceof Right) {
+                    bothRunning.countDown();
+                    // Only returns if the other branch runs at the same time
+                    assertTrue(bothRunning.await(10, TimeUnit.SECONDS));
+                }
+                invoked.add(processor.getClass().getSimpleName());
+            });
+
+            assertEquals("Root", invoked.get(0));
+            assertEquals("Joined", invoked.get(3));
+            assertEquals(4, timings.size());
+            assertTrue(timings.get(0).isCriticalPath());
+            assertTrue(timings.get(3).isCriticalPath());
+            assertTrue(ConfigProcessorScheduler.getReport(timings).contains("* Joined"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailingProcessorDoesNotStopDependents() throws Exception {
+        List<String> invoked = new ArrayList<>();
+        ConfigProcessorScheduler scheduler = new ConfigProcessorScheduler(List.of(new Root(), new Left()));
+
+        scheduler.run(null, processor -> {
+            invoked.add(processor.getClass().getSimpleName());
+            if (processor instanceof Root) {
+                throw new IllegalStateException("expected");
+            }
+        });
+
+        assertEquals(List.of("Root", "Left"), invoked);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsDependencyOnLaterProcessor() {
+        new ConfigProcessorScheduler(List.of(new Left(), new Root()));
+    }
+
+    @Test
+    public void testIgnoresDependenciesOutsideOfTheList() throws Exception {
+        List<String> invoked = new ArrayList<>();
+        new ConfigProcessorScheduler(List.of(new Joined())).run(null, processor -> invoked.add("Joined"));
+
+        assertFalse(invoked.isEmpty());
+    }
+
+    private abstract static class TestProcessor implements ConfigProcessor {
+
+        @Override
+        public void initializeClassMetadataMap(ServletContext servletContext, FacesContext facesContext) {
+        }
+
+        @Override
+        public void process(ServletContext servletContext, FacesContext facesContext, DocumentInfo[] documentInfos) {
+        }
+
+        @Override
+        public void destroy(ServletContext servletContext, FacesContext facesContext) {
+        }
+    }
+
+    private static final class Root extends TestProcessor {
+    }
+
+    private static final class Left extends TestProcessor {
+
+        @Override
+        public Collection<Class<? extends ConfigProcessor>> getDependencies() {
+            return List.of(Root.class);
+        }
+    }
+
+    private static final class Right extends TestProcessor {
+
+        @Override
+        public Collection<Class<? extends ConfigProcessor>> getDependencies() {
+            return List.of(Root.class);
+        }
+    }
+
+    private static final class Joined extends TestProcessor {
+
+        @Override
+        public Collection<Class<? extends ConfigProcessor>> getDependencies() {
+            return List.of(Left.class, Right.class);
+        }
+    }
+
+}
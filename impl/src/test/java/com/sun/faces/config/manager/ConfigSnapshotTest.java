@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.config.manager;
+
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.config.manager.documents.DocumentInfo;
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockServletContext;
+
+import jakarta.faces.component.FacesComponent;
+
+public class ConfigSnapshotTest {
+
+    private Path root;
+    private MockServletContext servletContext;
+    private MockFacesContext context;
+
+    @Before
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("snapshot");
+        Files.createDirectories(root.resolve("WEB-INF"));
+        Files.writeString(root.resolve("WEB-INF/faces-config.xml"), "<faces-config/>");
+        Files.writeString(root.resolve("WEB-INF/tags.taglib.xml"), "<facelet-taglib/>");
+
+        servletContext = new MockServletContext() {
+            @Override
+            public URL getResource(String path) throws MalformedURLException {
+                Path file = root.resolve(path.substring(1));
+                return Files.exists(file) ? file.toUri().toURL() : null;
+            }
+
+            @Override
+            public String getRealPath(String path) {
+                return root.resolve(path.substring(1)).toString();
+            }
+
+            @Override
+            public Set<String> getResourcePaths(String path) {
+                try (Stream<Path> files = Files.list(root.resolve(path.substring(1)))) {
+                    return files.map(file -> "/" + root.relativize(file) + (Files.isDirectory(file) ? "/" : "")).collect(toSet());
+                } catch (IOException e) {
+                    return null;
+                }
+            }
+
+            @Override
+            public InputStream getResourceAsStream(String path) {
+                try {
+                    URL url = getResource(path);
+                    return url != null ? url.openStream() : null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        servletContext.addInitParameter("com.sun.faces.configSnapshotOutput", root.resolve("WEB-INF/mojarra-config.snapshot").toString());
+        context = new MockFacesContext(new MockExternalContext(servletContext, new MockHttpServletRequest(), new MockHttpServletResponse()));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        context.release();
+        try (var files = Files.walk(root)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testLocationsArePortable() throws Exception {
+        URI webInf = servletContext.getResource("/WEB-INF/faces-config.xml").toURI();
+        assertEquals("web:/WEB-INF/faces-config.xml", ConfigSnapshot.toLocation(servletContext, webInf));
+        assertEquals(webInf, ConfigSnapshot.fromLocation(servletContext, "web:/WEB-INF/faces-config.xml", new HashMap<>()));
+
+        URI jarEntry = URI.create("jar:file:/deploy/app/WEB-INF/lib/library.jar!/META-INF/faces-config.xml");
+        assertEquals("jar:library.jar!/META-INF/faces-config.xml", ConfigSnapshot.toLocation(servletContext, jarEntry));
+        assertNull(ConfigSnapshot.fromLocation(servletContext, "jar:library.jar!/META-INF/faces-config.xml", new HashMap<>()));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        DocumentInfo webInf = new DocumentInfo(null, servletContext.getResource("/WEB-INF/faces-config.xml").toURI());
+        DocumentInfo runtime = new DocumentInfo(null, null);
+        DocumentInfo taglib = new DocumentInfo(null, servletContext.getResource("/WEB-INF/tags.taglib.xml").toURI());
+        DocumentInfo[] facesConfigs = { webInf };
+        DocumentInfo[] merged = { runtime, webInf };
+        Map<Class<? extends Annotation>, Set<Class<?>>> annotated = Map.of(FacesComponent.class, Set.of(ConfigSnapshotTest.class));
+
+        ConfigSnapshot.write(servletContext, facesConfigs, merged, merged, new DocumentInfo[] { taglib }, annotated);
+
+        ConfigSnapshot snapshot = ConfigSnapshot.load(servletContext);
+        assertNotNull(snapshot);
+        assertEquals(List.of(webInf.getSourceURI()), snapshot.getFacesConfigURIs());
+        assertEquals(List.of(taglib.getSourceURI()), snapshot.getFaceletConfigURIs());
+        assertEquals(annotated, snapshot.getAnnotatedClasses(getClass().getClassLoader()));
+
+        DocumentInfo[] reparsed = { new DocumentInfo(null, null), new DocumentInfo(null, webInf.getSourceURI()) };
+        assertArrayEquals(reparsed, snapshot.sortDocuments(reparsed));
+        assertNull(snapshot.sortDocuments(new DocumentInfo[] { runtime }));
+    }
+
+    @Test
+    public void testChangedDocumentInvalidatesSnapshot() throws Exception {
+        DocumentInfo webInf = new DocumentInfo(null, servletContext.getResource("/WEB-INF/faces-config.xml").toURI());
+        ConfigSnapshot.write(servletContext, new DocumentInfo[] { webInf }, new DocumentInfo[] { webInf }, new DocumentInfo[] { webInf },
+                new DocumentInfo[0], Map.of());
+        assertNotNull(ConfigSnapshot.load(servletContext));
+
+        Files.write(root.resolve("WEB-INF/faces-config.xml"), "<faces-config version='4.1'/>".getBytes(StandardCharsets.UTF_8));
+        assertNull(ConfigSnapshot.load(servletContext));
+    }
+
+    @Test
+    public void testChangedInitParameterInvalidatesSnapshot() throws Exception {
+        ConfigSnapshot.write(servletContext, new DocumentInfo[0], new DocumentInfo[0], new DocumentInfo[0], new DocumentInfo[0], Map.of());
+        assertNotNull(ConfigSnapshot.load(servletContext));
+
+        servletContext.addInitParameter("jakarta.faces.PROJECT_STAGE", "Development");
+        assertNull(ConfigSnapshot.load(servletContext));
+    }
+
+    @Test
+    public void testChangedClassInvalidatesSnapshot() throws Exception {
+        Files.createDirectories(root.resolve("WEB-INF/classes/com/example"));
+        Files.writeString(root.resolve("WEB-INF/classes/com/example/Bean.class"), "version 1");
+        ConfigSnapshot.write(servletContext, new DocumentInfo[0], new DocumentInfo[0], new DocumentInfo[0], new DocumentInfo[0], Map.of());
+        assertNotNull(ConfigSnapshot.load(servletContext));
+
+        Files.writeString(root.resolve("WEB-INF/classes/com/example/Bean.class"), "version 2");
+        assertNull(ConfigSnapshot.load(servletContext));
+    }
+
+    @Test
+    public void testRebuiltLibraryInvalidatesSnapshot() throws Exception {
+        Files.createDirectories(root.resolve("WEB-INF/lib"));
+        writeJar(root.resolve("WEB-INF/lib/library.jar"), "<faces-config/>");
+        ConfigSnapshot.write(servletContext, new DocumentInfo[0], new DocumentInfo[0], new DocumentInfo[0], new DocumentInfo[0], Map.of());
+        assertNotNull(ConfigSnapshot.load(servletContext));
+
+        writeJar(root.resolve("WEB-INF/lib/library.jar"), "<faces-config version='4.1'/>");
+        assertNull(ConfigSnapshot.load(servletContext));
+    }
+
+    @Test
+    public void testNewTaglibInvalidatesSnapshot() throws Exception {
+        ConfigSnapshot.write(servletContext, new DocumentInfo[0], new DocumentInfo[0], new DocumentInfo[0], new DocumentInfo[0], Map.of());
+        assertNotNull(ConfigSnapshot.load(servletContext));
+
+        Files.createDirectories(root.resolve("WEB-INF/tags"));
+        Files.writeString(root.resolve("WEB-INF/tags/more.taglib.xml"), "<facelet-taglib/>");
+        assertNull(ConfigSnapshot.load(servletContext));
+    }
+
+    private static void writeJar(Path jar, String facesConfig) throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(jar))) {
+            zip.putNextEntry(new ZipEntry("META-INF/faces-config.xml"));
+            zip.write(facesConfig.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+    }
+
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.config.manager.documents;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import com.sun.faces.config.ConfigurationException;
+
+public class DocumentOrderingWrapperTest {
+
+    private static final String NS = "https://jakarta.ee/xml/ns/jakartaee";
+
+    private DocumentBuilder builder;
+
+    @Before
+    public void setUp() throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        builder = factory.newDocumentBuilder();
+    }
+
+    @Test
+    public void testNamedOrdering() {
+        DocumentOrderingWrapper[] documents = {
+                wrapper("A", List.of(), List.of("B")),
+                wrapper("B", List.of(), List.of("C")),
+                wrapper("C", List.of(), List.of()),
+                wrapper("D", List.of(), List.of()) };
+
+        DocumentOrderingWrapper.sort(documents);
+
+        assertEquals(List.of("C", "B", "A", "D"), ids(documents));
+    }
+
+    @Test
+    public void testOthersOrdering() {
+        DocumentOrderingWrapper[] documents = {
+                wrapper("last", List.of(), List.of("others")),
+                wrapper("plain", List.of(), List.of()),
+                wrapper("beforeFirst", List.of("first"), List.of()),
+                wrapper("first", List.of("others"), List.of()),
+                wrapper("", List.of(), List.of()),
+                wrapper("afterLast", List.of(), List.of("last")) };
+
+        DocumentOrderingWrapper.sort(documents);
+
+        assertEquals(List.of("beforeFirst", "first", "plain", "", "last", "afterLast"), ids(documents));
+    }
+
+    @Test
+    public void testUnconstrainedDocumentsKeepFormerOrder() {
+        DocumentOrderingWrapper[] documents = {
+                wrapper("", List.of(), List.of()),
+                wrapper("X", List.of(), List.of()),
+                wrapper("Y", List.of("Z"), List.of()),
+                wrapper("Z", List.of(), List.of()),
+                wrapper("W", List.of(), List.of()) };
+
+        DocumentOrderingWrapper.sort(documents);
+
+        assertEquals(List.of("Y", "X", "Z", "W", ""), ids(documents));
+    }
+
+    @Test
+    public void testCircularDependencies() {
+        DocumentOrderingWrapper[] documents = {
+                wrapper("A", List.of("B"), List.of()),
+                wrapper("B", List.of("C"), List.of()),
+                wrapper("C", List.of("A"), List.of()),
+                wrapper("D", List.of(), List.of()) };
+
+        try {
+            DocumentOrderingWrapper.sort(documents);
+            fail("Expected a ConfigurationException");
+        } catch (ConfigurationException e) {
+            assertTrue(e.getMessage().contains("id='A'"));
+            assertTrue(e.getMessage().contains("id='C'"));
+            assertTrue(!e.getMessage().contains("id='D'"));
+        }
+    }
+
+    @Test
+    public void testDocumentsDownstreamOfCycleAreNotReported() {
+        DocumentOrderingWrapper[] documents = {
+                wrapper("A", List.of("B"), List.of()),
+                wrapper("B", List.of("A"), List.of()),
+                wrapper("C", List.of(), List.of("A")),
+                wrapper("D", List.of(), List.of("C")) };
+
+        try {
+            DocumentOrderingWrapper.sort(documents);
+            fail("Expected a ConfigurationException");
+        } catch (ConfigurationException e) {
+            assertTrue(e.getMessage().contains("id='A'"));
+            assertTrue(e.getMessage().contains("id='B'"));
+            assertTrue(!e.getMessage().contains("id='C'"));
+            assertTrue(!e.getMessage().contains("id='D'"));
+        }
+    }
+
+    @Test
+    public void testAfterOthersBeforeBeforeOthersIsCircular() {
+        DocumentOrderingWrapper[] documents = {
+                wrapper("first", List.of("others"), List.of("last")),
+                wrapper("last", List.of(), List.of("others")) };
+
+        try {
+            DocumentOrderingWrapper.sort(documents);
+            fail("Expected a ConfigurationException");
+        } catch (ConfigurationException e) {
+            assertTrue(e.getMessage().startsWith("Circular dependencies detected!"));
+        }
+    }
+
+    /**
+     * Sorts a thousand documents with random constraints drawn from a hidden valid order.
+     */
+    @Test
+    public void testLargeGeneratedOrdering() {
+        int count = 1000;
+        Random random = new Random(42);
+
+        List<Integer> hiddenOrder = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            hiddenOrder.add(i);
+        }
+        Collections.shuffle(hiddenOrder, random);
+
+        List<List<String>> befores = new ArrayList<>();
+        List<List<String>> afters = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            befores.add(new ArrayList<>());
+            afters.add(new ArrayList<>());
+        }
+        for (int position = 0; position < count; position++) {
+            int document = hiddenOrder.get(position);
+            if (position < count / 10) {
+                befores.get(document).add("others");
+            } else if (position >= count - count / 10) {
+                afters.get(document).add("others");
+            }
+            for (int constraint = random.nextInt(4); constraint > 0 && position < count - 1; constraint--) {
+                int later = hiddenOrder.get(position + 1 + random.nextInt(count - position - 1));
+                if (random.nextBoolean()) {
+                    if (!afters.get(document).contains("doc" + later)) {
+                        addOnce(befores.get(document), "doc" + later);
+                    }
+                } else if (!befores.get(later).contains("doc" + document)) {
+                    addOnce(afters.get(later), "doc" + document);
+                }
+            }
+        }
+
+        DocumentOrderingWrapper[] documents = new DocumentOrderingWrapper[count];
+        for (int i = 0; i < count; i++) {
+            documents[i] = wrapper("doc" + i, befores.get(i), afters.get(i));
+        }
+
+        long start = System.nanoTime();
+        DocumentOrderingWrapper.sort(documents);
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            positions.put(documents[i].getDocumentId(), i);
+        }
+        assertEquals(count, positions.size());
+
+        for (DocumentOrderingWrapper document : documents) {
+            int position = positions.get(document.getDocumentId());
+            for (String id : document.getBeforeIds()) {
+                if (positions.containsKey(id)) {
+                    assertTrue(document + " before " + id, position < positions.get(id));
+                }
+            }
+            for (String id : document.getAfterIds()) {
+                if (positions.containsKey(id)) {
+                    assertTrue(document + " after " + id, position > positions.get(id));
+                }
+            }
+            if (document.isBeforeOthers()) {
+                assertTrue(position < count - count / 10);
+            }
+        }
+
+        assertTrue("Sorting took " + elapsed / 1_000_000 + "ms", elapsed < 5_000_000_000L);
+    }
+
+    private static void addOnce(List<String> ids, String id) {
+        if (!ids.contains(id)) {
+            ids.add(id);
+        }
+    }
+
+    private DocumentOrderingWrapper wrapper(String name, List<String> before, List<String> after) {
+        Document document = builder.newDocument();
+        Element root = document.createElementNS(NS, "faces-config");
+        document.appendChild(root);
+
+        if (!name.isEmpty()) {
+            Element nameElement = document.createElementNS(NS, "name");
+            nameElement.setTextContent(name);
+            root.appendChild(nameElement);
+        }
+
+        if (!before.isEmpty() || !after.isEmpty()) {
+            Element ordering = document.createElementNS(NS, "ordering");
+            root.appendChild(ordering);
+            appendIds(document, ordering, "before", before);
+            appendIds(document, ordering, "after", after);
+        }
+
+        return new DocumentOrderingWrapper(new DocumentInfo(document, URI.create("urn:" + (name.isEmpty() ? "anonymous" : name))));
+    }
+
+    private static void appendIds(Document document, Element ordering, String elementName, List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Element element = document.createElementNS(NS, elementName);
+        ordering.appendChild(element);
+        for (String id : ids) {
+            element.appendChild(document.createElementNS(NS, "others".equals(id) ? "others" : "name"));
+            if (!"others".equals(id)) {
+                element.getLastChild().setTextContent(id);
+            }
+        }
+    }
+
+    private static List<String> ids(DocumentOrderingWrapper[] documents) {
+        List<String> ids = new ArrayList<>();
+        for (DocumentOrderingWrapper document : Arrays.asList(documents)) {
+            ids.add(document.getDocumentId());
+        }
+        return ids;
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.config.manager.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockServletContext;
+
+import jakarta.faces.convert.FacesConverter;
+
+public class ClassFileAnnotationScannerTest {
+
+    private Path root;
+    private Path jar;
+    private MockServletContext servletContext;
+    private MockFacesContext context;
+
+    @Before
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("scanner");
+        jar = root.resolve("converters.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (Class<?> clazz : List.of(AnnotatedConverter.class, PlainConverter.class)) {
+                out.putNextEntry(new ZipEntry(getClassFileName(clazz)));
+                out.write(getClassFile(clazz));
+                out.closeEntry();
+            }
+        }
+
+        servletContext = new MockServletContext();
+        servletContext.addInitParameter("com.sun.faces.annotationScanIndex", root.resolve("annotation.idx").toString());
+        context = new MockFacesContext(new MockExternalContext(servletContext, new MockHttpServletRequest(), new MockHttpServletResponse()));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        context.release();
+        try (var files = Files.walk(root)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testReadsClassLevelAnnotations() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/" + getClassFileName(AnnotatedConverter.class))) {
+            assertEquals(AnnotatedConverter.class.getName(), ClassFileReader.getAnnotatedClassName(in, AnnotationScanner.FACES_ANNOTATIONS));
+        }
+        try (InputStream in = getClass().getResourceAsStream("/" + getClassFileName(PlainConverter.class))) {
+            assertNull(ClassFileReader.getAnnotatedClassName(in, AnnotationScanner.FACES_ANNOTATIONS));
+        }
+    }
+
+    @Test
+    public void testIndexIsReusedForUnchangedJar() throws IOException {
+        ClassFileAnnotationScanner scanner = new ClassFileAnnotationScanner(servletContext);
+
+        Map<String, List<String>> index = new HashMap<>();
+        assertEquals(Set.of(AnnotatedConverter.class.getName()), scanner.scanJar(jar, Map.of(), index));
+        assertEquals(1, index.size());
+
+        scanner.saveIndex(index);
+        Map<String, List<String>> loaded = scanner.loadIndex();
+        assertEquals(index, loaded);
+
+        // An entry for the same checksum is trusted without reading the jar again
+        String key = loaded.keySet().iterator().next();
+        assertEquals(Set.of("com.example.Indexed"), scanner.scanJar(jar, Map.of(key, List.of("com.example.Indexed")), new HashMap<>()));
+    }
+
+    @Test
+    public void testMalformedClassFilesAreSkipped() throws IOException {
+        byte[] unknownTag = getClassFile(PlainConverter.class);
+        unknownTag[10] = 99; // Tag of the first constant pool entry
+        byte[] truncated = Arrays.copyOf(getClassFile(PlainConverter.class), 20);
+
+        Path malformed = root.resolve("malformed.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(malformed))) {
+            for (Map.Entry<String, byte[]> entry : Map.of("com/example/UnknownTag.class", unknownTag, "com/example/Truncated.class", truncated,
+                    getClassFileName(AnnotatedConverter.class), getClassFile(AnnotatedConverter.class)).entrySet()) {
+                out.putNextEntry(new ZipEntry(entry.getKey()));
+                out.write(entry.getValue());
+                out.closeEntry();
+            }
+        }
+
+        ClassFileAnnotationScanner scanner = new ClassFileAnnotationScanner(servletContext);
+        assertEquals(Set.of(AnnotatedConverter.class.getName()), scanner.scanJar(malformed, Map.of(), new HashMap<>()));
+    }
+
+    @Test
+    public void testScansJarsInParallel() throws Exception {
+        ClassFileAnnotationScanner scanner = new ClassFileAnnotationScanner(servletContext);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            scanner.setExecutor(executor);
+            URI facesConfig = URI.create("jar:" + jar.toUri() + "!/META-INF/faces-config.xml");
+
+            // The scan itself occupies the only thread of the executor, like it does during startup
+            Map<Class<? extends Annotation>, Set<Class<?>>> annotated = executor.submit(() -> scanner.getAnnotatedClasses(Set.of(facesConfig))).get();
+
+            assertEquals(Set.of(AnnotatedConverter.class), annotated.get(FacesConverter.class));
+            assertTrue(Files.isRegularFile(root.resolve("annotation.idx")));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static String getClassFileName(Class<?> clazz) {
+        return clazz.getName().replace('.', '/') + ".class";
+    }
+
+    private static byte[] getClassFile(Class<?> clazz) throws IOException {
+        try (InputStream in = ClassFileAnnotationScannerTest.class.getResourceAsStream("/" + getClassFileName(clazz))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @FacesConverter(value = "annotatedConverter", managed = false)
+    public static class AnnotatedConverter {
+
+        @Deprecated
+        private long field = 1L;
+
+        public double method() {
+            return field * 2.0;
+        }
+    }
+
+    public static class PlainConverter {
+    }
+
+}
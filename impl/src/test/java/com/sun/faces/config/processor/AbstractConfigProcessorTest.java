@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.config.processor;
+
+import static com.sun.faces.util.Util.createLocalDocumentBuilderFactory;
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import com.sun.faces.config.manager.documents.DocumentInfo;
+
+import jakarta.faces.context.FacesContext;
+import jakarta.servlet.ServletContext;
+
+public class AbstractConfigProcessorTest {
+
+    private static final String NAMESPACE = "https://jakarta.ee/xml/ns/jakartaee";
+
+    private static final String FLOW_DEFINITION = "<faces-config xmlns='" + NAMESPACE + "' xmlns:x='urn:other' version='4.0'>"
+            + "<name> library </name>"
+            + "<flow-definition id='flow'>"
+            + "<flow-return id='ret'><from-outcome>/done</from-outcome></flow-return>"
+            + "<switch id='sw'>"
+            + "<case><if>#{a}</if><from-outcome>a</from-outcome></case>"
+            + "<case><if>#{b}</if><from-outcome><![CDATA[b]]>c</from-outcome></case>"
+            + "<default-outcome/>"
+            + "</switch>"
+            + "<method-call id='mc'><method>#{m}<!-- comment -->()</method><x:method>other</x:method></method-call>"
+            + "<inbound-parameter><name>p</name><value>#{v}</value></inbound-parameter>"
+            + "</flow-definition>"
+            + "</faces-config>";
+
+    private final AbstractConfigProcessor processor = new AbstractConfigProcessor() {
+        @Override
+        public void process(ServletContext servletContext, FacesContext facesContext, DocumentInfo[] documentInfos) {
+        }
+    };
+
+    @Test
+    public void testGetElementsMatchesXPath() throws Exception {
+        Element root = parse(FLOW_DEFINITION).getDocumentElement();
+
+        for (String localName : new String[] { "flow-return", "case", "method", "default-outcome", "missing" }) {
+            NodeList expected = (NodeList) xpath().evaluate(".//ns1:" + localName, root, XPathConstants.NODESET);
+            NodeList actual = processor.getElements(root, NAMESPACE, localName);
+
+            assertEquals(localName, expected.getLength(), actual.getLength());
+            for (int i = 0; i < expected.getLength(); i++) {
+                assertEquals(localName, expected.item(i), actual.item(i));
+            }
+        }
+    }
+
+    @Test
+    public void testGetTextsMatchesXPath() throws Exception {
+        Element root = parse(FLOW_DEFINITION).getDocumentElement();
+
+        for (String localName : new String[] { "from-outcome", "if", "method", "default-outcome", "name", "value", "missing" }) {
+            NodeList expected = (NodeList) xpath().evaluate(".//ns1:" + localName + "/text()", root, XPathConstants.NODESET);
+            assertEquals(localName, texts(expected), processor.getTexts(root, NAMESPACE, localName));
+        }
+    }
+
+    @Test
+    public void testGetChildTextsMatchesXPath() throws Exception {
+        Element root = parse(FLOW_DEFINITION).getDocumentElement();
+
+        NodeList expected = (NodeList) xpath().evaluate("./ns1:name/text()", root, XPathConstants.NODESET);
+        assertEquals(texts(expected), processor.getChildTexts(root, NAMESPACE, "name"));
+        assertEquals(List.of(" library "), processor.getChildTexts(root, NAMESPACE, "name"));
+        assertEquals(List.of(), processor.getChildTexts(root, NAMESPACE, "value"));
+    }
+
+    private static XPath xpath() {
+        XPath xpath = XPathFactory.newInstance().newXPath();
+        xpath.setNamespaceContext(new FacesConfigNamespaceContext(NAMESPACE));
+        return xpath;
+    }
+
+    private static List<String> texts(NodeList nodes) {
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < nodes.getLength(); i++) {
+            // Adjacent text and CDATA nodes are a single text node in the XPath data model
+            StringBuilder text = new StringBuilder();
+            for (Node node = nodes.item(i); node != null; node = node.getNextSibling()) {
+                short type = node.getNodeType();
+                if (type != Node.TEXT_NODE && type != Node.CDATA_SECTION_NODE) {
+                    break;
+                }
+                text.append(node.getNodeValue());
+            }
+            texts.add(text.toString());
+        }
+
+        return texts;
+    }
+
+    private static Document parse(String xml) throws Exception {
+        DocumentBuilderFactory factory = createLocalDocumentBuilderFactory();
+        factory.setNamespaceAware(true);
+        factory.setCoalescing(false);
+        return factory.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.context.flash;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class FlashReaperTest {
+
+    private final Map<String, Map<String, Object>> innerMap = new ConcurrentHashMap<>();
+    private final AtomicLong sequenceNumber = new AtomicLong();
+    private final FlashReaper reaper = new FlashReaper(() -> innerMap, sequenceNumber::get, 3);
+
+    @After
+    public void destroy() {
+        reaper.destroy();
+    }
+
+    @Test
+    public void testReapsOnlyExpiredFlashes() {
+        for (int i = 0; i < 10; i++) {
+            newFlash();
+        }
+
+        reaper.reap();
+
+        // Flashes 1 to 6 have more than 3 newer flashes.
+        assertEquals(4, reaper.getLiveFlashes());
+        assertEquals(6, reaper.getReapedFlashes());
+        assertEquals(4, reaper.getTrackedFlashes());
+        assertFalse(innerMap.containsKey("6"));
+        assertTrue(innerMap.containsKey("7"));
+    }
+
+    @Test
+    public void testFlashesRemovedByTheLifecycleAreNotCounted() {
+        for (int i = 0; i < 6; i++) {
+            newFlash();
+        }
+        innerMap.remove("1");
+
+        reaper.reap();
+
+        assertEquals(1, reaper.getReapedFlashes());
+        assertEquals(4, reaper.getTrackedFlashes());
+    }
+
+    @Test
+    public void testReapsSequenceNumbersHandedOutBeforeWrapAround() {
+        sequenceNumber.set(Long.MAX_VALUE - 2);
+        newFlash();
+        sequenceNumber.set(0);
+        newFlash();
+
+        reaper.reap();
+
+        assertEquals(1, reaper.getLiveFlashes());
+        assertTrue(innerMap.containsKey("1"));
+    }
+
+    private void newFlash() {
+        long next = sequenceNumber.incrementAndGet();
+        innerMap.put(Long.toString(next), new HashMap<>());
+        reaper.track(next);
+    }
+
+}
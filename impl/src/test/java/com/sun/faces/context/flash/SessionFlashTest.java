@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.context.flash;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.mock.MockApplication;
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockHttpSession;
+import com.sun.faces.mock.MockServletContext;
+
+import jakarta.faces.context.Flash;
+import jakarta.faces.event.PhaseId;
+import jakarta.faces.lifecycle.ClientWindow;
+import jakarta.servlet.http.Cookie;
+
+public class SessionFlashTest {
+
+    private final MockServletContext servletContext = new MockServletContext();
+    private final MockHttpSession session = new MockHttpSession(servletContext);
+    private final MockApplication application = new MockApplication();
+    private final Flash flash = new SessionFlashFactory().getFlash(true);
+    private final Map<String, Object> cookies = new HashMap<>();
+    private MockFacesContext context;
+
+    @Before
+    public void setUp() {
+        servletContext.addInitParameter("jakarta.faces.NUMBER_OF_CLIENT_WINDOWS", "2");
+    }
+
+    @After
+    public void tearDown() {
+        if (context != null) {
+            context.release();
+        }
+    }
+
+    @Test
+    public void testValuesSurviveRedirect() {
+        startRequest();
+        context.setCurrentPhaseId(PhaseId.INVOKE_APPLICATION);
+        flash.put("message", "saved");
+        assertEquals("saved", flash.get("message"));
+        endRequest(true);
+
+        startRequest();
+        assertEquals("saved", flash.get("message"));
+        assertTrue(flash.isRedirect());
+        endRequest(false);
+
+        startRequest();
+        assertNull(flash.get("message"));
+        assertFalse(flash.isRedirect());
+        endRequest(false);
+    }
+
+    @Test
+    public void testValuesWrittenBeforeRenderResponseWithoutRedirectAreDiscarded() {
+        startRequest();
+        context.setCurrentPhaseId(PhaseId.INVOKE_APPLICATION);
+        flash.put("message", "discarded");
+        endRequest(false);
+
+        assertNull(session.getAttribute(SessionFlash.SESSION_ATTRIBUTE_NAME));
+
+        startRequest();
+        assertNull(flash.get("message"));
+        endRequest(false);
+    }
+
+    @Test
+    public void testValuesWrittenDuringRenderResponseAreHandedOverAndKept() {
+        startRequest();
+        context.setCurrentPhaseId(PhaseId.RENDER_RESPONSE);
+        flash.put("message", "rendered");
+        assertNull(flash.get("message"));
+        endRequest(false);
+
+        startRequest();
+        assertEquals("rendered", flash.get("message"));
+        context.setCurrentPhaseId(PhaseId.RENDER_RESPONSE);
+        flash.keep("message");
+        endRequest(false);
+
+        startRequest();
+        assertEquals("rendered", flash.get("message"));
+        endRequest(false);
+
+        startRequest();
+        assertTrue(flash.isEmpty());
+        endRequest(false);
+        assertTrue(((Map<?, ?>) session.getAttribute(SessionFlash.SESSION_ATTRIBUTE_NAME)).isEmpty());
+    }
+
+    @Test
+    public void testInterleavedRequestsKeepTheirOwnFlash() {
+        startRequest("POST");
+        context.setCurrentPhaseId(PhaseId.INVOKE_APPLICATION);
+        flash.put("message", "first");
+        endRequest(true);
+        Map<String, Object> firstCookies = new HashMap<>(cookies);
+
+        // An ajax request of the page which was left, sent before the redirect is followed, does not take the flash.
+        startRequest("POST");
+        assertNull(flash.get("message"));
+        endRequest(false);
+
+        // Another request of the same session redirecting before the first redirect is followed does not replace it.
+        startRequest("POST");
+        context.setCurrentPhaseId(PhaseId.INVOKE_APPLICATION);
+        flash.put("message", "second");
+        endRequest(true);
+        Map<String, Object> secondCookies = new HashMap<>(cookies);
+
+        cookies.clear();
+        cookies.putAll(firstCookies);
+        startRequest();
+        assertEquals("first", flash.get("message"));
+        endRequest(false);
+
+        cookies.clear();
+        cookies.putAll(secondCookies);
+        startRequest();
+        assertEquals("second", flash.get("message"));
+        endRequest(false);
+
+        assertTrue(((Map<?, ?>) session.getAttribute(SessionFlash.SESSION_ATTRIBUTE_NAME)).isEmpty());
+    }
+
+    private void startRequest() {
+        startRequest("GET");
+    }
+
+    private void startRequest(String method) {
+        if (context != null) {
+            context.release();
+        }
+
+        MockHttpServletRequest request = new MockHttpServletRequest(session);
+        request.setMethod(method);
+        Map<String, Object> requestCookies = new HashMap<>(cookies);
+        context = new MockFacesContext(new MockExternalContext(servletContext, request, new MockHttpServletResponse()) {
+
+            @Override
+            public Object getSession(boolean create) {
+                return request.getSession(create);
+            }
+
+            @Override
+            public Map<String, Object> getRequestCookieMap() {
+                return requestCookies;
+            }
+
+            @Override
+            public String getRequestContextPath() {
+                return "";
+            }
+
+            @Override
+            public boolean isSecure() {
+                return false;
+            }
+
+            @Override
+            public boolean isResponseCommitted() {
+                return false;
+            }
+
+            @Override
+            public void addResponseCookie(String name, String value, Map<String, Object> properties) {
+                if (Integer.valueOf(0).equals(properties.get("maxAge"))) {
+                    cookies.remove(name);
+                } else {
+                    cookies.put(name, new Cookie(name, value));
+                }
+            }
+
+            @Override
+            public ClientWindow getClientWindow() {
+                return null;
+            }
+        });
+        context.setApplication(application);
+        context.setCurrentPhaseId(PhaseId.RESTORE_VIEW);
+        flash.doPrePhaseActions(context);
+    }
+
+    private void endRequest(boolean redirect) {
+        if (redirect) {
+            Map<Object, Object> attributes = context.getAttributes();
+            attributes.put(ELFlash.ACT_AS_DO_LAST_PHASE_ACTIONS, true);
+            flash.doPostPhaseActions(context);
+            attributes.remove(ELFlash.ACT_AS_DO_LAST_PHASE_ACTIONS);
+        } else {
+            context.setCurrentPhaseId(PhaseId.RENDER_RESPONSE);
+            flash.doPostPhaseActions(context);
+        }
+    }
+
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.el;
+
+import static com.sun.faces.el.FacesCompositeELResolver.ELResolverChainType.Faces;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.el.FunctionMapper;
+import jakarta.el.VariableMapper;
+
+public class DemuxCompositeELResolverTest {
+
+    private NameResolver beans;
+    private NameResolver custom;
+    private NameResolver bundles;
+    private NameResolver scoped;
+    private DemuxCompositeELResolver composite;
+
+    @Before
+    public void setUp() {
+        beans = new NameResolver(false);
+        custom = new NameResolver(false);
+        bundles = new NameResolver(false);
+        scoped = new NameResolver(true);
+
+        beans.values.put("bean", "bean");
+        bundles.values.put("msg", "msg");
+
+        composite = new DemuxCompositeELResolver(Faces);
+        composite.add(beans);
+        composite.add(custom);
+        composite.addRootELResolver(bundles);
+        composite.addRootELResolver(scoped);
+    }
+
+    @Test
+    public void testIdentifierBoundResolversAreSkippedOnceResolved() {
+        enableCache();
+
+        // A page with 2000 expressions referring to 20 request attributes, a bean and a bundle
+        for (int i = 0; i < 20; i++) {
+            scoped.values.put("item" + i, i);
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(i % 20, getValue("item" + i % 20));
+        }
+        assertEquals("bean", getValue("bean"));
+        assertEquals("msg", getValue("msg"));
+        assertEquals("bean", getValue("bean"));
+        assertEquals("msg", getValue("msg"));
+
+        // Once per identifier, except for the identifiers they resolve themselves
+        assertEquals(20 + 2 + 1, beans.lookups);
+        assertEquals(20 + 2, bundles.lookups);
+        assertEquals(2000 + 2, custom.lookups);
+        assertEquals(2000, scoped.lookups);
+    }
+
+    @Test
+    public void testWithoutCacheEveryResolverIsConsulted() {
+        scoped.values.put("item", 1);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(1, getValue("item"));
+        }
+
+        assertEquals(100, beans.lookups);
+        assertEquals(100, bundles.lookups);
+    }
+
+    @Test
+    public void testScopedValuesAreNotCached() {
+        enableCache();
+
+        scoped.values.put("item", 1);
+        assertEquals(1, getValue("item"));
+
+        scoped.values.put("item", 2);
+        assertEquals(2, getValue("item"));
+
+        scoped.values.remove("item");
+        assertNull(getValue("item"));
+    }
+
+    @Test
+    public void testCustomResolversAreAlwaysConsulted() {
+        enableCache();
+
+        scoped.values.put("item", "scoped");
+        assertEquals("scoped", getValue("item"));
+
+        custom.values.put("item", "custom");
+        assertEquals("custom", getValue("item"));
+
+        custom.values.remove("item");
+        assertEquals("scoped", getValue("item"));
+    }
+
+    @Test
+    public void testLookupContinuesWhenRememberedResolverNoLongerResolves() {
+        enableCache();
+
+        custom.values.put("item", "custom");
+        assertEquals("custom", getValue("item"));
+
+        custom.values.remove("item");
+        bundles.values.put("item", "bundle");
+        assertEquals("bundle", getValue("item"));
+
+        // The bundle resolver is now remembered, the bean resolver before it is skipped
+        int beanLookups = beans.lookups;
+        assertEquals("bundle", getValue("item"));
+        assertEquals(beanLookups, beans.lookups);
+    }
+
+    private void enableCache() {
+        Set<ELResolver> identifierBound = Collections.newSetFromMap(new IdentityHashMap<>());
+        identifierBound.add(beans);
+        identifierBound.add(bundles);
+        composite.enableRootResolutionCache(identifierBound);
+    }
+
+    private Object getValue(String identifier) {
+        ELContext context = new TestELContext();
+        Object value = composite.getValue(context, null, identifier);
+        assertTrue(context.isPropertyResolved() || value == null);
+        return value;
+    }
+
+    /**
+     * Resolves the root identifiers it has a value for, or all of them if it is a fallback.
+     */
+    private static final class NameResolver extends ELResolver {
+
+        final Map<String, Object> values = new HashMap<>();
+        final boolean fallback;
+        int lookups;
+
+        NameResolver(boolean fallback) {
+            this.fallback = fallback;
+        }
+
+        @Override
+        public Object getValue(ELContext context, Object base, Object property) {
+            if (base != null) {
+                return null;
+            }
+
+            lookups++;
+            if (fallback || values.containsKey(property)) {
+                context.setPropertyResolved(true);
+                return values.get(property);
+            }
+
+            return null;
+        }
+
+        @Override
+        public Class<?> getType(ELContext context, Object base, Object property) {
+            return null;
+        }
+
+        @Override
+        public void setValue(ELContext context, Object base, Object property, Object value) {
+        }
+
+        @Override
+        public boolean isReadOnly(ELContext context, Object base, Object property) {
+            return true;
+        }
+
+        @Override
+        public Class<?> getCommonPropertyType(ELContext context, Object base) {
+            return Object.class;
+        }
+    }
+
+    private static final class TestELContext extends ELContext {
+
+        @Override
+        public ELResolver getELResolver() {
+            return null;
+        }
+
+        @Override
+        public FunctionMapper getFunctionMapper() {
+            return null;
+        }
+
+        @Override
+        public VariableMapper getVariableMapper() {
+            return null;
+        }
+    }
+
+}
@@ -1,5 +1,8 @@
 package com.sun.faces.el;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
 import java.net.URL;
 
 import org.junit.Before;
@@ -69,4 +72,18 @@ public class ELUtilsTest {
         ELUtils.buildFacesResolver(elResolver, applicationAssociate); // should not throw NPE
     }
 
+    @Test
+    public void testCompositeComponentExpressionClassification() {
+        assertTrue(ELUtils.isCompositeComponentExpr("#{cc.attrs.value}"));
+        assertTrue(ELUtils.isCompositeComponentExpr("#{bean.map[cc.attrs.key]}"));
+        assertFalse(ELUtils.isCompositeComponentExpr("#{bean.cc.value}"));
+        assertFalse(ELUtils.isCompositeComponentExpr(null));
+
+        assertTrue(ELUtils.isCompositeComponentLookupWithArgs("#{cc.attrs.label('foo')}"));
+        assertFalse(ELUtils.isCompositeComponentLookupWithArgs("#{cc.attrs.bean.label('foo')}"));
+
+        assertTrue(ELUtils.isCompositeComponentMethodExprLookup("#{cc.attrs.action}"));
+        assertFalse(ELUtils.isCompositeComponentMethodExprLookup("#{cc.attrs.bean.action}"));
+    }
+
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.facelets.compiler;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.SAXParser;
+
+import org.junit.Test;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.ext.DefaultHandler2;
+
+public class SAXParserPoolTest {
+
+    private static final String DOCUMENT = "<html xmlns=\"http://www.w3.org/1999/xhtml\" xmlns:h=\"jakarta.faces.html\"><h:body><p/></h:body></html>";
+
+    @Test
+    public void testParsersAreReused() throws Exception {
+        SAXParserPool pool = new SAXParserPool(false, null);
+
+        RecordingHandler first = new RecordingHandler();
+        SAXParser parser = pool.borrow(first);
+        parser.parse(new ByteArrayInputStream(DOCUMENT.getBytes(UTF_8)), first);
+        pool.release(parser);
+        assertEquals(1, pool.getIdleCount());
+
+        RecordingHandler second = new RecordingHandler();
+        SAXParser reused = pool.borrow(second);
+        assertSame(parser, reused);
+        assertEquals(0, pool.getIdleCount());
+        reused.parse(new ByteArrayInputStream(DOCUMENT.getBytes(UTF_8)), second);
+        pool.release(reused);
+
+        assertEquals(List.of("html", "h:body", "p"), first.elements);
+        assertEquals(first.elements, second.elements);
+    }
+
+    @Test
+    public void testParserIsReusableAfterFailure() throws Exception {
+        SAXParserPool pool = new SAXParserPool(false, null);
+
+        SAXParser parser = pool.borrow(new RecordingHandler());
+        try {
+            parser.parse(new ByteArrayInputStream("<html><body></html>".getBytes(UTF_8)), new RecordingHandler());
+        } catch (SAXParseException expected) {
+        } finally {
+            pool.release(parser);
+        }
+
+        RecordingHandler handler = new RecordingHandler();
+        SAXParser reused = pool.borrow(handler);
+        reused.parse(new ByteArrayInputStream(DOCUMENT.getBytes(UTF_8)), handler);
+        pool.release(reused);
+
+        assertEquals(List.of("html", "h:body", "p"), handler.elements);
+    }
+
+    @Test
+    public void testIdleParsersAreBounded() throws Exception {
+        SAXParserPool pool = new SAXParserPool(false, null);
+
+        List<SAXParser> parsers = new ArrayList<>();
+        for (int i = 0; i < SAXParserPool.MAX_IDLE + 2; i++) {
+            parsers.add(pool.borrow(new RecordingHandler()));
+        }
+        for (SAXParser parser : parsers) {
+            pool.release(parser);
+        }
+
+        assertEquals(SAXParserPool.MAX_IDLE, pool.getIdleCount());
+    }
+
+    private static final class RecordingHandler extends DefaultHandler2 {
+
+        private final List<String> elements = new ArrayList<>();
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            elements.add(qName);
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.facelets.impl;
+
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ViewResourceIndexTest {
+
+    @Test
+    public void testHitsAndMisses() throws Exception {
+        ViewResourceIndex index = new ViewResourceIndex();
+        URL url = new URL("file:/app/index.xhtml");
+
+        assertNull(index.get(emptyList(), "/index.xhtml"));
+
+        index.put(emptyList(), "/index.xhtml", url);
+        index.put(emptyList(), "/missing.xhtml", null);
+
+        assertEquals(url, index.get(emptyList(), "/index.xhtml").get());
+        assertFalse(index.get(emptyList(), "/missing.xhtml").isPresent());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testPartitionedByContracts() throws Exception {
+        ViewResourceIndex index = new ViewResourceIndex();
+        List<String> contracts = new ArrayList<>(List.of("dark"));
+
+        index.put(contracts, "/index.xhtml", new URL("file:/app/contracts/dark/index.xhtml"));
+        contracts.add("light");
+
+        assertNull(index.get(emptyList(), "/index.xhtml"));
+        assertNull(index.get(contracts, "/index.xhtml"));
+        assertEquals(new URL("file:/app/contracts/dark/index.xhtml"), index.get(List.of("dark"), "/index.xhtml").get());
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        ViewResourceIndex index = new ViewResourceIndex();
+        index.put(emptyList(), "/index.xhtml", null);
+        index.put(List.of("dark"), "/index.xhtml", null);
+        index.put(emptyList(), "/other.xhtml", null);
+
+        index.invalidate("/index.xhtml");
+
+        assertNull(index.get(emptyList(), "/index.xhtml"));
+        assertNull(index.get(List.of("dark"), "/index.xhtml"));
+        assertEquals(1, index.size());
+
+        index.clear();
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testMissesAreBounded() throws Exception {
+        ViewResourceIndex index = new ViewResourceIndex();
+        URL url = new URL("file:/app/index.xhtml");
+        index.put(emptyList(), "/index.xhtml", url);
+
+        for (int i = 0; i < 10 * ViewResourceIndex.MAX_MISSES; i++) {
+            index.put(emptyList(), "/random" + i + ".xhtml", null);
+        }
+
+        assertEquals(ViewResourceIndex.MAX_MISSES + 1, index.size());
+        assertEquals(url, index.get(emptyList(), "/index.xhtml").get());
+        assertNull(index.get(emptyList(), "/random0.xhtml"));
+        assertFalse(index.get(emptyList(), "/random" + (10 * ViewResourceIndex.MAX_MISSES - 1) + ".xhtml").isPresent());
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.facelets.tag;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.view.facelets.FaceletContext;
+import jakarta.faces.view.facelets.FaceletHandler;
+import jakarta.faces.view.facelets.Tag;
+import jakarta.faces.view.facelets.TagConfig;
+import jakarta.faces.view.facelets.TagHandler;
+
+public class TagLibraryImplTest {
+
+    private static final String NAMESPACE = "http://example.com/test";
+
+    @Test
+    public void testLazyTagHandlerIsLoadedOnFirstUse() {
+        TagLibraryImpl library = new TagLibraryImpl(NAMESPACE);
+        AtomicInteger loaded = new AtomicInteger();
+
+        library.putTagHandler("test", () -> {
+            loaded.incrementAndGet();
+            return TestHandler.class;
+        });
+
+        assertTrue(library.containsTagHandler(NAMESPACE, "test"));
+        assertEquals(0, loaded.get());
+
+        assertTrue(library.createTagHandler(NAMESPACE, "test", new TestConfig()) instanceof TestHandler);
+        assertTrue(library.createTagHandler(NAMESPACE, "test", new TestConfig()) instanceof TestHandler);
+        assertEquals(1, loaded.get());
+    }
+
+    public static class TestHandler extends TagHandler {
+
+        public TestHandler(TagConfig config) {
+            super(config);
+        }
+
+        @Override
+        public void apply(FaceletContext ctx, UIComponent parent) {
+        }
+    }
+
+    private static class TestConfig implements TagConfig {
+
+        @Override
+        public Tag getTag() {
+            return null;
+        }
+
+        @Override
+        public FaceletHandler getNextHandler() {
+            return null;
+        }
+
+        @Override
+        public String getTagId() {
+            return "test";
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.facelets.tag.faces;
+
+import static com.sun.faces.config.WebConfiguration.BooleanWebContextInitParameter.PartialStateSaving;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockServletContext;
+
+import jakarta.faces.component.UIComponent;
+import jakarta.faces.component.UINamingContainer;
+import jakarta.faces.component.UIPanel;
+
+public class ComponentSupportTest {
+
+    private static final int DEPTH = 200;
+
+    private MockFacesContext context;
+    private UIComponent top;
+    private List<UIComponent> path;
+
+    @Before
+    public void setUp() {
+        context = new MockFacesContext(new MockExternalContext(new MockServletContext(), new MockHttpServletRequest(), new MockHttpServletResponse()));
+        context.getAttributes().put(PartialStateSaving, Boolean.TRUE);
+
+        // A chain of nested composite components, each with a sibling leaf
+        path = new ArrayList<>();
+        top = newComponent(new UINamingContainer(), "mark0");
+        path.add(top);
+        UIComponent parent = top;
+        for (int i = 1; i < DEPTH; i++) {
+            UIComponent child = newComponent(new UINamingContainer(), "mark" + i);
+            parent.getChildren().add(newComponent(new UIPanel(), "leaf" + i));
+            parent.getChildren().add(child);
+            path.add(child);
+            parent = child;
+        }
+    }
+
+    @After
+    public void tearDown() {
+        context.release();
+    }
+
+    @Test
+    public void testFindChildByTagId() {
+        UIComponent deepest = path.get(DEPTH - 1);
+
+        assertSame(deepest, ComponentSupport.findChildByTagId(context, top, "mark" + (DEPTH - 1)));
+        assertSame(deepest, ComponentSupport.findChildByTagId(context, path.get(DEPTH / 2), "mark" + (DEPTH - 1)));
+        assertNull(ComponentSupport.findChildByTagId(context, deepest, "mark0"));
+    }
+
+    @Test
+    public void testReattachingDeepSubtree() {
+        UIComponent middle = path.get(DEPTH / 2);
+        UIComponent parent = middle.getParent();
+        String deepestMark = "mark" + (DEPTH - 1);
+
+        for (int i = 0; i < 100; i++) {
+            parent.getChildren().remove(middle);
+            assertNull(ComponentSupport.findChildByTagId(context, top, deepestMark));
+            assertSame(path.get(DEPTH - 1), ComponentSupport.findChildByTagId(context, middle, deepestMark));
+
+            parent.getChildren().add(middle);
+            assertSame(path.get(DEPTH - 1), ComponentSupport.findChildByTagId(context, top, deepestMark));
+        }
+    }
+
+    private static UIComponent newComponent(UIComponent component, String markId) {
+        component.getAttributes().put(ComponentSupport.MARK_CREATED, markId);
+        return component;
+    }
+
+}
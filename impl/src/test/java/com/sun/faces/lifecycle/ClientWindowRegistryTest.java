@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.lifecycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockHttpSession;
+import com.sun.faces.mock.MockServletContext;
+
+public class ClientWindowRegistryTest {
+
+    private final MockServletContext servletContext = new MockServletContext();
+    private final MockHttpSession session = new MockHttpSession(servletContext);
+    private MockFacesContext context;
+
+    @Before
+    public void setUp() {
+        servletContext.addInitParameter("jakarta.faces.NUMBER_OF_CLIENT_WINDOWS", "2");
+        context = newRequest();
+    }
+
+    @After
+    public void tearDown() {
+        context.release();
+    }
+
+    @Test
+    public void testIdsAreCompactAndUnique() {
+        ClientWindowRegistry registry = ClientWindowRegistry.getInstance(context, true);
+        TokenGenerator tokenGenerator = new TokenGenerator();
+        Set<String> ids = new HashSet<>();
+
+        for (int i = 0; i < 100; i++) {
+            ids.add(registry.nextId(context, tokenGenerator));
+        }
+
+        assertEquals(100, ids.size());
+
+        String first = registry.nextId(context, tokenGenerator);
+        String second = registry.nextId(context, tokenGenerator);
+        String token = first.substring(0, first.indexOf(':'));
+        assertTrue(second.startsWith(token + ':'));
+        assertEquals(token + ":2u", second);
+    }
+
+    @Test
+    public void testWindowStateIsLookedUpOncePerRequest() {
+        assertNull(ClientWindowRegistry.getWindow(context, "w1", false));
+        assertNull(session.getAttribute(ClientWindowRegistry.class.getName()));
+
+        ClientWindowState window = ClientWindowRegistry.getWindow(context, "w1", true);
+        window.computeAttributeIfAbsent("key", key -> "value");
+        assertSame(window, ClientWindowRegistry.getWindow(context, "w1", false));
+
+        context.release();
+        context = newRequest();
+
+        // Other request, same session.
+        assertSame(window, ClientWindowRegistry.getWindow(context, "w1", false));
+        assertEquals("value", ClientWindowRegistry.getWindow(context, "w1", false).getAttribute("key"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedWindowIsForgotten() {
+        ClientWindowRegistry.getWindow(context, "w1", true);
+        ClientWindowRegistry.getWindow(context, "w2", true);
+        ClientWindowRegistry.getWindow(context, "w1", false);
+        ClientWindowRegistry.getWindow(context, "w3", true);
+
+        ClientWindowRegistry registry = ClientWindowRegistry.getInstance(context, false);
+        assertNotNull(registry);
+        assertEquals(2, registry.getWindows().size());
+
+        context.release();
+        context = newRequest();
+        assertNull(ClientWindowRegistry.getWindow(context, "w2", false));
+        assertNotNull(ClientWindowRegistry.getWindow(context, "w1", false));
+    }
+
+    private MockFacesContext newRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest(session);
+        return new MockFacesContext(new MockExternalContext(servletContext, request, new MockHttpServletResponse()) {
+
+            @Override
+            public Object getSession(boolean create) {
+                return request.getSession(create);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.lifecycle.profiler;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketBoundaries() {
+        for (long value : new long[] { 0, 1, 15, 16, 17, 31, 32, 33, 1000, 123_456, 1L << 31 }) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.lowestEquivalentValue(index) <= value);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value);
+            assertEquals(index, LatencyHistogram.indexOf(LatencyHistogram.lowestEquivalentValue(index)));
+            assertEquals(index, LatencyHistogram.indexOf(LatencyHistogram.highestEquivalentValue(index)));
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(MILLISECONDS.toNanos(i));
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(50.5, histogram.getMeanMillis(), 0.001);
+        assertEquals(100, histogram.getMaxMillis(), 0.001);
+        assertEquals(50, histogram.getPercentileMillis(50), 50 * 0.07);
+        assertEquals(99, histogram.getPercentileMillis(99), 99 * 0.07);
+        assertEquals(100, histogram.getPercentileMillis(100), 0.001);
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileMillis(50), 0);
+    }
+
+    @Test
+    public void testOutOfRangeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-1);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.getPercentileMillis(50), 0);
+    }
+
+    @Test
+    public void testProfilerRecordsPerView() {
+        List<Collection<ViewProfile>> reports = new ArrayList<>();
+        LifecycleProfiler profiler = new LifecycleProfiler(reports::add, 100);
+
+        profiler.record("/a.xhtml", Measurement.RENDER_RESPONSE, MICROSECONDS.toNanos(1500));
+        profiler.record("/a.xhtml", Measurement.RENDER_RESPONSE, MICROSECONDS.toNanos(500));
+        profiler.record("/b.xhtml", Measurement.RESTORE_VIEW, MICROSECONDS.toNanos(100));
+
+        assertEquals(2, profiler.getCount("/a.xhtml", "RENDER_RESPONSE"));
+        assertEquals(1.0, profiler.getMeanMillis("/a.xhtml", "RENDER_RESPONSE"), 0.001);
+        assertEquals(1.5, profiler.getMaxMillis("/a.xhtml", "RENDER_RESPONSE"), 0.001);
+        assertEquals(0, profiler.getCount("/a.xhtml", "RESTORE_VIEW"));
+        assertNull(profiler.getProfile("/a.xhtml").getHistogram(Measurement.RESTORE_VIEW));
+        assertEquals(0, profiler.getCount("/c.xhtml", "RESTORE_VIEW"));
+
+        String[] viewIds = profiler.getViewIds();
+        Arrays.sort(viewIds);
+        assertArrayEquals(new String[] { "/a.xhtml", "/b.xhtml" }, viewIds);
+
+        profiler.report();
+        assertEquals(1, reports.size());
+        assertEquals(2, reports.get(0).size());
+
+        profiler.reset();
+        assertEquals(0, profiler.getCount("/a.xhtml", "RENDER_RESPONSE"));
+    }
+
+    @Test
+    public void testProfilerFoldsViewsBeyondMaximum() {
+        LifecycleProfiler profiler = new LifecycleProfiler(profiles -> {}, 2);
+
+        for (int i = 0; i < 1000; i++) {
+            profiler.record("/nonexistent" + i + ".xhtml", Measurement.RESTORE_VIEW, MICROSECONDS.toNanos(100));
+        }
+        profiler.record("/nonexistent0.xhtml", Measurement.RESTORE_VIEW, MICROSECONDS.toNanos(100));
+
+        String[] viewIds = profiler.getViewIds();
+        Arrays.sort(viewIds);
+        assertArrayEquals(new String[] { LifecycleProfiler.UNKNOWN_VIEW_ID, "/nonexistent0.xhtml", "/nonexistent1.xhtml" }, viewIds);
+        assertEquals(2, profiler.getCount("/nonexistent0.xhtml", "RESTORE_VIEW"));
+        assertEquals(998, profiler.getCount(LifecycleProfiler.UNKNOWN_VIEW_ID, "RESTORE_VIEW"));
+    }
+
+}
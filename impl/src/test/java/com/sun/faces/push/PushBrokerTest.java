@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.push;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class PushBrokerTest {
+
+    private final List<PushBroker> brokers = new ArrayList<>();
+
+    @After
+    public void stop() {
+        for (PushBroker broker : brokers) {
+            broker.stop();
+        }
+    }
+
+    @Test
+    public void testLoopbackBroker() throws Exception {
+        BlockingQueue<PushMessage> first = new LinkedBlockingQueue<>();
+        BlockingQueue<PushMessage> second = new LinkedBlockingQueue<>();
+        PushBroker firstBroker = start(new LoopbackPushBroker(), first);
+        start(new LoopbackPushBroker(), second);
+
+        firstBroker.publish(new PushMessage("node1", "channel", null, null, "\"json\""));
+
+        assertEquals("\"json\"", first.poll(1, SECONDS).getJson());
+        assertEquals("node1", second.poll(1, SECONDS).getOrigin());
+
+        firstBroker.stop();
+        brokers.remove(firstBroker);
+        brokers.get(0).publish(new PushMessage("node2", "channel", null, null, "\"json\""));
+
+        assertNull(first.poll(100, MILLISECONDS));
+        assertEquals("node2", second.poll(1, SECONDS).getOrigin());
+    }
+
+    @Test
+    public void testTcpBrokerRelaysMessagesBetweenNodes() throws Exception {
+        String address = "localhost:" + getFreePort();
+        BlockingQueue<PushMessage> hubMessages = new LinkedBlockingQueue<>();
+        BlockingQueue<PushMessage> firstMessages = new LinkedBlockingQueue<>();
+        BlockingQueue<PushMessage> secondMessages = new LinkedBlockingQueue<>();
+
+        TcpPushBroker hub = (TcpPushBroker) start(new TcpPushBroker(address, "secret"), hubMessages);
+        TcpPushBroker first = (TcpPushBroker) start(new TcpPushBroker(address, "secret"), firstMessages);
+        TcpPushBroker second = (TcpPushBroker) start(new TcpPushBroker(address, "secret"), secondMessages);
+
+        assertTrue(hub.isHub());
+        assertFalse(first.isHub());
+        assertFalse(second.isHub());
+        awaitConnections(hub, 2);
+
+        first.publish(new PushMessage("first", "channel", "channelId", null, "{\"a\":1}"));
+
+        PushMessage received = secondMessages.poll(5, SECONDS);
+        assertEquals("first", received.getOrigin());
+        assertEquals("channel", received.getChannel());
+        assertEquals("channelId", received.getChannelId());
+        assertEquals("{\"a\":1}", received.getJson());
+        assertEquals("first", hubMessages.poll(5, SECONDS).getOrigin());
+        assertNull(firstMessages.poll(100, MILLISECONDS));
+
+        hub.publish(new PushMessage("hub", "channel", null, Set.<Serializable>of("user"), "1"));
+
+        assertEquals(Set.of("user"), firstMessages.poll(5, SECONDS).getUsers());
+        assertEquals(Set.of("user"), secondMessages.poll(5, SECONDS).getUsers());
+    }
+
+    @Test
+    public void testTcpBrokerRejectsNodeWithWrongSecret() throws Exception {
+        String address = "localhost:" + getFreePort();
+        BlockingQueue<PushMessage> hubMessages = new LinkedBlockingQueue<>();
+        TcpPushBroker hub = (TcpPushBroker) start(new TcpPushBroker(address, "secret"), hubMessages);
+        TcpPushBroker intruder = (TcpPushBroker) start(new TcpPushBroker(address, "guess"), new LinkedBlockingQueue<>());
+
+        intruder.publish(new PushMessage("intruder", "channel", null, null, "1"));
+
+        assertTrue(hub.isHub());
+        assertEquals(0, hub.getConnectionCount());
+        assertEquals(0, intruder.getConnectionCount());
+        assertNull(hubMessages.poll(100, MILLISECONDS));
+    }
+
+    @Test
+    public void testTcpBrokerDoesNotBlockOnStalledPeer() throws Exception {
+        try (ServerSocket stalledHub = new ServerSocket(0, 1, InetAddress.getByName("localhost"))) {
+            // The connection is accepted by the backlog, but nothing is ever read from it.
+            TcpPushBroker node = (TcpPushBroker) start(new TcpPushBroker("localhost:" + stalledHub.getLocalPort(), ""), new LinkedBlockingQueue<>());
+            assertEquals(1, node.getConnectionCount());
+
+            String json = "\"" + "x".repeat(1024) + "\"";
+            long start = System.nanoTime();
+            for (int i = 0; i < TcpPushBroker.MAX_QUEUED_FRAMES * 20; i++) {
+                node.publish(new PushMessage("node", "channel", null, null, json));
+            }
+
+            assertTrue(System.nanoTime() - start < SECONDS.toNanos(5));
+            assertTrue(node.getDroppedFrames() > 0);
+        }
+    }
+
+    @Test
+    public void testTcpBrokerConnectsInBackground() throws Exception {
+        String address = "localhost:" + getFreePort();
+        BlockingQueue<PushMessage> hubMessages = new LinkedBlockingQueue<>();
+        TcpPushBroker hub = (TcpPushBroker) start(new TcpPushBroker(address, "secret"), hubMessages);
+        TcpPushBroker node = (TcpPushBroker) start(new TcpPushBroker(address, "secret"), new LinkedBlockingQueue<>());
+        awaitConnections(hub, 1);
+
+        // Losing the hub, the node takes over in the background
+        hub.stop();
+        brokers.remove(hub);
+        for (int i = 0; i < 500 && !node.isHub(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(node.isHub());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testTcpBrokerRequiresSecretOnNonLoopbackAddress() throws Exception {
+        new TcpPushBroker("192.0.2.1:7847", "").start(message -> {});
+    }
+
+    @Test
+    public void testTcpBrokerMessageEncoding() throws Exception {
+        PushMessage message = new PushMessage("node", "channel", null, Set.<Serializable>of("user", 42L, 7), "{\"text\":\"h\u00e9\"}", "key");
+
+        PushMessage decoded = TcpPushBroker.decode(TcpPushBroker.encode(message));
+
+        assertEquals("node", decoded.getOrigin());
+        assertEquals("channel", decoded.getChannel());
+        assertNull(decoded.getChannelId());
+        assertEquals(Set.of("user", 42L, 7), decoded.getUsers());
+        assertEquals(message.getJson(), decoded.getJson());
+        assertEquals("key", decoded.getConflationKey());
+
+        try {
+            TcpPushBroker.encode(new PushMessage("node", "channel", null, Set.<Serializable>of(new Date()), "1"));
+            fail("Only string and number users can be encoded");
+        } catch (IOException expected) {
+            // Expected.
+        }
+    }
+
+    private PushBroker start(PushBroker broker, BlockingQueue<PushMessage> messages) {
+        broker.start(messages::add);
+        brokers.add(broker);
+        return broker;
+    }
+
+    private static int getFreePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getByName("localhost"))) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void awaitConnections(TcpPushBroker hub, int count) throws InterruptedException {
+        for (int i = 0; i < 500 && hub.getConnectionCount() < count; i++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(count, hub.getConnectionCount());
+    }
+
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.push;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Test;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+
+public class WebsocketDeliveryEngineTest {
+
+    private WebsocketDeliveryEngine engine;
+
+    @After
+    public void shutdown() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    public void testMessagesAreDeliveredInOrder() throws Exception {
+        engine = new WebsocketDeliveryEngine(Executors.newFixedThreadPool(4), 16, 5000);
+        FakeSession session = new FakeSession(null);
+        engine.open(session.proxy);
+
+        List<Future<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.addAll(engine.send(List.of(session.proxy), "message" + i));
+        }
+        for (Future<Void> result : results) {
+            result.get(5, SECONDS);
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            expected.add("message" + i);
+        }
+        assertEquals(expected, new ArrayList<>(session.sent));
+        assertEquals(10, engine.getDeliveredMessages());
+        assertEquals(0, engine.getQueuedMessages());
+    }
+
+    @Test
+    public void testFanOutIsBatched() throws Exception {
+        engine = new WebsocketDeliveryEngine(Executors.newFixedThreadPool(4), 4, 5000);
+        List<Session> sessions = new ArrayList<>();
+        List<FakeSession> fakes = new ArrayList<>();
+        for (int i = 0; i < WebsocketDeliveryEngine.FAN_OUT_BATCH_SIZE * 3 + 1; i++) {
+            FakeSession session = new FakeSession(null);
+            engine.open(session.proxy);
+            sessions.add(session.proxy);
+            fakes.add(session);
+        }
+
+        Set<Future<Void>> results = engine.send(sessions, "broadcast");
+        assertEquals(sessions.size(), results.size());
+        for (Future<Void> result : results) {
+            result.get(5, SECONDS);
+        }
+
+        for (FakeSession session : fakes) {
+            assertEquals(List.of("broadcast"), new ArrayList<>(session.sent));
+        }
+    }
+
+    @Test
+    public void testSlowConsumerIsEvicted() throws Exception {
+        engine = new WebsocketDeliveryEngine(Executors.newFixedThreadPool(2), 2, 5000);
+        CountDownLatch stuck = new CountDownLatch(1);
+        FakeSession slow = new FakeSession(stuck);
+        FakeSession fast = new FakeSession(null);
+        engine.open(slow.proxy);
+        engine.open(fast.proxy);
+
+        List<Future<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.addAll(engine.send(List.of(slow.proxy), "message" + i));
+        }
+        Future<Void> fastResult = engine.send(List.of(fast.proxy), "fast").iterator().next();
+
+        assertTrue(slow.closed.await(5, SECONDS));
+        assertEquals(1, engine.getEvictedSessions());
+        assertTrue(engine.getDroppedMessages() >= 1);
+        fastResult.get(5, SECONDS);
+
+        stuck.countDown();
+        int failures = 0;
+        for (Future<Void> result : results) {
+            try {
+                result.get(5, SECONDS);
+            } catch (ExecutionException expected) {
+                failures++;
+            }
+        }
+        assertTrue(failures >= 1);
+        assertFalse(slow.proxy.isOpen());
+    }
+
+    @Test
+    public void testPendingSendDoesNotBlockDeliveryThread() throws Exception {
+        engine = new WebsocketDeliveryEngine(Executors.newSingleThreadExecutor(), 4, 5000);
+        CountDownLatch stuck = new CountDownLatch(1);
+        FakeSession pending = new FakeSession(stuck);
+        FakeSession other = new FakeSession(null);
+        engine.open(pending.proxy);
+        engine.open(other.proxy);
+
+        Future<Void> pendingResult = engine.send(List.of(pending.proxy), "pending").iterator().next();
+        engine.send(List.of(other.proxy), "other").iterator().next().get(1, SECONDS);
+        assertFalse(pendingResult.isDone());
+
+        stuck.countDown();
+        pendingResult.get(5, SECONDS);
+        assertEquals(2, engine.getDeliveredMessages());
+    }
+
+    @Test
+    public void testSendTimeoutEvictsSession() throws Exception {
+        engine = new WebsocketDeliveryEngine(Executors.newSingleThreadExecutor(), 4, 100);
+        CountDownLatch stuck = new CountDownLatch(1);
+        FakeSession slow = new FakeSession(stuck);
+        engine.open(slow.proxy);
+
+        Future<Void> result = engine.send(List.of(slow.proxy), "message").iterator().next();
+
+        assertTrue(slow.closed.await(5, SECONDS));
+        try {
+            result.get(5, SECONDS);
+            fail("Send should have timed out");
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof TimeoutException);
+        }
+        assertEquals(1, engine.getEvictedSessions());
+
+        stuck.countDown();
+        assertEquals(0, engine.getDeliveredMessages());
+    }
+
+    @Test
+    public void testSuccessfulSendsDoNotRetainTimeouts() throws Exception {
+        engine = new WebsocketDeliveryEngine(Executors.newFixedThreadPool(4), 64, 200);
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            FakeSession session = new FakeSession(null);
+            engine.open(session.proxy);
+            sessions.add(session.proxy);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            for (Future<Void> result : engine.send(sessions, "message" + i)) {
+                result.get(5, SECONDS);
+            }
+        }
+
+        // At most one armed watchdog per session, which disarms itself once no send is in progress
+        assertEquals(10000, engine.getDeliveredMessages());
+        assertTrue(engine.getScheduledTasks() <= sessions.size());
+        long deadline = System.nanoTime() + SECONDS.toNanos(5);
+        while (engine.getScheduledTasks() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, engine.getScheduledTasks());
+        assertEquals(0, engine.getEvictedSessions());
+    }
+
+    @Test
+    public void testClosedSessionsAreSkipped() throws Exception {
+        engine = new WebsocketDeliveryEngine(Executors.newSingleThreadExecutor(), 4, 5000);
+        FakeSession removed = new FakeSession(null);
+        FakeSession closed = new FakeSession(null);
+        engine.open(removed.proxy);
+        engine.open(closed.proxy);
+
+        engine.close(removed.proxy);
+        closed.open = false;
+
+        assertTrue(engine.send(List.of(removed.proxy, closed.proxy), "message").isEmpty());
+    }
+
+    @Test
+    public void testConflationDeliversLatestMessagePerKey() throws Exception {
+        engine = new WebsocketDeliveryEngine(Executors.newFixedThreadPool(2), 16, 5000, 200, Set.of("prices"), "symbol");
+        FakeSession session = new FakeSession(null);
+        engine.open(session.proxy);
+
+        List<Future<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            for (String symbol : List.of("A", "B")) {
+                String key = engine.getConflationKey("prices", Map.of("symbol", symbol, "price", i));
+                results.addAll(engine.send(List.of(session.proxy), symbol + i, key));
+            }
+        }
+
+        for (Future<Void> result : results) {
+            try {
+                result.get(5, SECONDS);
+            } catch (CancellationException e) {
+                continue;
+            }
+        }
+
+        // The first message opened the window, the others were replaced by the latest one of their key.
+        assertEquals(List.of("A0", "B4", "A4"), new ArrayList<>(session.sent));
+        assertEquals(7, engine.getConflatedMessages());
+        assertEquals(7, results.stream().filter(Future::isCancelled).count());
+    }
+
+    @Test
+    public void testConflationIsLimitedToConfiguredChannels() {
+        engine = new WebsocketDeliveryEngine(Executors.newSingleThreadExecutor(), 16, 5000, 200, Set.of("prices"), "symbol");
+
+        assertEquals(null, engine.getConflationKey("chat", Map.of("symbol", "A")));
+        assertEquals(engine.getConflationKey("prices", new Quote("A")), engine.getConflationKey("prices", Map.of("symbol", "A")));
+        assertFalse(engine.getConflationKey("prices", new Quote("A")).equals(engine.getConflationKey("prices", new Quote("B"))));
+        assertEquals(engine.getConflationKey("prices", "no symbol"), engine.getConflationKey("prices", 42));
+
+        engine.shutdown();
+        engine = new WebsocketDeliveryEngine(Executors.newSingleThreadExecutor(), 16, 5000);
+        assertEquals(null, engine.getConflationKey("prices", Map.of("symbol", "A")));
+    }
+
+    public static final class Quote {
+
+        private final String symbol;
+
+        Quote(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String getSymbol() {
+            return symbol;
+        }
+    }
+
+    /**
+     * A web socket session which records the sent messages and, if given a latch, does not complete the sends until it is
+     * released.
+     */
+    private static final class FakeSession {
+
+        private final Map<String, Object> userProperties = new HashMap<>();
+        private final ConcurrentLinkedQueue<String> sent = new ConcurrentLinkedQueue<>();
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private volatile boolean open = true;
+        private final Session proxy;
+
+        FakeSession(CountDownLatch stuck) {
+            RemoteEndpoint.Async remote = (RemoteEndpoint.Async) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { RemoteEndpoint.Async.class },
+                    (p, method, args) -> {
+                        if (method.getName().equals("sendText") && args.length == 2) {
+                            sent.add((String) args[0]);
+                            SendHandler handler = (SendHandler) args[1];
+                            if (stuck == null) {
+                                handler.onResult(new SendResult());
+                            } else {
+                                CompletableFuture.runAsync(() -> {
+                                    try {
+                                        stuck.await();
+                                    } catch (InterruptedException e) {
+                                        Thread.currentThread().interrupt();
+                                    }
+                                    handler.onResult(new SendResult());
+                                });
+                            }
+                            return null;
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    });
+
+            proxy = (Session) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Session.class }, (p, method, args) -> {
+                switch (method.getName()) {
+                case "getUserProperties":
+                    return userProperties;
+                case "isOpen":
+                    return open;
+                case "getAsyncRemote":
+                    return remote;
+                case "close":
+                    assertTrue(args[0] instanceof CloseReason);
+                    open = false;
+                    closed.countDown();
+                    return null;
+                case "hashCode":
+                    return System.identityHashCode(p);
+                case "equals":
+                    return p == args[0];
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+
+package com.sun.faces.renderkit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.faces.mock.MockExternalContext;
+import com.sun.faces.mock.MockFacesContext;
+import com.sun.faces.mock.MockHttpServletRequest;
+import com.sun.faces.mock.MockHttpServletResponse;
+import com.sun.faces.mock.MockServletContext;
+
+import jakarta.faces.render.ClientBehaviorRenderer;
+import jakarta.faces.render.Renderer;
+
+public class RenderKitImplTest {
+
+    private MockFacesContext context;
+
+    @Before
+    public void setUp() {
+        context = new MockFacesContext(new MockExternalContext(new MockServletContext(), new MockHttpServletRequest(), new MockHttpServletResponse()));
+    }
+
+    @After
+    public void tearDown() {
+        context.release();
+    }
+
+    @Test
+    public void testLazyRendererIsCreatedOnFirstRequest() {
+        RenderKitImpl renderKit = new RenderKitImpl();
+        AtomicInteger created = new AtomicInteger();
+        Renderer renderer = new Renderer() {
+        };
+
+        renderKit.addLazyRenderer("family", "type", () -> {
+            created.incrementAndGet();
+            return renderer;
+        });
+
+        assertEquals(0, created.get());
+        assertEquals("type", renderKit.getRendererTypes("family").next());
+        assertSame(renderer, renderKit.getRenderer("family", "type"));
+        assertSame(renderer, renderKit.getRenderer("family", "type"));
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    public void testLazyRendererReturningNullIsUnregistered() {
+        RenderKitImpl renderKit = new RenderKitImpl();
+        renderKit.addLazyRenderer("family", "type", () -> null);
+
+        assertNull(renderKit.getRenderer("family", "type"));
+        assertNull(renderKit.getRenderer("family", "type"));
+    }
+
+    @Test
+    public void testLazyClientBehaviorRenderer() {
+        RenderKitImpl renderKit = new RenderKitImpl();
+        AtomicInteger created = new AtomicInteger();
+        ClientBehaviorRenderer renderer = new ClientBehaviorRenderer() {
+        };
+
+        renderKit.addLazyClientBehaviorRenderer("type", () -> {
+            created.incrementAndGet();
+            return renderer;
+        });
+
+        assertEquals(0, created.get());
+        assertSame(renderer, renderKit.getClientBehaviorRenderer("type"));
+        assertSame(renderer, renderKit.getClientBehaviorRenderer("type"));
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    public void testConcurrentFirstRequestsShareOneRenderer() throws Exception {
+        RenderKitImpl renderKit = new RenderKitImpl();
+        AtomicInteger created = new AtomicInteger();
+        renderKit.addLazyRenderer("family", "type", () -> {
+            created.incrementAndGet();
+            return new Renderer() {
+            };
+        });
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Renderer>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return renderKit.getRenderer("family", "type");
+            }));
+        }
+
+        start.countDown();
+        Renderer first = futures.get(0).get(30, TimeUnit.SECONDS);
+        for (Future<Renderer> future : futures) {
+            assertSame(first, future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, created.get());
+    }
+
+}
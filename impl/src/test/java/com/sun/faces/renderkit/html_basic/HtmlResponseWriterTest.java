@@ -216,4 +216,38 @@ public class HtmlResponseWriterTest {
         assertEquals(expectedStart + expectedEnd, stringWriter.toString());
         responseWriter.close();
     }
+    /**
+     * Test that pre-escaped text is written exactly like the same text through writeText(Object, String).
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testWritePreEscapedText() throws Exception {
+
+        Method method = FacesContext.class.getDeclaredMethod("setCurrentInstance", FacesContext.class);
+        method.setAccessible(true);
+        method.invoke(null, new Object[] { null });
+
+        String text = "Fish & Chips <caf\u00e9> \u20ac5 \"quoted\"";
+        PreEscapedText preEscapedText = new PreEscapedText(text);
+
+        for (String encoding : new String[] { "UTF-8", "ISO-8859-1", "US-ASCII" }) {
+            for (String element : new String[] { "div", "script" }) {
+                for (int pass = 0; pass < 2; pass++) {
+                    StringWriter expected = new StringWriter();
+                    HtmlResponseWriter responseWriter = new HtmlResponseWriter(expected, "text/html", encoding);
+                    responseWriter.startElement(element, null);
+                    responseWriter.writeText(text, null);
+                    responseWriter.endElement(element);
+
+                    StringWriter actual = new StringWriter();
+                    responseWriter = new HtmlResponseWriter(actual, "text/html", encoding);
+                    responseWriter.startElement(element, null);
+                    preEscapedText.writeTo(responseWriter);
+                    responseWriter.endElement(element);
+
+                    assertEquals(encoding + " " + element, expected.toString(), actual.toString());
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class ConcurrentLRUMapTest {
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        List<String> evicted = new ArrayList<>();
+        ConcurrentLRUMap<String, String> map = new ConcurrentLRUMap<>(3, (key, value) -> evicted.add(key));
+
+        map.put("one", "one");
+        map.put("two", "two");
+        map.put("three", "three");
+        map.get("one");
+        map.put("four", "four");
+
+        assertEquals(3, map.size());
+        assertFalse(map.containsKey("two"));
+        assertEquals(List.of("two"), evicted);
+
+        map.get("three");
+        map.put("five", "five");
+
+        assertFalse(map.containsKey("one"));
+        assertTrue(map.containsKey("three"));
+        assertEquals(List.of("two", "one"), evicted);
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedInBatches() {
+        List<Integer> evicted = new ArrayList<>();
+        ConcurrentLRUMap<Integer, Integer> map = new ConcurrentLRUMap<>(1000, (key, value) -> evicted.add(key));
+
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 100; i++) {
+            map.get(i);
+        }
+        for (int i = 1000; i < 1900; i++) {
+            map.put(i, i);
+        }
+
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(map.containsKey(i));
+        }
+        assertEquals(900, evicted.size());
+        for (int i = 0; i < 900; i++) {
+            assertEquals(Integer.valueOf(100 + i), evicted.get(i));
+        }
+    }
+
+    @Test
+    public void testExplicitRemovalIsNotReported() {
+        List<String> evicted = new ArrayList<>();
+        ConcurrentLRUMap<String, String> map = new ConcurrentLRUMap<>(2, (key, value) -> evicted.add(key));
+
+        map.put("one", "one");
+        assertEquals("one", map.remove("one"));
+        assertFalse(map.remove("two", "two"));
+        map.put("two", "two");
+        map.put("three", "three");
+
+        assertTrue(evicted.isEmpty());
+        assertNull(map.get("one"));
+    }
+
+    @Test
+    public void testPutIfAbsent() {
+        ConcurrentLRUMap<String, String> map = new ConcurrentLRUMap<>(2);
+
+        assertNull(map.putIfAbsent("one", "one"));
+        assertEquals("one", map.putIfAbsent("one", "other"));
+        assertEquals("one", map.get("one"));
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        ConcurrentLRUMap<String, String> map = new ConcurrentLRUMap<>(2, new NoOpListener());
+        map.put("one", "one");
+        map.put("two", "two");
+        map.get("one");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(map);
+        }
+
+        @SuppressWarnings("unchecked")
+        ConcurrentLRUMap<String, String> copy = (ConcurrentLRUMap<String, String>) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        assertEquals(2, copy.size());
+
+        copy.put("three", "three");
+        assertFalse(copy.containsKey("two"));
+        assertTrue(copy.containsKey("one"));
+    }
+
+    @Test
+    public void testConcurrentAccessStaysBounded() throws Exception {
+        int capacity = 16;
+        int threads = 8;
+        ConcurrentLinkedQueue<Integer> evicted = new ConcurrentLinkedQueue<>();
+        ConcurrentLRUMap<Integer, Integer> map = new ConcurrentLRUMap<>(capacity, (key, value) -> evicted.add(key));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 10_000;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 10_000; i++) {
+                    map.put(offset + i, i);
+                    map.get(offset + i / 2);
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertTrue(map.size() <= capacity);
+        assertEquals(threads * 10_000, map.size() + evicted.size());
+    }
+
+    private static final class NoOpListener implements ConcurrentLRUMap.EvictionListener<String, String> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void onEviction(String key, String value) {
+        }
+    }
+
+}
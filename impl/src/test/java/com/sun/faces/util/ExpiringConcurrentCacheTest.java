@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class ExpiringConcurrentCacheTest {
+
+    @Test
+    public void testExpiredValueIsServedWhileRecreated() throws Exception {
+        AtomicInteger version = new AtomicInteger();
+        CountDownLatch recreating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean expired = new AtomicBoolean();
+
+        ExpiringConcurrentCache<String, Integer> cache = new ExpiringConcurrentCache<>(key -> {
+            int v = version.incrementAndGet();
+            if (v > 1) {
+                recreating.countDown();
+                release.await(10, TimeUnit.SECONDS);
+            }
+            return v;
+        }, (key, value) -> value == 1 && expired.getAndSet(false));
+
+        assertEquals(Integer.valueOf(1), cache.get("key"));
+
+        expired.set(true);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> refreshing = executor.submit(() -> cache.get("key"));
+            assertTrue(recreating.await(10, TimeUnit.SECONDS));
+
+            // The recreation is in progress, the expired value is served without waiting
+            assertEquals(Integer.valueOf(1), cache.get("key"));
+
+            release.countDown();
+            assertEquals(Integer.valueOf(2), refreshing.get(10, TimeUnit.SECONDS));
+            assertEquals(Integer.valueOf(2), cache.get("key"));
+            assertEquals(2, version.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedRecreationIsReported() throws Exception {
+        AtomicInteger version = new AtomicInteger();
+        ExpiringConcurrentCache<String, Integer> cache = new ExpiringConcurrentCache<>(key -> {
+            if (version.incrementAndGet() == 2) {
+                throw new IllegalStateException("broken");
+            }
+            return version.get();
+        }, (key, value) -> value == 1);
+
+        assertEquals(Integer.valueOf(1), cache.get("key"));
+        try {
+            cache.get("key");
+            fail();
+        } catch (ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(Integer.valueOf(3), cache.get("key"));
+    }
+
+}
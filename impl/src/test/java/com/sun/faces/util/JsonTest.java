@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026 Contributors to Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.faces.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.sun.faces.util.Json.Option;
+
+import jakarta.json.stream.JsonGenerationException;
+import jakarta.json.stream.JsonGenerator;
+
+public class JsonTest {
+
+    @Test
+    public void testBean() {
+        assertEquals("{\"data\":{\"active\":true,\"count\":3,\"name\":\"bean\",\"nested\":null,\"ratio\":0.5,\"total\":9}}",
+                encode(new Bean("bean", 3, 9L, 0.5, true, null)));
+    }
+
+    @Test
+    public void testNestedBeansAndSkipNullValues() {
+        Bean bean = new Bean("outer", 1, 2L, 1.5, false, new Bean(null, 4, 5L, 2.5, true, null));
+
+        assertEquals("{\"data\":[{\"active\":false,\"count\":1,\"name\":\"outer\",\"nested\":{\"active\":true,\"count\":4,\"ratio\":2.5,\"total\":5},"
+                + "\"ratio\":1.5,\"total\":2}]}", encode(List.of(bean), Option.SKIP_NULL_VALUES));
+    }
+
+    @Test
+    public void testArrays() {
+        assertEquals("{\"data\":[1,2,3]}", encode(new int[] { 1, 2, 3 }));
+        assertEquals("{\"data\":[4,5]}", encode(new long[] { 4, 5 }));
+        assertEquals("{\"data\":[0.5,1.5]}", encode(new double[] { 0.5, 1.5 }));
+        assertEquals("{\"data\":[true,false]}", encode(new boolean[] { true, false }));
+        assertEquals("{\"data\":[\"a\",\"b\"]}", encode(new char[] { 'a', 'b' }));
+        assertEquals("{\"data\":[1,2]}", encode(new byte[] { 1, 2 }));
+        assertEquals("{\"data\":[1,2]}", encode(new short[] { 1, 2 }));
+        assertEquals("{\"data\":[1,2]}", encode(new float[] { 1.7f, 2.2f }));
+        assertEquals("{\"data\":[\"a\",null,[1]]}", encode(new Object[] { "a", null, new int[] { 1 } }));
+        assertEquals("{\"data\":[\"a\",[1]]}", encode(new Object[] { "a", null, new int[] { 1 } }, Option.SKIP_NULL_VALUES));
+    }
+
+    @Test
+    public void testMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("a", 1);
+        map.put("b", Arrays.asList("x", null));
+        assertEquals("{\"data\":{\"a\":1,\"b\":[\"x\",null]}}", encode(map));
+    }
+
+    @Test
+    public void testFailingGetter() {
+        try {
+            encode(new FailingBean());
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("'value'"));
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testFailingGeneratorIsNotReportedAsFailingGetter() {
+        JsonGenerator generator = (JsonGenerator) Proxy.newProxyInstance(JsonTest.class.getClassLoader(), new Class<?>[] { JsonGenerator.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("write")) {
+                        throw new JsonGenerationException("closed");
+                    }
+                    return proxy;
+                });
+
+        try {
+            Json.encode(new Bean("bean", 3, 9L, 0.5, true, null), generator);
+            fail();
+        } catch (JsonGenerationException expected) {
+            // Expected.
+        }
+    }
+
+    private static String encode(Object object, Option... options) {
+        StringBuilder json = new StringBuilder();
+        Deque<Boolean> first = new ArrayDeque<>();
+
+        JsonGenerator generator = (JsonGenerator) Proxy.newProxyInstance(JsonTest.class.getClassLoader(), new Class<?>[] { JsonGenerator.class },
+                (proxy, method, args) -> {
+                    String methodName = method.getName();
+                    if (methodName.equals("writeEnd")) {
+                        first.pop();
+                        json.append(json.charAt(lastOpening(json)) == '{' ? '}' : ']');
+                        return proxy;
+                    }
+                    if (!first.isEmpty() && !first.peek()) {
+                        json.append(',');
+                    }
+                    if (!first.isEmpty()) {
+                        first.pop();
+                        first.push(false);
+                    }
+
+                    int valueIndex = 0;
+                    if (args != null && args.length > 0 && (methodName.startsWith("writeStart") || args.length == 2 || methodName.equals("writeNull"))
+                            && args[0] instanceof String && (args.length == 2 || json.charAt(lastOpening(json)) == '{')) {
+                        json.append('"').append(args[0]).append("\":");
+                        valueIndex = 1;
+                    }
+
+                    if (methodName.equals("writeStartObject")) {
+                        json.append('{');
+                        first.push(true);
+                    } else if (methodName.equals("writeStartArray")) {
+                        json.append('[');
+                        first.push(true);
+                    } else if (methodName.equals("writeNull")) {
+                        json.append("null");
+                    } else if (args[valueIndex] instanceof String) {
+                        json.append('"').append(args[valueIndex]).append('"');
+                    } else {
+                        json.append(args[valueIndex]);
+                    }
+                    return proxy;
+                });
+
+        Json.encode(object, generator, options);
+        return json.toString();
+    }
+
+    private static int lastOpening(StringBuilder json) {
+        int depth = 0;
+        for (int i = json.length() - 1; i >= 0; i--) {
+            char c = json.charAt(i);
+            if (c == '}' || c == ']') {
+                depth++;
+            } else if (c == '{' || c == '[') {
+                if (depth == 0) {
+                    return i;
+                }
+                depth--;
+            }
+        }
+        return 0;
+    }
+
+    public static class Bean {
+
+        private final String name;
+        private final int count;
+        private final long total;
+        private final double ratio;
+        private final boolean active;
+        private final Bean nested;
+
+        Bean(String name, int count, long total, double ratio, boolean active, Bean nested) {
+            this.name = name;
+            this.count = count;
+            this.total = total;
+            this.ratio = ratio;
+            this.active = active;
+            this.nested = nested;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public double getRatio() {
+            return ratio;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public Bean getNested() {
+            return nested;
+        }
+    }
+
+    public static class FailingBean {
+
+        public String getValue() {
+            throw new IllegalStateException();
+        }
+    }
+
+}